@@ -51,6 +51,19 @@ public class BayesAbsorption {
         normalize(trgPotentials);
     }
 
+    /**
+     * Absorbs the ratio of the new and old source potentials into the target potentials, using an index map created with
+     * {@link PotentialMultiplier#createSubsetIndexMap(BayesVariable[], BayesVariable[])}.
+     */
+    public static void absorb(double[] srcPotentials, double[] oldSrcPotentials, int[] indexMap, double[] trgPotentials) {
+        for ( int i = 0, length = trgPotentials.length; i < length; i++ ) {
+            int srcIndex = indexMap[i];
+            double oldP = oldSrcPotentials[srcIndex];
+            trgPotentials[i] = oldP == 0.0 ? 0.0 : trgPotentials[i] * (srcPotentials[srcIndex] / oldP);
+        }
+        normalize(trgPotentials);
+    }
+
     public static void normalize(double[] array) {
         double sum = 0.0;
         for ( int i = 0, length = array.length; i < length; i++ ) {
@@ -35,12 +35,15 @@ public class BayesInstance<T> {
     private Map<String, BayesVariable> variables;
     private Map<String, BayesVariable> fieldNames;
     private BayesLikelyhood[]          likelyhoods;
+    private BayesLikelyhood[]          appliedLikelyhoods;
     private long                       dirty;
     private long                       decided;
+    private boolean                    propagated;
 
     private CliqueState[]        cliqueStates;
     private SeparatorState[]     separatorStates;
     private BayesVariableState[] varStates;
+    private int[][]              varIndexMaps;
 
     private GlobalUpdateListener globalUpdateListener;
     private PassMessageListener  passMessageListener;
@@ -62,6 +65,7 @@ public class BayesInstance<T> {
         variables = new HashMap<String, BayesVariable>();
         fieldNames = new HashMap<String, BayesVariable>();
         likelyhoods = new BayesLikelyhood[graph.size()];
+        appliedLikelyhoods = new BayesLikelyhood[graph.size()];
 
         cliqueStates = new CliqueState[tree.getJunctionTreeNodes().length];
         for (JunctionTreeClique clique : tree.getJunctionTreeNodes()) {
@@ -74,6 +78,7 @@ public class BayesInstance<T> {
         }
 
         varStates = new BayesVariableState[graph.size()];
+        varIndexMaps = new int[graph.size()][];
         for (GraphNode<BayesVariable> node : graph) {
             BayesVariable var = node.getContent();
             variables.put(var.getName(), var);
@@ -93,8 +98,9 @@ public class BayesInstance<T> {
         for (GraphNode<BayesVariable> node : graph) {
             BayesVariable var = node.getContent();
             BayesVariableState varState =  varStates[var.getId()];
-            varState.setDistribution( new double[ varState.getDistribution().length]);
+            Arrays.fill(varState.getDistribution(), 0);
         }
+        propagated = false;
     }
 
     public void setTargetClass(Class<T> targetClass) {
@@ -232,6 +238,10 @@ public class BayesInstance<T> {
         if ( !isDecided() ) {
             throw new IllegalStateException("Cannot perform global upset, while one ore more variables are undecided" );
         }
+        if ( propagated && Long.bitCount( dirty ) == 1 && updateEvidence( Long.numberOfTrailingZeros( dirty ) ) ) {
+            dirty = 0;
+            return;
+        }
         if ( isDirty() ) {
             reset();
         }
@@ -239,6 +249,7 @@ public class BayesInstance<T> {
         //recurseGlobalUpdate(tree.getRoot());
         globalUpdate(tree.getRoot());
         dirty = 0;
+        propagated = true;
     }
 
     public void applyEvidence() {
@@ -251,7 +262,48 @@ public class BayesInstance<T> {
                 BayesAbsorption.normalize(cliqueStates[family].getPotentials());
             }
         }
+        System.arraycopy(likelyhoods, 0, appliedLikelyhoods, 0, likelyhoods.length);
+    }
+
+    /**
+     * Re-propagates a change of evidence on a single variable, on a tree that is already consistent.
+     * The ratio of the new and the previously applied likelyhood is multiplied into the variable's family clique,
+     * which then only needs to distribute its evidence, instead of resetting the tree and doing a full collect and distribute.
+     * Returns false when the ratio cannot be computed, because the previous likelyhood ruled out an outcome,
+     * in which case the caller falls back to the full global update.
+     */
+    private boolean updateEvidence(int id) {
+        BayesLikelyhood previous = appliedLikelyhoods[id];
+        BayesLikelyhood current = likelyhoods[id];
+        if ( previous == null && current == null ) {
+            return true;
+        }
+
+        BayesLikelyhood likelyhood = current != null ? current : previous;
+        double[] ratio = new double[likelyhood.getVariable().getOutcomes().length];
+        for ( int i = 0; i < ratio.length; i++ ) {
+            double oldP = previous != null ? previous.getDistribution()[i] : 1.0;
+            if ( oldP == 0.0 ) {
+                return false;
+            }
+            ratio[i] = ( current != null ? current.getDistribution()[i] : 1.0 ) / oldP;
+        }
+
+        JunctionTreeClique clique = tree.getJunctionTreeNodes()[likelyhood.getVariable().getFamily()];
+        double[] potentials = cliqueStates[clique.getId()].getPotentials();
+        likelyhood.multiplyInto(potentials, ratio);
+        BayesAbsorption.normalize(potentials);
+
+        if ( globalUpdateListener != null ) {
+            globalUpdateListener.beforeGlobalUpdate(cliqueStates[clique.getId()]);
+        }
+        distributeEvidence( clique );
+        if ( globalUpdateListener != null ) {
+            globalUpdateListener.afterGlobalUpdate(cliqueStates[clique.getId()]);
+        }
 
+        appliedLikelyhoods[id] = current;
+        return true;
     }
 
     public void globalUpdate(JunctionTreeClique clique) {
@@ -366,53 +418,25 @@ public class BayesInstance<T> {
      * @param targetClique
      */
     public void passMessage( JunctionTreeClique sourceClique, JunctionTreeSeparator sep, JunctionTreeClique targetClique) {
-        double[] sepPots = separatorStates[sep.getId()].getPotentials();
-        double[] oldSepPots = Arrays.copyOf(sepPots, sepPots.length);
-
-        BayesVariable[] sepVars = sep.getValues().toArray(new BayesVariable[sep.getValues().size()]);
+        SeparatorState sepState = separatorStates[sep.getId()];
+        double[] oldSepPots = sepState.copyOldPotentials();
 
         if ( passMessageListener != null ) {
             passMessageListener.beforeProjectAndAbsorb(sourceClique, sep, targetClique, oldSepPots);
         }
 
-        project(sepVars, cliqueStates[sourceClique.getId()], separatorStates[sep.getId()]);
+        // the index maps are precomputed by the separator, so each message is a single pass over flat arrays
+        BayesProjection.project(cliqueStates[sourceClique.getId()].getPotentials(), sep.getIndexMap(sourceClique), sepState.getPotentials());
         if ( passMessageListener != null ) {
             passMessageListener.afterProject(sourceClique, sep, targetClique, oldSepPots);
         }
 
-        absorb(sepVars, cliqueStates[targetClique.getId()], separatorStates[sep.getId()], oldSepPots);
+        BayesAbsorption.absorb(sepState.getPotentials(), oldSepPots, sep.getIndexMap(targetClique), cliqueStates[targetClique.getId()].getPotentials());
         if ( passMessageListener != null ) {
             passMessageListener.afterAbsorb(sourceClique, sep, targetClique, oldSepPots);
         }
     }
 
-    //private static void project(BayesVariable[] sepVars, JunctionTreeNode node, JunctionTreeSeparator sep) {
-    private static void project(BayesVariable[] sepVars, CliqueState clique, SeparatorState separator) {
-        //JunctionTreeNode node, JunctionTreeSeparator sep
-        BayesVariable[] vars = clique.getJunctionTreeClique().getValues().toArray(new BayesVariable[clique.getJunctionTreeClique().getValues().size()]);
-        int[] sepVarPos = PotentialMultiplier.createSubsetVarPos(vars, sepVars);
-
-        int sepVarNumberOfStates = PotentialMultiplier.createNumberOfStates(sepVars);
-        int[] sepVarMultipliers = PotentialMultiplier.createIndexMultipliers(sepVars, sepVarNumberOfStates);
-
-        BayesProjection p = new BayesProjection(vars, clique.getPotentials(), sepVarPos, sepVarMultipliers, separator.getPotentials());
-        p.project();
-    }
-
-    //private static void absorb(BayesVariable[] sepVars, JunctionTreeNode node, JunctionTreeSeparator sep, double[] oldSepPots ) {
-    private static void absorb(BayesVariable[] sepVars, CliqueState clique, SeparatorState separator, double[] oldSepPots ) {
-        //BayesVariable[] vars = node.getValues().toArray( new BayesVariable[node.getValues().size()] );
-        BayesVariable[] vars = clique.getJunctionTreeClique().getValues().toArray(new BayesVariable[clique.getJunctionTreeClique().getValues().size()]);
-
-        int[] sepVarPos = PotentialMultiplier.createSubsetVarPos(vars, sepVars);
-
-        int sepVarNumberOfStates = PotentialMultiplier.createNumberOfStates(sepVars);
-        int[] sepVarMultipliers = PotentialMultiplier.createIndexMultipliers(sepVars, sepVarNumberOfStates);
-
-        BayesAbsorption p = new BayesAbsorption(sepVarPos, oldSepPots, separator.getPotentials(), sepVarMultipliers, vars, clique.getPotentials());
-        p.absorb();
-    }
-
     public BayesVariableState marginalize(String name) {
         BayesVariable var = this.variables.get(name);
         if ( var == null ) {
@@ -475,9 +499,15 @@ public class BayesInstance<T> {
 //    }
 
     public void marginalize(BayesVariableState varState) {
-        CliqueState cliqueState = cliqueStates[varState.getVariable().getFamily()];
-        JunctionTreeClique jtNode = cliqueState.getJunctionTreeClique();
-        new Marginalizer(jtNode.getValues().toArray( new BayesVariable[jtNode.getValues().size()]), cliqueState.getPotentials(), varState.getVariable(), varState.getDistribution() );
+        BayesVariable var = varState.getVariable();
+        CliqueState cliqueState = cliqueStates[var.getFamily()];
+        int[] indexMap = varIndexMaps[var.getId()];
+        if ( indexMap == null ) {
+            JunctionTreeClique jtNode = cliqueState.getJunctionTreeClique();
+            indexMap = PotentialMultiplier.createSubsetIndexMap(jtNode.getValues().toArray( new BayesVariable[jtNode.getValues().size()]), new BayesVariable[] { var });
+            varIndexMaps[var.getId()] = indexMap;
+        }
+        BayesProjection.project(cliqueState.getPotentials(), indexMap, varState.getDistribution());
 //        System.out.print( varState.getVariable().getName() + " " );
 //        for ( double d : varState.getDistribution() ) {
 //            System.out.print(d);
@@ -30,6 +30,7 @@ public class BayesLikelyhood {
     private int[]           parentVarPos;
     private int[]           parentIndexMultipliers;
     private int             varPos;
+    private int[]           varIndexMap;
 
     public BayesLikelyhood(Graph graph, JunctionTreeClique jtNode, GraphNode<BayesVariable> varNode, double[] distribution) {
         vars = jtNode.getValues().toArray( new BayesVariable[jtNode.getValues().size()] );
@@ -65,6 +66,7 @@ public class BayesLikelyhood {
         if ( varPos == -1 || varPos == vars.length ) {
             throw new IllegalStateException( "Unable to find Variable in set" );
         }
+        varIndexMap = PotentialMultiplier.createSubsetIndexMap(vars, new BayesVariable[] { variable });
     }
 
     public BayesVariable getVariable() {
@@ -76,10 +78,8 @@ public class BayesLikelyhood {
     }
 
     public void multiplyInto(double[] trgPotential) {
-        PotentialMultiplier m = new PotentialMultiplier(varPotential, varPos, parentVarPos, parentIndexMultipliers,
-                                                        vars, multipliers, trgPotential);
-
-        m.multiple();
+        // every row of varPotential is the distribution, so only the variable's own outcome selects the factor
+        multiplyInto(trgPotential, distribution);
 
 //        int j = 0;
 //        int jlength = distribution.length;
@@ -92,6 +92,15 @@ public class BayesLikelyhood {
 
     }
 
+    /**
+     * Multiplies the given distribution of this likelyhood's variable into the potentials of its family clique.
+     */
+    public void multiplyInto(double[] trgPotential, double[] distribution) {
+        for ( int i = 0, length = trgPotential.length; i < length; i++ ) {
+            trgPotential[i] *= distribution[varIndexMap[i]];
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) { return true; }
@@ -89,7 +89,7 @@ public class JunctionTreeClique {
     }
 
     public void resetState(CliqueState cliqueState) {
-        cliqueState.setPotentials( Arrays.copyOf(potentials, potentials.length) );
+        System.arraycopy(potentials, 0, cliqueState.getPotentials(), 0, potentials.length);
     }
 
     @Override
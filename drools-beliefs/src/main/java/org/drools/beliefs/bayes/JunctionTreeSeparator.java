@@ -30,6 +30,9 @@ public class JunctionTreeSeparator {
     private JunctionTreeClique  child;
     //private double[]            potentials;
 
+    private final int[]         parentIndexMap;
+    private final int[]         childIndexMap;
+
 
     public JunctionTreeSeparator(int id, JunctionTreeClique parent, JunctionTreeClique child, OpenBitSet bitSet, Graph<BayesVariable> graph) {
         this.id = id;
@@ -44,6 +47,9 @@ public class JunctionTreeSeparator {
         for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
             values.add(graph.getNode(i).getContent());
         }
+
+        parentIndexMap = createIndexMap(parent);
+        childIndexMap = createIndexMap(child);
     }
 
     public OpenBitSet getBitSet() {
@@ -62,6 +68,26 @@ public class JunctionTreeSeparator {
         return id;
     }
 
+    /**
+     * Returns the map from the potential indexes of the given clique to the potential indexes of this separator.
+     * The maps of the parent and child cliques are computed when the separator is created and then shared by all
+     * the BayesInstances of the tree, so message passing does not have to recompute the index arithmetic.
+     */
+    public int[] getIndexMap(JunctionTreeClique clique) {
+        if ( clique == parent ) {
+            return parentIndexMap;
+        }
+        if ( clique == child ) {
+            return childIndexMap;
+        }
+        return createIndexMap(clique);
+    }
+
+    private int[] createIndexMap(JunctionTreeClique clique) {
+        return PotentialMultiplier.createSubsetIndexMap(clique.getValues().toArray(new BayesVariable[clique.getValues().size()]),
+                                                        values.toArray(new BayesVariable[values.size()]));
+    }
+
     public SeparatorState createState() {
         int numberOfStates = PotentialMultiplier.createNumberOfStates(values);
         double[]  potentials = new double[numberOfStates];
@@ -83,6 +83,31 @@ public class PotentialMultiplier {
         return parentVarPos;
     }
 
+    /**
+     * Creates a map from each index of the potentials of vars to the index of the potentials of subset,
+     * for the same outcomes of the subset's variables. Both arrays must use the same variable ordering.
+     */
+    public static int[] createSubsetIndexMap(BayesVariable[] vars, BayesVariable[] subset) {
+        int[] subsetVarPos = createSubsetVarPos(vars, subset);
+        int[] subsetMultipliers = createIndexMultipliers(subset, createNumberOfStates(subset));
+
+        int[] indexMap = new int[createNumberOfStates(vars)];
+        int[] path = new int[vars.length];
+        for ( int i = 0; i < indexMap.length; i++ ) {
+            int index = 0;
+            for ( int j = 0; j < subsetVarPos.length; j++ ) {
+                index += path[subsetVarPos[j]] * subsetMultipliers[j];
+            }
+            indexMap[i] = index;
+
+            // advance the path, the last variable iterates fastest
+            for ( int j = vars.length - 1; j >= 0 && ++path[j] == vars[j].getOutcomes().length; j-- ) {
+                path[j] = 0;
+            }
+        }
+        return indexMap;
+    }
+
     public void multiple() {
         varProbabilityTableRow = 0;
         trgPotentialIndex = 0;
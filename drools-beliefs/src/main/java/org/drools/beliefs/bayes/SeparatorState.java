@@ -18,10 +18,12 @@ package org.drools.beliefs.bayes;
 public class SeparatorState {
     private JunctionTreeSeparator jtSeparator;
     private double[]              potentials;
+    private double[]              oldPotentials;
 
     public SeparatorState(JunctionTreeSeparator jtSeparator, double[] potentials) {
         this.jtSeparator = jtSeparator;
         this.potentials = potentials;
+        this.oldPotentials = new double[potentials.length];
     }
 
     public JunctionTreeSeparator getJunctionTreeSeparator() {
@@ -32,4 +34,13 @@ public class SeparatorState {
         return potentials;
     }
 
+    /**
+     * Copies the current potentials into a buffer reused by every message passed through this separator,
+     * and returns that buffer.
+     */
+    public double[] copyOldPotentials() {
+        System.arraycopy(potentials, 0, oldPotentials, 0, potentials.length);
+        return oldPotentials;
+    }
+
 }
@@ -20,6 +20,8 @@ import org.drools.beliefs.bayes.BayesVariable;
 import org.drools.beliefs.bayes.BayesLikelyhood;
 import org.drools.beliefs.bayes.BayesNetwork;
 import org.drools.beliefs.bayes.BayesVariableState;
+import org.drools.beliefs.bayes.CliqueState;
+import org.drools.beliefs.bayes.GlobalUpdateListener;
 import org.drools.beliefs.bayes.JunctionTree;
 import org.drools.beliefs.bayes.JunctionTreeBuilder;
 import org.drools.beliefs.bayes.JunctionTreeClique;
@@ -28,9 +30,13 @@ import org.drools.beliefs.graph.GraphNode;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.drools.beliefs.bayes.JunctionTreeTest.assertArray;
 import static org.drools.beliefs.bayes.JunctionTreeTest.scaleDouble;
 import static org.drools.beliefs.bayes.example.SprinkerTest.connectParentToChildren;
+import static org.junit.Assert.assertEquals;
 
 public class EarthQuakeTest {
     Graph<BayesVariable> graph = new BayesNetwork();
@@ -192,4 +198,56 @@ public class EarthQuakeTest {
         assertArray( new double[]{0.881, 0.119}, scaleDouble(3, bayesInstance.marginalize("Alarm").getDistribution()) );
     }
 
+    @Test
+    public void testIncrementalEvidenceUpdate() {
+        final List<Integer> updatedCliques = new ArrayList<Integer>();
+        BayesInstance bayesInstance = new BayesInstance(jTree);
+        bayesInstance.setGlobalUpdateListener(new GlobalUpdateListener() {
+            @Override
+            public void beforeGlobalUpdate(CliqueState clique) {
+                updatedCliques.add(clique.getJunctionTreeClique().getId());
+            }
+
+            @Override
+            public void afterGlobalUpdate(CliqueState clique) {
+
+            }
+        });
+
+        bayesInstance.setLikelyhood("JohnCalls", new double[]{0.8, 0.2});
+        bayesInstance.globalUpdate();
+
+        // each update only changes a single variable, so it is distributed from that variable's family clique
+        bayesInstance.setLikelyhood("Earthquake", new double[]{0.3, 0.7});
+        bayesInstance.globalUpdate();
+        bayesInstance.setLikelyhood("JohnCalls", new double[]{0.4, 0.6});
+        bayesInstance.globalUpdate();
+
+        assertEquals( 3, updatedCliques.size() );
+        assertEquals( jTree.getRoot().getId(), (int) updatedCliques.get(0) );
+        assertEquals( earthquake.getFamily(), (int) updatedCliques.get(1) );
+        assertEquals( johnCalls.getFamily(), (int) updatedCliques.get(2) );
+
+        BayesInstance expected = new BayesInstance(jTree);
+        expected.setLikelyhood("Earthquake", new double[]{0.3, 0.7});
+        expected.setLikelyhood("JohnCalls", new double[]{0.4, 0.6});
+        expected.globalUpdate();
+
+        for ( String name : new String[] { "Burglary", "Earthquake", "Alarm", "JohnCalls", "MaryCalls" } ) {
+            assertArray( scaleDouble(6, expected.marginalize(name).getDistribution()),
+                         scaleDouble(6, bayesInstance.marginalize(name).getDistribution()) );
+        }
+
+        // hard evidence rules out an outcome, so changing it again falls back to a full update from the root
+        updatedCliques.clear();
+        bayesInstance.setLikelyhood("JohnCalls", new double[]{1.0, 0.0});
+        bayesInstance.globalUpdate();
+        bayesInstance.setLikelyhood("JohnCalls", new double[]{0.0, 1.0});
+        bayesInstance.globalUpdate();
+
+        assertEquals( 2, updatedCliques.size() );
+        assertEquals( johnCalls.getFamily(), (int) updatedCliques.get(0) );
+        assertEquals( jTree.getRoot().getId(), (int) updatedCliques.get(1) );
+    }
+
 }
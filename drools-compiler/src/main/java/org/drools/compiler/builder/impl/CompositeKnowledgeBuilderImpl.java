@@ -18,6 +18,7 @@ package org.drools.compiler.builder.impl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -190,6 +191,9 @@ public class CompositeKnowledgeBuilderImpl implements CompositeKnowledgeBuilder
     private void buildResource(Map<String, CompositePackageDescr> packages, ResourceType resourceType, ResourceToPkgDescrMapper mapper) {
         List<ResourceDescr> resourcesByType = this.resourcesByType.remove(resourceType);
         if (resourcesByType != null) {
+            if (mapper == ResourceToPkgDescrMapper.DRL_TO_PKG_DESCR && kBuilder.isParallelDrlParsing(resourcesByType.size())) {
+                mapper = parseDrlsInParallel(resourcesByType);
+            }
             for (ResourceDescr resourceDescr : resourcesByType) {
                 try {
                     registerPackageDescr(resourceDescr, packages, resourceDescr.resource, mapper.map(kBuilder, resourceDescr));
@@ -206,6 +210,16 @@ public class CompositeKnowledgeBuilderImpl implements CompositeKnowledgeBuilder
         }
     }
 
+    private ResourceToPkgDescrMapper parseDrlsInParallel(List<ResourceDescr> resourceDescrs) {
+        List<Resource> resources = resourceDescrs.stream().map(rd -> rd.resource).collect(Collectors.toList());
+        List<KnowledgeBuilderImpl.ParsedDrl> parsedDrls = kBuilder.parseDrls(resources);
+        Map<ResourceDescr, KnowledgeBuilderImpl.ParsedDrl> parsedByResource = new IdentityHashMap<>();
+        for (int i = 0; i < resourceDescrs.size(); i++) {
+            parsedByResource.put(resourceDescrs.get(i), parsedDrls.get(i));
+        }
+        return ( kb, resourceDescr ) -> kb.registerParsedDrl(parsedByResource.get(resourceDescr));
+    }
+
     private void registerPackageDescr(ResourceDescr resourceDescr, Map<String, CompositePackageDescr> packages, Resource resource, PackageDescr packageDescr) {
         if (packageDescr != null) {
             CompositePackageDescr compositePackageDescr = packages.get(packageDescr.getNamespace());
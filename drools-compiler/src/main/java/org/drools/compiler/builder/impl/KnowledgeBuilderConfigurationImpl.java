@@ -32,6 +32,7 @@ import org.drools.compiler.compiler.DrlParser;
 import org.drools.compiler.compiler.PackageRegistry;
 import org.drools.compiler.compiler.xml.RulesSemanticModule;
 import org.drools.compiler.kie.builder.impl.InternalKieModule.CompilationCache;
+import org.drools.compiler.kie.builder.impl.PackageDescrCache;
 import org.drools.compiler.rule.builder.DroolsCompilerComponentFactory;
 import org.drools.compiler.rule.builder.util.AccumulateUtil;
 import org.drools.core.base.evaluators.EvaluatorDefinition;
@@ -84,6 +85,7 @@ import org.slf4j.LoggerFactory;
  * drools.dump.dir = <String>
  * drools.classLoaderCacheEnabled = true|false
  * drools.parallelRulesBuildThreshold = <int>
+ * drools.descrCacheDir = <String>
  *
  * default dialect is java.
  * Available preconfigured Accumulate functions are:
@@ -104,6 +106,8 @@ public class KnowledgeBuilderConfigurationImpl
         KnowledgeBuilderConfiguration {
 
     private static final int                  DEFAULT_PARALLEL_RULES_BUILD_THRESHOLD = 10;
+
+    public static final String                DESCR_CACHE_DIR_PROPERTY = "drools.descrCacheDir";
     
     private Map<String, DialectConfiguration> dialectConfigurations;
 
@@ -123,6 +127,8 @@ public class KnowledgeBuilderConfigurationImpl
 
     private File                              dumpDirectory;
 
+    private PackageDescrCache                 packageDescrCache;
+
     private boolean                           processStringEscapes    = true;
 
     private boolean                           classLoaderCache        = true;
@@ -229,6 +235,8 @@ public class KnowledgeBuilderConfigurationImpl
 
         buildDumpDirectory();
 
+        buildPackageDescrCache(this.chainedProperties.getProperty(DESCR_CACHE_DIR_PROPERTY, null));
+
         buildSeverityMap();
 
         setProperty(ProcessStringEscapesOption.PROPERTY_NAME,
@@ -275,6 +283,8 @@ public class KnowledgeBuilderConfigurationImpl
             this.evaluatorRegistry.addEvaluatorDefinition(value);
         } else if (name.equals(DumpDirOption.PROPERTY_NAME)) {
             buildDumpDirectory(value);
+        } else if (name.equals(DESCR_CACHE_DIR_PROPERTY)) {
+            buildPackageDescrCache(value);
         } else if (name.equals(DefaultPackageNameOption.PROPERTY_NAME)) {
             setDefaultPackageName(value);
         } else if (name.equals(ProcessStringEscapesOption.PROPERTY_NAME)) {
@@ -326,6 +336,8 @@ public class KnowledgeBuilderConfigurationImpl
             return evalDef != null ? evalDef.getClass().getName() : null;
         } else if (name.equals(DumpDirOption.PROPERTY_NAME)) {
             return this.dumpDirectory != null ? this.dumpDirectory.toString() : null;
+        } else if (name.equals(DESCR_CACHE_DIR_PROPERTY)) {
+            return this.packageDescrCache != null ? this.packageDescrCache.getCacheDir().toString() : null;
         } else if (name.equals(ProcessStringEscapesOption.PROPERTY_NAME)) {
             return String.valueOf(isProcessStringEscapes());
         } else if (name.equals(ClassLoaderCacheOption.PROPERTY_NAME)) {
@@ -616,6 +628,17 @@ public class KnowledgeBuilderConfigurationImpl
         }
     }
 
+    private void buildPackageDescrCache(String cacheDir) {
+        this.packageDescrCache = cacheDir != null ? new PackageDescrCache(new File(cacheDir)) : null;
+    }
+
+    /**
+     * Returns the cache of the parsed DRL resources or null if the drools.descrCacheDir property hasn't been set
+     */
+    public PackageDescrCache getPackageDescrCache() {
+        return packageDescrCache;
+    }
+
     public File getDumpDir() {
         return this.dumpDirectory;
     }
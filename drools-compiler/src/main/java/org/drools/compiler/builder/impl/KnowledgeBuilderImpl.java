@@ -41,6 +41,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.drools.compiler.compiler.AnnotationDeclarationError;
 import org.drools.compiler.compiler.BPMN2ProcessFactory;
@@ -79,6 +80,7 @@ import org.drools.compiler.compiler.RuleBuildError;
 import org.drools.compiler.compiler.ScoreCardFactory;
 import org.drools.compiler.compiler.TypeDeclarationError;
 import org.drools.compiler.compiler.xml.XmlPackageReader;
+import org.drools.compiler.kie.builder.impl.PackageDescrCache;
 import org.drools.compiler.lang.ExpanderException;
 import org.drools.compiler.lang.descr.AbstractClassTypeDeclarationDescr;
 import org.drools.compiler.lang.descr.AccumulateImportDescr;
@@ -218,6 +220,9 @@ public class KnowledgeBuilderImpl implements KnowledgeBuilder {
 
     private Map<String, Object> builderCache;
 
+    // the kbase.cache entries not produced by a dialect, grouped by the name of the compilation data containing them
+    private Map<String, Map<String, byte[]>> compilationCacheEntries;
+
     /**
      * Use this when package is starting from scratch.
      */
@@ -394,6 +399,16 @@ public class KnowledgeBuilderImpl implements KnowledgeBuilder {
             return compositePackageDescr;
         }
 
+        // the generated DRL is needed only to dump it, otherwise build the descriptors straight from the table
+        if (this.configuration.getDumpDir() == null) {
+            List<DroolsError> errors = new ArrayList<DroolsError>();
+            PackageDescr pkg = DecisionTableFactory.loadPackageDescrFromResource(resource, dtableConfiguration, configuration.getLanguageLevel(), errors);
+            if (pkg != null || !errors.isEmpty()) {
+                this.results.addAll(errors);
+                return errors.isEmpty() ? pkg : null;
+            }
+        }
+
         String generatedDrl = DecisionTableFactory.loadFromResource(resource, dtableConfiguration);
         return generatedDrlToPackageDescr(resource, generatedDrl);
     }
@@ -530,23 +545,82 @@ public class KnowledgeBuilderImpl implements KnowledgeBuilder {
 
     PackageDescr drlToPackageDescr(Resource resource) throws DroolsParserException,
             IOException {
-        PackageDescr pkg;
-        boolean hasErrors = false;
-        if (resource instanceof DescrResource) {
-            pkg = (PackageDescr) ((DescrResource) resource).getDescr();
-        } else {
-            final DrlParser parser = new DrlParser(configuration.getLanguageLevel());
-            pkg = parser.parse(resource);
-            this.results.addAll(parser.getErrors());
-            if (pkg == null) {
-                addBuilderResult(new ParserError(resource, "Parser returned a null Package", 0, 0));
+        return registerParsedDrl(parseDrl(resource));
+    }
+
+    boolean isParallelDrlParsing(int resourcesNumber) {
+        return parallelRulesBuildThreshold != -1 && resourcesNumber > 1;
+    }
+
+    /**
+     * Parses the given DRL resources concurrently, each one with its own DrlParser. The returned
+     * results are in the same order of the resources and must be registered in this KnowledgeBuilder
+     * through registerParsedDrl(), so errors are reported deterministically and from a single thread.
+     */
+    List<ParsedDrl> parseDrls(List<Resource> resources) {
+        ForkJoinPool pool = new ForkJoinPool(); // avoid common pool
+        try {
+            return pool.submit(() -> resources.parallelStream().map(this::parseDrl).collect(Collectors.toList())).get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("DRL parsing failed or interrupted", e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private ParsedDrl parseDrl(Resource resource) {
+        ParsedDrl parsed = new ParsedDrl();
+        try {
+            if (resource instanceof DescrResource) {
+                parsed.pkg = (PackageDescr) ((DescrResource) resource).getDescr();
+            } else {
+                PackageDescrCache descrCache = configuration.getPackageDescrCache();
+                String cacheKey = descrCache != null && resource instanceof InternalResource ?
+                                  descrCache.getKey(resource.getSourcePath(), ((InternalResource) resource).getBytes(), String.valueOf(configuration.getLanguageLevel())) :
+                                  null;
+                parsed.pkg = cacheKey != null ? descrCache.get(cacheKey, rootClassLoader) : null;
+                if (parsed.pkg == null) {
+                    final DrlParser parser = new DrlParser(configuration.getLanguageLevel());
+                    parsed.pkg = parser.parse(resource);
+                    parsed.errors.addAll(parser.getErrors());
+                    if (parsed.pkg == null) {
+                        parsed.errors.add(new ParserError(resource, "Parser returned a null Package", 0, 0));
+                    }
+                    parsed.hasErrors = parser.hasErrors();
+                    if (cacheKey != null && parsed.pkg != null && parsed.errors.isEmpty()) {
+                        descrCache.put(cacheKey, parsed.pkg);
+                    }
+                }
             }
-            hasErrors = parser.hasErrors();
+            if (parsed.pkg != null) {
+                parsed.pkg.setResource(resource);
+            }
+        } catch (DroolsParserException | IOException | RuntimeException e) {
+            parsed.exception = e;
         }
-        if (pkg != null) {
-            pkg.setResource(resource);
+        return parsed;
+    }
+
+    PackageDescr registerParsedDrl(ParsedDrl parsed) throws DroolsParserException,
+            IOException {
+        if (parsed.exception instanceof DroolsParserException) {
+            throw (DroolsParserException) parsed.exception;
         }
-        return hasErrors ? null : pkg;
+        if (parsed.exception instanceof IOException) {
+            throw (IOException) parsed.exception;
+        }
+        if (parsed.exception != null) {
+            throw (RuntimeException) parsed.exception;
+        }
+        this.results.addAll(parsed.errors);
+        return parsed.hasErrors ? null : parsed.pkg;
+    }
+
+    static class ParsedDrl {
+        private PackageDescr pkg;
+        private final List<KnowledgeBuilderResult> errors = new ArrayList<>();
+        private boolean hasErrors;
+        private Exception exception;
     }
 
     /**
@@ -1147,7 +1221,7 @@ public class KnowledgeBuilderImpl implements KnowledgeBuilder {
     }
 
     private void compileRulesLevel(PackageDescr packageDescr, PackageRegistry pkgRegistry, List<RuleDescr> rules) {
-        boolean parallelRulesBuild = this.kBase == null && parallelRulesBuildThreshold != -1 && rules.size() > parallelRulesBuildThreshold;
+        boolean parallelRulesBuild = parallelRulesBuildThreshold != -1 && rules.size() > parallelRulesBuildThreshold;
         if (parallelRulesBuild) {
             Map<String, RuleBuildContext> ruleCxts = new ConcurrentHashMap<>();
             ForkJoinPool pool = new ForkJoinPool(); // avoid common pool
@@ -1169,6 +1243,8 @@ public class KnowledgeBuilderImpl implements KnowledgeBuilder {
                 ).get();
             } catch (InterruptedException | ExecutionException e) { 
                 throw new RuntimeException("Rules compilation failed or interrupted", e);
+            } finally {
+                pool.shutdown();
             }
             for (RuleDescr ruleDescr : rules) {
                 RuleBuildContext context = ruleCxts.get(ruleDescr.getName());
@@ -2477,6 +2553,21 @@ public class KnowledgeBuilderImpl implements KnowledgeBuilder {
         }
     }
 
+    /**
+     * Adds an entry to be written in the kbase.cache of the kjar outside the classes of the dialects, so that it can be
+     * read back with CompilationCache.getCacheForDialect( compilationDataName ) when the kjar is loaded
+     */
+    public void addCompilationCacheEntry(String compilationDataName, String name, byte[] data) {
+        if (compilationCacheEntries == null) {
+            compilationCacheEntries = new HashMap<>();
+        }
+        compilationCacheEntries.computeIfAbsent(compilationDataName, k -> new HashMap<>()).put(name, data);
+    }
+
+    public Map<String, Map<String, byte[]>> getCompilationCacheEntries() {
+        return compilationCacheEntries == null ? Collections.emptyMap() : compilationCacheEntries;
+    }
+
     // composite build lifecycle
 
     public void buildPackages( Collection<CompositePackageDescr> packages ) {
@@ -15,9 +15,11 @@
 
 package org.drools.compiler.compiler;
 
+import org.drools.compiler.lang.descr.PackageDescr;
 import org.kie.api.internal.utils.ServiceRegistry;
 import org.kie.api.io.Resource;
 import org.kie.internal.builder.DecisionTableConfiguration;
+import org.kie.internal.builder.conf.LanguageLevelOption;
 import org.kie.internal.io.ResourceFactory;
 import org.kie.api.internal.utils.ServiceRegistryImpl;
 
@@ -40,6 +42,11 @@ public class DecisionTableFactory {
         return getDecisionTableProvider().loadFromInputStreamWithTemplates( resource, configuration );
     }
 
+    public static PackageDescr loadPackageDescrFromResource(Resource resource, DecisionTableConfiguration configuration,
+                                                            LanguageLevelOption languageLevel, List<DroolsError> errors) {
+        return getDecisionTableProvider().loadPackageDescrFromResource( resource, configuration, languageLevel, errors );
+    }
+
     public static synchronized void setDecisionTableProvider(DecisionTableProvider provider) {
         DecisionTableFactory.provider = provider;
     }
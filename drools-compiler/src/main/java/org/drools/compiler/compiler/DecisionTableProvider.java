@@ -15,9 +15,11 @@
 
 package org.drools.compiler.compiler;
 
+import org.drools.compiler.lang.descr.PackageDescr;
 import org.kie.api.Service;
 import org.kie.api.io.Resource;
 import org.kie.internal.builder.DecisionTableConfiguration;
+import org.kie.internal.builder.conf.LanguageLevelOption;
 
 import java.util.List;
 
@@ -29,5 +31,18 @@ public interface DecisionTableProvider extends Service {
     List<String> loadFromInputStreamWithTemplates(Resource resource,
                                                   DecisionTableConfiguration configuration);
 
+    /**
+     * Builds the package descriptor of the decision table without going through its DRL.
+     * Problems found while building it are added to the given errors.
+     *
+     * @return the package descriptor, or null if this provider can only generate DRL
+     *         or if any error was found.
+     */
+    default PackageDescr loadPackageDescrFromResource(Resource resource,
+                                                      DecisionTableConfiguration configuration,
+                                                      LanguageLevelOption languageLevel,
+                                                      List<DroolsError> errors) {
+        return null;
+    }
 
 }
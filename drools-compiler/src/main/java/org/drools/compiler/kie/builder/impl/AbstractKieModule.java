@@ -187,6 +187,14 @@ public abstract class AbstractKieModule
         return classes;
     }
 
+    @Override
+    public byte[] getClassBytes(String fileName, boolean includeTypeDeclarations) {
+        if (fileName.endsWith(".class") && isAvailable(fileName) && (includeTypeDeclarations || !isTypeDeclaration(fileName))) {
+            return getBytes(fileName);
+        }
+        return null;
+    }
+
     private boolean isTypeDeclaration(String fileName) {
         Map<String, TypeMetaInfo> info = getTypesMetaInfo();
         TypeMetaInfo typeInfo = info == null ? null : info.get(convertResourceToClassName(fileName));
@@ -141,6 +141,23 @@ public interface InternalKieModule extends KieModule, Serializable {
 
     default CompilationCache getCompilationCache( String kbaseName) { return null; }
 
+    /**
+     * Tells if the content of this KieModule is read from its archive only when requested
+     */
+    default boolean isLazyLoading() { return false; }
+
+    /**
+     * Returns the bytecode of the given .class file of this KieModule, or null if it isn't available
+     */
+    default byte[] getClassBytes(String fileName, boolean includeTypeDeclarations) {
+        return getClassesMap( includeTypeDeclarations ).get( fileName );
+    }
+
+    /**
+     * Releases the resources held by this KieModule once it has been removed from the KieRepository
+     */
+    default void dispose() { }
+
     class CompilationCache implements Serializable {
         private static final long serialVersionUID = 3812243055974412935L;
         // this is a { DIALECT -> ( RESOURCE, List<CompilationEntry> ) } cache
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.kie.builder.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.drools.core.util.IoUtils.readBytesFromInputStream;
+
+/**
+ * A read only view of the entries of a kjar that keeps the jar open and inflates an entry only
+ * when it is requested, instead of copying the content of the whole jar in the heap.
+ * The central directory of the jar is read (and mapped in memory) by the JDK ZipFile only once
+ * and the same store is shared among all the KieModules created from the same unchanged file.
+ * A store is closed when the last KieModule using it releases it, or when its jar has been rewritten
+ * and no KieModule is using it anymore.
+ */
+public class KieJarStore {
+
+    private static final Logger log = LoggerFactory.getLogger( KieJarStore.class );
+
+    // guarded by KieJarStore.class
+    private static final Map<String, KieJarStore> stores = new HashMap<String, KieJarStore>();
+
+    private final File file;
+    private final String key;
+    private final ZipFile zipFile;
+    private final Map<String, ZipEntry> entries = new HashMap<String, ZipEntry>();
+    private final Map<String, byte[]> folders;
+    private final List<String> fileNames = new ArrayList<String>();
+
+    private int references;
+
+    /**
+     * Returns the store of the given jar, opening it if it isn't shared yet. Every acquired store
+     * must be released when it is no longer used.
+     */
+    public static synchronized KieJarStore acquire(File file) {
+        String path = file.getAbsolutePath();
+        // a jar rewritten in place (e.g. a SNAPSHOT update) has a different key, so it gets a new store
+        String key = path + ":" + file.lastModified() + ":" + file.length();
+        KieJarStore store = stores.get( path );
+        if (store == null || !store.key.equals( key )) {
+            if (store != null && store.references == 0) {
+                store.close();
+            }
+            store = new KieJarStore( file, key );
+            stores.put( path, store );
+        }
+        store.references++;
+        return store;
+    }
+
+    public static synchronized void release(KieJarStore store) {
+        if (--store.references > 0) {
+            return;
+        }
+        String path = store.file.getAbsolutePath();
+        if (stores.get( path ) == store) {
+            stores.remove( path );
+        }
+        store.close();
+    }
+
+    static synchronized boolean isShared(File file) {
+        return stores.containsKey( file.getAbsolutePath() );
+    }
+
+    private KieJarStore(File file, String key) {
+        this.file = file;
+        this.key = key;
+        try {
+            this.zipFile = new ZipFile( file );
+            this.folders = ZipKieModule.indexZipFile( zipFile, (entryName, entry) -> {
+                entries.put( entryName, entry );
+                fileNames.add( entryName );
+            } );
+        } catch ( IOException e ) {
+            throw new RuntimeException( "Unable to open ZipFile: " + file, e );
+        }
+    }
+
+    private void close() {
+        try {
+            zipFile.close();
+        } catch ( IOException e ) {
+            log.warn( "Unable to close ZipFile: " + file, e );
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public boolean isAvailable(String name) {
+        return entries.containsKey( name ) || folders.containsKey( name );
+    }
+
+    public byte[] getBytes(String name) {
+        ZipEntry entry = entries.get( name );
+        if (entry == null) {
+            return folders.get( name );
+        }
+        try (InputStream is = zipFile.getInputStream( entry )) {
+            return readBytesFromInputStream( is );
+        } catch ( IOException e ) {
+            throw new RuntimeException( "Unable to read entry " + name + " from ZipFile: " + file, e );
+        }
+    }
+
+    public List<String> getFileNames() {
+        return Collections.unmodifiableList( fileNames );
+    }
+}
@@ -114,6 +114,9 @@ public class KieMetaInfoBuilder {
             }
 
             _kmoduleCacheBuilder.addCompilationData( _compData.build() );
+            for ( Map.Entry<String, Map<String, byte[]>> entries : kBuilder.getCompilationCacheEntries().entrySet() ) {
+                _kmoduleCacheBuilder.addCompilationData( createCompilationData( entries.getKey(), entries.getValue() ) );
+            }
             if (trgMfs != null) {
                 writeCompilationDataToTrg( _kmoduleCacheBuilder.build(), kieBaseName, trgMfs );
             }
@@ -130,6 +133,17 @@ public class KieMetaInfoBuilder {
         return KieModuleCache.CompilationData.newBuilder().setDialect("java");
     }
 
+    private KieModuleCache.CompilationData createCompilationData(String name, Map<String, byte[]> entries) {
+        KieModuleCache.CompilationData.Builder _cdata = KieModuleCache.CompilationData.newBuilder().setDialect( name );
+        for ( Map.Entry<String, byte[]> entry : entries.entrySet() ) {
+            _cdata.addEntry( KieModuleCache.CompDataEntry.newBuilder()
+                                                         .setId( entry.getKey() )
+                                                         .setData( ByteString.copyFrom( entry.getValue() ) )
+                                                         .build() );
+        }
+        return _cdata.build();
+    }
+
     private void addToCompilationData(KieModuleCache.CompilationData.Builder _cdata,
                                       JavaDialectRuntimeData runtimeData,
                                       List<String> types) {
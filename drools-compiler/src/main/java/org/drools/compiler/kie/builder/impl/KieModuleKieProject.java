@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.drools.core.common.ProjectClassLoader;
 import org.kie.api.builder.ReleaseId;
@@ -68,7 +69,29 @@ public class KieModuleKieProject extends AbstractKieProject {
     }
 
     private void initClassLoader(ProjectClassLoader projectCL) {
-        projectCL.storeClasses( getClassesMap() );
+        if ( kieModule.isLazyLoading() ) {
+            // don't inflate the classes of the kjar up front, the class loader reads them when they are first loaded
+            projectCL.setBytecodeProvider( createBytecodeProvider() );
+        } else {
+            projectCL.setBytecodeProvider( null );
+            projectCL.storeClasses( getClassesMap() );
+        }
+    }
+
+    private Function<String, byte[]> createBytecodeProvider() {
+        List<InternalKieModule> modules = new ArrayList<InternalKieModule>( kieModules );
+        InternalKieModule mainModule = this.kieModule;
+        return resourceName -> {
+            // same precedence of getClassesMap(): the main kieModule wins over its dependencies
+            for ( int i = modules.size() - 1; i >= 0; i-- ) {
+                InternalKieModule kModule = modules.get( i );
+                byte[] bytes = kModule.getClassBytes( resourceName, kModule != mainModule );
+                if ( bytes != null ) {
+                    return bytes;
+                }
+            }
+            return null;
+        };
     }
 
     private Map<String, byte[]> getClassesMap() {
@@ -116,7 +116,11 @@ public class KieRepositoryImpl
     }
 
     public KieModule removeKieModule(ReleaseId releaseId) {
-        return kieModuleRepo.remove(releaseId);
+        KieModule removedKieModule = kieModuleRepo.remove(releaseId);
+        if (removedKieModule instanceof InternalKieModule) {
+            ((InternalKieModule) removedKieModule).dispose();
+        }
+        return removedKieModule;
     }
 
     KieModule getOldKieModule(ReleaseId releaseId) {
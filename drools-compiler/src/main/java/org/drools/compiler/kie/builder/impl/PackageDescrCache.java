@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.kie.builder.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.google.protobuf.ByteString;
+import org.drools.compiler.kie.builder.impl.KieModuleCache.CompDataEntry;
+import org.drools.compiler.kie.builder.impl.KieModuleCache.CompilationData;
+import org.drools.compiler.kie.builder.impl.KieModuleCache.Header;
+import org.drools.compiler.kie.builder.impl.KieModuleCache.KModuleCache;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.core.common.DroolsObjectInputStream;
+import org.drools.core.common.DroolsObjectOutputStream;
+import org.drools.core.util.Drools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent cache of the PackageDescrs parsed from DRL resources, addressed by the hash of
+ * the resource path, of its content and of the parser configuration. The path is part of the key
+ * because the parsed descrs keep a reference to the Resource they come from, so identical contents
+ * under different paths must not share an entry. Each entry is stored in its own file
+ * using the same protobuf format of the KieModuleCache, so an unchanged resource doesn't need
+ * to be parsed again by subsequent builds, also when they happen in a different JVM.
+ */
+public class PackageDescrCache {
+
+    private static final Logger log = LoggerFactory.getLogger( PackageDescrCache.class );
+
+    private static final String DESCR_DIALECT = "descr";
+    private static final String CACHE_FILE_EXTENSION = ".descr";
+
+    private final File cacheDir;
+
+    public PackageDescrCache( File cacheDir ) {
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            throw new RuntimeException( "Unable to create the PackageDescr cache directory: " + cacheDir );
+        }
+        this.cacheDir = cacheDir;
+    }
+
+    public File getCacheDir() {
+        return cacheDir;
+    }
+
+    public String getKey( String sourcePath, byte[] content, String parserConfiguration ) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance( "SHA-256" );
+            digest.update( ( sourcePath + ":" ).getBytes( StandardCharsets.UTF_8 ) );
+            digest.update( content );
+            digest.update( ( parserConfiguration + ":" + Drools.getFullVersion() ).getBytes( StandardCharsets.UTF_8 ) );
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append( String.format( "%02x", b ) );
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException( e );
+        }
+    }
+
+    public PackageDescr get( String key, ClassLoader classLoader ) {
+        File file = new File( cacheDir, key + CACHE_FILE_EXTENSION );
+        if (!file.exists()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream( file )) {
+            Header _header = KieModuleCacheHelper.readFromStreamWithHeaderPreloaded( in, KieModuleCacheHelper.buildRegistry() );
+            KModuleCache _cache = KModuleCache.parseFrom( _header.getPayload() );
+            for (CompilationData _data : _cache.getCompilationDataList()) {
+                if (DESCR_DIALECT.equals( _data.getDialect() )) {
+                    for (CompDataEntry _entry : _data.getEntryList()) {
+                        if (key.equals( _entry.getId() )) {
+                            return readPackageDescr( _entry.getData().toByteArray(), classLoader );
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn( "Unable to read cached PackageDescr from " + file + ", the resource will be parsed again", e );
+        }
+        return null;
+    }
+
+    public void put( String key, PackageDescr pkg ) {
+        byte[] bytes;
+        try {
+            bytes = writePackageDescr( pkg );
+        } catch (IOException e) {
+            log.warn( "PackageDescr " + pkg.getName() + " cannot be serialized and won't be cached", e );
+            return;
+        }
+
+        KModuleCache _cache = KModuleCache.newBuilder()
+                .addCompilationData( CompilationData.newBuilder()
+                                             .setDialect( DESCR_DIALECT )
+                                             .addEntry( CompDataEntry.newBuilder()
+                                                                .setId( key )
+                                                                .setData( ByteString.copyFrom( bytes ) ) ) )
+                .build();
+
+        // write on a temporary file first, so concurrent builds never read a partially written entry
+        File file = new File( cacheDir, key + CACHE_FILE_EXTENSION );
+        try {
+            File tmpFile = File.createTempFile( key, ".tmp", cacheDir );
+            try (OutputStream out = new FileOutputStream( tmpFile )) {
+                KieModuleCacheHelper.writeToStreamWithHeader( out, _cache );
+            }
+            if (!tmpFile.renameTo( file )) {
+                tmpFile.delete();
+            }
+        } catch (IOException e) {
+            log.warn( "Unable to write cached PackageDescr to " + file, e );
+        }
+    }
+
+    private static byte[] writePackageDescr( PackageDescr pkg ) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutput out = new DroolsObjectOutputStream( baos )) {
+            out.writeObject( pkg );
+        }
+        return baos.toByteArray();
+    }
+
+    private static PackageDescr readPackageDescr( byte[] bytes, ClassLoader classLoader ) throws IOException, ClassNotFoundException {
+        try (ObjectInput in = new DroolsObjectInputStream( new ByteArrayInputStream( bytes ), classLoader )) {
+            return (PackageDescr) in.readObject();
+        }
+    }
+}
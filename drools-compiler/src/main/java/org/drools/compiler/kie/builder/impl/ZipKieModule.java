@@ -34,18 +34,47 @@ import org.kie.api.builder.model.KieModuleModel;
 import static org.drools.core.util.IoUtils.readBytesFromInputStream;
 
 public class ZipKieModule extends AbstractKieModule implements InternalKieModule, Serializable {
+
+    /**
+     * When set to true the content of the kjar is not copied in the heap, but read on demand from a
+     * KieJarStore shared among all the ZipKieModules created from the same file
+     */
+    public static final String LAZY_LOADING_PROPERTY = "drools.kjar.lazyLoading";
+
     private File file;
     private Map<String, byte[]> zipEntries;
     private List<String> fileNames;
 
+    private boolean lazyLoading;
+    private transient KieJarStore jarStore;
+
     public ZipKieModule() { }
 
     public ZipKieModule(ReleaseId releaseId,
                         KieModuleModel kieProject,
                         File file) {
+        this(releaseId, kieProject, file, Boolean.getBoolean( LAZY_LOADING_PROPERTY ));
+    }
+
+    public ZipKieModule(ReleaseId releaseId,
+                        KieModuleModel kieProject,
+                        File file,
+                        boolean lazyLoading) {
         super(releaseId, kieProject );
         this.file = file;
-        indexZipFile( file );
+        this.lazyLoading = lazyLoading;
+        if (lazyLoading) {
+            getJarStore();
+        } else {
+            indexZipFile( file );
+        }
+    }
+
+    private KieJarStore getJarStore() {
+        if (jarStore == null) {
+            jarStore = KieJarStore.acquire( file );
+        }
+        return jarStore;
     }
 
     @Override
@@ -55,17 +84,22 @@ public class ZipKieModule extends AbstractKieModule implements InternalKieModule
 
     @Override
     public boolean isAvailable(String name ) {
-        return this.zipEntries.containsKey( name );
+        return lazyLoading ? getJarStore().isAvailable( name ) : this.zipEntries.containsKey( name );
     }
 
     @Override
     public byte[] getBytes(String name) {
-        return zipEntries.get(name);
+        return lazyLoading ? getJarStore().getBytes( name ) : zipEntries.get(name);
     }
 
     @Override
     public Collection<String> getFileNames() {
-        return fileNames;
+        return lazyLoading ? getJarStore().getFileNames() : fileNames;
+    }
+
+    @Override
+    public boolean isLazyLoading() {
+        return lazyLoading;
     }
 
     @Override
@@ -81,39 +115,27 @@ public class ZipKieModule extends AbstractKieModule implements InternalKieModule
         return "ZipKieModule[releaseId=" + getReleaseId() + ",file=" + file + "]";
     }
 
+    @Override
+    public void dispose() {
+        if (jarStore != null) {
+            KieJarStore.release( jarStore );
+            jarStore = null;
+        }
+    }
+
     private void indexZipFile(java.io.File jarFile) {
-        Map<String, List<String>> folders = new HashMap<String, List<String>>();
         zipEntries = new HashMap<String, byte[]>();
         fileNames = new ArrayList<String>();
 
         ZipFile zipFile = null;
         try {
             zipFile = new ZipFile( jarFile );
-            Enumeration< ? extends ZipEntry> entries = zipFile.entries();
-            while ( entries.hasMoreElements() ) {
-                ZipEntry entry = entries.nextElement();
-                if (entry.getName().endsWith(".dex")) {
-                    continue; //avoid out of memory error, it is useless anyway
-                }
-                String entryName = entry.getName();
-                if (entry.isDirectory()) {
-                    if (entryName.endsWith( "/" )) {
-                        entryName = entryName.substring( 0, entryName.length()-1 );
-                    }
-                } else {
-                    byte[] bytes = readBytesFromInputStream( zipFile.getInputStream( entry ) );
-                    zipEntries.put( entryName, bytes );
-                    fileNames.add( entryName );
-                }
-                int lastSlashPos = entryName.lastIndexOf( '/' );
-                String folderName = lastSlashPos < 0 ? "" : entryName.substring( 0, lastSlashPos );
-                List<String> folder = folders.get(folderName);
-                if (folder == null) {
-                    folder = new ArrayList<String>();
-                    folders.put( folderName, folder );
-                }
-                folder.add(lastSlashPos < 0 ? entryName : entryName.substring( lastSlashPos+1 ));
-            }
+            final ZipFile zip = zipFile;
+            Map<String, byte[]> folders = indexZipFile( zipFile, (entryName, entry) -> {
+                zipEntries.put( entryName, readBytesFromInputStream( zip.getInputStream( entry ) ) );
+                fileNames.add( entryName );
+            } );
+            zipEntries.putAll( folders );
         } catch ( IOException e ) {
             throw new RuntimeException( "Unable to get all ZipFile entries: " + jarFile, e );
         } finally {
@@ -125,13 +147,50 @@ public class ZipKieModule extends AbstractKieModule implements InternalKieModule
                 }
             }
         }
+    }
+
+    interface ZipFileEntryConsumer {
+        void accept( String entryName, ZipEntry entry ) throws IOException;
+    }
+
+    /**
+     * Passes each file entry of the given zip to the consumer and returns the content of its folders,
+     * each one being the list of the names of its children separated by a new line
+     */
+    static Map<String, byte[]> indexZipFile(ZipFile zipFile, ZipFileEntryConsumer fileConsumer) throws IOException {
+        Map<String, List<String>> folders = new HashMap<String, List<String>>();
+        Enumeration< ? extends ZipEntry> entries = zipFile.entries();
+        while ( entries.hasMoreElements() ) {
+            ZipEntry entry = entries.nextElement();
+            if (entry.getName().endsWith(".dex")) {
+                continue; //avoid out of memory error, it is useless anyway
+            }
+            String entryName = entry.getName();
+            if (entry.isDirectory()) {
+                if (entryName.endsWith( "/" )) {
+                    entryName = entryName.substring( 0, entryName.length()-1 );
+                }
+            } else {
+                fileConsumer.accept( entryName, entry );
+            }
+            int lastSlashPos = entryName.lastIndexOf( '/' );
+            String folderName = lastSlashPos < 0 ? "" : entryName.substring( 0, lastSlashPos );
+            List<String> folder = folders.get(folderName);
+            if (folder == null) {
+                folder = new ArrayList<String>();
+                folders.put( folderName, folder );
+            }
+            folder.add(lastSlashPos < 0 ? entryName : entryName.substring( lastSlashPos+1 ));
+        }
 
+        Map<String, byte[]> folderContents = new HashMap<String, byte[]>();
         for (Map.Entry<String, List<String>> folder : folders.entrySet()) {
             StringBuilder sb = new StringBuilder();
             for (String child : folder.getValue()) {
                 sb.append( child ).append( "\n" );
             }
-            zipEntries.put( folder.getKey(), sb.toString().getBytes( StandardCharsets.UTF_8 ) );
+            folderContents.put( folder.getKey(), sb.toString().getBytes( StandardCharsets.UTF_8 ) );
         }
+        return folderContents;
     }
 }
@@ -1,14 +1,20 @@
 package org.drools.compiler.builder.impl;
 
+import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.io.ResourceFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Properties;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 
 public class KnowledgeBuilderImplTest {
@@ -27,6 +33,28 @@ public class KnowledgeBuilderImplTest {
         assertThat(KnowledgeBuilderImpl.createDumpDrlFile(dumpDir, "aa.AA01-_", ".drl"), fileEndsWith(File.separator + "aa.AA01-_.drl"));
     }
 
+    @Test
+    public void testDescrCacheKeepsResourceOfIdenticalDrlsUnderDifferentPaths() throws Exception {
+        final String drl =
+                "package org.drools.test\n" +
+                "rule R1 when\n" +
+                "    String( length > 3 )\n" +
+                "then\n" +
+                "end\n";
+
+        final Properties properties = new Properties();
+        properties.setProperty(KnowledgeBuilderConfigurationImpl.DESCR_CACHE_DIR_PROPERTY, temporaryFolder.newFolder("descr-cache").getAbsolutePath());
+
+        for (String path : new String[] { "a/rules.drl", "b/rules.drl", "a/rules.drl" }) {
+            final KnowledgeBuilderImpl kbuilder = new KnowledgeBuilderImpl(new KnowledgeBuilderConfigurationImpl(properties));
+            kbuilder.add(ResourceFactory.newByteArrayResource(drl.getBytes()).setSourcePath(path), ResourceType.DRL);
+            assertFalse(kbuilder.getErrors().toString(), kbuilder.hasErrors());
+
+            final RuleImpl rule = kbuilder.getPackage("org.drools.test").getRule("R1");
+            assertEquals(path, rule.getResource().getSourcePath());
+        }
+    }
+
     private static FileEndsWithMatcher fileEndsWith(String endsWithString) {
         return new FileEndsWithMatcher(endsWithString);
     }
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.kie.builder.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.drools.compiler.kproject.ReleaseIdImpl;
+import org.drools.compiler.kproject.models.KieModuleModelImpl;
+import org.drools.core.common.ProjectClassLoader;
+import org.drools.core.rule.builder.dialect.asm.ClassGenerator;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class KieJarStoreTest {
+
+    @Test
+    public void testReadEntriesOnDemand() throws Exception {
+        File jar = File.createTempFile( "kjar", ".jar" );
+        jar.deleteOnExit();
+        writeJar( jar, "rule R when then end" );
+
+        KieJarStore store = KieJarStore.acquire( jar );
+        assertSame( store, KieJarStore.acquire( jar ) );
+
+        assertEquals( 2, store.getFileNames().size() );
+        assertTrue( store.isAvailable( "org/test/rules.drl" ) );
+        assertTrue( store.isAvailable( "org/test" ) );
+        assertFalse( store.isAvailable( "org/test/Missing.class" ) );
+
+        assertEquals( "rule R when then end", new String( store.getBytes( "org/test/rules.drl" ), StandardCharsets.UTF_8 ) );
+        assertArrayEquals( new byte[] { 1, 2, 3 }, store.getBytes( "org/test/Fact.class" ) );
+        assertEquals( "rules.drl\nFact.class\n", new String( store.getBytes( "org/test" ), StandardCharsets.UTF_8 ) );
+        assertNull( store.getBytes( "org/test/Missing.class" ) );
+
+        KieJarStore.release( store );
+        assertTrue( KieJarStore.isShared( jar ) );
+        KieJarStore.release( store );
+        assertFalse( KieJarStore.isShared( jar ) );
+    }
+
+    @Test
+    public void testRewrittenJarGetsNewStore() throws Exception {
+        File jar = File.createTempFile( "kjar", ".jar" );
+        jar.deleteOnExit();
+        writeJar( jar, "rule R when then end" );
+        KieJarStore oldStore = KieJarStore.acquire( jar );
+
+        writeJar( jar, "rule R2 when then end" );
+        jar.setLastModified( jar.lastModified() + 2000 );
+        KieJarStore newStore = KieJarStore.acquire( jar );
+        assertNotSame( oldStore, newStore );
+        assertEquals( "rule R2 when then end", new String( newStore.getBytes( "org/test/rules.drl" ), StandardCharsets.UTF_8 ) );
+
+        // the replaced store is closed when released, without unsharing the new one
+        KieJarStore.release( oldStore );
+        assertTrue( KieJarStore.isShared( jar ) );
+        KieJarStore.release( newStore );
+        assertFalse( KieJarStore.isShared( jar ) );
+    }
+
+    @Test
+    public void testDisposedModuleReleasesStore() throws Exception {
+        File jar = File.createTempFile( "kjar", ".jar" );
+        jar.deleteOnExit();
+        writeJar( jar, "rule R when then end" );
+
+        ZipKieModule kieModule = new ZipKieModule( new ReleaseIdImpl( "org.test", "kjar", "1.0" ), new KieModuleModelImpl(), jar, true );
+        assertTrue( KieJarStore.isShared( jar ) );
+        kieModule.dispose();
+        assertFalse( KieJarStore.isShared( jar ) );
+
+        // a disposed module can still be read, it acquires the store again
+        assertTrue( kieModule.isAvailable( "org/test/rules.drl" ) );
+        kieModule.dispose();
+        assertFalse( KieJarStore.isShared( jar ) );
+    }
+
+    @Test
+    public void testLazyModuleReadsClassesWhenLoaded() throws Exception {
+        File jar = File.createTempFile( "kjar", ".jar" );
+        jar.deleteOnExit();
+        byte[] factBytes = new ClassGenerator( "org.test.Fact", getClass().getClassLoader() ).addDefaultConstructor().generateBytecode();
+        writeJar( jar, "rule R when then end", factBytes );
+
+        AtomicInteger classReads = new AtomicInteger();
+        ZipKieModule kieModule = new ZipKieModule( new ReleaseIdImpl( "org.test", "kjar", "1.0" ), new KieModuleModelImpl(), jar, true ) {
+            @Override
+            public byte[] getBytes( String name ) {
+                if ( name.endsWith( ".class" ) ) {
+                    classReads.incrementAndGet();
+                }
+                return super.getBytes( name );
+            }
+        };
+
+        try {
+            KieModuleKieProject kieProject = new KieModuleKieProject( kieModule, getClass().getClassLoader() );
+            kieProject.init();
+            ProjectClassLoader projectCL = (ProjectClassLoader) kieProject.getClassLoader();
+
+            // initializing the project doesn't inflate the classes of the kjar
+            assertEquals( 0, classReads.get() );
+            assertTrue( projectCL.getStore() == null || !projectCL.getStore().containsKey( "org/test/Fact.class" ) );
+
+            Class<?> factClass = projectCL.loadClass( "org.test.Fact" );
+            assertEquals( "org.test.Fact", factClass.getName() );
+            assertEquals( 1, classReads.get() );
+            assertArrayEquals( factBytes, projectCL.getStore().get( "org/test/Fact.class" ) );
+
+            // once defined the class isn't read again
+            assertSame( factClass, projectCL.loadClass( "org.test.Fact" ) );
+            assertEquals( 1, classReads.get() );
+        } finally {
+            kieModule.dispose();
+        }
+    }
+
+    private static void writeJar( File jar, String drl ) throws Exception {
+        writeJar( jar, drl, new byte[] { 1, 2, 3 } );
+    }
+
+    private static void writeJar( File jar, String drl, byte[] factBytes ) throws Exception {
+        try (ZipOutputStream zos = new ZipOutputStream( new FileOutputStream( jar ) )) {
+            zos.putNextEntry( new ZipEntry( "org/test/" ) );
+            zos.closeEntry();
+            zos.putNextEntry( new ZipEntry( "org/test/rules.drl" ) );
+            zos.write( drl.getBytes( StandardCharsets.UTF_8 ) );
+            zos.closeEntry();
+            zos.putNextEntry( new ZipEntry( "org/test/Fact.class" ) );
+            zos.write( factBytes );
+            zos.closeEntry();
+        }
+    }
+}
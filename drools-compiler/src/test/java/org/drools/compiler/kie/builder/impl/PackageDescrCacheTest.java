@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.kie.builder.impl;
+
+import java.io.File;
+
+import org.drools.compiler.compiler.DrlParser;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class PackageDescrCacheTest {
+
+    private static final String DRL =
+            "package org.drools.test\n" +
+            "rule R1 when\n" +
+            "    String( length > 3 )\n" +
+            "then\n" +
+            "end\n" +
+            "rule R2 when\n" +
+            "    Integer( intValue > 3 )\n" +
+            "then\n" +
+            "end\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testStoreAndRetrieve() throws Exception {
+        File cacheDir = temporaryFolder.newFolder( "descr-cache" );
+        PackageDescrCache cache = new PackageDescrCache( cacheDir );
+
+        String key = cache.getKey( "r1.drl", DRL.getBytes(), "DRL6" );
+        assertNull( cache.get( key, getClass().getClassLoader() ) );
+
+        PackageDescr pkg = new DrlParser().parse( null, DRL );
+        cache.put( key, pkg );
+
+        PackageDescr cached = new PackageDescrCache( cacheDir ).get( key, getClass().getClassLoader() );
+        assertNotNull( cached );
+        assertEquals( "org.drools.test", cached.getName() );
+        assertEquals( 2, cached.getRules().size() );
+        assertEquals( "R1", cached.getRules().get( 0 ).getName() );
+        assertEquals( "R2", cached.getRules().get( 1 ).getName() );
+    }
+
+    @Test
+    public void testKeyDependsOnPathContentAndConfiguration() {
+        PackageDescrCache cache = new PackageDescrCache( temporaryFolder.getRoot() );
+        String key = cache.getKey( "r1.drl", DRL.getBytes(), "DRL6" );
+        assertEquals( key, cache.getKey( "r1.drl", DRL.getBytes(), "DRL6" ) );
+        assertNotEquals( key, cache.getKey( "r1.drl", DRL.getBytes(), "DRL5" ) );
+        assertNotEquals( key, cache.getKey( "r1.drl", ( DRL + " " ).getBytes(), "DRL6" ) );
+        assertNotEquals( key, cache.getKey( "r2.drl", DRL.getBytes(), "DRL6" ) );
+    }
+}
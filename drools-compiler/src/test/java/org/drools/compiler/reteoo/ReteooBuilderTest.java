@@ -16,24 +16,45 @@
 package org.drools.compiler.reteoo;
 
 import com.thoughtworks.xstream.XStream;
+import org.drools.compiler.Cheese;
+import org.drools.compiler.Person;
 import org.drools.compiler.builder.impl.KnowledgeBuilderImpl;
+import org.drools.core.common.BaseNode;
 import org.drools.core.definitions.InternalKnowledgePackage;
+import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.core.reteoo.AlphaNode;
+import org.drools.core.reteoo.BetaNode;
+import org.drools.core.reteoo.LeftInputAdapterNode;
 import org.drools.core.reteoo.LeftTupleSink;
 import org.drools.core.reteoo.LeftTupleSource;
 import org.drools.core.reteoo.ObjectSink;
 import org.drools.core.reteoo.ObjectSource;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.reteoo.TerminalNode;
 import org.junit.Test;
 import org.kie.api.KieBase;
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.runtime.KieSession;
 
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.kie.soup.commons.xstream.XStreamUtils.createTrustingXStream;
 
 public class ReteooBuilderTest {
@@ -45,6 +66,130 @@ public class ReteooBuilderTest {
         return KnowledgeBaseFactory.newKnowledgeBase();
     }
 
+    @Test
+    public void testParallelLhsTransformationBuildsSameNetwork() throws Exception {
+        final int ruleCount = 150;
+        final int chunkSize = 30;
+
+        // all the rules added at once: their LHS are transformed concurrently
+        final InternalKnowledgePackage pkg = buildPackage( 0, ruleCount );
+        final InternalKnowledgeBase parallelKBase = (InternalKnowledgeBase) getKnowledgeBase();
+        final List<RuleImpl> rules = new ArrayList<RuleImpl>();
+        for ( Rule rule : pkg.getRules() ) {
+            rules.add( (RuleImpl) rule );
+        }
+        assertEquals( ruleCount, parallelKBase.getReteooBuilder().transformLhs( rules ).size() );
+        parallelKBase.addPackages( Collections.singletonList( pkg ) );
+
+        // the same rules added in packages below the parallel threshold: their LHS are transformed sequentially
+        final InternalKnowledgeBase sequentialKBase = (InternalKnowledgeBase) getKnowledgeBase();
+        for ( int i = 0; i < ruleCount; i += chunkSize ) {
+            final InternalKnowledgePackage chunk = buildPackage( i, i + chunkSize );
+            final List<RuleImpl> chunkRules = new ArrayList<RuleImpl>();
+            for ( Rule rule : chunk.getRules() ) {
+                chunkRules.add( (RuleImpl) rule );
+            }
+            assertEquals( 0, sequentialKBase.getReteooBuilder().transformLhs( chunkRules ).size() );
+            sequentialKBase.addPackages( Collections.singletonList( chunk ) );
+        }
+
+        final Set<BaseNode> parallelNodes = Collections.newSetFromMap( new IdentityHashMap<BaseNode, Boolean>() );
+        final Set<BaseNode> sequentialNodes = Collections.newSetFromMap( new IdentityHashMap<BaseNode, Boolean>() );
+        final Map<String, String> parallelNetwork = describeNetwork( parallelKBase, parallelNodes );
+        assertEquals( ruleCount, parallelNetwork.size() );
+        assertEquals( describeNetwork( sequentialKBase, sequentialNodes ), parallelNetwork );
+        assertEquals( sequentialNodes.size(), parallelNodes.size() );
+
+        final List<String> firedRules = fireRules( parallelKBase );
+        assertFalse( firedRules.isEmpty() );
+        assertEquals( fireRules( sequentialKBase ), firedRules );
+    }
+
+    private InternalKnowledgePackage buildPackage( final int from, final int to ) throws Exception {
+        final StringBuilder drl = new StringBuilder();
+        drl.append( "package org.drools.compiler.test\n" )
+           .append( "import " ).append( Person.class.getCanonicalName() ).append( "\n" )
+           .append( "import " ).append( Cheese.class.getCanonicalName() ).append( "\n" )
+           .append( "global java.util.List list\n" );
+        for ( int i = from; i < to; i++ ) {
+            drl.append( "rule R" ).append( i ).append( " when\n" )
+               .append( "    $p : Person( age > " ).append( i % 10 ).append( " )\n" )
+               .append( "    Cheese( type == \"t" ).append( i % 5 ).append( "\", price < $p.age )\n" )
+               .append( "then\n" )
+               .append( "    list.add( \"R" ).append( i ).append( "\" );\n" )
+               .append( "end\n" );
+        }
+
+        final KnowledgeBuilderImpl builder = new KnowledgeBuilderImpl();
+        builder.addPackageFromDrl( new StringReader( drl.toString() ) );
+        assertFalse( builder.getErrors().toString(), builder.hasErrors() );
+        return builder.getPackage( "org.drools.compiler.test" );
+    }
+
+    private List<String> fireRules( final InternalKnowledgeBase kBase ) {
+        final List<String> list = new ArrayList<String>();
+        final KieSession ksession = kBase.newKieSession();
+        try {
+            ksession.setGlobal( "list", list );
+            for ( int i = 0; i < 12; i++ ) {
+                ksession.insert( new Person( "p" + i, i ) );
+            }
+            for ( int i = 0; i < 5; i++ ) {
+                ksession.insert( new Cheese( "t" + i, i * 2 ) );
+            }
+            ksession.fireAllRules();
+        } finally {
+            ksession.dispose();
+        }
+        Collections.sort( list );
+        return list;
+    }
+
+    private Map<String, String> describeNetwork( final InternalKnowledgeBase kBase, final Set<BaseNode> nodes ) {
+        final Map<String, String> network = new TreeMap<String, String>();
+        for ( Map.Entry<String, BaseNode[]> entry : kBase.getReteooBuilder().getTerminalNodes().entrySet() ) {
+            final StringBuilder sb = new StringBuilder();
+            for ( BaseNode terminal : entry.getValue() ) {
+                nodes.add( terminal );
+                sb.append( describe( ( (TerminalNode) terminal ).getLeftTupleSource(), nodes ) )
+                  .append( " -> " ).append( terminal.getClass().getSimpleName() ).append( "\n" );
+            }
+            network.put( entry.getKey(), sb.toString() );
+        }
+        return network;
+    }
+
+    private String describe( final LeftTupleSource source, final Set<BaseNode> nodes ) {
+        nodes.add( source );
+        final StringBuilder sb = new StringBuilder();
+        if ( source.getLeftTupleSource() != null ) {
+            sb.append( describe( source.getLeftTupleSource(), nodes ) ).append( " -> " );
+        }
+        sb.append( source.getClass().getSimpleName() );
+        if ( source instanceof LeftInputAdapterNode ) {
+            sb.append( "(" ).append( describe( ( (LeftInputAdapterNode) source ).getObjectSource(), nodes ) ).append( ")" );
+        } else if ( source instanceof BetaNode ) {
+            sb.append( Arrays.toString( ( (BetaNode) source ).getConstraints() ) )
+              .append( "(" ).append( describe( ( (BetaNode) source ).getRightInput(), nodes ) ).append( ")" );
+        }
+        return sb.toString();
+    }
+
+    private String describe( final ObjectSource source, final Set<BaseNode> nodes ) {
+        nodes.add( source );
+        final StringBuilder sb = new StringBuilder();
+        if ( source.getParentObjectSource() != null ) {
+            sb.append( describe( source.getParentObjectSource(), nodes ) ).append( " -> " );
+        }
+        sb.append( source.getClass().getSimpleName() );
+        if ( source instanceof AlphaNode ) {
+            sb.append( "[" ).append( ( (AlphaNode) source ).getConstraint() ).append( "]" );
+        } else if ( source instanceof ObjectTypeNode ) {
+            sb.append( "[" ).append( ( (ObjectTypeNode) source ).getObjectType() ).append( "]" );
+        }
+        return sb.toString();
+    }
+
     @Test
     public void testThreePatternsWithConstraints() throws Exception {
         //checkRuleBase( "ThreePatternsWithConstraints" );
@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.drools.core.base.ClassFieldAccessorCache;
 import org.drools.core.util.ByteArrayClassLoader;
@@ -66,6 +67,9 @@ public class ProjectClassLoader extends ClassLoader implements KieTypeResolver {
 
     private ResourceProvider resourceProvider;
 
+    // reads on demand the bytecode not in the store, so it is kept in memory only once the class gets defined
+    private Function<String, byte[]> bytecodeProvider;
+
     private ProjectClassLoader(ClassLoader parent, ResourceProvider resourceProvider) {
         super(parent);
         this.resourceProvider = resourceProvider;
@@ -191,7 +195,14 @@ public class ProjectClassLoader extends ClassLoader implements KieTypeResolver {
 
     // This method has to be public because is also used by the android ClassLoader
     public Class<?> tryDefineType(String name, ClassNotFoundException cnfe) throws ClassNotFoundException {
-        byte[] bytecode = getBytecode(convertClassToResourcePath(name));
+        String resourceName = convertClassToResourcePath(name);
+        byte[] bytecode = store == null ? null : store.get(resourceName);
+        if (bytecode == null && bytecodeProvider != null) {
+            bytecode = bytecodeProvider.apply(resourceName);
+            if (bytecode != null) {
+                return defineClass(name, resourceName, bytecode);
+            }
+        }
         if (bytecode == null) {
             if (CACHE_NON_EXISTING_CLASSES) {
                 nonExistingClasses.add(name);
@@ -340,7 +351,8 @@ public class ProjectClassLoader extends ClassLoader implements KieTypeResolver {
     }
 
     public byte[] getBytecode(String resourceName) {
-        return store == null ? null : store.get(resourceName);
+        byte[] bytecode = store == null ? null : store.get(resourceName);
+        return bytecode == null && bytecodeProvider != null ? bytecodeProvider.apply(resourceName) : bytecode;
     }
 
     public Map<String, byte[]> getStore() {
@@ -367,6 +379,13 @@ public class ProjectClassLoader extends ClassLoader implements KieTypeResolver {
         this.resourceProvider = resourceProvider;
     }
 
+    public void setBytecodeProvider(Function<String, byte[]> bytecodeProvider) {
+        this.bytecodeProvider = bytecodeProvider;
+        if (CACHE_NON_EXISTING_CLASSES && bytecodeProvider != null) {
+            nonExistingClasses.clear();
+        }
+    }
+
     public void initFrom(ProjectClassLoader other) {
         if (other.store != null) {
             if (store == null) {
@@ -374,6 +393,7 @@ public class ProjectClassLoader extends ClassLoader implements KieTypeResolver {
             }
             store.putAll(other.store);
         }
+        bytecodeProvider = other.bytecodeProvider;
         nonExistingClasses.addAll(other.nonExistingClasses);
     }
 
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.datasources;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.core.WorkingMemoryEntryPoint;
+import org.drools.core.common.InternalFactHandle;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.InternalWorkingMemoryEntryPoint;
+import org.drools.core.common.PropagationContextFactory;
+import org.drools.core.datasources.CursoredDataSource.AbstractDataSourcePropagation;
+import org.drools.core.datasources.CursoredDataSource.DataSourceFactHandle;
+import org.drools.core.phreak.PropagationEntry;
+import org.drools.core.phreak.PropagationList;
+import org.drools.core.phreak.SynchronizedPropagationList;
+import org.drools.core.reteoo.ObjectTypeConf;
+import org.drools.core.spi.Activation;
+import org.drools.core.spi.FactHandleFactory;
+import org.drools.core.util.bitmask.BitMask;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.api.runtime.rule.RuleUnit;
+
+import static java.util.Arrays.asList;
+import static org.drools.core.reteoo.PropertySpecificUtil.allSetButTraitBitMask;
+import static org.drools.core.reteoo.PropertySpecificUtil.calculatePositiveMask;
+import static org.drools.core.reteoo.PropertySpecificUtil.getAccessibleProperties;
+
+/**
+ * A data source bound to a whole batch of objects (an array or a list) at once.
+ * The batch is never copied: iteration goes straight over the bound array or list
+ * and all its objects are propagated into the unit's entry point in a single pass,
+ * resolving the ObjectTypeConf once per run of objects of the same class.
+ * Replacing the batch with {@link #setBatch(List)} retracts the previous batch and
+ * inserts the new one the next time each unit is bound, so the same session (and
+ * then its node memories) can be reused for an unbounded sequence of micro-batches.
+ * Updating a single object of the batch modifies only its own fact handle: the units
+ * that are not currently bound receive the modification when they are bound again.
+ */
+public class BatchDataSource<T> implements InternalDataSource<T> {
+
+    private InternalWorkingMemory workingMemory;
+
+    private List<T> batch = Collections.emptyList();
+    private DataSourceFactHandle[] handles;
+    private Map<Object, DataSourceFactHandle> handlesByObject;
+
+    private final Map<RuleUnit.Identity, DataSourceFactHandle[]> boundHandles = new HashMap<>();
+    private final Map<RuleUnit.Identity, PropagationList> pendingUpdates = new HashMap<>();
+
+    private RuleUnit.Identity currentUnit;
+    private WorkingMemoryEntryPoint currentEntryPoint;
+
+    public BatchDataSource() { }
+
+    public BatchDataSource( InternalWorkingMemory workingMemory ) {
+        this.workingMemory = workingMemory;
+    }
+
+    @SafeVarargs
+    public final BatchDataSource<T> setBatch( T... objects ) {
+        return setBatch( asList( objects ) );
+    }
+
+    public BatchDataSource<T> setBatch( List<T> objects ) {
+        this.batch = objects;
+        this.handles = null;
+        this.handlesByObject = null;
+        if (currentEntryPoint != null) {
+            refresh( currentUnit, currentEntryPoint );
+        }
+        return this;
+    }
+
+    public int size() {
+        return batch.size();
+    }
+
+    @Override
+    public void setWorkingMemory( InternalWorkingMemory workingMemory ) {
+        this.workingMemory = workingMemory;
+    }
+
+    @Override
+    public FactHandle insert( T object ) {
+        throw new UnsupportedOperationException( "Cannot insert a single object in a BatchDataSource, use setBatch() to replace the whole batch" );
+    }
+
+    @Override
+    public void delete( FactHandle handle ) {
+        throw new UnsupportedOperationException( "Cannot delete a single object from a BatchDataSource, use setBatch() to replace the whole batch" );
+    }
+
+    @Override
+    public void update( FactHandle handle, T object, String... modifiedProperties ) {
+        BitMask mask = modifiedProperties == null || modifiedProperties.length == 0 ?
+                       allSetButTraitBitMask() :
+                       calculatePositiveMask( object.getClass(), asList(modifiedProperties), getAccessibleProperties( workingMemory.getKnowledgeBase(), object.getClass() ) );
+        internalUpdate( (DataSourceFactHandle) handle, object, mask, Object.class, null );
+    }
+
+    @Override
+    public void update( FactHandle fh, Object obj, BitMask mask, Class<?> modifiedClass, Activation activation ) {
+        DataSourceFactHandle dataSourceFactHandle = ( (DataSourceFactHandle) ( (InternalFactHandle) fh ).getParentHandle() );
+        internalUpdate( dataSourceFactHandle, obj, mask, modifiedClass, activation );
+    }
+
+    private void internalUpdate( DataSourceFactHandle dataSourceFactHandle, Object obj, BitMask mask, Class<?> modifiedClass, Activation activation ) {
+        boundHandles.forEach( (unitId, fhs) -> {
+            if (fhs != handles) {
+                // this unit still contains a previous batch, it will insert the current one when bound again
+                return;
+            }
+            AbstractDataSourcePropagation update = new CursoredDataSource.Update( dataSourceFactHandle, obj, mask, modifiedClass, activation );
+            if (unitId.equals( currentUnit )) {
+                workingMemory.getPropagationList().addEntry( update.setEntryPoint( currentEntryPoint ) );
+            } else {
+                pendingUpdates.computeIfAbsent( unitId, id -> new SynchronizedPropagationList( workingMemory ) ).addEntry( update );
+            }
+        } );
+    }
+
+    @Override
+    public FactHandle getFactHandleForObject( Object object ) {
+        if (handles == null) {
+            return null;
+        }
+        if (handlesByObject == null) {
+            Map<Object, DataSourceFactHandle> fhsByObject = new IdentityHashMap<>( handles.length );
+            for (DataSourceFactHandle fh : handles) {
+                fhsByObject.putIfAbsent( fh.getObject(), fh );
+            }
+            handlesByObject = fhsByObject;
+        }
+        return handlesByObject.get( object );
+    }
+
+    @Override
+    public void bind( RuleUnit unit, WorkingMemoryEntryPoint ep ) {
+        if (workingMemory == null) {
+            setWorkingMemory( ep.getInternalWorkingMemory() );
+        }
+        currentUnit = unit.getUnitIdentity();
+        currentEntryPoint = ep;
+        refresh( currentUnit, ep );
+    }
+
+    @Override
+    public void unbind( RuleUnit unit ) {
+        currentUnit = null;
+        currentEntryPoint = null;
+    }
+
+    private void refresh( RuleUnit.Identity unitId, WorkingMemoryEntryPoint ep ) {
+        DataSourceFactHandle[] currentHandles = getHandles();
+        DataSourceFactHandle[] previousHandles = boundHandles.get( unitId );
+        PropagationList updates = pendingUpdates.remove( unitId );
+        if (previousHandles == currentHandles) {
+            // this unit already contains the current batch, its node memories are reused and only get the missed updates
+            if (updates != null) {
+                for (PropagationEntry entry = updates.takeAll(); entry != null; entry = entry.getNext()) {
+                    ( (AbstractDataSourcePropagation) entry ).execute( ep );
+                }
+            }
+            return;
+        }
+
+        if (previousHandles != null) {
+            for (DataSourceFactHandle fh : previousHandles) {
+                new CursoredDataSource.Delete( fh, null ).execute( ep );
+            }
+        }
+
+        PropagationContextFactory pctxFactory = ( (InternalWorkingMemoryEntryPoint) ep ).getPctxFactory();
+        Class<?> lastClass = null;
+        ObjectTypeConf typeConf = null;
+        for (DataSourceFactHandle fh : currentHandles) {
+            Object object = fh.getObject();
+            if (object.getClass() != lastClass) {
+                lastClass = object.getClass();
+                typeConf = ep.getObjectTypeConfigurationRegistry().getObjectTypeConf( ep.getEntryPoint(), object );
+            }
+            CursoredDataSource.Insert.propagateInsert( ep, pctxFactory, typeConf, unitId, fh );
+        }
+        boundHandles.put( unitId, currentHandles );
+    }
+
+    private DataSourceFactHandle[] getHandles() {
+        if (handles == null) {
+            FactHandleFactory fhFactory = workingMemory.getFactHandleFactory();
+            DataSourceFactHandle[] fhs = new DataSourceFactHandle[batch.size()];
+            int i = 0;
+            for (T object : batch) {
+                fhs[i++] = new DataSourceFactHandle( this, fhFactory.getNextId(), fhFactory.getNextRecency(), object );
+            }
+            handles = fhs;
+        }
+        return handles;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return batch.iterator();
+    }
+}
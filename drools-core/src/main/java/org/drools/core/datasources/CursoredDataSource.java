@@ -219,11 +219,16 @@ public class CursoredDataSource<T> implements InternalDataSource<T> {
             ObjectTypeConf typeConf = ep.getObjectTypeConfigurationRegistry()
                                         .getObjectTypeConf( ep.getEntryPoint(), dsFactHandle.getObject() );
 
-            InternalFactHandle handleForEp = dsFactHandle.createFactHandleFor( ep, typeConf );
             RuleUnit ruleUnit = ep.getInternalWorkingMemory().getRuleUnitExecutor().getCurrentRuleUnit();
-            dsFactHandle.childHandles.put( ruleUnit.getUnitIdentity(), handleForEp );
-
             PropagationContextFactory pctxFactory = ( (InternalWorkingMemoryEntryPoint) ep ).getPctxFactory();
+            propagateInsert( ep, pctxFactory, typeConf, ruleUnit.getUnitIdentity(), dsFactHandle );
+        }
+
+        static void propagateInsert( WorkingMemoryEntryPoint ep, PropagationContextFactory pctxFactory, ObjectTypeConf typeConf,
+                                     RuleUnit.Identity unitIdentity, DataSourceFactHandle dsFactHandle ) {
+            InternalFactHandle handleForEp = dsFactHandle.createFactHandleFor( ep, typeConf );
+            dsFactHandle.childHandles.put( unitIdentity, handleForEp );
+
             PropagationContext context = pctxFactory.createPropagationContext( ep.getInternalWorkingMemory().getNextPropagationIdCounter(),
                                                                                PropagationContext.Type.INSERTION,
                                                                                null,
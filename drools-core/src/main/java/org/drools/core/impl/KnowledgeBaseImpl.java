@@ -79,6 +79,7 @@ import org.drools.core.reteoo.builder.NodeFactory;
 import org.drools.core.rule.DialectRuntimeRegistry;
 import org.drools.core.rule.EntryPointId;
 import org.drools.core.rule.Function;
+import org.drools.core.rule.GroupElement;
 import org.drools.core.rule.ImportDeclaration;
 import org.drools.core.rule.InvalidPatternException;
 import org.drools.core.rule.JavaDialectRuntimeData;
@@ -909,10 +910,14 @@ public class KnowledgeBaseImpl
             }
 
             // add the rules to the RuleBase
+            List<RuleImpl> rulesToBeAdded = new ArrayList<RuleImpl>();
             for ( Rule r : newPkg.getRules() ) {
-                RuleImpl rule = (RuleImpl)r;
+                rulesToBeAdded.add( (RuleImpl) r );
+            }
+            Map<RuleImpl, GroupElement[]> transformedLhs = this.reteooBuilder.transformLhs( rulesToBeAdded );
+            for ( RuleImpl rule : rulesToBeAdded ) {
                 checkMultithreadedEvaluation( rule );
-                internalAddRule( rule );
+                internalAddRule( rule, transformedLhs.get( rule ) );
             }
 
             // add the flows to the RuleBase
@@ -1522,15 +1527,16 @@ public class KnowledgeBaseImpl
 
     public void addRules( Collection<RuleImpl> rules ) throws InvalidPatternException {
         enqueueModification( () -> {
+            Map<RuleImpl, GroupElement[]> transformedLhs = this.reteooBuilder.transformLhs( rules );
             for (RuleImpl rule : rules) {
-                internalAddRule( rule );
+                internalAddRule( rule, transformedLhs.get( rule ) );
             }
         });
     }
 
-    private void internalAddRule( RuleImpl rule ) {
+    private void internalAddRule( RuleImpl rule, GroupElement[] transformedLhs ) {
         this.eventSupport.fireBeforeRuleAdded( rule );
-        this.reteooBuilder.addRule(rule);
+        this.reteooBuilder.addRule(rule, transformedLhs);
         this.eventSupport.fireAfterRuleAdded( rule );
     }
 
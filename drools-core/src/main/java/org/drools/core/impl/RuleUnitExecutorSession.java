@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -27,6 +28,7 @@ import org.drools.core.SessionConfiguration;
 import org.drools.core.SessionConfigurationImpl;
 import org.drools.core.common.InternalAgenda;
 import org.drools.core.common.InternalAgendaGroup;
+import org.drools.core.datasources.BatchDataSource;
 import org.drools.core.datasources.CursoredDataSource;
 import org.drools.core.datasources.InternalDataSource;
 import org.drools.core.event.AgendaEventSupport;
@@ -131,6 +133,12 @@ public class RuleUnitExecutorSession implements InternalRuleUnitExecutor {
         getRuleUnitFactory().bindVariable( name, dataSource );
         return dataSource;
     }
+
+    public <T> BatchDataSource<T> newBatchDataSource( String name, List<T> batch ) {
+        BatchDataSource<T> dataSource = new BatchDataSource<T>( session ).setBatch( batch );
+        getRuleUnitFactory().bindVariable( name, dataSource );
+        return dataSource;
+    }
     
     @Override
     public Collection<?> getSessionObjects() {
@@ -22,7 +22,9 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -30,7 +32,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.drools.core.common.BaseNode;
 import org.drools.core.common.DroolsObjectInputStream;
@@ -41,9 +45,11 @@ import org.drools.core.common.NetworkNode;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.phreak.AddRemoveRule;
+import org.drools.core.rule.GroupElement;
 import org.drools.core.rule.InvalidPatternException;
 import org.drools.core.rule.WindowDeclaration;
 import org.kie.api.definition.rule.Rule;
+import org.kie.internal.concurrent.ExecutorProviderFactory;
 
 import static org.drools.core.impl.StatefulKnowledgeSessionImpl.DEFAULT_RULE_UNIT;
 
@@ -60,6 +66,8 @@ public class ReteooBuilder
 
     private static final long           serialVersionUID = 510l;
 
+    private static final int            PARALLEL_LHS_TRANSFORMATION_THRESHOLD = 100;
+
     /** The RuleBase */
     private transient InternalKnowledgeBase  kBase;
 
@@ -107,8 +115,17 @@ public class ReteooBuilder
      * @throws InvalidPatternException
      */
     public synchronized void addRule(final RuleImpl rule) throws InvalidPatternException {
-        final List<TerminalNode> terminals = this.ruleBuilder.addRule( rule,
-                                                                       this.kBase );
+        addRule( rule, null );
+    }
+
+    /**
+     * Add a <code>Rule</code> to the network, using the given subrules, if any, as the
+     * already transformed LHS of the rule.
+     */
+    public synchronized void addRule(final RuleImpl rule, final GroupElement[] transformedLhs) throws InvalidPatternException {
+        final List<TerminalNode> terminals = transformedLhs == null ?
+                                             this.ruleBuilder.addRule( rule, this.kBase ) :
+                                             this.ruleBuilder.addRule( rule, this.kBase, transformedLhs );
 
         BaseNode[] nodes = terminals.toArray( new BaseNode[terminals.size()] );
         this.rules.put( rule.getFullyQualifiedName(), nodes );
@@ -117,6 +134,60 @@ public class ReteooBuilder
         }
     }
 
+    /**
+     * Transforms the LHS of the given rules into their subrules concurrently. This is the only part of
+     * the network construction that doesn't depend on the nodes created for the previous rules, so it
+     * is done upfront while the nodes are still created and shared one rule at time, in the same order,
+     * keeping the node ids and the network partitioning deterministic.
+     * Rules extending or extended by other rules share their patterns, so they are left to the
+     * sequential transformation, as well as the rules whose transformation fails.
+     */
+    public Map<RuleImpl, GroupElement[]> transformLhs( Collection<RuleImpl> rulesToBeAdded ) {
+        if (rulesToBeAdded.size() < PARALLEL_LHS_TRANSFORMATION_THRESHOLD) {
+            return Collections.emptyMap();
+        }
+
+        Set<RuleImpl> parents = new HashSet<RuleImpl>();
+        for (RuleImpl rule : rulesToBeAdded) {
+            if (rule.getParent() != null) {
+                parents.add( rule.getParent() );
+            }
+        }
+        List<RuleImpl> transformable = new ArrayList<RuleImpl>();
+        for (RuleImpl rule : rulesToBeAdded) {
+            if (rule.getParent() == null && !parents.contains( rule )) {
+                transformable.add( rule );
+            }
+        }
+
+        Map<RuleImpl, GroupElement[]> transformed = new ConcurrentHashMap<RuleImpl, GroupElement[]>();
+        int parallelThread = Math.min( Runtime.getRuntime().availableProcessors(), transformable.size() );
+        CompletionService<Boolean> ecs = ExecutorProviderFactory.getExecutorProvider().getCompletionService();
+        int size = transformable.size() / parallelThread;
+        for (int i = 1; i <= parallelThread; i++) {
+            List<RuleImpl> subList = transformable.subList((i-1) * size, i == parallelThread ? transformable.size() : i * size);
+            ecs.submit( () -> {
+                for (RuleImpl rule : subList) {
+                    try {
+                        transformed.put( rule, rule.getTransformedLhs( kBase.getConfiguration().getComponentFactory().getLogicTransformerFactory().getLogicTransformer(),
+                                                                       kBase.getGlobals() ) );
+                    } catch (InvalidPatternException e) {
+                        // the sequential transformation will report it in the right order
+                    }
+                }
+                return true;
+            } );
+        }
+        try {
+            for (int i = 1; i <= parallelThread; i++) {
+                ecs.take().get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException( "Unable to transform the rules LHS", e );
+        }
+        return transformed;
+    }
+
     public void addEntryPoint( String id ) {
         this.ruleBuilder.addEntryPoint( id,
                                         this.kBase );
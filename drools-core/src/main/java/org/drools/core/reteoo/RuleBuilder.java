@@ -20,12 +20,17 @@ import java.util.List;
 
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.rule.GroupElement;
 import org.drools.core.rule.WindowDeclaration;
 
 public interface RuleBuilder {
 
     List<TerminalNode> addRule( RuleImpl rule, InternalKnowledgeBase kBase );
 
+    default List<TerminalNode> addRule( RuleImpl rule, InternalKnowledgeBase kBase, GroupElement[] subrules ) {
+        return addRule( rule, kBase );
+    }
+
     void addEntryPoint( String id, InternalKnowledgeBase kBase );
 
     WindowNode addWindowNode( WindowDeclaration window, InternalKnowledgeBase kBase );
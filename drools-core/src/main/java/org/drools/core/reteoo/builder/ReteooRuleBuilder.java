@@ -101,13 +101,18 @@ public class ReteooRuleBuilder implements RuleBuilder {
      */
     public List<TerminalNode> addRule( final RuleImpl rule,
                                        final InternalKnowledgeBase kBase ) throws InvalidPatternException {
-
-        // the list of terminal nodes
-        final List<TerminalNode> nodes = new ArrayList<TerminalNode>();
-
         // transform rule and gets the array of subrules
         final GroupElement[] subrules = rule.getTransformedLhs( kBase.getConfiguration().getComponentFactory().getLogicTransformerFactory().getLogicTransformer(),
                                                                 kBase.getGlobals() );
+        return addRule( rule, kBase, subrules );
+    }
+
+    public List<TerminalNode> addRule( final RuleImpl rule,
+                                       final InternalKnowledgeBase kBase,
+                                       final GroupElement[] subrules ) throws InvalidPatternException {
+
+        // the list of terminal nodes
+        final List<TerminalNode> nodes = new ArrayList<TerminalNode>();
 
         for (int i = 0; i < subrules.length; i++) {
 
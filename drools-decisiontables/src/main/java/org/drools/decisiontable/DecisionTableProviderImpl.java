@@ -16,12 +16,15 @@
 package org.drools.decisiontable;
 
 import org.drools.compiler.compiler.DecisionTableProvider;
+import org.drools.compiler.compiler.DroolsError;
+import org.drools.compiler.lang.descr.PackageDescr;
 import org.drools.core.util.StringUtils;
 import org.kie.api.io.Resource;
 import org.kie.internal.builder.DecisionTableConfiguration;
 import org.kie.internal.builder.DecisionTableInputType;
 import org.kie.internal.builder.KnowledgeBuilderFactory;
 import org.kie.internal.builder.RuleTemplateConfiguration;
+import org.kie.internal.builder.conf.LanguageLevelOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,6 +64,49 @@ public class DecisionTableProviderImpl
         return drls;
     }
 
+    @Override
+    public PackageDescr loadPackageDescrFromResource(Resource resource,
+                                                     DecisionTableConfiguration configuration,
+                                                     LanguageLevelOption languageLevel,
+                                                     List<DroolsError> errors) {
+        PackageDescrCompiler packageDescrCompiler = new PackageDescrCompiler( resource, languageLevel );
+        PackageDescr pkg = compileResourceToPackageDescr( resource, configuration, packageDescrCompiler );
+        errors.addAll( packageDescrCompiler.getErrors() );
+        return pkg;
+    }
+
+    private PackageDescr compileResourceToPackageDescr(Resource resource,
+                                                       DecisionTableConfiguration configuration,
+                                                       PackageDescrCompiler packageDescrCompiler) {
+        SpreadsheetCompiler compiler = new SpreadsheetCompiler();
+
+        if ( configuration == null ) {
+            configuration = KnowledgeBuilderFactory.newDecisionTableConfiguration();
+            configuration.setInputType( DecisionTableInputType.XLS );
+        }
+
+        switch ( configuration.getInputType() ) {
+            case XLS :
+            case XLSX :
+                if ( StringUtils.isEmpty( configuration.getWorksheetName() ) ) {
+                    return compiler.compileToPackageDescr( resource,
+                                                           InputType.XLS,
+                                                           packageDescrCompiler );
+                } else {
+                    return compiler.compileToPackageDescr( resource,
+                                                           configuration.getWorksheetName(),
+                                                           packageDescrCompiler );
+                }
+            case CSV : {
+                return compiler.compileToPackageDescr( resource,
+                                                       InputType.CSV,
+                                                       packageDescrCompiler );
+            }
+        }
+
+        return null;
+    }
+
     private String compileResource(Resource resource,
                                    DecisionTableConfiguration configuration) throws IOException {
         SpreadsheetCompiler compiler = new SpreadsheetCompiler();
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.decisiontable;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.drools.compiler.compiler.DrlParser;
+import org.drools.compiler.compiler.DroolsError;
+import org.drools.compiler.compiler.DroolsParserException;
+import org.drools.compiler.compiler.ParserError;
+import org.drools.compiler.lang.descr.AndDescr;
+import org.drools.compiler.lang.descr.AttributeDescr;
+import org.drools.compiler.lang.descr.ExprConstraintDescr;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.compiler.lang.descr.PatternDescr;
+import org.drools.compiler.lang.descr.RuleDescr;
+import org.drools.core.util.StringUtils;
+import org.drools.template.model.Condition;
+import org.drools.template.model.Consequence;
+import org.drools.template.model.DRLOutput;
+import org.drools.template.model.Package;
+import org.drools.template.model.Rule;
+import org.kie.api.io.Resource;
+import org.kie.internal.builder.conf.LanguageLevelOption;
+
+/**
+ * Turns the rule model built by a {@link org.drools.decisiontable.parser.RuleSheetListener} into a
+ * {@link PackageDescr} without rendering and re-parsing the DRL of the whole spreadsheet.
+ * <p>
+ * Only the package header (imports, globals, functions, queries, declared types and attributes)
+ * goes through the DRL parser. Rules whose conditions are plain patterns, the usual shape of a
+ * decision table row, are built straight into descriptors; any other rule is rendered on its own
+ * and parsed, so that the result is the same as for the DRL generated by the {@link SpreadsheetCompiler}.
+ * Rows are converted in parallel and added to the package in spreadsheet order.
+ */
+public class PackageDescrCompiler {
+
+    private static final Pattern PATTERN_START = Pattern.compile( "^\\s*(?:(\\$?[A-Za-z_][\\w$]*)\\s*:\\s*)?([A-Za-z_$][\\w$.]*)\\s*\\(" );
+
+    private static final Pattern RHS_KEYWORD = Pattern.compile( "\\b(?:then|end)\\b" );
+
+    private static final String[] CE_KEYWORDS = {"not", "exists", "eval", "forall", "accumulate", "acc", "collect", "from", "or", "and"};
+
+    private final Resource resource;
+    private final LanguageLevelOption languageLevel;
+    private final List<DroolsError> errors = Collections.synchronizedList( new ArrayList<DroolsError>() );
+
+    public PackageDescrCompiler(final Resource resource,
+                                final LanguageLevelOption languageLevel) {
+        this.resource = resource;
+        this.languageLevel = languageLevel;
+    }
+
+    /**
+     * @return the package descriptor for the given rule model, or null if the DRL parser reported
+     *         any error, in which case they are available from {@link #getErrors()}.
+     */
+    public PackageDescr compile(final Package rulePackage) {
+        final DRLOutput header = new DRLOutput();
+        rulePackage.renderHeaderDRL( header );
+        final PackageDescr pkg = parse( header.getDRL() );
+        if ( pkg == null ) {
+            return null;
+        }
+
+        final List<List<RuleDescr>> rules = rulePackage.getRules().parallelStream()
+                .map( this::toRuleDescrs )
+                .collect( Collectors.toList() );
+
+        for ( List<RuleDescr> descrs : rules ) {
+            for ( RuleDescr rule : descrs ) {
+                rule.setNamespace( pkg.getNamespace() );
+                rule.setUnit( pkg.getUnit() );
+                pkg.addRule( rule );
+                pkg.afterRuleAdded( rule );
+            }
+        }
+
+        pkg.setResource( resource );
+        return errors.isEmpty() ? pkg : null;
+    }
+
+    public List<DroolsError> getErrors() {
+        return errors;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    private List<RuleDescr> toRuleDescrs(final Rule rule) {
+        final RuleDescr descr = buildRuleDescr( rule );
+        if ( descr != null ) {
+            return Collections.singletonList( descr );
+        }
+        final DRLOutput out = new DRLOutput();
+        rule.renderDRL( out );
+        final PackageDescr parsed = parse( out.getDRL() );
+        return parsed != null ? parsed.getRules() : Collections.<RuleDescr>emptyList();
+    }
+
+    private PackageDescr parse(final String drl) {
+        final DrlParser parser = new DrlParser( languageLevel );
+        try {
+            final PackageDescr pkg = parser.parse( resource, new StringReader( drl ) );
+            errors.addAll( parser.getErrors() );
+            if ( pkg == null ) {
+                errors.add( new ParserError( resource, "Parser returned a null Package", 0, 0 ) );
+            }
+            return parser.hasErrors() ? null : pkg;
+        } catch ( DroolsParserException e ) {
+            errors.add( new ParserError( resource, e.getMessage(), e.getLineNumber(), e.getColumn() ) );
+            return null;
+        }
+    }
+
+    /**
+     * Builds the descriptor of a rule the same way the DRL parser would do for its rendered DRL.
+     * @return null if the rule uses anything but attributes, plain patterns and a consequence.
+     */
+    RuleDescr buildRuleDescr(final Rule rule) {
+        if ( !rule.getMetadata().isEmpty() ) {
+            return null;
+        }
+
+        final AndDescr lhs = new AndDescr();
+        lhs.setResource( resource );
+        for ( Condition condition : rule.getConditions() ) {
+            if ( StringUtils.isEmpty( condition.getSnippet() ) || condition.getSnippet().trim().isEmpty() ) {
+                continue;
+            }
+            final PatternDescr pattern = buildPattern( condition.getSnippet() );
+            if ( pattern == null ) {
+                return null;
+            }
+            lhs.addDescr( pattern );
+        }
+
+        final StringBuilder rhs = new StringBuilder();
+        for ( Consequence consequence : rule.getConsequences() ) {
+            if ( consequence.getSnippet() != null && RHS_KEYWORD.matcher( consequence.getSnippet() ).find() ) {
+                return null;
+            }
+            rhs.append( "\t\t" ).append( consequence.getSnippet() ).append( '\n' );
+        }
+
+        final RuleDescr descr = new RuleDescr( StringUtils.unescapeJava( stripDelimiters( rule.getName(), "\"", "\"" ) ) );
+        descr.setResource( resource );
+        descr.setLocation( rule.getSpreadsheetRowNumber(), 0 );
+        for ( Map.Entry<String, String> entry : rule.getAttributes().entrySet() ) {
+            final AttributeDescr attribute = buildAttribute( entry.getKey(), entry.getValue() );
+            if ( attribute == null ) {
+                return null;
+            }
+            attribute.setResource( resource );
+            descr.addAttribute( attribute );
+        }
+        descr.setLhs( lhs );
+        // the parser drops the "then" keyword together with all the whitespace following it
+        descr.setConsequence( rhs.toString().replaceFirst( "^\\s*", "" ) );
+        descr.setConsequenceLocation( rule.getSpreadsheetRowNumber(), 0 );
+        return descr;
+    }
+
+    private AttributeDescr buildAttribute(final String name,
+                                          final String value) {
+        switch ( name ) {
+            case "salience" :
+            case "enabled" :
+                return new AttributeDescr( name, value.trim(), AttributeDescr.Type.EXPRESSION );
+            case "no-loop" :
+            case "lock-on-active" :
+            case "auto-focus" :
+                return new AttributeDescr( name, value.trim(), AttributeDescr.Type.BOOLEAN );
+            case "agenda-group" :
+            case "activation-group" :
+            case "ruleflow-group" :
+                return new AttributeDescr( name, StringUtils.unescapeJava( stripDelimiters( value, "\"", "\"" ) ), AttributeDescr.Type.STRING );
+            case "date-effective" :
+            case "date-expires" :
+                return new AttributeDescr( name, StringUtils.unescapeJava( stripDelimiters( value, "\"", "\"" ) ), AttributeDescr.Type.DATE );
+            case "calendars" :
+                return new AttributeDescr( name, "[ " + value.trim() + " ]", AttributeDescr.Type.LIST );
+            case "timer" :
+                return new AttributeDescr( name, stripDelimiters( value, "(", ")" ), AttributeDescr.Type.EXPRESSION );
+            case "duration" :
+                return new AttributeDescr( name, value.trim(), AttributeDescr.Type.NUMBER );
+        }
+        return null;
+    }
+
+    /**
+     * Builds a pattern out of a condition made of an optionally bound type followed by its constraints,
+     * e.g. <code>$p : Person( age &gt; 18, name == "Mark" )</code>.
+     */
+    private PatternDescr buildPattern(final String snippet) {
+        final Matcher matcher = PATTERN_START.matcher( snippet );
+        if ( !matcher.find() || isKeyword( matcher.group( 2 ) ) ) {
+            return null;
+        }
+
+        final int open = matcher.end() - 1;
+        final List<String> constraints = new ArrayList<String>();
+        final int close = splitConstraints( snippet, open, constraints );
+        if ( close < 0 || !snippet.substring( close + 1 ).trim().isEmpty() ) {
+            return null;
+        }
+
+        final PatternDescr pattern = new PatternDescr( matcher.group( 2 ) );
+        pattern.setResource( resource );
+        if ( matcher.group( 1 ) != null ) {
+            pattern.setIdentifier( matcher.group( 1 ) );
+        }
+        for ( String constraint : constraints ) {
+            final ExprConstraintDescr descr = new ExprConstraintDescr( constraint );
+            descr.setType( ExprConstraintDescr.Type.NAMED );
+            descr.setPosition( pattern.getConstraint().getDescrs().size() );
+            descr.setResource( resource );
+            pattern.addConstraint( descr );
+        }
+        return pattern;
+    }
+
+    /**
+     * Splits the constraints found between the parenthesis opened at the given index on their top level commas.
+     * @return the index of the closing parenthesis, or -1 if the constraints cannot be taken as they are
+     *         (unbalanced, positional, nested or commented).
+     */
+    private static int splitConstraints(final String snippet,
+                                        final int open,
+                                        final List<String> constraints) {
+        int depth = 0;
+        int start = open + 1;
+        for ( int i = open + 1; i < snippet.length(); i++ ) {
+            final char c = snippet.charAt( i );
+            switch ( c ) {
+                case '"' :
+                case '\'' :
+                    i = skipLiteral( snippet, i, c );
+                    if ( i < 0 ) {
+                        return -1;
+                    }
+                    break;
+                case '/' :
+                    if ( i + 1 < snippet.length() && ( snippet.charAt( i + 1 ) == '/' || snippet.charAt( i + 1 ) == '*' ) ) {
+                        return -1;
+                    }
+                    break;
+                case '(' :
+                    if ( isNestedConstraint( snippet, i ) ) {
+                        return -1;
+                    }
+                    depth++;
+                    break;
+                case '[' :
+                case '{' :
+                    depth++;
+                    break;
+                case ']' :
+                case '}' :
+                    depth--;
+                    break;
+                case ';' :
+                    if ( depth == 0 ) {
+                        return -1;
+                    }
+                    break;
+                case ',' :
+                    if ( depth == 0 ) {
+                        if ( !addConstraint( snippet.substring( start, i ), constraints ) ) {
+                            return -1;
+                        }
+                        start = i + 1;
+                    }
+                    break;
+                case ')' :
+                    if ( depth == 0 ) {
+                        final String last = snippet.substring( start, i );
+                        if ( !last.trim().isEmpty() || !constraints.isEmpty() ) {
+                            if ( !addConstraint( last, constraints ) ) {
+                                return -1;
+                            }
+                        }
+                        return i;
+                    }
+                    depth--;
+                    break;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean addConstraint(final String constraint,
+                                         final List<String> constraints) {
+        final String trimmed = constraint.trim();
+        if ( trimmed.isEmpty() ) {
+            return false;
+        }
+        constraints.add( trimmed );
+        return true;
+    }
+
+    private static int skipLiteral(final String snippet,
+                                   final int start,
+                                   final char delimiter) {
+        for ( int i = start + 1; i < snippet.length(); i++ ) {
+            final char c = snippet.charAt( i );
+            if ( c == '\\' ) {
+                i++;
+            } else if ( c == delimiter ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isNestedConstraint(final String snippet,
+                                              final int paren) {
+        for ( int i = paren - 1; i >= 0; i-- ) {
+            final char c = snippet.charAt( i );
+            if ( !Character.isWhitespace( c ) ) {
+                return c == '.';
+            }
+        }
+        return false;
+    }
+
+    private static boolean isKeyword(final String type) {
+        for ( String keyword : CE_KEYWORDS ) {
+            if ( keyword.equals( type ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripDelimiters(String value,
+                                          final String left,
+                                          final String right) {
+        value = value.trim();
+        if ( value.length() >= left.length() + right.length() && value.startsWith( left ) && value.endsWith( right ) ) {
+            value = value.substring( left.length(), value.length() - right.length() );
+        }
+        return value;
+    }
+}
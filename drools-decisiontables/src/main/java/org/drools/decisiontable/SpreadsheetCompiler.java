@@ -16,6 +16,7 @@
 
 package org.drools.decisiontable;
 
+import org.drools.compiler.lang.descr.PackageDescr;
 import org.drools.core.io.impl.FileSystemResource;
 import org.drools.decisiontable.parser.DecisionTableParser;
 import org.drools.decisiontable.parser.DefaultRuleSheetListener;
@@ -111,6 +112,34 @@ public class SpreadsheetCompiler {
         return listenerToString( listener );
     }
 
+    /**
+     * Builds the package descriptor of the spreadsheet directly from the parsed rule model,
+     * without generating its DRL first.
+     *
+     * @param compiler
+     *            The compiler building the descriptor, collecting the errors found on the way.
+     * @return the package descriptor, or null if the compiler reported any error.
+     */
+    public PackageDescr compileToPackageDescr(final Resource resource,
+                                              final InputType type,
+                                              final PackageDescrCompiler compiler) {
+        final RuleSheetListener listener = new DefaultRuleSheetListener();
+        parseResource( type.createParser( listener ), resource );
+        return compiler.compile( listener.getRuleSet() );
+    }
+
+    /**
+     * Builds the package descriptor of the decision tables on the named worksheet directly
+     * from the parsed rule model, without generating its DRL first.
+     */
+    public PackageDescr compileToPackageDescr(final Resource resource,
+                                              final String worksheetName,
+                                              final PackageDescrCompiler compiler) {
+        final RuleSheetListener listener = getRuleSheetListener( resource,
+                                                                 worksheetName );
+        return compiler.compile( listener.getRuleSet() );
+    }
+
     public String listenerToString( RuleSheetListener listener ) {
         final Package rulePackage = listener.getRuleSet();
         final DRLOutput out = new DRLOutput();
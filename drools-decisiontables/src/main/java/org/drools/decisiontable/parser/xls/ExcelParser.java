@@ -16,16 +16,24 @@
 
 package org.drools.decisiontable.parser.xls;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import javax.xml.stream.XMLStreamException;
+
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.CellValue;
@@ -36,6 +44,7 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.drools.decisiontable.parser.DecisionTableParser;
 import org.drools.decisiontable.parser.DefaultRuleSheetListener;
 import org.drools.template.parser.DataListener;
@@ -47,6 +56,8 @@ import static java.lang.String.format;
 
 /**
  * Parse an excel spreadsheet, pushing cell info into the SheetListener interface.
+ * xlsx workbooks are streamed row by row from their OOXML parts, while xls workbooks, and xlsx workbooks
+ * containing formulas that need to be evaluated, are loaded through the POI usermodel.
  */
 public class ExcelParser
         implements
@@ -55,6 +66,15 @@ public class ExcelParser
     private static final Logger log = LoggerFactory.getLogger( ExcelParser.class );
 
     public static final String DEFAULT_RULESHEET_NAME = "Decision Tables";
+
+    /**
+     * Set to false to always load xlsx workbooks through the POI usermodel instead of streaming them.
+     */
+    public static final String STREAMING_PROPERTY = "drools.decisiontable.xlsx.streaming";
+
+    // the local file header signature that every zip, and so every OOXML document, starts with
+    private static final byte[] ZIP_SIGNATURE = { 'P', 'K', 3, 4 };
+
     private Map<String, List<DataListener>> _listeners = new HashMap<String, List<DataListener>>();
     private boolean _useFirstSheet;
 
@@ -82,7 +102,12 @@ public class ExcelParser
 
     public void parseFile( InputStream inStream ) {
         try {
-            parseWorkbook( WorkbookFactory.create( inStream ) );
+            InputStream in = inStream.markSupported() ? inStream : new BufferedInputStream( inStream );
+            if ( isStreaming() && hasZipSignature( in ) ) {
+                parsePackage( OPCPackage.open( in ) );
+            } else {
+                parseWorkbook( WorkbookFactory.create( in ) );
+            }
         } catch ( InvalidFormatException e ) {
             throw new DecisionTableParseException( "An error occurred opening the workbook. It is possible that the encoding of the document did not match the encoding of the reader.",
                                                    e );
@@ -94,7 +119,11 @@ public class ExcelParser
 
     public void parseFile( File file ) {
         try {
-            parseWorkbook( WorkbookFactory.create( file, (String)null, true ) );
+            if ( isStreaming() && hasZipSignature( file ) ) {
+                parsePackage( OPCPackage.open( file, PackageAccess.READ ) );
+            } else {
+                parseWorkbook( WorkbookFactory.create( file, (String)null, true ) );
+            }
         } catch ( InvalidFormatException e ) {
             throw new DecisionTableParseException( "An error occurred opening the workbook. It is possible that the encoding of the document did not match the encoding of the reader.",
                                                    e );
@@ -104,6 +133,92 @@ public class ExcelParser
         }
     }
 
+    private static boolean isStreaming() {
+        return Boolean.parseBoolean( System.getProperty( STREAMING_PROPERTY, "true" ) );
+    }
+
+    private static boolean hasZipSignature( InputStream in ) throws IOException {
+        byte[] header = new byte[ZIP_SIGNATURE.length];
+        in.mark( header.length );
+        try {
+            int read = 0;
+            while ( read < header.length ) {
+                int n = in.read( header, read, header.length - read );
+                if ( n < 0 ) {
+                    return false;
+                }
+                read += n;
+            }
+        } finally {
+            in.reset();
+        }
+        return Arrays.equals( header, ZIP_SIGNATURE );
+    }
+
+    private static boolean hasZipSignature( File file ) throws IOException {
+        InputStream in = new BufferedInputStream( new FileInputStream( file ) );
+        try {
+            return hasZipSignature( in );
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Streams the sheets of an xlsx package into the listeners, unless one of them contains formulas,
+     * in which case the whole workbook is parsed through the usermodel so that they can be evaluated.
+     */
+    private void parsePackage( OPCPackage pkg ) throws IOException {
+        boolean formulas = false;
+        try {
+            XlsxWorkbookReader reader = new XlsxWorkbookReader( pkg, new DataFormatter( Locale.ENGLISH ) );
+            List<XlsxWorkbookReader.SheetScan> scans = new ArrayList<XlsxWorkbookReader.SheetScan>();
+            List<List<DataListener>> sheetListeners = new ArrayList<List<DataListener>>();
+            if ( _useFirstSheet ) {
+                XlsxWorkbookReader.SheetScan scan = reader.scanSheet( null );
+                if ( scan == null ) {
+                    throw new IllegalStateException( "The workbook does not contain any sheet." );
+                }
+                scans.add( scan );
+                sheetListeners.add( _listeners.get( DEFAULT_RULESHEET_NAME ) );
+            } else {
+                for ( String sheetName : _listeners.keySet() ) {
+                    XlsxWorkbookReader.SheetScan scan = reader.scanSheet( sheetName );
+                    if ( scan == null ) {
+                        throw new IllegalStateException( "Could not find the sheetName (" + sheetName
+                                                         + ") in the workbook sheetNames." );
+                    }
+                    scans.add( scan );
+                    sheetListeners.add( _listeners.get( sheetName ) );
+                }
+            }
+
+            for ( XlsxWorkbookReader.SheetScan scan : scans ) {
+                formulas |= scan.hasFormulas();
+            }
+            if ( !formulas ) {
+                for ( int i = 0; i < scans.size(); i++ ) {
+                    reader.readSheet( scans.get( i ), this, sheetListeners.get( i ) );
+                }
+            }
+        } catch ( OpenXML4JException e ) {
+            throw new DecisionTableParseException( "An error occurred opening the workbook.",
+                                                   e );
+        } catch ( XMLStreamException e ) {
+            throw new DecisionTableParseException( "An error occurred reading the workbook.",
+                                                   e );
+        } finally {
+            if ( !formulas ) {
+                pkg.revert();
+            }
+        }
+
+        if ( formulas ) {
+            log.debug( "The workbook contains formulas, parsing it through the usermodel" );
+            parseWorkbook( new XSSFWorkbook( pkg ) );
+        }
+    }
+
     public void parseWorkbook( Workbook workbook ) {
         try {
             if ( _useFirstSheet ) {
@@ -280,13 +395,13 @@ public class ExcelParser
         return null;
     }
 
-    private void finishSheet( List<? extends DataListener> listeners ) {
+    void finishSheet( List<? extends DataListener> listeners ) {
         for ( DataListener listener : listeners ) {
             listener.finishSheet();
         }
     }
 
-    private void newRow( List<? extends DataListener> listeners,
+    void newRow( List<? extends DataListener> listeners,
                          int row,
                          int cols ) {
         for ( DataListener listener : listeners ) {
@@ -308,7 +423,7 @@ public class ExcelParser
         }
     }
 
-    private boolean isNumericDisabled( List<? extends DataListener> listeners ) {
+    boolean isNumericDisabled( List<? extends DataListener> listeners ) {
         for ( DataListener listener : listeners ) {
             if (listener instanceof DefaultRuleSheetListener) {
                 return ((DefaultRuleSheetListener)listener).isNumericDisabled();
@@ -0,0 +1,384 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.decisiontable.parser.xls;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.drools.template.parser.DataListener;
+
+/**
+ * Reads the sheets of an xlsx workbook straight from its OOXML parts with StAX, pushing the cells into the
+ * listeners one row at a time, instead of loading the whole workbook into the POI usermodel.
+ * Formulas cannot be evaluated this way, so the sheets are scanned first and the caller is expected to
+ * fall back to the usermodel when any of them contains a formula.
+ */
+class XlsxWorkbookReader {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty( XMLInputFactory.SUPPORT_DTD, Boolean.FALSE );
+        factory.setProperty( XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE );
+        return factory;
+    }
+
+    private final XSSFReader    reader;
+    private final List<String>  sharedStrings;
+    private final StylesTable   styles;
+    private final boolean       date1904;
+    private final DataFormatter formatter;
+
+    XlsxWorkbookReader( OPCPackage pkg,
+                        DataFormatter formatter ) throws IOException, OpenXML4JException, XMLStreamException {
+        this.reader = new XSSFReader( pkg );
+        this.sharedStrings = readSharedStrings( pkg );
+        this.styles = reader.getStylesTable();
+        this.date1904 = readDate1904( reader.getWorkbookData() );
+        this.formatter = formatter;
+    }
+
+    /**
+     * The merged regions and formula usage of a sheet, which are only known after reading the whole sheet part.
+     */
+    static class SheetScan {
+        private final String                 name;
+        private final List<CellRangeAddress> mergedRanges = new ArrayList<CellRangeAddress>();
+        private boolean                      formulas;
+
+        SheetScan( String name ) {
+            this.name = name;
+        }
+
+        boolean hasFormulas() {
+            return formulas;
+        }
+    }
+
+    /**
+     * Scans the named sheet, or the first sheet if the name is null.
+     * @return the scan, or null if the workbook has no such sheet
+     */
+    SheetScan scanSheet( String sheetName ) throws IOException, InvalidFormatException, XMLStreamException {
+        InputStream sheet = openSheet( sheetName );
+        if ( sheet == null ) {
+            return null;
+        }
+        SheetScan scan = new SheetScan( sheetName );
+        XMLStreamReader in = XML_INPUT_FACTORY.createXMLStreamReader( sheet );
+        try {
+            while ( in.hasNext() ) {
+                if ( in.next() != XMLStreamConstants.START_ELEMENT ) {
+                    continue;
+                }
+                String element = in.getLocalName();
+                if ( "f".equals( element ) ) {
+                    // the sheet will be read through the usermodel anyway, no need to look any further
+                    scan.formulas = true;
+                    break;
+                } else if ( "mergeCell".equals( element ) ) {
+                    scan.mergedRanges.add( CellRangeAddress.valueOf( in.getAttributeValue( null, "ref" ) ) );
+                }
+            }
+        } finally {
+            in.close();
+            sheet.close();
+        }
+        return scan;
+    }
+
+    void readSheet( SheetScan scan,
+                    ExcelParser parser,
+                    List<? extends DataListener> listeners ) throws IOException, InvalidFormatException, XMLStreamException {
+        InputStream sheet = openSheet( scan.name );
+        XMLStreamReader in = XML_INPUT_FACTORY.createXMLStreamReader( sheet );
+        try {
+            new SheetHandler( scan.mergedRanges, parser, listeners, parser.isNumericDisabled( listeners ) ).read( in );
+        } finally {
+            in.close();
+            sheet.close();
+        }
+    }
+
+    private InputStream openSheet( String sheetName ) throws IOException, InvalidFormatException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while ( sheets.hasNext() ) {
+            InputStream sheet = sheets.next();
+            // same as Workbook.getSheet(String), sheet names are case insensitive
+            if ( sheetName == null || sheetName.equalsIgnoreCase( sheets.getSheetName() ) ) {
+                return sheet;
+            }
+            sheet.close();
+        }
+        return null;
+    }
+
+    /**
+     * Pushes the cells of a sheet into the listeners. Only the cells of the current row and the values of the
+     * merged regions are kept in memory, so the footprint does not depend on the number of rows.
+     */
+    private class SheetHandler {
+        private final List<CellRangeAddress>       mergedRanges;
+        private final String[]                     mergedValues;
+        private final ExcelParser                  parser;
+        private final List<? extends DataListener> listeners;
+        private final boolean                      numericDisabled;
+
+        private final List<Integer> rowColumns = new ArrayList<Integer>();
+        private final List<String>  rowValues  = new ArrayList<String>();
+        private final List<Integer> rowMerged  = new ArrayList<Integer>();
+
+        private int nextRow;
+
+        SheetHandler( List<CellRangeAddress> mergedRanges,
+                      ExcelParser parser,
+                      List<? extends DataListener> listeners,
+                      boolean numericDisabled ) {
+            this.mergedRanges = mergedRanges;
+            this.mergedValues = new String[mergedRanges.size()];
+            this.parser = parser;
+            this.listeners = listeners;
+            this.numericDisabled = numericDisabled;
+        }
+
+        void read( XMLStreamReader in ) throws XMLStreamException {
+            int row = -1;
+            while ( in.hasNext() ) {
+                int event = in.next();
+                if ( event == XMLStreamConstants.START_ELEMENT ) {
+                    String element = in.getLocalName();
+                    if ( "row".equals( element ) ) {
+                        String ref = in.getAttributeValue( null, "r" );
+                        row = ref != null ? Integer.parseInt( ref ) - 1 : row + 1;
+                    } else if ( "c".equals( element ) ) {
+                        readCell( in, row );
+                    }
+                } else if ( event == XMLStreamConstants.END_ELEMENT ) {
+                    String element = in.getLocalName();
+                    if ( "row".equals( element ) ) {
+                        endRow( row );
+                    } else if ( "sheetData".equals( element ) ) {
+                        break;
+                    }
+                }
+            }
+            if ( nextRow == 0 ) {
+                // Sheet.getLastRowNum() is 0 for an empty sheet, so the usermodel always reports the first row
+                parser.newRow( listeners, 0, 0 );
+            }
+            parser.finishSheet( listeners );
+        }
+
+        private void readCell( XMLStreamReader in, int row ) throws XMLStreamException {
+            String ref = in.getAttributeValue( null, "r" );
+            int column = ref != null
+                         ? new CellReference( ref ).getCol()
+                         : rowColumns.isEmpty() ? 0 : rowColumns.get( rowColumns.size() - 1 ) + 1;
+            String type = in.getAttributeValue( null, "t" );
+            String style = in.getAttributeValue( null, "s" );
+
+            StringBuilder value = null;
+            int depth = 1;
+            boolean phonetic = false;
+            while ( depth > 0 ) {
+                int event = in.next();
+                if ( event == XMLStreamConstants.START_ELEMENT ) {
+                    depth++;
+                    String element = in.getLocalName();
+                    if ( "rPh".equals( element ) ) {
+                        phonetic = true;
+                    } else if ( ( "v".equals( element ) || "t".equals( element ) ) && !phonetic ) {
+                        if ( value == null ) {
+                            value = new StringBuilder();
+                        }
+                        value.append( in.getElementText() );
+                        depth--;
+                    }
+                } else if ( event == XMLStreamConstants.END_ELEMENT ) {
+                    depth--;
+                    if ( "rPh".equals( in.getLocalName() ) ) {
+                        phonetic = false;
+                    }
+                }
+            }
+
+            int mergedColStart = DataListener.NON_MERGED;
+            String cellValue;
+            int merged = getMergedIndex( row, column );
+            if ( merged >= 0 ) {
+                CellRangeAddress range = mergedRanges.get( merged );
+                mergedColStart = range.getFirstColumn();
+                if ( range.getFirstRow() == row && range.getFirstColumn() == column ) {
+                    cellValue = getCellValue( type, style, value != null ? value.toString() : null );
+                    mergedValues[merged] = cellValue;
+                } else {
+                    // as with the usermodel, the cells of a merged region take the value of its top left cell
+                    cellValue = mergedValues[merged];
+                }
+            } else {
+                cellValue = getCellValue( type, style, value != null ? value.toString() : null );
+            }
+
+            rowColumns.add( column );
+            rowValues.add( cellValue );
+            rowMerged.add( mergedColStart );
+        }
+
+        private void endRow( int row ) {
+            for ( ; nextRow < row; nextRow++ ) {
+                parser.newRow( listeners, nextRow, 0 );
+            }
+            // matches Row.getLastCellNum(), which is -1 for a row without cells
+            int lastCellNum = rowColumns.isEmpty() ? -1 : rowColumns.get( rowColumns.size() - 1 ) + 1;
+            parser.newRow( listeners, row, lastCellNum );
+            for ( int i = 0; i < rowColumns.size(); i++ ) {
+                parser.newCell( listeners, row, rowColumns.get( i ), rowValues.get( i ), rowMerged.get( i ) );
+            }
+            rowColumns.clear();
+            rowValues.clear();
+            rowMerged.clear();
+            nextRow = row + 1;
+        }
+
+        private int getMergedIndex( int row, int column ) {
+            for ( int i = 0; i < mergedRanges.size(); i++ ) {
+                if ( mergedRanges.get( i ).isInRange( row, column ) ) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private String getCellValue( String type, String style, String value ) {
+            if ( "b".equals( type ) ) {
+                return "1".equals( value ) ? "true" : "false";
+            }
+            if ( value == null ) {
+                // a blank cell, formatted as an empty string by the DataFormatter
+                return "";
+            }
+            if ( "s".equals( type ) ) {
+                return sharedStrings.get( Integer.parseInt( value.trim() ) );
+            }
+            if ( type != null && !"n".equals( type ) ) {
+                // inline strings, cached formula strings and errors are used as they are
+                return value;
+            }
+
+            double num = numericDisabled ? 0 : Double.parseDouble( value );
+            if ( num - Math.round( num ) != 0 ) {
+                return String.valueOf( num );
+            }
+            return formatNumber( Double.parseDouble( value ), style );
+        }
+
+        private String formatNumber( double value, String style ) {
+            int formatIndex = 0;
+            String formatString = null;
+            if ( styles != null && styles.getNumCellStyles() > 0 ) {
+                XSSFCellStyle cellStyle = styles.getStyleAt( style != null ? Integer.parseInt( style ) : 0 );
+                formatIndex = cellStyle.getDataFormat();
+                formatString = cellStyle.getDataFormatString();
+            }
+            if ( formatString == null ) {
+                formatString = BuiltinFormats.getBuiltinFormat( formatIndex );
+            }
+            return formatter.formatRawCellContents( value, formatIndex, formatString, date1904 );
+        }
+    }
+
+    private static List<String> readSharedStrings( OPCPackage pkg ) throws IOException, XMLStreamException {
+        List<String> strings = new ArrayList<String>();
+        List<PackagePart> parts = pkg.getPartsByContentType( XSSFRelation.SHARED_STRINGS.getContentType() );
+        if ( parts.isEmpty() ) {
+            return strings;
+        }
+        InputStream is = parts.get( 0 ).getInputStream();
+        XMLStreamReader in = XML_INPUT_FACTORY.createXMLStreamReader( is );
+        try {
+            StringBuilder text = null;
+            boolean phonetic = false;
+            while ( in.hasNext() ) {
+                int event = in.next();
+                if ( event == XMLStreamConstants.START_ELEMENT ) {
+                    String element = in.getLocalName();
+                    if ( "si".equals( element ) ) {
+                        text = new StringBuilder();
+                    } else if ( "rPh".equals( element ) ) {
+                        phonetic = true;
+                    } else if ( "t".equals( element ) && !phonetic && text != null ) {
+                        text.append( in.getElementText() );
+                    }
+                } else if ( event == XMLStreamConstants.END_ELEMENT ) {
+                    String element = in.getLocalName();
+                    if ( "si".equals( element ) ) {
+                        strings.add( text.toString() );
+                        text = null;
+                    } else if ( "rPh".equals( element ) ) {
+                        phonetic = false;
+                    }
+                }
+            }
+        } finally {
+            in.close();
+            is.close();
+        }
+        return strings;
+    }
+
+    private static boolean readDate1904( InputStream workbook ) throws IOException, XMLStreamException {
+        XMLStreamReader in = XML_INPUT_FACTORY.createXMLStreamReader( workbook );
+        try {
+            while ( in.hasNext() ) {
+                if ( in.next() == XMLStreamConstants.START_ELEMENT ) {
+                    String element = in.getLocalName();
+                    if ( "workbookPr".equals( element ) ) {
+                        String date1904 = in.getAttributeValue( null, "date1904" );
+                        return "1".equals( date1904 ) || "true".equals( date1904 );
+                    } else if ( "sheets".equals( element ) ) {
+                        // workbookPr always precedes the sheets
+                        return false;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            in.close();
+            workbook.close();
+        }
+    }
+}
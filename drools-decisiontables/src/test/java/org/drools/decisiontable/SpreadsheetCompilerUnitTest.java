@@ -23,6 +23,12 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.assertj.core.api.Assertions;
+import org.drools.compiler.compiler.DrlParser;
+import org.drools.compiler.lang.descr.AttributeDescr;
+import org.drools.compiler.lang.descr.BaseDescr;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.compiler.lang.descr.PatternDescr;
+import org.drools.compiler.lang.descr.RuleDescr;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.impl.KnowledgeBaseFactory;
 import org.drools.decisiontable.parser.DefaultRuleSheetListener;
@@ -42,6 +48,7 @@ import org.kie.internal.builder.KnowledgeBuilder;
 import org.kie.internal.builder.KnowledgeBuilderError;
 import org.kie.internal.builder.KnowledgeBuilderErrors;
 import org.kie.internal.builder.KnowledgeBuilderFactory;
+import org.kie.internal.builder.conf.LanguageLevelOption;
 import org.kie.internal.io.ResourceFactory;
 
 import static org.junit.Assert.*;
@@ -742,4 +749,53 @@ public class SpreadsheetCompilerUnitTest {
         Assertions.assertThat(expected).isEqualToIgnoringWhitespace(drl);
     }
 
+
+    @Test
+    public void testPackageDescrMatchesParsedDrl() throws Exception {
+        checkPackageDescrMatchesParsedDrl( "/data/MultiSheetDST.xls" );
+        checkPackageDescrMatchesParsedDrl( "Attributes.xls" );
+        checkPackageDescrMatchesParsedDrl( "/data/DROOLS-1279.xls" );
+    }
+
+    private void checkPackageDescrMatchesParsedDrl( String resource ) throws Exception {
+        final SpreadsheetCompiler converter = new SpreadsheetCompiler();
+        final PackageDescr expected = new DrlParser( LanguageLevelOption.DRL6 ).parse( false, converter.compile( resource, InputType.XLS ) );
+
+        final PackageDescrCompiler compiler = new PackageDescrCompiler( null, LanguageLevelOption.DRL6 );
+        final PackageDescr actual = converter.compileToPackageDescr( ResourceFactory.newClassPathResource( resource, getClass() ),
+                                                                     InputType.XLS,
+                                                                     compiler );
+        assertFalse( compiler.getErrors().toString(), compiler.hasErrors() );
+
+        assertEquals( expected.getName(), actual.getName() );
+        assertEquals( expected.getImports().size(), actual.getImports().size() );
+        assertEquals( expected.getRules().size(), actual.getRules().size() );
+        for ( int i = 0; i < expected.getRules().size(); i++ ) {
+            RuleDescr expectedRule = expected.getRules().get( i );
+            RuleDescr actualRule = actual.getRules().get( i );
+            assertEquals( expectedRule.getName(), actualRule.getName() );
+            assertEquals( expectedRule.getConsequence(), actualRule.getConsequence() );
+
+            assertEquals( expectedRule.getAttributes().keySet(), actualRule.getAttributes().keySet() );
+            for ( AttributeDescr attribute : expectedRule.getAttributes().values() ) {
+                AttributeDescr actualAttribute = actualRule.getAttributes().get( attribute.getName() );
+                assertEquals( attribute.getValue(), actualAttribute.getValue() );
+                assertEquals( attribute.getType(), actualAttribute.getType() );
+            }
+
+            List<BaseDescr> expectedLhs = expectedRule.getLhs().getDescrs();
+            List<BaseDescr> actualLhs = actualRule.getLhs().getDescrs();
+            assertEquals( expectedLhs.size(), actualLhs.size() );
+            for ( int j = 0; j < expectedLhs.size(); j++ ) {
+                assertEquals( expectedLhs.get( j ).getClass(), actualLhs.get( j ).getClass() );
+                if ( expectedLhs.get( j ) instanceof PatternDescr ) {
+                    PatternDescr expectedPattern = (PatternDescr) expectedLhs.get( j );
+                    PatternDescr actualPattern = (PatternDescr) actualLhs.get( j );
+                    assertEquals( expectedPattern.getObjectType(), actualPattern.getObjectType() );
+                    assertEquals( expectedPattern.getIdentifier(), actualPattern.getIdentifier() );
+                    assertEquals( expectedPattern.getConstraint().getDescrs().toString(), actualPattern.getConstraint().getDescrs().toString() );
+                }
+            }
+        }
+    }
 }
@@ -18,11 +18,17 @@ package org.drools.decisiontable.parser.xls;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
@@ -70,4 +76,80 @@ public class ExcelParserTest {
         assertEquals(FIRST_CELL_CONTENT, sheet.getRow(rangeIfMerged.getFirstRow()).getCell(rangeIfMerged.getFirstColumn()).getStringCellValue());
     }
 
+    @Test
+    public void testStreamingMatchesUsermodel() throws Exception {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet();
+        sheet.createRow(0).createCell(1).setCellValue("RuleSet");
+
+        Row row = sheet.createRow(2);
+        row.createCell(0).setCellValue(42);
+        row.createCell(1).setCellValue(3.5);
+        row.createCell(2).setCellValue(true);
+        CellStyle style = workbook.createCellStyle();
+        style.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+        Cell formatted = row.createCell(3);
+        formatted.setCellValue(7);
+        formatted.setCellStyle(style);
+        row.createCell(5).setCellStyle(style);
+
+        row = sheet.createRow(3);
+        row.createCell(0).setCellValue(FIRST_CELL_CONTENT);
+        row.createCell(1);
+        row.createCell(2);
+        sheet.addMergedRegion(new CellRangeAddress(3, 3, 0, 2));
+        row.createCell(4).setCellValue(LAST_CELL_VALUE);
+
+        byte[] xlsx = toBytes(workbook);
+
+        RecordingListener streamed = new RecordingListener();
+        new ExcelParser(streamed).parseFile(new ByteArrayInputStream(xlsx));
+
+        RecordingListener usermodel = new RecordingListener();
+        new ExcelParser(usermodel).parseWorkbook(new XSSFWorkbook(new ByteArrayInputStream(xlsx)));
+
+        assertEquals(usermodel.events, streamed.events);
+        assertTrue(streamed.events.contains("cell 3:1 first 0"));
+    }
+
+    @Test
+    public void testFormulasFallBackToUsermodel() throws Exception {
+        Workbook workbook = new XSSFWorkbook();
+        Row row = workbook.createSheet().createRow(0);
+        row.createCell(0).setCellValue(2);
+        row.createCell(1).setCellFormula("A1*3");
+
+        RecordingListener listener = new RecordingListener();
+        new ExcelParser(listener).parseFile(new ByteArrayInputStream(toBytes(workbook)));
+
+        assertTrue(listener.events.contains("cell 0:1 6 -1"));
+    }
+
+    private static byte[] toBytes(Workbook workbook) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        workbook.close();
+        return out.toByteArray();
+    }
+
+    private static class RecordingListener implements DataListener {
+        private final List<String> events = new ArrayList<String>();
+
+        public void startSheet(String name) {
+            events.add("start " + name);
+        }
+
+        public void finishSheet() {
+            events.add("finish");
+        }
+
+        public void newRow(int rowNumber, int columns) {
+            events.add("row " + rowNumber + " " + columns);
+        }
+
+        public void newCell(int row, int column, String value, int mergedColStart) {
+            events.add("cell " + row + ":" + column + " " + value + " " + mergedColStart);
+        }
+    }
+
 }
@@ -10,6 +10,7 @@ import org.kie.api.builder.KieModule;
 import org.kie.api.builder.KieRepository;
 import org.kie.api.builder.ReleaseId;
 import org.kie.api.builder.model.KieModuleModel;
+import org.kie.internal.builder.conf.ParallelRulesBuildThresholdOption;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -56,6 +57,10 @@ public class BuildFromKJarBenchmark {
     @Param({"DRL"})
     private BenchmarkType type;
 
+    // -1 disables both the parallel parsing of DRL resources and the parallel build of rules
+    @Param({"-1", "10"})
+    private int parallelRulesBuildThreshold = 10;
+
     public BuildFromKJarBenchmark() { }
 
     public BuildFromKJarBenchmark( int numberOfRules, int numberOfRulesPerFile, BenchmarkType type ) {
@@ -72,6 +77,7 @@ public class BuildFromKJarBenchmark {
 
     @Setup(Level.Trial)
     public void setUpKJar() {
+        System.setProperty( ParallelRulesBuildThresholdOption.PROPERTY_NAME, String.valueOf( parallelRulesBuildThreshold ) );
         kieServices = KieServices.get();
         kieRepository = kieServices.getRepository();
         releaseId = kieServices.newReleaseId("org.kie", "kjar-test", "1.0");
@@ -79,6 +85,11 @@ public class BuildFromKJarBenchmark {
         kieModuleModel = BenchmarkUtil.getDefaultKieModuleModel( kieServices );
     }
 
+    @TearDown(Level.Trial)
+    public void clearThreshold() {
+        System.clearProperty( ParallelRulesBuildThresholdOption.PROPERTY_NAME );
+    }
+
     @Setup(Level.Invocation)
     public void cleanUpRepo() {
         kieRepository.removeKieModule(releaseId);
@@ -18,6 +18,8 @@ package org.drools.scorecards;
 
 import org.dmg.pmml.pmml_4_2.descr.PMML;
 import org.drools.core.util.IoUtils;
+import org.drools.scorecards.pmml.ScorecardPMMLUtils;
+import org.kie.pmml.pmml_4_2.PMML4BatchScorer;
 import org.kie.pmml.pmml_4_2.PMML4Compiler;
 import org.kie.pmml.pmml_4_2.PMML4Unit;
 import org.kie.pmml.pmml_4_2.model.PMML4UnitImpl;
@@ -25,6 +27,7 @@ import org.drools.scorecards.parser.AbstractScorecardParser;
 import org.drools.scorecards.parser.ScorecardParseException;
 import org.drools.scorecards.parser.xls.XLSScorecardParser;
 import org.kie.internal.builder.KnowledgeBuilderResult;
+import org.kie.pmml.pmml_4_2.extensions.PMMLExtensionNames;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -140,6 +143,22 @@ public class ScorecardCompiler {
         return drl;
     }
 
+    /**
+     * Returns a scorer for batches of requests against the compiled scorecard: the model is evaluated
+     * natively when it supports it, or by a KieBase built once from the PMML document otherwise.
+     * Returns null if no document has been compiled. The scorer should be closed once done with it.
+     */
+    public PMML4BatchScorer getBatchScorer(String modelName) {
+        if (pmmlDocument == null) {
+            return null;
+        }
+        String packageName = pmmlDocument.getHeader() != null
+                ? ScorecardPMMLUtils.getExtensionValue(pmmlDocument.getHeader().getExtensions(), PMMLExtensionNames.MODEL_PACKAGE)
+                : null;
+        return packageName != null ? PMML4BatchScorer.forModel(modelName, pmmlDocument, null, packageName)
+                                   : PMML4BatchScorer.forModel(modelName, pmmlDocument, null);
+    }
+
     /* convienence method for use from Guvnor*/
     public static String convertToDRL(PMML pmml, DrlType drlType) {
         if (pmml != null) {
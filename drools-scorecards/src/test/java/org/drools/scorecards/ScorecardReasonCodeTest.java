@@ -21,6 +21,7 @@ import org.dmg.pmml.pmml_4_2.descr.Characteristics;
 import org.dmg.pmml.pmml_4_2.descr.PMML;
 import org.dmg.pmml.pmml_4_2.descr.Scorecard;
 import org.drools.core.builder.conf.impl.ScoreCardConfigurationImpl;
+import org.kie.pmml.pmml_4_2.PMML4BatchScorer;
 import org.kie.pmml.pmml_4_2.PMML4ExecutionHelper;
 import org.kie.pmml.pmml_4_2.PMML4Helper;
 import org.kie.pmml.pmml_4_2.PMMLRequestDataBuilder;
@@ -233,6 +234,37 @@ public class ScorecardReasonCodeTest {
         assertReasonCode(resultHolder, "OCC02");
     }
 
+    @Test
+    public void testBatchScoring() {
+        final ScorecardCompiler scorecardCompiler = new ScorecardCompiler(INTERNAL_DECLARED_TYPES);
+        boolean compileResult = scorecardCompiler.compileFromExcel(PMMLDocumentTest.class.getResourceAsStream("/scoremodel_reasoncodes.xls"));
+        if (!compileResult) {
+            assertErrors(scorecardCompiler);
+        }
+        PMML4BatchScorer scorer = scorecardCompiler.getBatchScorer("SampleScore");
+        assertNotNull(scorer);
+
+        String[] inputNames = {"age", "occupation", "residenceState", "validLicense"};
+        Object[][] columns = {
+                {10.0, 0.0, 20.0},
+                {null, "SKYDIVER", "TEACHER"},
+                {null, null, "AP"},
+                {false, false, true}
+        };
+        PMML4Result[] results = scorer.score(inputNames, columns);
+        assertCalculatedScore(results[0], 129.0);
+        assertReasonCode(results[0], "VL002");
+        assertCalculatedScore(results[1], 99.0);
+        assertReasonCode(results[1], "OCC01");
+        assertCalculatedScore(results[2], 141.0);
+        assertReasonCode(results[2], "OCC02");
+
+        Object[] scores = new Object[3];
+        scorer.score(inputNames, columns, "CalculatedScore", "value", scores);
+        assertEquals(Arrays.asList(129.0, 99.0, 141.0), Arrays.asList(scores));
+        scorer.close();
+    }
+
     private void assertCalculatedScore(PMML4Result resultHolder, Double score) {
         Double calcScore = resultHolder.getResultValue("CalculatedScore", "value", Double.class).orElse(null);
         assertEquals(score, calcScore, 1e-6);
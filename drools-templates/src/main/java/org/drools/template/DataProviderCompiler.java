@@ -19,6 +19,7 @@ import org.drools.template.parser.DataListener;
 import org.drools.template.parser.DefaultTemplateContainer;
 import org.drools.template.parser.TemplateContainer;
 import org.drools.template.parser.TemplateDataListener;
+import org.kie.internal.builder.KnowledgeBuilder;
 
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -117,6 +118,62 @@ public class DataProviderCompiler {
         return listener.renderDRL();
     }
 
+    /**
+     * Expands the templates over the data provider straight into a KnowledgeBuilder, without
+     * generating the DRL of all the rules first. The rules are handed to the builder every
+     * <code>rowsPerChunk</code> rows and the chunks are parsed in parallel, so the memory used
+     * does not grow with the number of rows.
+     *
+     * @param dataProvider   the data provider for the spreadsheet data
+     * @param templateStream the InputStream for reading the templates
+     * @param kbuilder       the builder the generated rules are added to
+     * @param rowsPerChunk   the number of rows expanded before handing their rules to the builder
+     */
+    public void compile(final DataProvider dataProvider,
+                        final InputStream templateStream,
+                        final KnowledgeBuilder kbuilder,
+                        final int rowsPerChunk) {
+        DefaultTemplateContainer tc = new DefaultTemplateContainer(templateStream);
+        closeStream(templateStream);
+        compile(dataProvider,
+                new TemplateDataListener(tc),
+                tc.getHeader(),
+                kbuilder,
+                rowsPerChunk);
+    }
+
+    /**
+     * Expands the templates of the given listener over the data provider straight into a
+     * KnowledgeBuilder, a chunk of rows at a time.
+     *
+     * @param dataProvider the data provider for the spreadsheet data
+     * @param listener     a template data listener
+     * @param header       the template header, holding the package, imports and globals of the rules
+     * @param kbuilder     the builder the generated rules are added to
+     * @param rowsPerChunk the number of rows expanded before handing their rules to the builder
+     */
+    public void compile(final DataProvider dataProvider,
+                        final TemplateDataListener listener,
+                        final String header,
+                        final KnowledgeBuilder kbuilder,
+                        final int rowsPerChunk) {
+        DrlChunkLoader loader = new DrlChunkLoader(kbuilder,
+                                                   header);
+        try {
+            listener.setChunkConsumer(rowsPerChunk,
+                                      loader);
+            List<DataListener> listeners = new ArrayList<DataListener>();
+            listeners.add(listener);
+            processData(dataProvider,
+                        listeners);
+        } catch (RuntimeException | Error e) {
+            // the chunks expanded so far are discarded, the original failure is reported
+            loader.cancel();
+            throw e;
+        }
+        loader.finish();
+    }
+
     private void processData(final DataProvider dataProvider,
                              List<DataListener> listeners) {
         for (int i = 0; dataProvider.hasNext(); i++) {
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.template;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.drools.compiler.builder.impl.KnowledgeBuilderImpl;
+import org.drools.compiler.compiler.DrlParser;
+import org.drools.compiler.compiler.DroolsParserException;
+import org.drools.compiler.lang.descr.AttributeDescr;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.compiler.lang.descr.RuleDescr;
+import org.drools.core.io.impl.DescrResource;
+import org.kie.api.io.Resource;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.builder.KnowledgeBuilder;
+import org.kie.internal.builder.conf.LanguageLevelOption;
+import org.kie.internal.io.ResourceFactory;
+
+/**
+ * Loads the rules expanded from a template into a KnowledgeBuilder one chunk at a time.
+ * <p>
+ * The template header is parsed and added first. Every chunk of rules handed to {@link #accept(String)}
+ * is then parsed in the background, while the following rows are being expanded, and added to the
+ * builder as a package descriptor inheriting the imports and attributes of the header. At most one
+ * chunk per available processor is pending at any time, so the memory used does not grow with the data.
+ * Consecutive chunks holding only rules are merged until they are more than the builder's parallel rules
+ * build threshold, so that every addition compiles its rules in parallel however small the chunks are.
+ * Chunks that cannot be parsed are added as DRL, letting the builder report their errors.
+ * If the expansion fails the loader has to be cancelled, so that the chunks still pending are discarded.
+ */
+public class DrlChunkLoader
+        implements
+        Consumer<String> {
+
+    private final KnowledgeBuilder kbuilder;
+
+    private final LanguageLevelOption languageLevel;
+
+    private final PackageDescr header;
+
+    private final int parallelRulesBuildThreshold;
+
+    private PackageDescr batch;
+
+    private final ForkJoinPool pool = new ForkJoinPool(); // avoid common pool
+
+    private final Deque<Future<Resource>> pending = new ArrayDeque<Future<Resource>>();
+
+    public DrlChunkLoader(final KnowledgeBuilder kbuilder,
+                          final String header) {
+        this.kbuilder = kbuilder;
+        this.languageLevel = kbuilder instanceof KnowledgeBuilderImpl ?
+                ((KnowledgeBuilderImpl) kbuilder).getBuilderConfiguration().getLanguageLevel() :
+                DrlParser.DEFAULT_LANGUAGE_LEVEL;
+        this.parallelRulesBuildThreshold = kbuilder instanceof KnowledgeBuilderImpl ?
+                ((KnowledgeBuilderImpl) kbuilder).getBuilderConfiguration().getParallelRulesBuildThreshold() :
+                -1;
+
+        PackageDescr headerDescr = parse( header );
+        if ( headerDescr != null ) {
+            kbuilder.add( new DescrResource( headerDescr ), ResourceType.DESCR );
+            this.header = headerDescr;
+        } else {
+            kbuilder.add( toDrlResource( header ), ResourceType.DRL );
+            this.header = new PackageDescr();
+        }
+    }
+
+    public void accept(final String drl) {
+        if ( drl.trim().isEmpty() ) {
+            return;
+        }
+        if ( pending.size() >= pool.getParallelism() ) {
+            addToBuilder( pending.removeFirst() );
+        }
+        pending.addLast( pool.submit( () -> toResource( drl ) ) );
+    }
+
+    /**
+     * Adds the chunks still pending to the builder, in the order they were handed over.
+     */
+    public void finish() {
+        try {
+            while ( !pending.isEmpty() ) {
+                addToBuilder( pending.removeFirst() );
+            }
+            addBatch();
+        } catch (RuntimeException | Error e) {
+            cancel();
+            throw e;
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Discards the chunks still pending and the rules not yet added to the builder.
+     */
+    public void cancel() {
+        for ( Future<Resource> chunk : pending ) {
+            chunk.cancel( true );
+        }
+        pending.clear();
+        batch = null;
+        pool.shutdownNow();
+    }
+
+    private void addToBuilder(final Future<Resource> chunk) {
+        final Resource resource;
+        try {
+            resource = chunk.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException( "Template expansion failed or interrupted", e );
+        }
+        if ( !( resource instanceof DescrResource ) ) {
+            addBatch();
+            kbuilder.add( resource, ResourceType.DRL );
+            return;
+        }
+        final PackageDescr chunk = (PackageDescr) ( (DescrResource) resource ).getDescr();
+        if ( parallelRulesBuildThreshold < 0 || !hasRulesOnly( chunk ) ) {
+            addBatch();
+            kbuilder.add( resource, ResourceType.DESCR );
+            return;
+        }
+        if ( batch == null ) {
+            batch = chunk;
+        } else {
+            for ( RuleDescr rule : chunk.getRules() ) {
+                batch.addRule( rule );
+            }
+        }
+        if ( batch.getRules().size() > parallelRulesBuildThreshold ) {
+            addBatch();
+        }
+    }
+
+    private void addBatch() {
+        if ( batch != null ) {
+            kbuilder.add( new DescrResource( batch ), ResourceType.DESCR );
+            batch = null;
+        }
+    }
+
+    private static boolean hasRulesOnly(final PackageDescr chunk) {
+        return chunk.getFunctions().isEmpty() &&
+               chunk.getGlobals().isEmpty() &&
+               chunk.getTypeDeclarations().isEmpty() &&
+               chunk.getEnumDeclarations().isEmpty() &&
+               chunk.getEntryPointDeclarations().isEmpty() &&
+               chunk.getWindowDeclarations().isEmpty() &&
+               chunk.getFunctionImports().isEmpty() &&
+               chunk.getAccumulateImports().isEmpty();
+    }
+
+    private Resource toResource(final String drl) {
+        final PackageDescr chunk = parse( drl );
+        if ( chunk == null ) {
+            return toDrlResource( header.getName().isEmpty() ? drl : "package " + header.getName() + ";\n" + drl );
+        }
+        chunk.setName( header.getName() );
+        chunk.setUnit( header.getUnit() );
+        chunk.addAllImports( header.getImports() );
+        for ( AttributeDescr attribute : header.getAttributes() ) {
+            chunk.addAttribute( attribute );
+        }
+        for ( RuleDescr rule : chunk.getRules() ) {
+            rule.setNamespace( header.getName() );
+            rule.setUnit( header.getUnit() );
+            header.afterRuleAdded( rule );
+        }
+        return new DescrResource( chunk );
+    }
+
+    private PackageDescr parse(final String drl) {
+        final DrlParser parser = new DrlParser( languageLevel );
+        try {
+            final PackageDescr pkg = parser.parse( false, drl );
+            return parser.hasErrors() ? null : pkg;
+        } catch (DroolsParserException e) {
+            return null;
+        }
+    }
+
+    private static Resource toDrlResource(final String drl) {
+        return ResourceFactory.newByteArrayResource( drl.getBytes( StandardCharsets.UTF_8 ) );
+    }
+}
@@ -19,6 +19,7 @@ import org.drools.template.objects.ObjectDataProvider;
 import org.drools.template.parser.DefaultTemplateContainer;
 import org.drools.template.parser.TemplateContainer;
 import org.drools.template.parser.TemplateDataListener;
+import org.kie.internal.builder.KnowledgeBuilder;
 
 import java.io.InputStream;
 import java.util.Collection;
@@ -57,4 +58,27 @@ public class ObjectDataCompiler extends DataProviderCompiler {
         return compile(new ObjectDataProvider(tc, objs),
                        new TemplateDataListener(tc));
     }
+
+    /**
+     * Compile templates, substituting from a collection of maps or objects
+     * into the given template, straight into a KnowledgeBuilder.
+     *
+     * @param objs           the collection of maps or objects
+     * @param templateStream the template as a stream
+     * @param kbuilder       the builder the expanded rules are added to
+     * @param rowsPerChunk   the number of objects expanded before handing their rules to the builder
+     * @see DataProviderCompiler#compile(DataProvider, InputStream, KnowledgeBuilder, int)
+     */
+    public void compile(final Collection<?> objs,
+                        final InputStream templateStream,
+                        final KnowledgeBuilder kbuilder,
+                        final int rowsPerChunk) {
+        TemplateContainer tc = new DefaultTemplateContainer(templateStream);
+        closeStream(templateStream);
+        compile(new ObjectDataProvider(tc, objs),
+                new TemplateDataListener(tc),
+                tc.getHeader(),
+                kbuilder,
+                rowsPerChunk);
+    }
 }
@@ -15,10 +15,12 @@
 
 package org.drools.template.jdbc;
 
+import org.drools.template.DrlChunkLoader;
 import org.drools.template.parser.DataListener;
 import org.drools.template.parser.DefaultTemplateContainer;
 import org.drools.template.parser.TemplateContainer;
 import org.drools.template.parser.TemplateDataListener;
+import org.kie.internal.builder.KnowledgeBuilder;
 
 import java.io.InputStream;
 import java.sql.ResultSet;
@@ -80,6 +82,41 @@ public class ResultSetGenerator {
         return listener.renderDRL();
     }
 
+    /**
+     * Expands the templates over the resultset straight into a KnowledgeBuilder, without
+     * generating the DRL of all the rules first. The rules are handed to the builder every
+     * <code>rowsPerChunk</code> rows and the chunks are parsed in parallel, so the memory used
+     * does not grow with the size of the table.
+     *
+     * @param rs             the resultset for the table data
+     * @param templateStream the InputStream for reading the templates
+     * @param kbuilder       the builder the generated rules are added to
+     * @param rowsPerChunk   the number of rows expanded before handing their rules to the builder
+     */
+    public void compile(final ResultSet rs,
+                        final InputStream templateStream,
+                        final KnowledgeBuilder kbuilder,
+                        final int rowsPerChunk) {
+        TemplateContainer tc = new DefaultTemplateContainer(templateStream);
+        closeStream(templateStream);
+        TemplateDataListener listener = new TemplateDataListener(tc);
+        DrlChunkLoader loader = new DrlChunkLoader(kbuilder,
+                                                   tc.getHeader());
+        try {
+            listener.setChunkConsumer(rowsPerChunk,
+                                      loader);
+            List<DataListener> listeners = new ArrayList<DataListener>();
+            listeners.add(listener);
+            processData(rs,
+                        listeners);
+        } catch (RuntimeException | Error e) {
+            // the chunks expanded so far are discarded, the original failure is reported
+            loader.cancel();
+            throw e;
+        }
+        loader.finish();
+    }
+
     /**
      * Iterate through the resultset.
      *
@@ -93,6 +93,18 @@ public class Package extends AttributedDRLElement
     }
 
     public void renderDRL(final DRLOutput out) {
+        renderHeaderDRL(out);
+
+        renderDRL(this._rules,
+                  out);
+
+    }
+
+    /**
+     * Renders everything but the rules: the package statement, imports, globals, functions,
+     * queries, declared types and the package level attributes.
+     */
+    public void renderHeaderDRL(final DRLOutput out) {
         if (_name != null) {
             out.writeLine("package " + this._name.replace(' ',
                                                           '_') + ";");
@@ -108,10 +120,6 @@ public class Package extends AttributedDRLElement
 
         // attributes
         super.renderDRL(out);
-
-        renderDRL(this._rules,
-                  out);
-
     }
 
     private void renderDRL(final List<? extends DRLJavaEmitter> list,
@@ -121,4 +121,14 @@ public class DefaultGenerator
         return sb.toString();
     }
 
+    public boolean canDrainDrl() {
+        return true;
+    }
+
+    public String drainDrl() {
+        String drl = getDrl();
+        rules.clear();
+        return drl;
+    }
+
 }
@@ -26,4 +26,19 @@ public interface Generator {
 
     String getDrl();
 
+    /**
+     * Tells if this generator implements {@link #drainDrl()}, so that its rules can be handed over in chunks.
+     */
+    default boolean canDrainDrl() {
+        return false;
+    }
+
+    /**
+     * Returns the DRL of the rules generated since the last call and forgets them,
+     * so that the rules can be handed over in chunks while the data is being processed.
+     */
+    default String drainDrl() {
+        throw new UnsupportedOperationException( getClass().getName() + " cannot hand over the generated rules in chunks" );
+    }
+
 }
@@ -17,9 +17,13 @@
 package org.drools.template.parser;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 import org.drools.template.model.DRLOutput;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
 
 /**
  * SheetListener for creating rules from a template
@@ -46,6 +50,12 @@ public class TemplateDataListener
 
     private boolean checkEmptyRows = true;
 
+    private int rowsPerChunk;
+
+    private Consumer<String> chunkConsumer;
+
+    private int pendingRows;
+
     // private WorkingMemoryFileLogger logger;
 
     public TemplateDataListener( final TemplateContainer tc ) {
@@ -151,15 +161,52 @@ public class TemplateDataListener
         }
     }
 
+    /**
+     * Hands the rules generated for every <code>rowsPerChunk</code> rows over to the given consumer as
+     * soon as they are available, instead of retaining all of them until {@link #renderDRL()}.
+     * The facts of the rows already expanded are removed from the session, so that the memory used
+     * does not grow with the data. The chunks do not include the template header.
+     *
+     * @throws UnsupportedOperationException if the generator cannot hand over its rules in chunks
+     */
+    public void setChunkConsumer( final int rowsPerChunk,
+                                  final Consumer<String> chunkConsumer ) {
+        if ( rowsPerChunk <= 0 ) {
+            throw new IllegalArgumentException( "rowsPerChunk must be positive: " + rowsPerChunk );
+        }
+        if ( !generator.canDrainDrl() ) {
+            throw new UnsupportedOperationException( generator.getClass().getName() + " cannot hand over the generated rules in chunks" );
+        }
+        this.rowsPerChunk = rowsPerChunk;
+        this.chunkConsumer = chunkConsumer;
+    }
+
     public void finishSheet() {
         if ( currentRow != null ) {
             session.insert( currentRow );
         }
         session.fireAllRules();
+        if ( chunkConsumer != null ) {
+            chunkConsumer.accept( generator.drainDrl() );
+        }
         // logger.writeToDisk();
         session.dispose();
     }
 
+    private void insertRow( final Row row ) {
+        session.insert( row );
+        if ( chunkConsumer != null && ++pendingRows >= rowsPerChunk ) {
+            session.fireAllRules();
+            // only the columns are shared among the rows
+            List<FactHandle> expanded = new ArrayList<FactHandle>( session.getFactHandles( fact -> !( fact instanceof Column ) ) );
+            for ( FactHandle handle : expanded ) {
+                session.delete( handle );
+            }
+            pendingRows = 0;
+            chunkConsumer.accept( generator.drainDrl() );
+        }
+    }
+
     public void newCell( int row,
                          int column,
                          String value,
@@ -183,7 +230,7 @@ public class TemplateDataListener
                 tableFinished = true;
             } else {
                 if ( currentRow != null ) {
-                    session.insert( currentRow );
+                    insertRow( currentRow );
                 }
                 currentRow = new Row( rowNumber,
                                       columns );
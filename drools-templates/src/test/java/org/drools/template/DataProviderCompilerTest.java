@@ -16,15 +16,33 @@
 package org.drools.template;
 
 import org.assertj.core.api.Assertions;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.template.jdbc.Cheese;
+import org.drools.template.jdbc.Person;
 import org.drools.template.parser.Column;
 import org.drools.template.parser.DefaultTemplateContainer;
+import org.drools.template.parser.DefaultTemplateRuleBase;
+import org.drools.template.parser.Generator;
+import org.drools.template.parser.Row;
 import org.drools.template.parser.TemplateContainer;
+import org.drools.template.parser.TemplateDataListener;
 import org.junit.Before;
 import org.junit.Test;
+import org.kie.api.definition.KiePackage;
+import org.kie.api.runtime.KieSession;
+import org.kie.internal.builder.KnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilderFactory;
 
 import java.io.InputStream;
 import java.util.*;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
 public class DataProviderCompilerTest {
 
     private static final StringBuffer EXPECTED_RULES = new StringBuffer();
@@ -240,4 +258,113 @@ public class DataProviderCompilerTest {
         Assertions.assertThat(EXPECTED_RULES.toString()).isEqualToIgnoringWhitespace(drl);
     }
 
+    @Test
+    public void testCompileIntoKnowledgeBuilder() throws Exception {
+        List<String[]> cheeseRows = new ArrayList<String[]>();
+        for (int i = 0; i < 25; i++) {
+            cheeseRows.add(new String[]{String.valueOf(20 + i), "stilton", "Stilton fan " + i});
+        }
+
+        // 4 rows per chunk, fewer rules than the parallel build threshold
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
+        new DataProviderCompiler().compile(new TestDataProvider(cheeseRows),
+                                           getCheeseTemplate(),
+                                           kbuilder,
+                                           4);
+
+        assertCheeseRules(kbuilder);
+    }
+
+    @Test
+    public void testCompileObjectsIntoKnowledgeBuilder() throws Exception {
+        Collection<Map<String, Object>> maps = new ArrayList<Map<String, Object>>();
+        for (int i = 0; i < 25; i++) {
+            Map<String, Object> map = new HashMap<String, Object>();
+            map.put("age", 20 + i);
+            map.put("type", "stilton");
+            map.put("log", "Stilton fan " + i);
+            maps.add(map);
+        }
+
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
+        new ObjectDataCompiler().compile(maps,
+                                         getCheeseTemplate(),
+                                         kbuilder,
+                                         20);
+
+        assertCheeseRules(kbuilder);
+    }
+
+    @Test
+    public void testFailedCompileAddsNoChunks() {
+        List<String[]> cheeseRows = new ArrayList<String[]>();
+        for (int i = 0; i < 25; i++) {
+            cheeseRows.add(new String[]{String.valueOf(20 + i), "stilton", "Stilton fan " + i});
+        }
+        final IllegalStateException failure = new IllegalStateException("row 10 unreadable");
+        DataProvider failingProvider = new TestDataProvider(cheeseRows) {
+            private int read;
+
+            @Override
+            public String[] next() {
+                if (++read > 10) {
+                    throw failure;
+                }
+                return super.next();
+            }
+        };
+
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
+        try {
+            new DataProviderCompiler().compile(failingProvider,
+                                               getCheeseTemplate(),
+                                               kbuilder,
+                                               4);
+            fail("The data provider failure should be reported");
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+        // only the header made it into the builder
+        for (KiePackage kpkg : kbuilder.getKnowledgePackages()) {
+            assertTrue(kpkg.getRules().isEmpty());
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testChunksRequireADrainableGenerator() {
+        TemplateContainer tc = new DefaultTemplateContainer(getCheeseTemplate());
+        Generator generator = new Generator() {
+            public void generate(String templateName, Row row) {
+            }
+
+            public String getDrl() {
+                return "";
+            }
+        };
+        TemplateDataListener listener = new TemplateDataListener(1, 1, tc, new DefaultTemplateRuleBase(tc), generator);
+        listener.setChunkConsumer(10, drl -> { });
+    }
+
+    private InputStream getCheeseTemplate() {
+        return this.getClass().getResourceAsStream("/templates/Cheese.drt");
+    }
+
+    private void assertCheeseRules(KnowledgeBuilder kbuilder) {
+        assertFalse(kbuilder.getErrors().toString(), kbuilder.hasErrors());
+
+        InternalKnowledgeBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        kbase.addPackages(kbuilder.getKnowledgePackages());
+        assertEquals(25, kbase.getPackage("org.drools.template.jdbc").getRules().size());
+
+        KieSession kSession = kbase.newKieSession();
+        List<String> list = new ArrayList<String>();
+        kSession.setGlobal("list", list);
+        kSession.insert(new Cheese("stilton", 42));
+        kSession.insert(new Person("michael", "stilton", 42));
+        kSession.fireAllRules();
+        kSession.dispose();
+
+        assertEquals(Collections.singletonList("Stilton fan 22"), list);
+    }
+
 }
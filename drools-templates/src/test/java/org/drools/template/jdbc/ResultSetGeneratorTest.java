@@ -94,6 +94,47 @@ public class ResultSetGeneratorTest {
 
     }
 
+    @Test
+    public void testResultSetIntoKnowledgeBuilder() throws Exception {
+        Class.forName("org.hsqldb.jdbcDriver");
+        Connection conn = DriverManager.getConnection("jdbc:hsqldb:mem:drools-templates-chunks", "sa", "");
+
+        try {
+            update("CREATE TABLE cheese_rules ( id INTEGER IDENTITY, persons_age INTEGER, cheese_type VARCHAR(256), log VARCHAR(256) )", conn);
+            for (int i = 0; i < 25; i++) {
+                update("INSERT INTO cheese_rules(persons_age,cheese_type,log) VALUES(" + (20 + i) + ", 'stilton', 'Stilton fan " + i + "')", conn);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not initialize in memory database", e);
+        }
+
+        Statement sta = conn.createStatement();
+        ResultSet rs = sta.executeQuery("SELECT persons_age, cheese_type, log " +
+                                        " FROM cheese_rules");
+
+        // expand the rows 10 by 10, directly into the builder
+        KnowledgeBuilder kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
+        new ResultSetGenerator().compile(rs, getRulesStream(), kbuilder, 10);
+        sta.close();
+
+        assertFalse(kbuilder.getErrors().toString(), kbuilder.hasErrors());
+
+        InternalKnowledgeBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        kbase.addPackages(kbuilder.getKnowledgePackages());
+        assertEquals(25, kbase.getPackage("org.drools.template.jdbc").getRules().size());
+
+        KieSession kSession = kbase.newKieSession();
+        kSession.insert(new Cheese("stilton", 42));
+        kSession.insert(new Person("michael", "stilton", 42));
+        List<String> list = new ArrayList<String>();
+        kSession.setGlobal("list", list);
+
+        kSession.fireAllRules();
+
+        assertEquals(1, list.size());
+        assertEquals("Stilton fan 22", list.get(0));
+    }
+
      /**
      * simple getter method looks up our template as a Resource
      *
@@ -26,7 +26,9 @@ import java.util.UUID;
 import java.util.concurrent.Semaphore;
 
 import org.assertj.core.api.Assertions;
+import org.drools.core.datasources.BatchDataSource;
 import org.drools.core.impl.InternalRuleUnitExecutor;
+import org.drools.core.impl.RuleUnitExecutorSession;
 import org.drools.core.ruleunit.RuleUnitFactory;
 import org.drools.testcoverage.common.model.LongAddress;
 import org.drools.testcoverage.common.model.Person;
@@ -61,6 +63,9 @@ import static org.drools.core.ruleunit.RuleUnitUtil.getUnitName;
 import static org.drools.core.util.ClassUtils.getCanonicalSimpleName;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(Parameterized.class)
@@ -176,6 +181,158 @@ public class RuleUnitTest {
         }
     }
 
+    @Test
+    public void testBatchDataSource() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                        "import " + AdultUnit.class.getCanonicalName() + "\n" +
+                        "import " + NotAdultUnit.class.getCanonicalName() + "\n" +
+                        "rule Adult @Unit( AdultUnit.class ) when\n" +
+                        "    Person(age >= 18, $name : name) from persons\n" +
+                        "then\n" +
+                        "    System.out.println($name + \" is adult\");\n" +
+                        "end\n" +
+                        "rule NotAdult @Unit( NotAdultUnit.class ) when\n" +
+                        "    Person(age < 18, $name : name) from persons\n" +
+                        "then\n" +
+                        "    System.out.println($name + \" is NOT adult\");\n" +
+                        "end";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("rule-unit-test", kieBaseTestConfiguration, drl);
+        final RuleUnitExecutor executor = RuleUnitExecutor.create().bind(kbase);
+        try {
+            final BatchDataSource<Person> persons = new BatchDataSource<Person>().setBatch(new Person("Mario", 42),
+                                                                                         new Person("Marilena", 44),
+                                                                                         new Person("Sofia", 4));
+            executor.bindVariable("persons", persons);
+            assertEquals(2, executor.run(AdultUnit.class));
+            assertEquals(1, executor.run(NotAdultUnit.class));
+
+            // rebinding the same unit without changing the batch doesn't re-insert anything
+            assertEquals(0, executor.run(AdultUnit.class));
+
+            persons.setBatch(asList(new Person("Edson", 35),
+                                    new Person("Mark", 40),
+                                    new Person("Luca", 12),
+                                    new Person("Matteo", 10)));
+            assertEquals(2, executor.run(AdultUnit.class));
+            assertEquals(2, executor.run(NotAdultUnit.class));
+        } finally {
+            executor.dispose();
+        }
+    }
+
+    @Test
+    public void testNewBatchDataSource() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                        "import " + AdultUnit.class.getCanonicalName() + "\n" +
+                        "rule Adult @Unit( AdultUnit.class ) when\n" +
+                        "    Person(age >= 18, $name : name) from persons\n" +
+                        "then\n" +
+                        "    System.out.println($name + \" is adult\");\n" +
+                        "end";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("rule-unit-test", kieBaseTestConfiguration, drl);
+        final RuleUnitExecutorSession executor = (RuleUnitExecutorSession) RuleUnitExecutor.create().bind(kbase);
+        try {
+            final BatchDataSource<Person> persons = executor.newBatchDataSource("persons",
+                                                                                asList(new Person("Mario", 42),
+                                                                                       new Person("Marilena", 44),
+                                                                                       new Person("Sofia", 4)));
+            assertEquals(3, persons.size());
+            assertEquals(2, executor.run(AdultUnit.class));
+
+            persons.setBatch(new Person("Edson", 35));
+            assertEquals(1, executor.run(AdultUnit.class));
+        } finally {
+            executor.dispose();
+        }
+    }
+
+    @Test
+    public void testBatchDataSourceUpdate() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                        "import " + AdultUnit.class.getCanonicalName() + "\n" +
+                        "import " + NotAdultUnit.class.getCanonicalName() + "\n" +
+                        "rule Adult @Unit( AdultUnit.class ) when\n" +
+                        "    Person(age >= 18, $name : name) from persons\n" +
+                        "then\n" +
+                        "    System.out.println($name + \" is adult\");\n" +
+                        "end\n" +
+                        "rule NotAdult @Unit( NotAdultUnit.class ) when\n" +
+                        "    Person(age < 18, $name : name) from persons\n" +
+                        "then\n" +
+                        "    System.out.println($name + \" is NOT adult\");\n" +
+                        "end";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("rule-unit-test", kieBaseTestConfiguration, drl);
+        final RuleUnitExecutor executor = RuleUnitExecutor.create().bind(kbase);
+        try {
+            final Person sofia = new Person("Sofia", 4);
+            final BatchDataSource<Person> persons = new BatchDataSource<Person>().setBatch(new Person("Mario", 42),
+                                                                                         new Person("Marilena", 44),
+                                                                                         sofia);
+            executor.bindVariable("persons", persons);
+            assertEquals(2, executor.run(AdultUnit.class));
+            assertEquals(1, executor.run(NotAdultUnit.class));
+
+            final FactHandle sofiaFh = persons.getFactHandleForObject(sofia);
+            assertNotNull(sofiaFh);
+            assertSame(sofiaFh, persons.getFactHandleForObject(sofia));
+            assertNull(persons.getFactHandleForObject(new Person("Sofia", 4)));
+
+            sofia.setAge(18);
+            persons.update(sofiaFh, sofia, "age");
+
+            // only the updated person is propagated again, the rest of the batch doesn't re-fire
+            assertEquals(1, executor.run(AdultUnit.class));
+            assertEquals(0, executor.run(NotAdultUnit.class));
+            assertEquals(0, executor.run(AdultUnit.class));
+        } finally {
+            executor.dispose();
+        }
+    }
+
+    @Test
+    public void testBatchDataSourceModify() {
+        final String drl =
+                "import " + Person.class.getCanonicalName() + "\n" +
+                        "import " + AdultUnit.class.getCanonicalName() + "\n" +
+                        "import " + NotAdultUnit.class.getCanonicalName() + "\n" +
+                        "rule Adult @Unit( AdultUnit.class ) when\n" +
+                        "    Person(age >= 18, $name : name) from persons\n" +
+                        "then\n" +
+                        "    System.out.println($name + \" is adult\");\n" +
+                        "end\n" +
+                        "rule NotAdult @Unit( NotAdultUnit.class ) when\n" +
+                        "    $p : Person(age < 18, $name : name) from persons\n" +
+                        "then\n" +
+                        "    System.out.println($name + \" is NOT adult\");\n" +
+                        "    modify($p) { setAge(18); }\n" +
+                        "end";
+
+        final KieBase kbase = KieBaseUtil.getKieBaseFromKieModuleFromDrl("rule-unit-test", kieBaseTestConfiguration, drl);
+        final RuleUnitExecutor executor = RuleUnitExecutor.create().bind(kbase);
+        try {
+            final BatchDataSource<Person> persons = new BatchDataSource<Person>().setBatch(new Person("Mario", 42),
+                                                                                         new Person("Marilena", 44),
+                                                                                         new Person("Sofia", 4));
+            executor.bindVariable("persons", persons);
+            assertEquals(2, executor.run(AdultUnit.class));
+
+            // the modify is propagated to the current unit only for the modified person, so the rule doesn't loop
+            assertEquals(1, executor.run(NotAdultUnit.class));
+
+            // the other unit receives the modification when bound again, without re-inserting the batch
+            assertEquals(1, executor.run(AdultUnit.class));
+            assertEquals(0, executor.run(NotAdultUnit.class));
+        } finally {
+            executor.dispose();
+        }
+    }
+
     @Test
     public void testRuleWithoutUnitsIsNotExecutor() {
         final String drl =
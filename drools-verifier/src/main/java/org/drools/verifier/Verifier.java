@@ -55,6 +55,34 @@ public interface Verifier {
 
     public boolean fireAnalysis(ScopesAgendaFilter scopesAgendaFilter);
 
+    /**
+     * Adds a resource for the incremental analysis, replacing the rules earlier added from a
+     * resource with the same source path. Unlike addResourcesToVerify this does not touch the
+     * report of fireAnalysis.
+     * The errors reported by getErrors for this resource replace the ones of its previous update;
+     * a resource that fails to build is removed from the incremental analysis.
+     * Resources are re-analysed together with all the resources of the same package (and sharing
+     * fact types), so changing a single rule, or a single row of a large decision table, re-analyses
+     * its whole package.
+     */
+    public void updateResourcesToVerify(Resource resource,
+                                        ResourceType type);
+
+    /**
+     * Removes the rules of a resource from the incremental analysis.
+     */
+    public void removeResourcesToVerify(Resource resource);
+
+    /**
+     * Runs the verifier again only for the packages affected by the resources added, updated or
+     * removed since the previous run, and replaces the result with the merged report.
+     *
+     * @return true if everything worked.
+     */
+    public boolean fireIncrementalAnalysis();
+
+    public boolean fireIncrementalAnalysis(ScopesAgendaFilter scopesAgendaFilter);
+
     public VerifierReport getResult();
 
     public boolean hasErrors();
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.verifier.builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarInputStream;
+
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.verifier.components.ObjectType;
+import org.drools.verifier.components.VerifierComponentType;
+import org.drools.verifier.components.VerifierRule;
+import org.drools.verifier.data.VerifierComponent;
+import org.drools.verifier.data.VerifierData;
+import org.drools.verifier.data.VerifierReport;
+import org.drools.verifier.data.VerifierReportFactory;
+import org.drools.verifier.jarloader.VerifierMapBackedClassLoader;
+import org.drools.verifier.report.components.Gap;
+import org.drools.verifier.report.components.MissingNumberPattern;
+import org.drools.verifier.report.components.MissingRange;
+import org.drools.verifier.report.components.Severity;
+import org.drools.verifier.report.components.VerifierMessageBase;
+import org.drools.verifier.visitor.PackageDescrVisitor;
+import org.kie.api.KieBase;
+import org.kie.api.io.Resource;
+import org.kie.api.runtime.KieSession;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Keeps the package descriptions of the verified resources together with the reports of the
+ * partitions they belong to, so that a new analysis only re-runs the partitions that contain
+ * a changed resource.
+ * <p>
+ * Verifier rules write their findings straight into the report instead of inserting them
+ * logically, so a single finding can not be retracted when the rule it is about changes.
+ * The unit that is re-analysed is therefore a partition: resources of the same package, or
+ * with rules over the same fact types, are analysed together and independent partitions are
+ * analysed in parallel.
+ */
+class IncrementalAnalysis {
+
+    private static final String EMPTY_LHS = "empty lhs";
+
+    private final Map<Object, PackageDescr> descrs = new LinkedHashMap<>();
+
+    private final Map<Object, Set<String>> partitionKeys = new HashMap<>();
+
+    private final Set<Object> changed = new HashSet<>();
+
+    private final Map<Set<Object>, VerifierReport> reports = new HashMap<>();
+
+    private ScopesAgendaFilter lastFilter;
+
+    private ClassLoader classLoader;
+
+    /**
+     * Adds the package description of a resource, replacing the one previously added for the
+     * same source path.
+     */
+    void put(Resource resource,
+             PackageDescr descr) {
+        Object key = keyOf( resource );
+        descrs.put( key,
+                    descr );
+        partitionKeys.remove( key );
+        changed.add( key );
+    }
+
+    void remove(Resource resource) {
+        Object key = keyOf( resource );
+        if ( descrs.remove( key ) != null ) {
+            partitionKeys.remove( key );
+            changed.add( key );
+        }
+    }
+
+    /**
+     * Analyses the partitions that changed since the last call and merges them with the
+     * cached reports of the others. The jars are read on the first call only.
+     */
+    VerifierReport analyse(KieBase verifierKnowledgeBase,
+                           ScopesAgendaFilter scopesAgendaFilter,
+                           List<JarInputStream> jars) throws Exception {
+        if ( classLoader == null ) {
+            classLoader = new VerifierMapBackedClassLoader( jars );
+        }
+
+        if ( scopesAgendaFilter.equals( lastFilter ) ) {
+            reports.keySet().removeIf( partition -> partition.stream().anyMatch( changed::contains ) );
+        } else {
+            reports.clear();
+            lastFilter = scopesAgendaFilter;
+        }
+        changed.clear();
+
+        List<Set<Object>> partitions = partition();
+        reports.keySet().retainAll( partitions );
+
+        List<Set<Object>> dirty = partitions.stream()
+                .filter( partition -> !reports.containsKey( partition ) )
+                .collect( toList() );
+
+        if ( !dirty.isEmpty() ) {
+            ForkJoinPool pool = new ForkJoinPool(); // avoid common pool
+            try {
+                List<VerifierReport> analysed = pool.submit( () -> dirty.parallelStream()
+                        .map( partition -> analysePartition( verifierKnowledgeBase,
+                                                             scopesAgendaFilter,
+                                                             partition ) )
+                        .collect( toList() ) ).get();
+
+                for ( int i = 0; i < dirty.size(); i++ ) {
+                    reports.put( dirty.get( i ),
+                                 analysed.get( i ) );
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        return merge( partitions );
+    }
+
+    private List<Set<Object>> partition() {
+        Map<Object, Object> parents = new HashMap<>();
+        Map<String, Object> ownersByKey = new HashMap<>();
+
+        for ( Object resource : descrs.keySet() ) {
+            parents.put( resource,
+                         resource );
+            for ( String key : partitionKeys.computeIfAbsent( resource,
+                                                              this::findPartitionKeys ) ) {
+                Object owner = ownersByKey.putIfAbsent( key,
+                                                        resource );
+                if ( owner != null ) {
+                    parents.put( find( parents,
+                                       resource ),
+                                 find( parents,
+                                       owner ) );
+                }
+            }
+        }
+
+        Map<Object, Set<Object>> partitions = new LinkedHashMap<>();
+        for ( Object resource : descrs.keySet() ) {
+            partitions.computeIfAbsent( find( parents,
+                                              resource ),
+                                        root -> new LinkedHashSet<>() ).add( resource );
+        }
+        return new ArrayList<>( partitions.values() );
+    }
+
+    private static Object find(Map<Object, Object> parents,
+                               Object resource) {
+        Object parent = parents.get( resource );
+        while ( parent != resource ) {
+            resource = parent;
+            parent = parents.get( resource );
+        }
+        return resource;
+    }
+
+    /**
+     * The package and the fact types used by the rules of a resource. Rules without patterns
+     * can relate to any other rule, so they share a single key.
+     */
+    private Set<String> findPartitionKeys(Object resource) {
+        VerifierData data = VerifierReportFactory.newVerifierData();
+        visit( data,
+               Collections.singleton( resource ) );
+
+        Set<String> keys = new HashSet<>();
+        keys.add( "package " + descrs.get( resource ).getName() );
+        for ( VerifierRule rule : data.<VerifierRule> getAll( VerifierComponentType.RULE ) ) {
+            Collection<ObjectType> objectTypes = data.getObjectTypesByRuleName( rule.getName() );
+            if ( objectTypes.isEmpty() ) {
+                keys.add( EMPTY_LHS );
+            }
+            for ( ObjectType objectType : objectTypes ) {
+                if ( objectType != null ) {
+                    keys.add( "type " + objectType.getName() );
+                }
+            }
+        }
+        return keys;
+    }
+
+    private VerifierReport analysePartition(KieBase verifierKnowledgeBase,
+                                            ScopesAgendaFilter scopesAgendaFilter,
+                                            Set<Object> partition) {
+        VerifierReport report = VerifierReportFactory.newVerifierReport();
+        visit( report.getVerifierData(),
+               partition );
+
+        KieSession ksession = verifierKnowledgeBase.newKieSession();
+        try {
+            for ( Object object : report.getVerifierData().getAll() ) {
+                ksession.insert( object );
+            }
+
+            ksession.setGlobal( "result",
+                                report );
+
+            ksession.fireAllRules( scopesAgendaFilter );
+        } finally {
+            ksession.dispose();
+        }
+        return report;
+    }
+
+    private void visit(VerifierData data,
+                       Collection<Object> resources) {
+        try {
+            for ( Object resource : resources ) {
+                new PackageDescrVisitor( data,
+                                         classLoader ).visitPackageDescr( descrs.get( resource ) );
+            }
+        } catch ( Exception e ) {
+            throw new RuntimeException( e );
+        }
+    }
+
+    private VerifierReport merge(List<Set<Object>> partitions) {
+        VerifierReport merged = VerifierReportFactory.newVerifierReport();
+        VerifierData data = merged.getVerifierData();
+
+        // Fields are indexed by their object type, so those have to be in place first.
+        for ( Set<Object> partition : partitions ) {
+            for ( ObjectType objectType : reports.get( partition ).getVerifierData().<ObjectType> getAll( VerifierComponentType.OBJECT_TYPE ) ) {
+                data.add( objectType );
+            }
+        }
+
+        for ( Set<Object> partition : partitions ) {
+            VerifierReport report = reports.get( partition );
+
+            for ( VerifierComponent component : report.getVerifierData().getAll() ) {
+                if ( !VerifierComponentType.OBJECT_TYPE.equals( component.getVerifierComponentType() ) ) {
+                    data.add( component );
+                }
+            }
+
+            for ( Severity severity : Severity.values() ) {
+                for ( VerifierMessageBase message : report.getBySeverity( severity ) ) {
+                    merged.add( message );
+                }
+            }
+
+            for ( MissingRange missingRange : report.getRangeCheckCauses() ) {
+                if ( missingRange instanceof Gap ) {
+                    merged.add( (Gap) missingRange );
+                } else if ( missingRange instanceof MissingNumberPattern ) {
+                    merged.add( (MissingNumberPattern) missingRange );
+                }
+            }
+        }
+        return merged;
+    }
+
+    static Object keyOf(Resource resource) {
+        return resource.getSourcePath() != null ? resource.getSourcePath() : resource;
+    }
+}
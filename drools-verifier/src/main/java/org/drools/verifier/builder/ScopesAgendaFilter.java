@@ -18,6 +18,7 @@ package org.drools.verifier.builder;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 
 import org.kie.api.runtime.rule.AgendaFilter;
@@ -86,4 +87,21 @@ public class ScopesAgendaFilter
         return false;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if ( this == o ) {
+            return true;
+        }
+        if ( !(o instanceof ScopesAgendaFilter) ) {
+            return false;
+        }
+        ScopesAgendaFilter that = (ScopesAgendaFilter) o;
+        return acceptEmpty == that.acceptEmpty && new HashSet<String>( scopes ).equals( new HashSet<String>( that.scopes ) );
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * new HashSet<String>( scopes ).hashCode() + (acceptEmpty ? 1 : 0);
+    }
+
 }
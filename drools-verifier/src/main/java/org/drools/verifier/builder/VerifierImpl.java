@@ -18,7 +18,9 @@ package org.drools.verifier.builder;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.jar.JarInputStream;
 
 import org.drools.compiler.compiler.PackageBuilderErrors;
@@ -63,6 +65,11 @@ public class VerifierImpl
 
     private VerifierPackageBuilder      verifierPackageBuilder = new VerifierPackageBuilder();
 
+    private final IncrementalAnalysis   incrementalAnalysis    = new IncrementalAnalysis();
+
+    // the errors of the resources of the incremental analysis, replaced on each update
+    private final Map<Object, List<VerifierError>> resourceErrors = new HashMap<Object, List<VerifierError>>();
+
     public VerifierImpl(VerifierConfiguration conf) {
         this.conf = conf;
     }
@@ -121,6 +128,32 @@ public class VerifierImpl
         return analyse( scopesAgendaFilter );
     }
 
+    public boolean fireIncrementalAnalysis() {
+        return fireIncrementalAnalysis( new ScopesAgendaFilter( true,
+                                                                ScopesAgendaFilter.ALL_SCOPES ) );
+    }
+
+    public boolean fireIncrementalAnalysis(ScopesAgendaFilter scopesAgendaFilter) {
+        try {
+
+            if ( this.verifierKnowledgeBase == null ) {
+                synchronized ( this.getClass() ) {
+                    updateRuleBase();
+                    updateKnowledgeSession();
+                }
+            }
+
+            result = incrementalAnalysis.analyse( verifierKnowledgeBase,
+                                                  scopesAgendaFilter,
+                                                  jars );
+
+        } catch ( Exception e ) {
+            throw new RuntimeException( e );
+        }
+
+        return true;
+    }
+
     private boolean analyse(ScopesAgendaFilter scopesAgendaFilter) {
         try {
 
@@ -208,6 +241,8 @@ public class VerifierImpl
             PackageDescr pkg = verifierPackageBuilder.getPackageDescr();
             if ( pkg != null ) {
                 addPackageDescr( pkg );
+                incrementalAnalysis.put( resource,
+                                         pkg );
             } else {
                 errors.add( new VerifierError( "Verifier could not form a PackageDescr from the resources that it was trying to verify." ) );
             }
@@ -228,12 +263,63 @@ public class VerifierImpl
         PackageDescr pkg = verifierPackageBuilder.getPackageDescr();
         if ( pkg != null ) {
             addPackageDescr( pkg );
+            incrementalAnalysis.put( resource,
+                                     pkg );
 
         } else {
             errors.add( new VerifierError( "Verifier could not form a PackageDescr from the resources that it was trying to verify." ) );
         }
     }
 
+    public void updateResourcesToVerify(Resource resource,
+                                        ResourceType type) {
+
+        // A fresh builder, so errors and the descr of earlier resources do not carry over.
+        VerifierPackageBuilder builder = new VerifierPackageBuilder();
+        builder.addKnowledgeResource( resource,
+                                      type,
+                                      null );
+
+        List<VerifierError> updateErrors = new ArrayList<VerifierError>();
+        if ( builder.hasErrors() ) {
+            for ( KnowledgeBuilderError knowledgeBuilderError : builder.getErrors() ) {
+                updateErrors.add( new VerifierError( knowledgeBuilderError.getMessage() ) );
+            }
+        }
+
+        PackageDescr pkg = builder.getPackageDescr();
+        if ( pkg == null ) {
+            updateErrors.add( new VerifierError( "Verifier could not form a PackageDescr from the resources that it was trying to verify." ) );
+        }
+
+        // a resource that doesn't build is left out of the analysis, instead of keeping its previous version
+        if ( updateErrors.isEmpty() ) {
+            incrementalAnalysis.put( resource,
+                                     pkg );
+        } else {
+            incrementalAnalysis.remove( resource );
+        }
+        replaceResourceErrors( resource,
+                               updateErrors );
+    }
+
+    public void removeResourcesToVerify(Resource resource) {
+        incrementalAnalysis.remove( resource );
+        replaceResourceErrors( resource,
+                               new ArrayList<VerifierError>() );
+    }
+
+    private void replaceResourceErrors(Resource resource,
+                                       List<VerifierError> updateErrors) {
+        Object key = IncrementalAnalysis.keyOf( resource );
+        List<VerifierError> previous = updateErrors.isEmpty() ? resourceErrors.remove( key ) : resourceErrors.put( key,
+                                                                                                                   updateErrors );
+        if ( previous != null ) {
+            errors.removeAll( previous );
+        }
+        errors.addAll( updateErrors );
+    }
+
     private void addVerifierErrors(PackageBuilderErrors packageBuilderErrors) {
         for ( KnowledgeBuilderError knowledgeBuilderError : packageBuilderErrors ) {
             errors.add( new VerifierError( knowledgeBuilderError.getMessage() ) );
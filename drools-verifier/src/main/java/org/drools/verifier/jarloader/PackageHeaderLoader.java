@@ -36,11 +36,19 @@ public class PackageHeaderLoader {
     private List<String> missingClasses = new ArrayList<String>();
 
     public PackageHeaderLoader(Collection<String> imports, List<JarInputStream> jarInputStreams) throws IOException {
-        findImportsFromJars(imports, jarInputStreams);
+        this(imports, new VerifierMapBackedClassLoader(jarInputStreams));
     }
 
-    private void findImportsFromJars(Collection<String> imports, List<JarInputStream> jarInputStreams) throws IOException {
-        ClassTypeResolver resolver = new ClassTypeResolver(new HashSet<String>(), new VerifierMapBackedClassLoader(jarInputStreams));
+    /**
+     * Resolves the imports with a class loader that already holds the object model,
+     * so the jars do not have to be read again for every package.
+     */
+    public PackageHeaderLoader(Collection<String> imports, ClassLoader classLoader) throws IOException {
+        findImports(imports, classLoader);
+    }
+
+    private void findImports(Collection<String> imports, ClassLoader classLoader) throws IOException {
+        ClassTypeResolver resolver = new ClassTypeResolver(new HashSet<String>(), classLoader);
 
         for (String className : imports) {
 
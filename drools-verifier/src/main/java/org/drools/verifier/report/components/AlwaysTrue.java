@@ -18,6 +18,7 @@ package org.drools.verifier.report.components;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Pattern, rule or similar that is always satisfied.
@@ -27,9 +28,9 @@ public class AlwaysTrue
     Reason,
     Cause {
 
-    private static int              index = 0;
+    private static final AtomicInteger index = new AtomicInteger();
 
-    private final String            path  = String.valueOf( index++ );
+    private final String            path  = String.valueOf( index.getAndIncrement() );
 
     private final Cause             impactedComponent;
 
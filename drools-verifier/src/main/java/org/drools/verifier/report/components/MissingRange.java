@@ -16,6 +16,8 @@
 
 package org.drools.verifier.report.components;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.drools.core.base.evaluators.Operator;
 import org.drools.verifier.components.Field;
 
@@ -25,8 +27,8 @@ public abstract class MissingRange
     Reason,
     Cause {
 
-    private static int       index = 0;
-    protected final String   guid  = String.valueOf( index++ );
+    private static final AtomicInteger index = new AtomicInteger();
+    protected final String   guid  = String.valueOf( index.getAndIncrement() );
 
     protected final Field    field;
     protected final Operator operator;
@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 abstract public class VerifierMessageBase
     implements
@@ -27,7 +28,7 @@ abstract public class VerifierMessageBase
     Comparable<VerifierMessageBase> {
     private static final long   serialVersionUID = 510l;
 
-    private static int          index            = 0;
+    private static final AtomicInteger index     = new AtomicInteger();
 
     // <path,rule name>
     private Map<String, String> impactedRules    = new HashMap<String, String>();
@@ -35,7 +36,7 @@ abstract public class VerifierMessageBase
     protected final Severity    severity;
     protected final MessageType messageType;
 
-    protected final int         id               = index++;
+    protected final int         id               = index.getAndIncrement();
     protected final Cause       faulty;
     protected final String      message;
 
@@ -36,6 +36,7 @@ public class PackageDescrVisitor {
 
     private final VerifierData data;
     private List<JarInputStream> jars = null;
+    private ClassLoader classLoader = null;
 
     private RulePackage rulePackage;
 
@@ -45,6 +46,12 @@ public class PackageDescrVisitor {
         this.jars = jars;
     }
 
+    public PackageDescrVisitor(VerifierData data,
+                               ClassLoader classLoader) {
+        this.data = data;
+        this.classLoader = classLoader;
+    }
+
     public void visitPackageDescr(PackageDescr descr) throws UnknownDescriptionException, ClassNotFoundException, IOException {
         rulePackage = data.getPackageByName(descr.getName());
 
@@ -88,7 +95,9 @@ public class PackageDescrVisitor {
             data.add(objectType);
         }
 
-        PackageHeaderLoader packageHeaderLoader = new PackageHeaderLoader(imports, jars);
+        PackageHeaderLoader packageHeaderLoader = classLoader != null
+                ? new PackageHeaderLoader(imports, classLoader)
+                : new PackageHeaderLoader(imports, jars);
 
         for (String factTypeName : packageHeaderLoader.getClassNames()) {
             String name = factTypeName.substring(factTypeName.lastIndexOf(".") + 1);
@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.jar.JarInputStream;
 
+import org.drools.core.io.impl.ByteArrayResource;
 import org.drools.core.io.impl.ClassPathResource;
 import org.drools.verifier.builder.VerifierBuilder;
 import org.drools.verifier.builder.VerifierBuilderFactory;
@@ -229,4 +230,102 @@ public class VerifierTest {
                           m.getMessage() );
         }
     }
+
+    @Test
+    public void testIncrementalAnalysis() {
+        Verifier verifier = VerifierBuilderFactory.newVerifierBuilder().newVerifier();
+
+        verifier.updateResourcesToVerify( new ClassPathResource( "Misc3.drl",
+                                                                 Verifier.class ),
+                                          ResourceType.DRL );
+        verifier.updateResourcesToVerify( new ClassPathResource( "Overlap.drl",
+                                                                 Verifier.class ),
+                                          ResourceType.DRL );
+
+        assertFalse( verifier.hasErrors() );
+        assertTrue( verifier.fireIncrementalAnalysis() );
+
+        assertSameMessages( fullAnalysis( "Misc3.drl",
+                                          "Overlap.drl" ),
+                            verifier.getResult() );
+
+        verifier.removeResourcesToVerify( new ClassPathResource( "Overlap.drl",
+                                                                 Verifier.class ) );
+        assertTrue( verifier.fireIncrementalAnalysis() );
+
+        VerifierReport result = verifier.getResult();
+        assertSameMessages( fullAnalysis( "Misc3.drl" ),
+                            result );
+        assertEquals( 6,
+                      result.getBySeverity( Severity.WARNING ).size() );
+        assertEquals( 1,
+                      result.getBySeverity( Severity.NOTE ).size() );
+
+        verifier.dispose();
+    }
+
+    @Test
+    public void testIncrementalAnalysisOfBrokenUpdate() {
+        Verifier verifier = VerifierBuilderFactory.newVerifierBuilder().newVerifier();
+
+        ClassPathResource overlap = new ClassPathResource( "Overlap.drl",
+                                                           Verifier.class );
+        verifier.updateResourcesToVerify( new ClassPathResource( "Misc3.drl",
+                                                                 Verifier.class ),
+                                          ResourceType.DRL );
+        verifier.updateResourcesToVerify( overlap,
+                                          ResourceType.DRL );
+        assertFalse( verifier.hasErrors() );
+
+        ByteArrayResource broken = new ByteArrayResource( "package overlap rule \"broken\" when then".getBytes() );
+        broken.setSourcePath( overlap.getSourcePath() );
+        verifier.updateResourcesToVerify( broken,
+                                          ResourceType.DRL );
+        assertTrue( verifier.hasErrors() );
+        int brokenErrors = verifier.getErrors().size();
+
+        // the rules of the previous version are not analysed anymore
+        assertTrue( verifier.fireIncrementalAnalysis() );
+        assertSameMessages( fullAnalysis( "Misc3.drl" ),
+                            verifier.getResult() );
+
+        // updating it again replaces its errors instead of adding to them
+        verifier.updateResourcesToVerify( broken,
+                                          ResourceType.DRL );
+        assertEquals( brokenErrors,
+                      verifier.getErrors().size() );
+
+        verifier.updateResourcesToVerify( overlap,
+                                          ResourceType.DRL );
+        assertFalse( verifier.hasErrors() );
+        assertTrue( verifier.fireIncrementalAnalysis() );
+        assertSameMessages( fullAnalysis( "Misc3.drl",
+                                          "Overlap.drl" ),
+                            verifier.getResult() );
+
+        verifier.dispose();
+    }
+
+    private VerifierReport fullAnalysis(String... resources) {
+        Verifier verifier = VerifierBuilderFactory.newVerifierBuilder().newVerifier();
+        for ( String resource : resources ) {
+            verifier.addResourcesToVerify( new ClassPathResource( resource,
+                                                                  Verifier.class ),
+                                           ResourceType.DRL );
+        }
+        assertTrue( verifier.fireAnalysis() );
+        verifier.dispose();
+        return verifier.getResult();
+    }
+
+    private void assertSameMessages(VerifierReport expected,
+                                    VerifierReport actual) {
+        for ( Severity severity : Severity.values() ) {
+            assertEquals( severity.getSingular(),
+                          expected.getBySeverity( severity ).size(),
+                          actual.getBySeverity( severity ).size() );
+        }
+        assertEquals( expected.getRangeCheckCauses().size(),
+                      actual.getRangeCheckCauses().size() );
+    }
 }
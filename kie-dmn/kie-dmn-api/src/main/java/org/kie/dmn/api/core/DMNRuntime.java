@@ -17,6 +17,7 @@
 package org.kie.dmn.api.core;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.kie.dmn.api.core.event.DMNRuntimeEventManager;
 
@@ -64,6 +65,22 @@ public interface DMNRuntime extends DMNRuntimeEventManager {
      */
     DMNResult evaluateAll( DMNModel model, DMNContext context );
 
+    /**
+     * Evaluate all decisions for the model once for each of the given contexts.
+     * The contexts are consumed lazily, while the returned stream is consumed, and
+     * the results are returned in the same order of the contexts. A parallel stream
+     * of contexts is evaluated in parallel: in that case the registered listeners
+     * may be notified concurrently.
+     *
+     * @param model the model to evaluate
+     * @param contexts the contexts with all the input variables, one for each evaluation
+     *
+     * @return the results of the evaluations
+     */
+    default Stream<DMNResult> evaluateAll( DMNModel model, Stream<DMNContext> contexts ) {
+        return contexts.map( context -> evaluateAll( model, context ) );
+    }
+
     /**
      * Evaluate the decision identified by the given name and
      * all dependent decisions, given the context
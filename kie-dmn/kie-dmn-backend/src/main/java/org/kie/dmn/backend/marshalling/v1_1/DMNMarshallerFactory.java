@@ -17,6 +17,7 @@
 package org.kie.dmn.backend.marshalling.v1_1;
 
 import org.kie.dmn.api.marshalling.v1_1.DMNExtensionRegister;
+import org.kie.dmn.backend.marshalling.v1_1.stax.StaxMarshaller;
 import org.kie.dmn.backend.marshalling.v1_1.xstream.XStreamMarshaller;
 import org.kie.dmn.api.marshalling.v1_1.DMNMarshaller;
 
@@ -25,10 +26,14 @@ import java.util.List;
 public final class DMNMarshallerFactory {
 
     public static DMNMarshaller newDefaultMarshaller() {
-        return new XStreamMarshaller();
+        return new StaxMarshaller();
     }
 
     public static DMNMarshaller newMarshallerWithExtensions(List<DMNExtensionRegister> extensionElementRegisters) {
+        if ( extensionElementRegisters.isEmpty() ) {
+            return new StaxMarshaller();
+        }
+        // the extension elements are unmarshalled by the XStream converters contributed by the registers
         return new XStreamMarshaller(extensionElementRegisters);
     }
 
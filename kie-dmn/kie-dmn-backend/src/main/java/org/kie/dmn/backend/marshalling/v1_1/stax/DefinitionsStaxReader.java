@@ -0,0 +1,749 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.backend.marshalling.v1_1.stax;
+
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.kie.dmn.backend.marshalling.v1_1.xstream.MarshallingUtils;
+import org.kie.dmn.model.v1_1.Artifact;
+import org.kie.dmn.model.v1_1.Association;
+import org.kie.dmn.model.v1_1.AssociationDirection;
+import org.kie.dmn.model.v1_1.AuthorityRequirement;
+import org.kie.dmn.model.v1_1.Binding;
+import org.kie.dmn.model.v1_1.BuiltinAggregator;
+import org.kie.dmn.model.v1_1.BusinessContextElement;
+import org.kie.dmn.model.v1_1.BusinessKnowledgeModel;
+import org.kie.dmn.model.v1_1.Context;
+import org.kie.dmn.model.v1_1.ContextEntry;
+import org.kie.dmn.model.v1_1.DMNElement;
+import org.kie.dmn.model.v1_1.DMNElement.ExtensionElements;
+import org.kie.dmn.model.v1_1.DMNElementReference;
+import org.kie.dmn.model.v1_1.DMNModelInstrumentedBase;
+import org.kie.dmn.model.v1_1.DRGElement;
+import org.kie.dmn.model.v1_1.Decision;
+import org.kie.dmn.model.v1_1.DecisionRule;
+import org.kie.dmn.model.v1_1.DecisionService;
+import org.kie.dmn.model.v1_1.DecisionTable;
+import org.kie.dmn.model.v1_1.DecisionTableOrientation;
+import org.kie.dmn.model.v1_1.Definitions;
+import org.kie.dmn.model.v1_1.ElementCollection;
+import org.kie.dmn.model.v1_1.Expression;
+import org.kie.dmn.model.v1_1.FunctionDefinition;
+import org.kie.dmn.model.v1_1.HitPolicy;
+import org.kie.dmn.model.v1_1.Import;
+import org.kie.dmn.model.v1_1.ImportedValues;
+import org.kie.dmn.model.v1_1.InformationItem;
+import org.kie.dmn.model.v1_1.InformationRequirement;
+import org.kie.dmn.model.v1_1.InputClause;
+import org.kie.dmn.model.v1_1.InputData;
+import org.kie.dmn.model.v1_1.Invocation;
+import org.kie.dmn.model.v1_1.ItemDefinition;
+import org.kie.dmn.model.v1_1.KnowledgeRequirement;
+import org.kie.dmn.model.v1_1.KnowledgeSource;
+import org.kie.dmn.model.v1_1.LiteralExpression;
+import org.kie.dmn.model.v1_1.NamedElement;
+import org.kie.dmn.model.v1_1.OrganizationUnit;
+import org.kie.dmn.model.v1_1.OutputClause;
+import org.kie.dmn.model.v1_1.PerformanceIndicator;
+import org.kie.dmn.model.v1_1.Relation;
+import org.kie.dmn.model.v1_1.TextAnnotation;
+import org.kie.dmn.model.v1_1.UnaryTests;
+
+/**
+ * Reads the DMN v1.1 {@link Definitions} directly from a {@link XMLStreamReader}, creating each model
+ * element as soon as its start tag is pulled from the stream.
+ *
+ * The element names, attributes and parent/child assignments are the same of the XStream converters
+ * in the xstream package, but without any XStream mapper lookup, reflection or intermediate
+ * hierarchical reader, so that large models (e.g. decision tables with thousands of rules) are loaded
+ * in a single pass with only the model objects being allocated.
+ * Extension elements are skipped, as done by the XStream converters when no extension is registered.
+ */
+public class DefinitionsStaxReader {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty( XMLInputFactory.SUPPORT_DTD, Boolean.FALSE );
+        factory.setProperty( XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE );
+        return factory;
+    }
+
+    public Definitions read(Reader reader) throws XMLStreamException {
+        XMLStreamReader in = XML_INPUT_FACTORY.createXMLStreamReader( reader );
+        try {
+            while ( in.next() != XMLStreamConstants.START_ELEMENT ) {
+                // skip the prolog
+            }
+            Object root = readElement( in, null );
+            if ( !(root instanceof Definitions) ) {
+                throw new XMLStreamException( "Expected DMN definitions root element, found: " + in.getLocalName(), in.getLocation() );
+            }
+            return (Definitions) root;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Reads the element at the current START_ELEMENT, leaving the reader positioned on its END_ELEMENT.
+     */
+    private Object readElement(XMLStreamReader in, DMNModelInstrumentedBase parent) throws XMLStreamException {
+        String nodeName = in.getLocalName();
+        switch ( nodeName ) {
+            case "text":
+            case "description":
+            case "question":
+            case "allowedAnswers":
+            case "importedElement":
+            case "type":
+                return readText( in );
+            case "typeRef":
+                return readQName( in );
+            case "inputData":
+                if ( parent instanceof DecisionService ) {
+                    // the tag name inputData is used both for the references of a decision service and as a DRG Element
+                    DMNElementReference ref = new DMNElementReference();
+                    ref.setHref( getAttribute( in, "href" ) );
+                    skipElement( in );
+                    return ref;
+                }
+                break;
+            default:
+                break;
+        }
+
+        DMNModelInstrumentedBase obj = createModelObject( nodeName );
+        if ( obj == null ) {
+            skipElement( in );
+            return null;
+        }
+        assignAttributes( in, obj );
+        if ( obj instanceof ExtensionElements ) {
+            skipElement( in );
+        } else {
+            parseElements( in, obj );
+        }
+        return obj;
+    }
+
+    private void parseElements(XMLStreamReader in, DMNModelInstrumentedBase parent) throws XMLStreamException {
+        while ( nextChildElement( in ) ) {
+            String nodeName = in.getLocalName();
+            Object child = readElement( in, parent );
+            if ( child == null ) {
+                continue;
+            }
+            if ( child instanceof DMNModelInstrumentedBase ) {
+                ((DMNModelInstrumentedBase) child).setParent( parent );
+                parent.addChildren( (DMNModelInstrumentedBase) child );
+            }
+            assignChildElement( parent, nodeName, child );
+        }
+    }
+
+    private static DMNModelInstrumentedBase createModelObject(String nodeName) {
+        switch ( nodeName ) {
+            case "definitions":
+                return new Definitions();
+            case "import":
+                return new Import();
+            case "importedValues":
+                return new ImportedValues();
+            case "itemDefinition":
+            case "itemComponent":
+                return new ItemDefinition();
+            case "elementCollection":
+                return new ElementCollection();
+            case "decision":
+                return new Decision();
+            case "businessKnowledgeModel":
+                return new BusinessKnowledgeModel();
+            case "inputData":
+                return new InputData();
+            case "knowledgeSource":
+                return new KnowledgeSource();
+            case "decisionService":
+                return new DecisionService();
+            case "organizationUnit":
+                return new OrganizationUnit();
+            case "performanceIndicator":
+                return new PerformanceIndicator();
+            case "association":
+                return new Association();
+            case "textAnnotation":
+                return new TextAnnotation();
+            case "variable":
+            case "informationItem":
+            case "formalParameter":
+            case "parameter":
+            case "column":
+                return new InformationItem();
+            case "informationRequirement":
+                return new InformationRequirement();
+            case "knowledgeRequirement":
+                return new KnowledgeRequirement();
+            case "authorityRequirement":
+                return new AuthorityRequirement();
+            case "requiredInput":
+            case "requiredDecision":
+            case "requiredKnowledge":
+            case "requiredAuthority":
+            case "supportedObjective":
+            case "impactedPerformanceIndicator":
+            case "impactingDecision":
+            case "decisionMaker":
+            case "decisionOwner":
+            case "decisionMade":
+            case "decisionOwned":
+            case "usingProcess":
+            case "usingTask":
+            case "owner":
+            case "drgElement":
+            case "sourceRef":
+            case "targetRef":
+            case "outputDecision":
+            case "encapsulatedDecision":
+            case "inputDecision":
+                return new DMNElementReference();
+            case "literalExpression":
+            case "inputExpression":
+            case "outputEntry":
+            case "defaultOutputEntry":
+                return new LiteralExpression();
+            case "allowedValues":
+            case "inputValues":
+            case "outputValues":
+            case "inputEntry":
+                return new UnaryTests();
+            case "decisionTable":
+                return new DecisionTable();
+            case "input":
+                return new InputClause();
+            case "output":
+                return new OutputClause();
+            case "rule":
+                return new DecisionRule();
+            case "context":
+                return new Context();
+            case "contextEntry":
+                return new ContextEntry();
+            case "functionDefinition":
+            case "encapsulatedLogic":
+                return new FunctionDefinition();
+            case "invocation":
+                return new Invocation();
+            case "binding":
+                return new Binding();
+            case "relation":
+                return new Relation();
+            case "list":
+            case "row":
+                return new org.kie.dmn.model.v1_1.List();
+            case "extensionElements":
+                return new ExtensionElements();
+            default:
+                return null;
+        }
+    }
+
+    private static void assignAttributes(XMLStreamReader in, DMNModelInstrumentedBase mib) {
+        mib.getNsContext().putAll( getNsContext( in ) );
+        mib.setLocation( in.getLocation() );
+        mib.setAdditionalAttributes( getAdditionalAttributes( in ) );
+
+        if ( mib instanceof DMNElement ) {
+            DMNElement dmne = (DMNElement) mib;
+            dmne.setId( getAttribute( in, "id" ) );
+            dmne.setLabel( getAttribute( in, "label" ) );
+        }
+        if ( mib instanceof NamedElement ) {
+            ((NamedElement) mib).setName( getAttribute( in, "name" ) );
+        }
+        if ( mib instanceof BusinessContextElement ) {
+            ((BusinessContextElement) mib).setURI( getAttribute( in, "URI" ) );
+        }
+        if ( mib instanceof Expression ) {
+            ((Expression) mib).setTypeRef( MarshallingUtils.parseQNameString( getAttribute( in, "typeRef" ) ) );
+        }
+
+        if ( mib instanceof Definitions ) {
+            Definitions def = (Definitions) mib;
+            def.setExpressionLanguage( getAttribute( in, "expressionLanguage" ) );
+            def.setTypeLanguage( getAttribute( in, "typeLanguage" ) );
+            def.setNamespace( getAttribute( in, "namespace" ) );
+            def.setExporter( getAttribute( in, "exporter" ) );
+            def.setExporterVersion( getAttribute( in, "exporterVersion" ) );
+        } else if ( mib instanceof DMNElementReference ) {
+            ((DMNElementReference) mib).setHref( getAttribute( in, "href" ) );
+        } else if ( mib instanceof InformationItem ) {
+            ((InformationItem) mib).setTypeRef( MarshallingUtils.parseQNameString( getAttribute( in, "typeRef" ) ) );
+        } else if ( mib instanceof LiteralExpression ) {
+            ((LiteralExpression) mib).setExpressionLanguage( getAttribute( in, "expressionLanguage" ) );
+        } else if ( mib instanceof UnaryTests ) {
+            ((UnaryTests) mib).setExpressionLanguage( getAttribute( in, "expressionLanguage" ) );
+        } else if ( mib instanceof DecisionTable ) {
+            DecisionTable dt = (DecisionTable) mib;
+            String hitPolicyValue = getAttribute( in, "hitPolicy" );
+            String aggregationValue = getAttribute( in, "aggregation" );
+            String preferredOrientationValue = getAttribute( in, "preferredOrientation" );
+            if ( hitPolicyValue != null ) dt.setHitPolicy( HitPolicy.fromValue( hitPolicyValue ) );
+            if ( aggregationValue != null ) dt.setAggregation( BuiltinAggregator.fromValue( aggregationValue ) );
+            if ( preferredOrientationValue != null ) dt.setPreferredOrientation( DecisionTableOrientation.fromValue( preferredOrientationValue ) );
+            dt.setOutputLabel( getAttribute( in, "outputLabel" ) );
+        } else if ( mib instanceof OutputClause ) {
+            OutputClause oc = (OutputClause) mib;
+            String typeRefValue = getAttribute( in, "typeRef" );
+            oc.setName( getAttribute( in, "name" ) );
+            if ( typeRefValue != null ) oc.setTypeRef( MarshallingUtils.parseQNameString( typeRefValue ) );
+        } else if ( mib instanceof ItemDefinition ) {
+            ItemDefinition id = (ItemDefinition) mib;
+            id.setTypeLanguage( getAttribute( in, "typeLanguage" ) );
+            id.setIsCollection( Boolean.valueOf( getAttribute( in, "isCollection" ) ) );
+        } else if ( mib instanceof Import ) {
+            Import i = (Import) mib;
+            i.setNamespace( getAttribute( in, "namespace" ) );
+            i.setLocationURI( getAttribute( in, "locationURI" ) );
+            i.setImportType( getAttribute( in, "importType" ) );
+            if ( mib instanceof ImportedValues ) {
+                ((ImportedValues) mib).setExpressionLanguage( getAttribute( in, "expressionLanguage" ) );
+            }
+        } else if ( mib instanceof KnowledgeSource ) {
+            ((KnowledgeSource) mib).setLocationURI( getAttribute( in, "locationURI" ) );
+        } else if ( mib instanceof Association ) {
+            String associationDirectionValue = getAttribute( in, "associationDirection" );
+            if ( associationDirectionValue != null ) ((Association) mib).setAssociationDirection( AssociationDirection.fromValue( associationDirectionValue ) );
+        } else if ( mib instanceof TextAnnotation ) {
+            ((TextAnnotation) mib).setTextFormat( getAttribute( in, "textFormat" ) );
+        }
+    }
+
+    private static void assignChildElement(DMNModelInstrumentedBase parent, String nodeName, Object child) {
+        if ( parent instanceof Definitions ) {
+            Definitions def = (Definitions) parent;
+            if ( "import".equals( nodeName ) ) {
+                def.getImport().add( (Import) child );
+            } else if ( "itemDefinition".equals( nodeName ) ) {
+                def.getItemDefinition().add( (ItemDefinition) child );
+            } else if ( child instanceof DRGElement ) {
+                def.getDrgElement().add( (DRGElement) child );
+            } else if ( child instanceof Artifact ) {
+                def.getArtifact().add( (Artifact) child );
+            } else if ( "elementCollection".equals( nodeName ) ) {
+                def.getElementCollection().add( (ElementCollection) child );
+            } else if ( child instanceof BusinessContextElement ) {
+                def.getBusinessContextElement().add( (BusinessContextElement) child );
+            } else {
+                assignDMNElementChild( def, nodeName, child );
+            }
+        } else if ( parent instanceof Decision ) {
+            assignDecisionChild( (Decision) parent, nodeName, child );
+        } else if ( parent instanceof DecisionTable ) {
+            DecisionTable dt = (DecisionTable) parent;
+            if ( "input".equals( nodeName ) ) {
+                dt.getInput().add( (InputClause) child );
+            } else if ( "output".equals( nodeName ) ) {
+                dt.getOutput().add( (OutputClause) child );
+            } else if ( "rule".equals( nodeName ) ) {
+                dt.getRule().add( (DecisionRule) child );
+            } else {
+                assignDMNElementChild( dt, nodeName, child );
+            }
+        } else if ( parent instanceof DecisionRule ) {
+            DecisionRule dr = (DecisionRule) parent;
+            if ( "inputEntry".equals( nodeName ) ) {
+                dr.getInputEntry().add( (UnaryTests) child );
+            } else if ( "outputEntry".equals( nodeName ) ) {
+                dr.getOutputEntry().add( (LiteralExpression) child );
+            } else {
+                assignDMNElementChild( dr, nodeName, child );
+            }
+        } else if ( parent instanceof LiteralExpression ) {
+            LiteralExpression le = (LiteralExpression) parent;
+            if ( "text".equals( nodeName ) ) {
+                le.setText( (String) child );
+            } else if ( "importedValues".equals( nodeName ) ) {
+                le.setImportedValues( (ImportedValues) child );
+            } else {
+                assignDMNElementChild( le, nodeName, child );
+            }
+        } else if ( parent instanceof UnaryTests ) {
+            if ( "text".equals( nodeName ) ) {
+                ((UnaryTests) parent).setText( (String) child );
+            } else {
+                assignDMNElementChild( (UnaryTests) parent, nodeName, child );
+            }
+        } else if ( parent instanceof InputClause ) {
+            InputClause ic = (InputClause) parent;
+            if ( "inputExpression".equals( nodeName ) ) {
+                ic.setInputExpression( (LiteralExpression) child );
+            } else if ( "inputValues".equals( nodeName ) ) {
+                ic.setInputValues( (UnaryTests) child );
+            } else {
+                assignDMNElementChild( ic, nodeName, child );
+            }
+        } else if ( parent instanceof OutputClause ) {
+            OutputClause oc = (OutputClause) parent;
+            if ( "outputValues".equals( nodeName ) ) {
+                oc.setOutputValues( (UnaryTests) child );
+            } else if ( "defaultOutputEntry".equals( nodeName ) ) {
+                oc.setDefaultOutputEntry( (LiteralExpression) child );
+            } else {
+                assignDMNElementChild( oc, nodeName, child );
+            }
+        } else if ( parent instanceof InputData ) {
+            InputData id = (InputData) parent;
+            if ( "variable".equals( nodeName ) ) {
+                id.setVariable( (InformationItem) child );
+            } else {
+                assignDMNElementChild( id, nodeName, child );
+            }
+        } else if ( parent instanceof InformationRequirement ) {
+            InformationRequirement ir = (InformationRequirement) parent;
+            if ( "requiredInput".equals( nodeName ) ) {
+                ir.setRequiredInput( (DMNElementReference) child );
+            } else if ( "requiredDecision".equals( nodeName ) ) {
+                ir.setRequiredDecision( (DMNElementReference) child );
+            }
+        } else if ( parent instanceof KnowledgeRequirement ) {
+            if ( "requiredKnowledge".equals( nodeName ) ) {
+                ((KnowledgeRequirement) parent).setRequiredKnowledge( (DMNElementReference) child );
+            }
+        } else if ( parent instanceof AuthorityRequirement ) {
+            AuthorityRequirement ar = (AuthorityRequirement) parent;
+            if ( "requiredDecision".equals( nodeName ) ) {
+                ar.setRequiredDecision( (DMNElementReference) child );
+            } else if ( "requiredInput".equals( nodeName ) ) {
+                ar.setRequiredInput( (DMNElementReference) child );
+            } else if ( "requiredAuthority".equals( nodeName ) ) {
+                ar.setRequiredAuthority( (DMNElementReference) child );
+            }
+        } else if ( parent instanceof ItemDefinition ) {
+            ItemDefinition id = (ItemDefinition) parent;
+            if ( "typeRef".equals( nodeName ) ) {
+                id.setTypeRef( (QName) child );
+            } else if ( "allowedValues".equals( nodeName ) ) {
+                id.setAllowedValues( (UnaryTests) child );
+            } else if ( "itemComponent".equals( nodeName ) ) {
+                id.getItemComponent().add( (ItemDefinition) child );
+            } else {
+                assignDMNElementChild( id, nodeName, child );
+            }
+        } else if ( parent instanceof BusinessKnowledgeModel ) {
+            BusinessKnowledgeModel bkm = (BusinessKnowledgeModel) parent;
+            if ( "encapsulatedLogic".equals( nodeName ) ) {
+                bkm.setEncapsulatedLogic( (FunctionDefinition) child );
+            } else if ( "variable".equals( nodeName ) ) {
+                bkm.setVariable( (InformationItem) child );
+            } else if ( "knowledgeRequirement".equals( nodeName ) ) {
+                bkm.getKnowledgeRequirement().add( (KnowledgeRequirement) child );
+            } else if ( "authorityRequirement".equals( nodeName ) ) {
+                bkm.getAuthorityRequirement().add( (AuthorityRequirement) child );
+            } else {
+                assignDMNElementChild( bkm, nodeName, child );
+            }
+        } else if ( parent instanceof Context ) {
+            if ( "contextEntry".equals( nodeName ) ) {
+                ((Context) parent).getContextEntry().add( (ContextEntry) child );
+            } else {
+                assignDMNElementChild( (Context) parent, nodeName, child );
+            }
+        } else if ( parent instanceof ContextEntry ) {
+            ContextEntry ce = (ContextEntry) parent;
+            if ( "variable".equals( nodeName ) ) {
+                ce.setVariable( (InformationItem) child );
+            } else if ( child instanceof Expression ) {
+                ce.setExpression( (Expression) child );
+            }
+        } else if ( parent instanceof FunctionDefinition ) {
+            FunctionDefinition fd = (FunctionDefinition) parent;
+            if ( "formalParameter".equals( nodeName ) ) {
+                fd.getFormalParameter().add( (InformationItem) child );
+            } else if ( child instanceof Expression ) {
+                fd.setExpression( (Expression) child );
+            } else {
+                assignDMNElementChild( fd, nodeName, child );
+            }
+        } else if ( parent instanceof Invocation ) {
+            Invocation i = (Invocation) parent;
+            if ( child instanceof Expression ) {
+                i.setExpression( (Expression) child );
+            } else if ( "binding".equals( nodeName ) ) {
+                i.getBinding().add( (Binding) child );
+            } else {
+                assignDMNElementChild( i, nodeName, child );
+            }
+        } else if ( parent instanceof Binding ) {
+            Binding b = (Binding) parent;
+            if ( "parameter".equals( nodeName ) ) {
+                b.setParameter( (InformationItem) child );
+            } else if ( child instanceof Expression ) {
+                b.setExpression( (Expression) child );
+            }
+        } else if ( parent instanceof Relation ) {
+            Relation r = (Relation) parent;
+            if ( "column".equals( nodeName ) ) {
+                r.getColumn().add( (InformationItem) child );
+            } else if ( "row".equals( nodeName ) ) {
+                r.getRow().add( (org.kie.dmn.model.v1_1.List) child );
+            } else {
+                assignDMNElementChild( r, nodeName, child );
+            }
+        } else if ( parent instanceof org.kie.dmn.model.v1_1.List ) {
+            org.kie.dmn.model.v1_1.List list = (org.kie.dmn.model.v1_1.List) parent;
+            if ( child instanceof Expression ) {
+                list.getExpression().add( (Expression) child );
+            } else {
+                assignDMNElementChild( list, nodeName, child );
+            }
+        } else if ( parent instanceof KnowledgeSource ) {
+            KnowledgeSource ks = (KnowledgeSource) parent;
+            if ( "authorityRequirement".equals( nodeName ) ) {
+                ks.getAuthorityRequirement().add( (AuthorityRequirement) child );
+            } else if ( "type".equals( nodeName ) ) {
+                ks.setType( (String) child );
+            } else if ( "owner".equals( nodeName ) ) {
+                ks.setOwner( (DMNElementReference) child );
+            } else {
+                assignDMNElementChild( ks, nodeName, child );
+            }
+        } else if ( parent instanceof DecisionService ) {
+            DecisionService ds = (DecisionService) parent;
+            if ( "outputDecision".equals( nodeName ) ) {
+                ds.getOutputDecision().add( (DMNElementReference) child );
+            } else if ( "encapsulatedDecision".equals( nodeName ) ) {
+                ds.getEncapsulatedDecision().add( (DMNElementReference) child );
+            } else if ( "inputDecision".equals( nodeName ) ) {
+                ds.getInputDecision().add( (DMNElementReference) child );
+            } else if ( "inputData".equals( nodeName ) ) {
+                ds.getInputData().add( (DMNElementReference) child );
+            } else {
+                assignDMNElementChild( ds, nodeName, child );
+            }
+        } else if ( parent instanceof ElementCollection ) {
+            ElementCollection ec = (ElementCollection) parent;
+            if ( "drgElement".equals( nodeName ) ) {
+                ec.getDrgElement().add( (DMNElementReference) child );
+            }
+            assignDMNElementChild( ec, nodeName, child );
+        } else if ( parent instanceof OrganizationUnit ) {
+            OrganizationUnit ou = (OrganizationUnit) parent;
+            if ( "decisionMade".equals( nodeName ) ) {
+                ou.getDecisionMade().add( (DMNElementReference) child );
+            } else if ( "decisionOwned".equals( nodeName ) ) {
+                ou.getDecisionOwned().add( (DMNElementReference) child );
+            } else {
+                assignDMNElementChild( ou, nodeName, child );
+            }
+        } else if ( parent instanceof PerformanceIndicator ) {
+            if ( "impactingDecision".equals( nodeName ) ) {
+                ((PerformanceIndicator) parent).getImpactingDecision().add( (DMNElementReference) child );
+            } else {
+                assignDMNElementChild( (PerformanceIndicator) parent, nodeName, child );
+            }
+        } else if ( parent instanceof Association ) {
+            Association a = (Association) parent;
+            if ( "sourceRef".equals( nodeName ) ) {
+                a.setSourceRef( (DMNElementReference) child );
+            } else if ( "targetRef".equals( nodeName ) ) {
+                a.setTargetRef( (DMNElementReference) child );
+            } else {
+                assignDMNElementChild( a, nodeName, child );
+            }
+        } else if ( parent instanceof TextAnnotation ) {
+            if ( "text".equals( nodeName ) ) {
+                ((TextAnnotation) parent).setText( (String) child );
+            } else {
+                assignDMNElementChild( (TextAnnotation) parent, nodeName, child );
+            }
+        } else if ( parent instanceof ImportedValues ) {
+            if ( "importedElement".equals( nodeName ) ) {
+                ((ImportedValues) parent).setImportedElement( (String) child );
+            }
+        } else if ( parent instanceof DMNElement ) {
+            assignDMNElementChild( (DMNElement) parent, nodeName, child );
+        }
+    }
+
+    private static void assignDecisionChild(Decision dec, String nodeName, Object child) {
+        switch ( nodeName ) {
+            case "question":
+                dec.setQuestion( (String) child );
+                break;
+            case "allowedAnswers":
+                dec.setAllowedAnswers( (String) child );
+                break;
+            case "variable":
+                dec.setVariable( (InformationItem) child );
+                break;
+            case "informationRequirement":
+                dec.getInformationRequirement().add( (InformationRequirement) child );
+                break;
+            case "knowledgeRequirement":
+                dec.getKnowledgeRequirement().add( (KnowledgeRequirement) child );
+                break;
+            case "authorityRequirement":
+                dec.getAuthorityRequirement().add( (AuthorityRequirement) child );
+                break;
+            case "supportedObjective":
+                dec.getSupportedObjective().add( (DMNElementReference) child );
+                break;
+            case "impactedPerformanceIndicator":
+                dec.getImpactedPerformanceIndicator().add( (DMNElementReference) child );
+                break;
+            case "decisionMaker":
+                dec.getDecisionMaker().add( (DMNElementReference) child );
+                break;
+            case "decisionOwner":
+                dec.getDecisionOwner().add( (DMNElementReference) child );
+                break;
+            case "usingProcess":
+                dec.getUsingProcess().add( (DMNElementReference) child );
+                break;
+            case "usingTask":
+                dec.getUsingTask().add( (DMNElementReference) child );
+                break;
+            default:
+                if ( child instanceof Expression ) {
+                    dec.setExpression( (Expression) child );
+                } else {
+                    assignDMNElementChild( dec, nodeName, child );
+                }
+        }
+    }
+
+    private static void assignDMNElementChild(DMNElement parent, String nodeName, Object child) {
+        if ( "description".equals( nodeName ) && child instanceof String ) {
+            parent.setDescription( (String) child );
+        } else if ( "extensionElements".equals( nodeName ) && child instanceof ExtensionElements ) {
+            parent.setExtensionElements( (ExtensionElements) child );
+        }
+    }
+
+    private static String getAttribute(XMLStreamReader in, String name) {
+        // attributes are bound only when not prefixed, as done by the CustomStaxReader (DROOLS-1622)
+        return in.getAttributeValue( XMLConstants.NULL_NS_URI, name );
+    }
+
+    private static Map<String, String> getNsContext(XMLStreamReader in) {
+        Map<String, String> nsContext = new HashMap<>();
+        for ( int nsIndex = 0; nsIndex < in.getNamespaceCount(); nsIndex++ ) {
+            String nsPrefix = in.getNamespacePrefix( nsIndex );
+            nsContext.put( nsPrefix != null ? nsPrefix : XMLConstants.DEFAULT_NS_PREFIX, in.getNamespaceURI( nsIndex ) );
+        }
+        return nsContext;
+    }
+
+    private static Map<QName, String> getAdditionalAttributes(XMLStreamReader in) {
+        Map<QName, String> result = new HashMap<>();
+        for ( int aIndex = 0; aIndex < in.getAttributeCount(); aIndex++ ) {
+            String attributePrefix = in.getAttributePrefix( aIndex );
+            // DROOLS-1695 : IBM JDK would return a null instead of an empty String
+            if ( attributePrefix != null && !XMLConstants.DEFAULT_NS_PREFIX.equals( attributePrefix ) ) {
+                result.put( new QName( in.getAttributeNamespace( aIndex ), in.getAttributeLocalName( aIndex ), attributePrefix ), in.getAttributeValue( aIndex ) );
+            }
+        }
+        return result;
+    }
+
+    private static QName readQName(XMLStreamReader in) throws XMLStreamException {
+        Map<String, String> nsContext = getNsContext( in );
+        QName qname = MarshallingUtils.parseQNameString( readText( in ) );
+        String qnameURI = nsContext.get( qname.getPrefix() );
+        if ( qnameURI != null ) {
+            return new QName( qnameURI, qname.getLocalPart(), qname.getPrefix() );
+        }
+        return qname;
+    }
+
+    private static String readText(XMLStreamReader in) throws XMLStreamException {
+        String text = null;
+        StringBuilder sb = null;
+        int depth = 0;
+        while ( true ) {
+            switch ( in.next() ) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if ( depth > 0 ) {
+                        break;
+                    }
+                    // the text of an element is usually reported in a single event, so avoid the builder in that case
+                    if ( text == null ) {
+                        text = in.getText();
+                    } else {
+                        if ( sb == null ) {
+                            sb = new StringBuilder( text );
+                        }
+                        sb.append( in.getText() );
+                    }
+                    break;
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if ( depth-- == 0 ) {
+                        return sb != null ? sb.toString() : text != null ? text : "";
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static boolean nextChildElement(XMLStreamReader in) throws XMLStreamException {
+        while ( true ) {
+            switch ( in.next() ) {
+                case XMLStreamConstants.START_ELEMENT:
+                    return true;
+                case XMLStreamConstants.END_ELEMENT:
+                    return false;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static void skipElement(XMLStreamReader in) throws XMLStreamException {
+        int depth = 0;
+        while ( true ) {
+            switch ( in.next() ) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if ( depth-- == 0 ) {
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
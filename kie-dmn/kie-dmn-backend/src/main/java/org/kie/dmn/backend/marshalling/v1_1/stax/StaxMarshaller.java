@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.backend.marshalling.v1_1.stax;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+
+import org.kie.dmn.api.marshalling.v1_1.DMNMarshaller;
+import org.kie.dmn.backend.marshalling.v1_1.xstream.XStreamMarshaller;
+import org.kie.dmn.model.v1_1.Definitions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A DMNMarshaller unmarshalling the model with the streaming {@link DefinitionsStaxReader}.
+ * Marshalling is still delegated to the {@link XStreamMarshaller}.
+ */
+public class StaxMarshaller
+        implements DMNMarshaller {
+
+    private static final Logger logger = LoggerFactory.getLogger( StaxMarshaller.class );
+
+    private final XStreamMarshaller xStreamMarshaller = new XStreamMarshaller();
+
+    @Override
+    public Definitions unmarshal(String xml) {
+        return unmarshal( new StringReader( xml ) );
+    }
+
+    @Override
+    public Definitions unmarshal(Reader isr) {
+        try {
+            return new DefinitionsStaxReader().read( isr );
+        } catch ( Exception e ) {
+            logger.error( "Error unmarshalling DMN model from reader.", e );
+        }
+        return null;
+    }
+
+    @Override
+    public String marshal(Object o) {
+        return xStreamMarshaller.marshal( o );
+    }
+
+    @Override
+    public void marshal(Object o, Writer out) {
+        xStreamMarshaller.marshal( o, out );
+    }
+}
@@ -95,6 +95,9 @@ public class XStreamMarshaller
 
     private static Logger logger = LoggerFactory.getLogger( XStreamMarshaller.class );
     private List<DMNExtensionRegister> extensionRegisters = new ArrayList<>();
+    // configuring an XStream registers all the aliases and converters, so it is done once per marshaller:
+    // a configured XStream is thread safe
+    private volatile XStream xStream;
 
 
     private static StaxDriver staxDriver;
@@ -141,7 +144,7 @@ public class XStreamMarshaller
     @Override
     public Definitions unmarshal(Reader isr) {
         try {
-            XStream xStream = newXStream();
+            XStream xStream = getXStream();
 
             Definitions def = (Definitions) xStream.fromXML( isr );
 
@@ -156,7 +159,7 @@ public class XStreamMarshaller
     public String marshal(Object o) {
         try ( Writer writer = new StringWriter();
               CustomStaxWriter hsWriter = (CustomStaxWriter) staxDriver.createWriter(writer); ) {
-            XStream xStream = newXStream();
+            XStream xStream = getXStream();
             if ( o instanceof DMNModelInstrumentedBase ) {
                 DMNModelInstrumentedBase base = (DMNModelInstrumentedBase) o;
                 String dmnPrefix = base.getNsContext().entrySet().stream().filter( kv -> DMNModelInstrumentedBase.URI_DMN.equals( kv.getValue() ) ).findFirst().map(Map.Entry::getKey).orElse("");
@@ -221,6 +224,19 @@ public class XStreamMarshaller
         }
      }
     
+    private XStream getXStream() {
+        XStream result = xStream;
+        if ( result == null ) {
+            synchronized ( this ) {
+                result = xStream;
+                if ( result == null ) {
+                    xStream = result = newXStream();
+                }
+            }
+        }
+        return result;
+    }
+
     private XStream newXStream() {
         XStream xStream = createTrustingXStream( staxDriver, Definitions.class.getClassLoader() );
         
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.backend.marshalling.v1_1.stax;
+
+import java.io.InputStreamReader;
+
+import org.junit.Test;
+import org.kie.dmn.api.marshalling.v1_1.DMNMarshaller;
+import org.kie.dmn.backend.marshalling.v1_1.xstream.XStreamMarshaller;
+import org.kie.dmn.model.v1_1.Decision;
+import org.kie.dmn.model.v1_1.DecisionRule;
+import org.kie.dmn.model.v1_1.DecisionTable;
+import org.kie.dmn.model.v1_1.Definitions;
+import org.kie.dmn.model.v1_1.UnaryTests;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class StaxMarshallerTest {
+
+    @Test
+    public void testSameModelAsXStream() {
+        checkSameModelAsXStream( "/org/kie/dmn/backend/marshalling/v1_1/0001-input-data-string.dmn" );
+        checkSameModelAsXStream( "/org/kie/dmn/backend/marshalling/v1_1/0003-input-data-string-allowed-values.dmn" );
+        checkSameModelAsXStream( "/org/kie/dmn/backend/marshalling/v1_1/0004-decision-services.dmn" );
+        checkSameModelAsXStream( "/dish-decision.xml" );
+        checkSameModelAsXStream( "/dummy-relation.xml" );
+        checkSameModelAsXStream( "/ch11example.xml" );
+        checkSameModelAsXStream( "/semantic-namespace.xml" );
+        checkSameModelAsXStream( "/hardcoded_function_definition.dmn" );
+        checkSameModelAsXStream( "/Hello_World_semantic_namespace_with_extensions.dmn" );
+    }
+
+    @Test
+    public void testDecisionTable() {
+        Definitions def = new StaxMarshaller().unmarshal( new InputStreamReader( getClass().getResourceAsStream( "/dish-decision.xml" ) ) );
+        assertThat( def, notNullValue() );
+
+        Decision decision = (Decision) def.getDrgElement().get( 0 );
+        assertThat( decision.getExpression(), is( instanceOf( DecisionTable.class ) ) );
+
+        DecisionTable dt = (DecisionTable) decision.getExpression();
+        assertThat( dt.getParent(), is( sameInstance( decision ) ) );
+        assertThat( dt.getInput().size(), is( 2 ) );
+        assertThat( dt.getRule().size(), is( 6 ) );
+        assertThat( dt.getLocation().getLineNumber(), is( 7 ) );
+
+        DecisionRule rule = dt.getRule().get( 0 );
+        UnaryTests inputEntry = rule.getInputEntry().get( 0 );
+        assertThat( inputEntry.getText(), is( "\"Fall\"" ) );
+        assertThat( inputEntry.getParent(), is( sameInstance( rule ) ) );
+    }
+
+    private void checkSameModelAsXStream(String resource) {
+        DMNMarshaller xStreamMarshaller = new XStreamMarshaller();
+        Definitions expected = xStreamMarshaller.unmarshal( new InputStreamReader( getClass().getResourceAsStream( resource ) ) );
+        Definitions actual = new StaxMarshaller().unmarshal( new InputStreamReader( getClass().getResourceAsStream( resource ) ) );
+        assertThat( actual, notNullValue() );
+        assertEquals( resource, xStreamMarshaller.marshal( expected ), xStreamMarshaller.marshal( actual ) );
+        assertEquals( resource, expected.getChildren().size(), actual.getChildren().size() );
+    }
+}
@@ -28,8 +28,10 @@ import javax.xml.namespace.QName;
 
 import org.drools.compiler.builder.impl.KnowledgeBuilderImpl;
 import org.drools.compiler.compiler.PackageRegistry;
+import org.drools.compiler.kie.builder.impl.InternalKieModule.CompilationCache;
 import org.drools.compiler.lang.descr.PackageDescr;
 import org.drools.core.definitions.InternalKnowledgePackage;
+import org.drools.core.rule.JavaDialectRuntimeData;
 import org.kie.api.internal.assembler.KieAssemblerService;
 import org.kie.api.internal.io.ResourceTypePackage;
 import org.kie.api.io.Resource;
@@ -43,9 +45,11 @@ import org.kie.dmn.api.marshalling.v1_1.DMNMarshaller;
 import org.kie.dmn.core.api.DMNFactory;
 import org.kie.dmn.core.compiler.DMNCompilerConfigurationImpl;
 import org.kie.dmn.core.compiler.DMNCompilerImpl;
+import org.kie.dmn.core.compiler.DMNEvaluatorCompiler;
 import org.kie.dmn.core.compiler.DMNProfile;
 import org.kie.dmn.core.compiler.ImportDMNResolverUtil;
 import org.kie.dmn.core.compiler.ImportDMNResolverUtil.ImportType;
+import org.kie.dmn.core.compiler.execmodelbased.ExecModelDMNEvaluatorCompiler;
 import org.kie.dmn.core.compiler.profiles.ExtendedDMNProfile;
 import org.kie.dmn.core.impl.DMNKnowledgeBuilderError;
 import org.kie.dmn.core.impl.DMNPackageImpl;
@@ -144,6 +148,7 @@ public class DMNAssemblerService implements KieAssemblerService {
             PackageRegistry pkgReg = kbuilderImpl.getOrCreatePackageRegistry( new PackageDescr( namespace ) );
             InternalKnowledgePackage kpkgs = pkgReg.getPackage();
             kpkgs.addCloningResource( DMN_COMPILER_CACHE_KEY, dmnCompiler );
+            storeSourcesHashes( kbuilderImpl, dmnCompiler );
 
             Map<ResourceType, ResourceTypePackage> rpkg = kpkgs.getResourceTypePackages();
 
@@ -166,6 +171,24 @@ public class DMNAssemblerService implements KieAssemblerService {
         return model;
     }
 
+    /**
+     * The classes generated for the decision tables are defined by the java dialect data of the model's package, so that
+     * they are written in the kbase.cache of the kjar and don't need to be compiled again when a KieContainer is created
+     * from it. The hashes of their sources are written in a separate section of the kbase.cache, to detect stale classes.
+     */
+    private void storeSourcesHashes(KnowledgeBuilderImpl kbuilderImpl, DMNCompiler dmnCompiler) {
+        DMNEvaluatorCompiler evaluatorCompiler = ((DMNCompilerImpl) dmnCompiler).getEvaluatorCompiler();
+        if (evaluatorCompiler instanceof ExecModelDMNEvaluatorCompiler) {
+            ((ExecModelDMNEvaluatorCompiler) evaluatorCompiler).drainGeneratedSourcesHashes()
+                    .forEach( (name, hash) -> kbuilderImpl.addCompilationCacheEntry( ExecModelDMNEvaluatorCompiler.SOURCES_HASHES_DATA, name, hash ) );
+        }
+    }
+
+    private static JavaDialectRuntimeData getJavaDialectData(KnowledgeBuilderImpl kbuilderImpl, String namespace) {
+        PackageRegistry pkgReg = kbuilderImpl.getOrCreatePackageRegistry( new PackageDescr( namespace ) );
+        return (JavaDialectRuntimeData) pkgReg.getDialectRuntimeRegistry().getDialectData( "java" );
+    }
+
     private List<DMNProfile> getDMNProfiles(KnowledgeBuilderImpl kbuilderImpl) {
         ChainedProperties chainedProperties = kbuilderImpl.getBuilderConfiguration().getChainedProperties();
 
@@ -208,7 +231,14 @@ public class DMNAssemblerService implements KieAssemblerService {
     private DMNCompiler getCompiler(KnowledgeBuilderImpl kbuilderImpl) {
         List<DMNProfile> dmnProfiles = kbuilderImpl.getCachedOrCreate(DMN_PROFILES_CACHE_KEY, () -> getDMNProfiles(kbuilderImpl));
 
-        DMNCompilerConfiguration compilerConfig = compilerConfigWithKModulePrefs(kbuilderImpl.getRootClassLoader(), kbuilderImpl.getBuilderConfiguration().getChainedProperties(), dmnProfiles);
+        DMNCompilerConfigurationImpl compilerConfig = (DMNCompilerConfigurationImpl) compilerConfigWithKModulePrefs(kbuilderImpl.getRootClassLoader(), kbuilderImpl.getBuilderConfiguration().getChainedProperties(), dmnProfiles);
+        CompilationCache compilationCache = kbuilderImpl.getBuilderConfiguration().getCompilationCache();
+        compilerConfig.setCompilationCache(compilationCache);
+        // a kjar being built has no compilation cache yet: only then the generated classes are stored for its kbase.cache,
+        // while a kjar loaded at runtime reuses the classes it already contains
+        if (compilationCache == null) {
+            compilerConfig.setGeneratedClassesStore(namespace -> getJavaDialectData(kbuilderImpl, namespace));
+        }
 
         return DMNFactory.newCompiler(compilerConfig);
     }
@@ -22,7 +22,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
+import org.drools.compiler.kie.builder.impl.InternalKieModule.CompilationCache;
+import org.drools.core.rule.JavaDialectRuntimeData;
 import org.kie.api.conf.Option;
 import org.kie.dmn.api.core.DMNCompilerConfiguration;
 import org.kie.dmn.api.marshalling.v1_1.DMNExtensionRegister;
@@ -36,6 +39,8 @@ public class DMNCompilerConfigurationImpl implements DMNCompilerConfiguration {
     private List<DRGElementCompiler> drgElementCompilers = new ArrayList<>();
     private List<FEELProfile> feelProfiles = new ArrayList<>();
     private ClassLoader rootClassLoader = ClassLoaderUtil.findDefaultClassLoader();
+    private CompilationCache compilationCache;
+    private Function<String, JavaDialectRuntimeData> generatedClassesStore;
 
     public void addExtensions(List<DMNExtensionRegister> extensionRegisters) {
         this.registeredExtensions.addAll(extensionRegisters);
@@ -96,6 +101,31 @@ public class DMNCompilerConfigurationImpl implements DMNCompilerConfiguration {
         this.rootClassLoader = classLoader;
     }
 
+    /**
+     * The compilation cache of the kjar being loaded, if any, containing the classes generated for the decision tables
+     * when the kjar was built.
+     */
+    public CompilationCache getCompilationCache() {
+        return compilationCache;
+    }
+
+    public void setCompilationCache(CompilationCache compilationCache) {
+        this.compilationCache = compilationCache;
+    }
+
+    /**
+     * Returns, given the namespace of a DMN model, the java dialect data where the classes generated for its decision tables
+     * are defined and stored, so that they are written in the kjar. It is null when the generated classes are only defined
+     * in the class loader of the compiler.
+     */
+    public Function<String, JavaDialectRuntimeData> getGeneratedClassesStore() {
+        return generatedClassesStore;
+    }
+
+    public void setGeneratedClassesStore(Function<String, JavaDialectRuntimeData> generatedClassesStore) {
+        this.generatedClassesStore = generatedClassesStore;
+    }
+
     public boolean isUseExecModelCompiler() {
         return getOption(ExecModelCompilerOption.class).isUseExecModelCompiler();
     }
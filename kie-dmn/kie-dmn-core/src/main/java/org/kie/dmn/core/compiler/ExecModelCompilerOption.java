@@ -25,7 +25,8 @@ public class ExecModelCompilerOption implements DMNOption {
     public static final String PROPERTY_NAME = DMNAssemblerService.ORG_KIE_DMN_PREFIX + ".compiler.execmodel";
 
     /**
-     * The default value for this option
+     * The default value for this option: the executable model is opt-in, since not all the FEEL unary tests
+     * can be translated to java yet and the decision tables using them fall back to the interpreter
      */
     public static final boolean DEFAULT_VALUE = false;
 
@@ -58,6 +58,7 @@ public abstract class AbstractModelEvaluator implements DMNExpressionEvaluator {
     private DMNFEELHelper feel;
     private DTableModel dTableModel;
     private DMNBaseNode node;
+    private boolean precompiled;
 
     protected AbstractModelEvaluator() {
         Model model = getRules().stream().reduce( new ModelImpl(), ModelImpl::addRule, ( m1, m2) -> { throw new UnsupportedOperationException(); } );
@@ -67,6 +68,17 @@ public abstract class AbstractModelEvaluator implements DMNExpressionEvaluator {
     protected abstract List<Rule> getRules();
     protected abstract DMNUnit getDMNUnit();
 
+    /**
+     * Returns true if the classes of this evaluator have been loaded from the kjar instead of being compiled
+     */
+    public boolean isPrecompiled() {
+        return precompiled;
+    }
+
+    void setPrecompiled( boolean precompiled ) {
+        this.precompiled = precompiled;
+    }
+
     @Override
     public EvaluatorResult evaluate( DMNRuntimeEventManager eventManager, DMNResult dmnResult ) {
         List<FEELEvent> events = new ArrayList<>();
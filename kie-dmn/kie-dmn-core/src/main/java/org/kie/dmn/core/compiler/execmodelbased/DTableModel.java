@@ -34,9 +34,11 @@ import org.kie.dmn.core.util.Msg;
 import org.kie.dmn.core.util.MsgUtil;
 import org.kie.dmn.feel.codegen.feel11.CodegenStringUtil;
 import org.kie.dmn.feel.codegen.feel11.CompiledFEELExpression;
+import org.kie.dmn.feel.lang.CompiledExpression;
 import org.kie.dmn.feel.lang.CompilerContext;
 import org.kie.dmn.feel.lang.EvaluationContext;
 import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
 import org.kie.dmn.feel.runtime.UnaryTest;
 import org.kie.dmn.feel.runtime.decisiontables.HitPolicy;
 import org.kie.dmn.feel.runtime.events.InvalidInputEvent;
@@ -144,7 +146,16 @@ public class DTableModel {
     }
 
     private CompiledFEELExpression compileFeelExpression( DMNElement element, DMNFEELHelper feel, CompilerContext feelctx, Msg.Message msg, Map<String, CompiledFEELExpression> compilationCache, String expr, int index ) {
-        return compilationCache.computeIfAbsent(expr, e -> e == null || e.isEmpty() ? ctx -> null : (CompiledFEELExpression ) feel.compile( model, element, msg, dtName, e, feelctx, index ) );
+        return compilationCache.computeIfAbsent(expr, e -> e == null || e.isEmpty() ? ctx -> null : toCompiledFEELExpression( feel.compile( model, element, msg, dtName, e, feelctx, index ) ) );
+    }
+
+    private static CompiledFEELExpression toCompiledFEELExpression( CompiledExpression compiled ) {
+        if ( compiled == null || compiled instanceof CompiledFEELExpression ) {
+            return (CompiledFEELExpression) compiled;
+        }
+        // the expression couldn't be translated to bytecode, so FEEL returned its interpreted form
+        CompiledExpressionImpl interpreted = (CompiledExpressionImpl) compiled;
+        return interpreted::evaluate;
     }
 
     private void initOutputClauses( CompilerContext feelctx, Map<String, CompiledFEELExpression> compilationCache ) {
@@ -179,6 +190,10 @@ public class DTableModel {
                 .collect( toMap( i -> outputs.get( i ).getName(), i -> outputs.get( i ).compiledDefault.apply( ctx ) ) );
     }
 
+    public String getModelNamespace() {
+        return model.getNamespace();
+    }
+
     public String getNamespace() {
         return namespace;
     }
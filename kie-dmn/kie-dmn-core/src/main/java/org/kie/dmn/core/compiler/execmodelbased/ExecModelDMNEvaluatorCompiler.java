@@ -16,19 +16,28 @@
 
 package org.kie.dmn.core.compiler.execmodelbased;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.drools.compiler.commons.jci.compilers.CompilationResult;
 import org.drools.compiler.commons.jci.problems.CompilationProblem;
 import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+import org.drools.compiler.kie.builder.impl.InternalKieModule.CompilationCache;
+import org.drools.compiler.kie.builder.impl.InternalKieModule.CompilationCacheEntry;
 import org.drools.core.common.ProjectClassLoader;
+import org.drools.core.rule.JavaDialectRuntimeData;
 import org.kie.api.runtime.rule.DataSource;
 import org.kie.dmn.core.api.DMNExpressionEvaluator;
 import org.kie.dmn.core.ast.DMNBaseNode;
+import org.kie.dmn.core.compiler.DMNCompilerConfigurationImpl;
 import org.kie.dmn.core.compiler.DMNCompilerContext;
 import org.kie.dmn.core.compiler.DMNCompilerImpl;
 import org.kie.dmn.core.compiler.DMNEvaluatorCompiler;
@@ -62,17 +71,35 @@ public class ExecModelDMNEvaluatorCompiler extends DMNEvaluatorCompiler {
         }
     }
 
+    // the hashes of the sources of the decision tables are stored in the kbase.cache, outside its classes, to detect stale classes
+    public static final String SOURCES_HASHES_DATA = "dmn-dtsources";
+    static final String SOURCES_HASH_SUFFIX = ".dtsources";
+
     private ProjectClassLoader projectClassLoader = ProjectClassLoader.createProjectClassLoader();
 
+    private final CompilationCache compilationCache;
+    private final Function<String, JavaDialectRuntimeData> generatedClassesStore;
+    private final Map<String, byte[]> generatedSourcesHashes = new HashMap<>();
+
     public ExecModelDMNEvaluatorCompiler( DMNCompilerImpl compiler, DMNFEELHelper feel ) {
         super( compiler, feel );
+        DMNCompilerConfigurationImpl config = (DMNCompilerConfigurationImpl) compiler.getDmnCompilerConfig();
+        this.compilationCache = config.getCompilationCache();
+        this.generatedClassesStore = config.getGeneratedClassesStore();
     }
 
     @Override
     protected DMNExpressionEvaluator compileDecisionTable( DMNCompilerContext ctx, DMNModelImpl model, DMNBaseNode node, String dtName, DecisionTable dt ) {
         String decisionName = dt.getParent() instanceof DRGElement ? dtName : ( dt.getId() != null ? dt.getId() :  "_" + UUID.randomUUID().toString() );
         DTableModel dTableModel = new DTableModel( feel, model, dtName, decisionName, dt );
-        AbstractModelEvaluator evaluator = generateEvaluator( ctx, dTableModel );
+        AbstractModelEvaluator evaluator;
+        try {
+            evaluator = generateEvaluator( ctx, dTableModel );
+        } catch (RuntimeException e) {
+            // some FEEL unary tests can't be translated to java yet: this table is interpreted, the others stay compiled
+            logger.warn( "Decision table " + dtName + " cannot be compiled with the executable model, it will be interpreted", e );
+            return super.compileDecisionTable( ctx, model, node, dtName, dt );
+        }
         evaluator.initParameters( feel, ctx, dTableModel, node );
         return evaluator;
     }
@@ -82,32 +109,107 @@ public class ExecModelDMNEvaluatorCompiler extends DMNEvaluatorCompiler {
         String clasName = dTableModel.getTableName();
 
         MemoryFileSystem srcMfs = new MemoryFileSystem();
-        MemoryFileSystem trgMfs = new MemoryFileSystem();
         String[] sources = new String[GeneratorsEnum.values().length];
+        MessageDigest sourcesDigest = newSourcesDigest();
 
         for (int i = 0; i < sources.length; i++) {
             GeneratorsEnum generator = GeneratorsEnum.values()[i];
             String className = pkgName + "." + clasName + generator.type;
             sources[i] = "src/main/java" + className.replace( '.', '/' ) + ".java";
-            String javaSource = generator.sourceGenerator.generate( ctx, feel, dTableModel );
-            srcMfs.write( sources[i], javaSource.getBytes() );
+            byte[] javaSource = generator.sourceGenerator.generate( ctx, feel, dTableModel ).getBytes();
+            srcMfs.write( sources[i], javaSource );
+            sourcesDigest.update( javaSource );
+        }
+
+        String sourcesHashName = pkgName.replace( '.', '/' ) + "/" + clasName + SOURCES_HASH_SUFFIX;
+        byte[] sourcesHash = sourcesDigest.digest();
+
+        Map<String, byte[]> classes = getPrecompiledClasses( pkgName, clasName, sourcesHashName, sourcesHash );
+        boolean precompiled = classes != null;
+        if (!precompiled) {
+            classes = compileSources( clasName, sources, srcMfs );
         }
 
+        ClassLoader classLoader;
+        if (generatedClassesStore != null) {
+            // the classes are defined only by the dialect data of the model's package, that also writes them in the kjar
+            JavaDialectRuntimeData javaData = generatedClassesStore.apply( dTableModel.getModelNamespace() );
+            classes.forEach( javaData::write );
+            generatedSourcesHashes.put( sourcesHashName, sourcesHash );
+            classLoader = javaData.getClassLoader();
+        } else {
+            classes.forEach( (f, bytes) -> projectClassLoader.defineClass( f.replace( '/', '.' ).substring( 0, f.length()-".class".length() ), bytes ) );
+            classLoader = projectClassLoader;
+        }
+
+        try {
+            Class<?> evalClass = classLoader.loadClass( pkgName + "." + clasName + "Evaluator" );
+            AbstractModelEvaluator evaluator = (AbstractModelEvaluator) evalClass.newInstance();
+            evaluator.setPrecompiled( precompiled );
+            return evaluator;
+        } catch (Exception e) {
+            throw new UnsupportedOperationException( "Unknown decision table: " + clasName, e );
+        }
+    }
+
+    private Map<String, byte[]> compileSources( String clasName, String[] sources, MemoryFileSystem srcMfs ) {
+        MemoryFileSystem trgMfs = new MemoryFileSystem();
         CompilationResult res = getCompiler().compile(sources, srcMfs, trgMfs, projectClassLoader);
 
         CompilationProblem[] errors = res.getErrors();
         if (errors != null && errors.length > 0) {
-            Stream.of(errors).forEach( System.err::println );
-            throw new RuntimeException();
+            throw new IllegalStateException( "Unable to compile the executable model of decision table " + clasName + ": " +
+                                             Stream.of( errors ).map( CompilationProblem::getMessage ).collect( joining( ", " ) ) );
+        }
+
+        Map<String, byte[]> classes = new HashMap<>();
+        trgMfs.getFileNames().forEach( f -> classes.put( f, trgMfs.getBytes( f ) ) );
+        return classes;
+    }
+
+    /**
+     * Returns the classes generated for this decision table when the kjar was built, or null if they aren't available
+     * or if they have been generated from different sources.
+     */
+    private Map<String, byte[]> getPrecompiledClasses( String pkgName, String clasName, String sourcesHashName, byte[] sourcesHash ) {
+        Map<String, List<CompilationCacheEntry>> javaCache = compilationCache != null ? compilationCache.getCacheForDialect( "java" ) : null;
+        Map<String, List<CompilationCacheEntry>> hashesCache = compilationCache != null ? compilationCache.getCacheForDialect( SOURCES_HASHES_DATA ) : null;
+        if (javaCache == null || hashesCache == null) {
+            return null;
+        }
+        List<CompilationCacheEntry> hashEntries = hashesCache.get( sourcesHashName );
+        if (hashEntries == null || !Arrays.equals( hashEntries.get( 0 ).bytecode, sourcesHash )) {
+            return null;
         }
 
-        trgMfs.getFileNames().stream().forEach( f -> projectClassLoader.defineClass( f.replace( '/', '.' ).substring( 0, f.length()-".class".length() ), trgMfs.getBytes( f ) ) );
+        Map<String, byte[]> classes = new HashMap<>();
+        for (GeneratorsEnum generator : GeneratorsEnum.values()) {
+            // inner classes are cached together with their outer class
+            List<CompilationCacheEntry> entries = javaCache.get( pkgName.replace( '.', '/' ) + "/" + clasName + generator.type + ".class" );
+            if (entries == null) {
+                return null;
+            }
+            entries.forEach( entry -> classes.put( entry.className, entry.bytecode ) );
+        }
+        logger.debug( "Using the executable model of decision table " + clasName + " precompiled in the kjar" );
+        return classes;
+    }
 
+    /**
+     * Returns and forgets the hashes of the sources of the classes stored since the last invocation.
+     * They're empty unless the compiler has been configured with a store for the generated classes.
+     */
+    public Map<String, byte[]> drainGeneratedSourcesHashes() {
+        Map<String, byte[]> drained = new HashMap<>( generatedSourcesHashes );
+        generatedSourcesHashes.clear();
+        return drained;
+    }
+
+    private static MessageDigest newSourcesDigest() {
         try {
-            Class<?> evalClass = projectClassLoader.loadClass( pkgName + "." + clasName + "Evaluator" );
-            return (AbstractModelEvaluator) evalClass.newInstance();
-        } catch (Exception e) {
-            throw new UnsupportedOperationException( "Unknown decision table: " + clasName, e );
+            return MessageDigest.getInstance( "SHA-256" );
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException( e );
         }
     }
 
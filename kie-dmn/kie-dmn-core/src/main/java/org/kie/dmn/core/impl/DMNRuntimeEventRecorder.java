@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.kie.dmn.api.core.event.AfterEvaluateBKMEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateContextEntryEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionServiceEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionTableEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateBKMEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateContextEntryEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionServiceEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionTableEvent;
+import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
+import org.kie.dmn.api.core.event.DMNRuntimeEventManager;
+
+/**
+ * Records the events of an evaluation run on another thread, so that they can be notified
+ * later to the actual listeners on the calling thread, in a deterministic order.
+ */
+public class DMNRuntimeEventRecorder implements DMNRuntimeEventListener {
+
+    private final List<Consumer<DMNRuntimeEventListener>> events = new ArrayList<>();
+    // the id of the BKM of each BKM event, null for the other events
+    private final List<String> bkmIds = new ArrayList<>();
+
+    @Override
+    public void beforeEvaluateDecision(BeforeEvaluateDecisionEvent event) {
+        record( l -> l.beforeEvaluateDecision( event ) );
+    }
+
+    @Override
+    public void afterEvaluateDecision(AfterEvaluateDecisionEvent event) {
+        record( l -> l.afterEvaluateDecision( event ) );
+    }
+
+    @Override
+    public void beforeEvaluateBKM(BeforeEvaluateBKMEvent event) {
+        events.add( l -> l.beforeEvaluateBKM( event ) );
+        bkmIds.add( event.getBusinessKnowledgeModel().getId() );
+    }
+
+    @Override
+    public void afterEvaluateBKM(AfterEvaluateBKMEvent event) {
+        events.add( l -> l.afterEvaluateBKM( event ) );
+        bkmIds.add( event.getBusinessKnowledgeModel().getId() );
+    }
+
+    @Override
+    public void beforeEvaluateContextEntry(BeforeEvaluateContextEntryEvent event) {
+        record( l -> l.beforeEvaluateContextEntry( event ) );
+    }
+
+    @Override
+    public void afterEvaluateContextEntry(AfterEvaluateContextEntryEvent event) {
+        record( l -> l.afterEvaluateContextEntry( event ) );
+    }
+
+    @Override
+    public void beforeEvaluateDecisionTable(BeforeEvaluateDecisionTableEvent event) {
+        record( l -> l.beforeEvaluateDecisionTable( event ) );
+    }
+
+    @Override
+    public void afterEvaluateDecisionTable(AfterEvaluateDecisionTableEvent event) {
+        record( l -> l.afterEvaluateDecisionTable( event ) );
+    }
+
+    @Override
+    public void beforeEvaluateDecisionService(BeforeEvaluateDecisionServiceEvent event) {
+        record( l -> l.beforeEvaluateDecisionService( event ) );
+    }
+
+    @Override
+    public void afterEvaluateDecisionService(AfterEvaluateDecisionServiceEvent event) {
+        record( l -> l.afterEvaluateDecisionService( event ) );
+    }
+
+    private void record(Consumer<DMNRuntimeEventListener> event) {
+        events.add( event );
+        bkmIds.add( null );
+    }
+
+    public void replay(DMNRuntimeEventManager eventManager) {
+        replay( eventManager, new HashSet<>() );
+    }
+
+    /**
+     * Notifies the recorded events, skipping the evaluation events of the BKMs whose ids are in the given set:
+     * the ids of the BKMs replayed by this invocation are added to it, so that sharing the set among the recorders
+     * of concurrent evaluations notifies the evaluation of each BKM only once, as a sequential evaluation does
+     */
+    public void replay(DMNRuntimeEventManager eventManager, Set<String> replayedBKMs) {
+        Set<String> bkmsOfThisReplay = new HashSet<>();
+        for ( int i = 0; i < events.size(); i++ ) {
+            String bkmId = bkmIds.get( i );
+            if ( bkmId != null ) {
+                if ( replayedBKMs.contains( bkmId ) && !bkmsOfThisReplay.contains( bkmId ) ) {
+                    continue;
+                }
+                bkmsOfThisReplay.add( bkmId );
+            }
+            DMNRuntimeEventManagerUtils.notifyListeners( eventManager, events.get( i ) );
+        }
+        replayedBKMs.addAll( bkmsOfThisReplay );
+    }
+}
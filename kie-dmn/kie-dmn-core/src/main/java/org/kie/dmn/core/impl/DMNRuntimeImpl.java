@@ -18,11 +18,18 @@ package org.kie.dmn.core.impl;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.xml.namespace.QName;
 
@@ -54,9 +61,11 @@ import org.kie.dmn.core.ast.DecisionServiceNodeImpl;
 import org.kie.dmn.core.ast.InputDataNodeImpl;
 import org.kie.dmn.core.compiler.DMNOption;
 import org.kie.dmn.core.compiler.DMNProfile;
+import org.kie.dmn.core.compiler.ParallelEvaluationOption;
 import org.kie.dmn.core.compiler.RuntimeTypeCheckOption;
 import org.kie.dmn.core.util.Msg;
 import org.kie.dmn.core.util.MsgUtil;
+import org.kie.dmn.feel.FEEL;
 import org.kie.dmn.feel.runtime.FEELFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,12 +82,45 @@ public class DMNRuntimeImpl
     private DMNRuntimeEventManagerImpl         eventManager;
 
     private boolean overrideRuntimeTypeCheck = false;
+    private boolean parallelEvaluation = new ParallelEvaluationOption( System.getProperty( ParallelEvaluationOption.PROPERTY_NAME ) ).isParallelEvaluation();
+
+    // resolved only once by the runtimes evaluating a batch, otherwise they are resolved for each evaluation
+    private List<DMNProfile> profiles;
+    private FEEL feel;
 
     public DMNRuntimeImpl(KieRuntime runtime) {
         this.runtime = runtime;
         this.eventManager = new DMNRuntimeEventManagerImpl();
     }
 
+    /**
+     * Creates a runtime evaluating a single decision on behalf of the given one, during a parallel evaluation
+     */
+    private DMNRuntimeImpl(DMNRuntimeImpl parent, DMNRuntimeEventRecorder recorder) {
+        this( parent.runtime );
+        this.overrideRuntimeTypeCheck = parent.overrideRuntimeTypeCheck;
+        this.parallelEvaluation = parent.parallelEvaluation;
+        this.profiles = parent.profiles;
+        this.feel = parent.feel;
+        if ( recorder != null ) {
+            this.eventManager.addListener( recorder );
+        }
+    }
+
+    /**
+     * Creates a runtime evaluating a batch on behalf of the given one, notifying the same listeners
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private DMNRuntimeImpl(DMNRuntimeImpl parent, boolean parallelBatch) {
+        this.runtime = parent.runtime;
+        this.eventManager = parent.eventManager;
+        this.overrideRuntimeTypeCheck = parent.overrideRuntimeTypeCheck;
+        // when the batch itself is evaluated in parallel there is no point in forking again for each context
+        this.parallelEvaluation = parent.parallelEvaluation && !parallelBatch;
+        this.profiles = parent.getProfiles();
+        this.feel = FEEL.newInstance( getRootClassLoader(), (List) profiles );
+    }
+
     @Override
     public List<DMNModel> getModels() {
         List<DMNModel> models = new ArrayList<>(  );
@@ -115,16 +157,34 @@ public class DMNRuntimeImpl
 
     @Override
     public DMNResult evaluateAll(DMNModel model, DMNContext context) {
-        boolean performRuntimeTypeCheck = performRuntimeTypeCheck(model);
-        DMNResultImpl result = createResult( model, context );
-        // the engine should evaluate all Decisions belonging to the "local" model namespace, not imported decision explicitly.
-        Set<DecisionNode> decisions = model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet());
+        return evaluateAll( model, context, getLocalDecisions( model ), performRuntimeTypeCheck( model ) );
+    }
+
+    @Override
+    public Stream<DMNResult> evaluateAll(DMNModel model, Stream<DMNContext> contexts) {
+        // everything not depending on the single context is resolved only once for the whole batch
+        DMNRuntimeImpl batchRuntime = new DMNRuntimeImpl( this, contexts.isParallel() );
+        List<DecisionNode> decisions = getLocalDecisions( model );
+        boolean performRuntimeTypeCheck = performRuntimeTypeCheck( model );
+        return contexts.map( context -> batchRuntime.evaluateAll( model, context, decisions, performRuntimeTypeCheck ) );
+    }
+
+    private DMNResult evaluateAll(DMNModel model, DMNContext context, List<DecisionNode> decisions, boolean performRuntimeTypeCheck) {
+        DMNResultImpl result = createResult( model, context, decisions );
+        if ( parallelEvaluation && evaluateInParallel( context, result, decisions, performRuntimeTypeCheck ) ) {
+            return result;
+        }
         for( DecisionNode decision : decisions ) {
             evaluateDecision(context, result, decision, performRuntimeTypeCheck);
         }
         return result;
     }
 
+    private static List<DecisionNode> getLocalDecisions(DMNModel model) {
+        // the engine should evaluate all Decisions belonging to the "local" model namespace, not imported decision explicitly.
+        return model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toList());
+    }
+
     @Override
     public DMNResult evaluateDecisionByName(DMNModel model, String decisionName, DMNContext context) {
         return evaluateByName(model, context, decisionName);
@@ -138,6 +198,15 @@ public class DMNRuntimeImpl
     @Override
     public DMNResult evaluateByName( DMNModel model, DMNContext context, String... decisionNames ) {
         final DMNResultImpl result = createResult( model, context );
+        if ( parallelEvaluation && decisionNames.length > 0 ) {
+            List<DecisionNode> decisions = new ArrayList<>();
+            for ( String name : decisionNames ) {
+                Optional.ofNullable( model.getDecisionByName( name ) ).filter( d -> d.getModelNamespace().equals( model.getNamespace() ) ).ifPresent( decisions::add );
+            }
+            if ( decisions.size() == decisionNames.length && evaluateInParallel( context, result, decisions, performRuntimeTypeCheck( model ) ) ) {
+                return result;
+            }
+        }
         for (String name : decisionNames) {
             evaluateByNameInternal( model, context, result, name );
         }
@@ -164,6 +233,15 @@ public class DMNRuntimeImpl
     @Override
     public DMNResult evaluateById( DMNModel model, DMNContext context, String... decisionIds ) {
         final DMNResultImpl result = createResult( model, context );
+        if ( parallelEvaluation && decisionIds.length > 0 ) {
+            List<DecisionNode> decisions = new ArrayList<>();
+            for ( String id : decisionIds ) {
+                Optional.ofNullable( model.getDecisionById( id ) ).filter( d -> d.getModelNamespace().equals( model.getNamespace() ) ).ifPresent( decisions::add );
+            }
+            if ( decisions.size() == decisionIds.length && evaluateInParallel( context, result, decisions, performRuntimeTypeCheck( model ) ) ) {
+                return result;
+            }
+        }
         for ( String id : decisionIds ) {
             evaluateByIdInternal( model, context, result, id );
         }
@@ -208,10 +286,14 @@ public class DMNRuntimeImpl
     }
 
     private DMNResultImpl createResult(DMNModel model, DMNContext context) {
+        return createResult( model, context, getLocalDecisions( model ) );
+    }
+
+    private DMNResultImpl createResult(DMNModel model, DMNContext context, List<DecisionNode> decisions) {
         DMNResultImpl result = new DMNResultImpl(model);
         result.setContext( context.clone() );
 
-        for (DecisionNode decision : model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet())) {
+        for (DecisionNode decision : decisions) {
             result.addDecisionResult(new DMNDecisionResultImpl(decision.getId(), decision.getName()));
         }
         return result;
@@ -604,6 +686,119 @@ public class DMNRuntimeImpl
         }
     }
 
+    /**
+     * Evaluates the given decisions, and the decisions they require, level by level on the ForkJoinPool: all the decisions
+     * whose required decisions have already been evaluated are evaluated concurrently, each one by its own runtime and against
+     * its own copy of the result. The copies are merged back into the result, and the events recorded while evaluating them
+     * are notified to the listeners, only on the calling thread and in the order of the decisions in the model, so that
+     * neither the result nor the sequence of events depends on the scheduling.
+     * Returns false, without evaluating anything, when the DRG requires imported nodes and has to be evaluated sequentially.
+     */
+    private boolean evaluateInParallel(DMNContext context, DMNResultImpl result, Collection<DecisionNode> decisions, boolean typeCheck) {
+        DMNModel model = result.getModel();
+        Map<DecisionNode, Integer> levelByDecision = new HashMap<>();
+        for ( DecisionNode decision : decisions ) {
+            if ( computeLevel( model, decision, levelByDecision, new HashSet<>() ) < 0 ) {
+                return false;
+            }
+        }
+        List<List<DecisionNode>> levels = new ArrayList<>();
+        for ( DecisionNode decision : model.getDecisions() ) {
+            Integer level = levelByDecision.get( decision );
+            if ( level != null ) {
+                while ( levels.size() <= level ) {
+                    levels.add( new ArrayList<>() );
+                }
+                levels.get( level ).add( decision );
+            }
+        }
+
+        // the values, like BKM functions, defined by the single evaluations besides the decisions themselves
+        // are bound to the copy of the result they were created for, so they are merged only at the end.
+        // A BKM required by many decisions is thus evaluated by each of their copies, but its events are notified once
+        List<DMNResultImpl> evaluatedCopies = new ArrayList<>();
+        Set<String> replayedBKMs = new HashSet<>();
+        for ( List<DecisionNode> level : levels ) {
+            List<Callable<DMNResultImpl>> tasks = new ArrayList<>();
+            List<DMNRuntimeEventRecorder> recorders = new ArrayList<>();
+            for ( DecisionNode decision : level ) {
+                DMNRuntimeEventRecorder recorder = hasListeners() ? new DMNRuntimeEventRecorder() : null;
+                DMNRuntimeImpl decisionRuntime = new DMNRuntimeImpl( this, recorder );
+                DMNResultImpl copy = new DMNResultImpl( model );
+                copy.setContext( result.getContext().clone() );
+                result.getDecisionResults().forEach( copy::addDecisionResult );
+                tasks.add( () -> {
+                    decisionRuntime.evaluateDecision( context, copy, decision, typeCheck );
+                    return copy;
+                } );
+                recorders.add( recorder );
+            }
+
+            List<Future<DMNResultImpl>> futures = ForkJoinPool.commonPool().invokeAll( tasks );
+            for ( int i = 0; i < level.size(); i++ ) {
+                DMNResultImpl copy = getEvaluatedCopy( futures.get( i ) );
+                if ( recorders.get( i ) != null ) {
+                    recorders.get( i ).replay( eventManager, replayedBKMs );
+                }
+                String variableName = level.get( i ).getName();
+                if ( copy.getContext().isDefined( variableName ) && !result.getContext().isDefined( variableName ) ) {
+                    result.getContext().set( variableName, copy.getContext().get( variableName ) );
+                }
+                result.addAll( copy.getMessages() );
+                evaluatedCopies.add( copy );
+            }
+        }
+
+        for ( DMNResultImpl copy : evaluatedCopies ) {
+            copy.getContext().getAll().forEach( (name, value) -> {
+                if ( !result.getContext().isDefined( name ) ) {
+                    result.getContext().set( name, value );
+                }
+            } );
+        }
+        return true;
+    }
+
+    /**
+     * Returns the level of the given decision, 0 if it doesn't require other decisions, or -1 if it can't be evaluated in parallel
+     */
+    private int computeLevel(DMNModel model, DecisionNode decision, Map<DecisionNode, Integer> levelByDecision, Set<DecisionNode> visiting) {
+        Integer known = levelByDecision.get( decision );
+        if ( known != null ) {
+            return known;
+        }
+        if ( !decision.getModelNamespace().equals( model.getNamespace() ) || !visiting.add( decision ) ) {
+            return -1;
+        }
+        int level = 0;
+        for ( DMNNode dep : decision.getDependencies().values() ) {
+            if ( !dep.getModelNamespace().equals( model.getNamespace() ) ) {
+                return -1;
+            }
+            if ( dep instanceof DecisionNode ) {
+                int depLevel = computeLevel( model, (DecisionNode) dep, levelByDecision, visiting );
+                if ( depLevel < 0 ) {
+                    return -1;
+                }
+                level = Math.max( level, depLevel + 1 );
+            }
+        }
+        visiting.remove( decision );
+        levelByDecision.put( decision, level );
+        return level;
+    }
+
+    private static DMNResultImpl getEvaluatedCopy(Future<DMNResultImpl> future) {
+        try {
+            return future.get();
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException( e );
+        } catch ( ExecutionException e ) {
+            throw new RuntimeException( e.getCause() );
+        }
+    }
+
     private boolean checkDependencyValueIsValid(DMNNode dep, DMNResultImpl result) {
         if (dep instanceof InputDataNode) {
             InputDataNodeImpl inputDataNode = (InputDataNodeImpl) dep;
@@ -625,6 +820,8 @@ public class DMNRuntimeImpl
     public final <T extends DMNOption> void setOption(T option) {
         if (option instanceof RuntimeTypeCheckOption) {
             this.overrideRuntimeTypeCheck = ((RuntimeTypeCheckOption) option).isRuntimeTypeCheck();
+        } else if (option instanceof ParallelEvaluationOption) {
+            this.parallelEvaluation = ((ParallelEvaluationOption) option).isParallelEvaluation();
         }
     }
 
@@ -644,6 +841,9 @@ public class DMNRuntimeImpl
     }
 
     public List<DMNProfile> getProfiles() {
+        if (this.profiles != null) {
+            return this.profiles;
+        }
         // need list to preserve ordering
         List<DMNProfile> profiles = new ArrayList<>();
         runtime.getKieBase().getKiePackages().forEach(kpkg -> {
@@ -659,6 +859,17 @@ public class DMNRuntimeImpl
         return profiles;
     }
 
+    /**
+     * Returns the FEEL instance to evaluate the expressions of the models with the profiles of this runtime
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public FEEL getFEEL() {
+        if (this.feel != null) {
+            return this.feel;
+        }
+        return FEEL.newInstance( getRootClassLoader(), (List) getProfiles() );
+    }
+
     @Override
     public ClassLoader getRootClassLoader() {
         return ((KnowledgeBaseImpl) runtime.getKieBase()).getRootClassLoader();
@@ -2,11 +2,20 @@ package org.kie.dmn.core;
 
 import static org.junit.Assert.*;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.compiler.kie.builder.impl.InternalKieModule.CompilationCache;
+import org.drools.compiler.kie.builder.impl.InternalKieModule.CompilationCacheEntry;
 import org.junit.After;
 import org.junit.Test;
 import org.kie.api.KieServices;
+import org.kie.api.builder.KieModule;
 import org.kie.api.builder.KieFileSystem;
 import org.kie.api.builder.Message.Level;
+import org.kie.api.builder.ReleaseId;
 import org.kie.api.builder.Results;
 import org.kie.api.builder.model.KieModuleModel;
 import org.kie.api.runtime.KieContainer;
@@ -14,7 +23,13 @@ import org.kie.dmn.api.core.DMNContext;
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.dmn.api.core.DMNResult;
 import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.ast.DecisionNode;
+import org.kie.dmn.core.ast.DecisionNodeImpl;
+import org.kie.dmn.core.compiler.ExecModelCompilerOption;
+import org.kie.dmn.core.compiler.execmodelbased.AbstractModelEvaluator;
+import org.kie.dmn.core.compiler.execmodelbased.ExecModelDMNEvaluatorCompiler;
 import org.kie.dmn.core.util.DMNRuntimeUtil;
+import org.kie.dmn.core.util.KieHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -79,8 +94,42 @@ public class DMNAssemblerTest {
         assertNull( result.getDecisionResultByName("time").getResult() );
     }
 
+    @Test
+    public void testDecisionTableClassesStoredInKjar() {
+        System.setProperty( ExecModelCompilerOption.PROPERTY_NAME, "true" );
+        final KieServices ks = KieServices.Factory.get();
+        final ReleaseId releaseId = ks.newReleaseId( "org.kie", "dmn-dt-cache", "1.0" );
+        byte[] jar = KieHelper.createJar( ks, releaseId, ks.getResources().newClassPathResource( "0004-simpletable-U.dmn", this.getClass() ) );
+        KieModule km = ks.getRepository().addKieModule( ks.getResources().newByteArrayResource( jar ) );
+
+        CompilationCache compilationCache = ((InternalKieModule) km).getCompilationCache( "defaultKieBase" );
+        Map<String, List<CompilationCacheEntry>> javaCache = compilationCache.getCacheForDialect( "java" );
+        assertTrue( javaCache.keySet().stream().anyMatch( k -> k.endsWith( "Evaluator.class" ) ) );
+        // the hashes of the sources are kept outside the classes of the kjar
+        assertTrue( javaCache.keySet().stream().allMatch( k -> k.endsWith( ".class" ) ) );
+        Map<String, List<CompilationCacheEntry>> hashesCache = compilationCache.getCacheForDialect( ExecModelDMNEvaluatorCompiler.SOURCES_HASHES_DATA );
+        assertTrue( hashesCache.keySet().stream().anyMatch( k -> k.endsWith( ".dtsources" ) ) );
+
+        DMNRuntime runtime = DMNRuntimeUtil.typeSafeGetKieRuntime( ks.newKieContainer( releaseId ) );
+        DMNModel model = runtime.getModel( "https://github.com/kiegroup/kie-dmn", "0004-simpletable-U" );
+        for (DecisionNode decision : model.getDecisions()) {
+            // the classes come from the kbase.cache of the kjar and are not compiled again
+            AbstractModelEvaluator evaluator = (AbstractModelEvaluator) ((DecisionNodeImpl) decision).getEvaluator();
+            assertTrue( decision.getName(), evaluator.isPrecompiled() );
+        }
+
+        DMNContext ctx = runtime.newContext();
+        ctx.set( "Age", BigDecimal.valueOf( 18 ) );
+        ctx.set( "RiskCategory", "Medium" );
+        ctx.set( "isAffordable", true );
+        DMNResult result = runtime.evaluateAll( model, ctx );
+        assertFalse( result.getMessages().toString(), result.hasErrors() );
+        assertEquals( "Approved", result.getContext().get( "Approval Status" ) );
+    }
+
     @After
     public void clearSystemProperty() {
         System.clearProperty("org.kie.dmn.strictConformance");
+        System.clearProperty(ExecModelCompilerOption.PROPERTY_NAME);
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+public class DMNBatchEvaluationTest {
+
+    private static final int BATCH_SIZE = 200;
+
+    @Test
+    public void testBatch() {
+        DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0009-invocation-arithmetic.dmn", getClass() );
+        DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_cb28c255-91cd-4c01-ac7b-1a9cb1ecdb11", "literal invocation1" );
+        assertThat( dmnModel, notNullValue() );
+
+        AtomicInteger evaluatedDecisions = new AtomicInteger();
+        runtime.addListener( new DMNRuntimeEventListener() {
+            @Override
+            public void afterEvaluateDecision( AfterEvaluateDecisionEvent event ) {
+                evaluatedDecisions.incrementAndGet();
+            }
+        } );
+
+        List<DMNResult> results = runtime.evaluateAll( dmnModel, IntStream.range( 0, BATCH_SIZE ).mapToObj( this::createContext ) )
+                                         .collect( Collectors.toList() );
+        checkResults( runtime, dmnModel, results );
+        assertThat( evaluatedDecisions.get(), is( BATCH_SIZE ) );
+    }
+
+    @Test
+    public void testParallelBatch() {
+        DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0009-invocation-arithmetic.dmn", getClass() );
+        DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_cb28c255-91cd-4c01-ac7b-1a9cb1ecdb11", "literal invocation1" );
+        assertThat( dmnModel, notNullValue() );
+
+        List<DMNResult> results = runtime.evaluateAll( dmnModel, IntStream.range( 0, BATCH_SIZE ).mapToObj( this::createContext ).parallel() )
+                                         .collect( Collectors.toList() );
+        checkResults( runtime, dmnModel, results );
+    }
+
+    private void checkResults( DMNRuntime runtime, DMNModel dmnModel, List<DMNResult> results ) {
+        assertThat( results.size(), is( BATCH_SIZE ) );
+        for ( int i = 0; i < BATCH_SIZE; i++ ) {
+            DMNResult result = results.get( i );
+            assertThat( DMNRuntimeUtil.formatMessages( result.getMessages() ), result.hasErrors(), is( false ) );
+            // the results are in the same order of the contexts, and equal to the ones of the single evaluations
+            assertThat( result.getContext().get( "MonthlyPayment" ), is( runtime.evaluateAll( dmnModel, createContext( i ) ).getContext().get( "MonthlyPayment" ) ) );
+        }
+        assertThat( ((BigDecimal) results.get( 0 ).getContext().get( "MonthlyPayment" )).setScale( 8, BigDecimal.ROUND_DOWN ),
+                    is( new BigDecimal( "2878.69354943277" ).setScale( 8, BigDecimal.ROUND_DOWN ) ) );
+    }
+
+    private DMNContext createContext( int i ) {
+        Map<String, Object> loan = new HashMap<>();
+        loan.put( "amount", BigDecimal.valueOf( 600000 + i * 1000 ) );
+        loan.put( "rate", new BigDecimal( "0.0375" ) );
+        loan.put( "term", BigDecimal.valueOf( 360 ) );
+        DMNContext context = DMNFactory.newContext();
+        context.set( "fee", 100 );
+        context.set( "Loan", loan );
+        return context;
+    }
+}
@@ -26,9 +26,12 @@ import org.kie.dmn.api.core.DMNRuntime;
 import org.kie.dmn.api.core.DMNType;
 import org.kie.dmn.api.core.ast.ItemDefNode;
 import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.ast.DMNLiteralExpressionEvaluator;
+import org.kie.dmn.core.ast.DecisionNodeImpl;
 import org.kie.dmn.core.impl.CompositeTypeImpl;
 import org.kie.dmn.core.impl.SimpleTypeImpl;
 import org.kie.dmn.core.util.DMNRuntimeUtil;
+import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
 import org.kie.dmn.feel.lang.EvaluationContext;
 import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
 import org.kie.dmn.feel.lang.types.AliasFEELType;
@@ -165,4 +168,21 @@ public class DMNCompilerTest {
         assertThat(evaluateAll.getDecisionResultByName("Greeting").getResult(), is("Hello John!"));
     }
 
+    @Test
+    public void testLiteralExpressionIsInterpreted() {
+        DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0001-input-data-string.dmn", this.getClass() );
+        DMNModel dmnModel = runtime.getModel( "https://github.com/kiegroup/drools/kie-dmn", "_0001-input-data-string" );
+        assertThat( dmnModel, notNullValue() );
+
+        DecisionNodeImpl decision = (DecisionNodeImpl) dmnModel.getDecisionByName( "Greeting Message" );
+        DMNLiteralExpressionEvaluator evaluator = (DMNLiteralExpressionEvaluator) decision.getEvaluator();
+        // the direct compiler doesn't behave like the interpreter on paths and unknown names
+        assertThat( evaluator.getExpression(), instanceOf( CompiledExpressionImpl.class ) );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Full Name", "John Doe" );
+        DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+        assertThat( dmnResult.getDecisionResultByName( "Greeting Message" ).getResult(), is( "Hello John Doe" ) );
+    }
+
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNDecisionResult;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.event.AfterEvaluateBKMEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionTableEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateBKMEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionTableEvent;
+import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.compiler.ParallelEvaluationOption;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class DMNParallelEvaluationTest {
+
+    @Test
+    public void testDecisionTables() {
+        DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "car_damage_responsibility.dmn", this.getClass() );
+        DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_820611e9-c21c-47cd-8e52-5cba2be9f9cc", "Car Damage Responsibility" );
+        assertThat( dmnModel, notNullValue() );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "Membership Level", "Silver" );
+        context.set( "Damage Types", "Body" );
+        context.set( "Responsible", "Driver" );
+
+        checkSameResultAndEvents( runtime, dmnModel, context, "Car Damage Responsibility", "Payment method" );
+    }
+
+    @Test
+    public void testBKMInvocation() {
+        DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0009-invocation-arithmetic.dmn", this.getClass() );
+        DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_cb28c255-91cd-4c01-ac7b-1a9cb1ecdb11", "literal invocation1" );
+        assertThat( dmnModel, notNullValue() );
+
+        Map<String, Object> loan = new HashMap<>();
+        loan.put( "amount", BigDecimal.valueOf( 600000 ) );
+        loan.put( "rate", new BigDecimal( "0.0375" ) );
+        loan.put( "term", BigDecimal.valueOf( 360 ) );
+        DMNContext context = DMNFactory.newContext();
+        context.set( "fee", 100 );
+        context.set( "Loan", loan );
+
+        checkSameResultAndEvents( runtime, dmnModel, context, "MonthlyPayment" );
+    }
+
+    @Test
+    public void testDecisionServiceWithBKM() {
+        DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "decisionservices/DecisionServicesInLiteralExpressionWithBKM.dmn", this.getClass() );
+        DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_686f58d4-4ec3-4c65-8c06-0e4fd8983def", "Decision Services" );
+        assertThat( dmnModel, notNullValue() );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "D", "d" );
+        context.set( "E", "e" );
+
+        checkSameResultAndEvents( runtime, dmnModel, context, "Decide based on A and DS" );
+    }
+
+    @Test
+    public void testBKMSharedByManyDecisions() {
+        DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0004-lending.dmn", this.getClass() );
+        DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+        assertThat( dmnModel, notNullValue() );
+
+        Map<String, Object> monthly = new HashMap<>();
+        monthly.put( "Income", 6000 );
+        monthly.put( "Expenses", 2000 );
+        monthly.put( "Repayments", 0 );
+        Map<String, Object> applicant = new HashMap<>();
+        applicant.put( "Monthly", monthly );
+        applicant.put( "Age", 35 );
+        applicant.put( "ExistingCustomer", true );
+        applicant.put( "MaritalStatus", "M" );
+        applicant.put( "EmploymentStatus", "EMPLOYED" );
+        Map<String, Object> product = new HashMap<>();
+        product.put( "ProductType", "STANDARD LOAN" );
+        product.put( "Amount", 350000 );
+        product.put( "Rate", new BigDecimal( "0.0395" ) );
+        product.put( "Term", 360 );
+        Map<String, Object> bureau = new HashMap<>();
+        bureau.put( "CreditScore", 649 );
+        bureau.put( "Bankrupt", false );
+        DMNContext context = DMNFactory.newContext();
+        context.set( "ApplicantData", applicant );
+        context.set( "RequestedProduct", product );
+        context.set( "BureauData", bureau );
+        context.set( "SupportingDocuments", "yes" );
+
+        // AffordabilityCalculation is required by both the pre-bureau and the post-bureau affordability
+        List<String> parallelEvents = checkSameResultAndEvents( runtime, dmnModel, context, "Pre-bureauAffordability", "Post-bureauAffordability", "Routing" );
+        assertEquals( 1, Collections.frequency( parallelEvents, "before bkm AffordabilityCalculation" ) );
+        assertEquals( 1, Collections.frequency( parallelEvents, "after bkm AffordabilityCalculation" ) );
+    }
+
+    private List<String> checkSameResultAndEvents( DMNRuntime runtime, DMNModel dmnModel, DMNContext context, String... decisionNames ) {
+        List<String> events = new ArrayList<>();
+        runtime.addListener( new RecordingListener( events ) );
+
+        DMNResult sequential = runtime.evaluateAll( dmnModel, context );
+        assertThat( DMNRuntimeUtil.formatMessages( sequential.getMessages() ), sequential.hasErrors(), is( false ) );
+        List<String> sequentialEvents = new ArrayList<>( events );
+
+        ((DMNRuntimeImpl) runtime).setOption( new ParallelEvaluationOption( true ) );
+        try {
+            events.clear();
+            DMNResult parallel = runtime.evaluateAll( dmnModel, context );
+            List<String> parallelEvents = new ArrayList<>( events );
+            assertThat( DMNRuntimeUtil.formatMessages( parallel.getMessages() ), parallel.hasErrors(), is( false ) );
+            for ( String decisionName : decisionNames ) {
+                assertEquals( sequential.getContext().get( decisionName ), parallel.getContext().get( decisionName ) );
+                assertEquals( DMNDecisionResult.DecisionEvaluationStatus.SUCCEEDED, parallel.getDecisionResultByName( decisionName ).getEvaluationStatus() );
+                assertEquals( sequential.getDecisionResultByName( decisionName ).getResult(), parallel.getDecisionResultByName( decisionName ).getResult() );
+            }
+            assertEquals( sequential.getDecisionResults().size(), parallel.getDecisionResults().size() );
+
+            // the parallel evaluation doesn't nest the events of the required decisions into the ones of the requiring
+            // decision, but it notifies the same events of the sequential one, each BKM being evaluated only once
+            assertEquals( sorted( sequentialEvents ), sorted( parallelEvents ) );
+
+            // the events of a parallel evaluation are always notified in the same order
+            for ( int i = 0; i < 10; i++ ) {
+                events.clear();
+                runtime.evaluateAll( dmnModel, context );
+                assertEquals( parallelEvents, events );
+            }
+
+            events.clear();
+            DMNResult byName = runtime.evaluateByName( dmnModel, context, decisionNames );
+            for ( String decisionName : decisionNames ) {
+                assertEquals( sequential.getContext().get( decisionName ), byName.getContext().get( decisionName ) );
+            }
+            return parallelEvents;
+        } finally {
+            ((DMNRuntimeImpl) runtime).setOption( new ParallelEvaluationOption( false ) );
+        }
+    }
+
+    private static List<String> sorted( List<String> events ) {
+        List<String> sorted = new ArrayList<>( events );
+        Collections.sort( sorted );
+        return sorted;
+    }
+
+    private static class RecordingListener implements DMNRuntimeEventListener {
+        private final List<String> events;
+
+        private RecordingListener( List<String> events ) {
+            this.events = events;
+        }
+
+        @Override
+        public void beforeEvaluateDecision( BeforeEvaluateDecisionEvent event ) {
+            events.add( "before decision " + event.getDecision().getName() );
+        }
+
+        @Override
+        public void afterEvaluateDecision( AfterEvaluateDecisionEvent event ) {
+            events.add( "after decision " + event.getDecision().getName() );
+        }
+
+        @Override
+        public void beforeEvaluateBKM( BeforeEvaluateBKMEvent event ) {
+            events.add( "before bkm " + event.getBusinessKnowledgeModel().getName() );
+        }
+
+        @Override
+        public void afterEvaluateBKM( AfterEvaluateBKMEvent event ) {
+            events.add( "after bkm " + event.getBusinessKnowledgeModel().getName() );
+        }
+
+        @Override
+        public void beforeEvaluateDecisionTable( BeforeEvaluateDecisionTableEvent event ) {
+            events.add( "before table " + event.getDecisionTableName() );
+        }
+
+        @Override
+        public void afterEvaluateDecisionTable( AfterEvaluateDecisionTableEvent event ) {
+            events.add( "after table " + event.getDecisionTableName() + " " + event.getMatches() );
+        }
+    }
+}
@@ -125,6 +125,62 @@ public class DMNRuntimeTest {
         assertThat( result.get( "payment" ), is( new BigDecimal( "2778.693549432766768088520383236299" ) ) );
     }
 
+    @Test
+    public void testPOJOInputPath() {
+        DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0008-LX-arithmetic.dmn", this.getClass() );
+        DMNModel dmnModel = runtime.getModel( "https://github.com/kiegroup/kie-dmn", "0008-LX-arithmetic" );
+        assertThat( dmnModel, notNullValue() );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "loan", new Loan( new BigDecimal( 600000 ), new BigDecimal( "0.0375" ), new BigDecimal( 360 ) ) );
+
+        DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+
+        assertThat( DMNRuntimeUtil.formatMessages( dmnResult.getMessages() ), dmnResult.hasErrors(), is( false ) );
+        assertThat( dmnResult.getContext().get( "payment" ), is( new BigDecimal( "2778.693549432766768088520383236299" ) ) );
+    }
+
+    @Test
+    public void testNullInputPath() {
+        DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0008-LX-arithmetic.dmn", this.getClass() );
+        DMNModel dmnModel = runtime.getModel( "https://github.com/kiegroup/kie-dmn", "0008-LX-arithmetic" );
+        assertThat( dmnModel, notNullValue() );
+
+        DMNContext context = DMNFactory.newContext();
+        context.set( "loan", null );
+
+        DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+
+        // a path over null is null, not a failure of the node evaluation
+        assertThat( dmnResult.getContext().get( "payment" ), nullValue() );
+        assertThat( DMNRuntimeUtil.formatMessages( dmnResult.getMessages() ),
+                    dmnResult.getMessages().stream().anyMatch( m -> m.getMessageType().equals( DMNMessageType.ERROR_EVAL_NODE ) ), is( false ) );
+    }
+
+    public static class Loan {
+        private final BigDecimal principal;
+        private final BigDecimal rate;
+        private final BigDecimal termMonths;
+
+        public Loan(BigDecimal principal, BigDecimal rate, BigDecimal termMonths) {
+            this.principal = principal;
+            this.rate = rate;
+            this.termMonths = termMonths;
+        }
+
+        public BigDecimal getPrincipal() {
+            return principal;
+        }
+
+        public BigDecimal getRate() {
+            return rate;
+        }
+
+        public BigDecimal getTermMonths() {
+            return termMonths;
+        }
+    }
+
     @Test
     public void testTrisotechNamespace() {
         DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "trisotech_namespace.dmn", this.getClass() );
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.ast.DecisionNode;
+import org.kie.dmn.core.ast.DecisionNodeImpl;
+import org.kie.dmn.core.compiler.ExecModelCompilerOption;
+import org.kie.dmn.core.compiler.execmodelbased.AbstractModelEvaluator;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+import org.kie.dmn.model.v1_1.DecisionTable;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ExecModelCompilerTest {
+
+    @Before
+    public void before() {
+        System.setProperty( ExecModelCompilerOption.PROPERTY_NAME, "true" );
+    }
+
+    @After
+    public void after() {
+        System.clearProperty( ExecModelCompilerOption.PROPERTY_NAME );
+    }
+
+    @Test
+    public void testExecModelIsDisabledByDefault() {
+        assertThat( ExecModelCompilerOption.DEFAULT_VALUE, is( false ) );
+    }
+
+    @Test
+    public void testUniqueTableIsCompiled() {
+        assertDecisionTablesCompiled( "0004-simpletable-U.dmn", "https://github.com/kiegroup/kie-dmn", "0004-simpletable-U" );
+    }
+
+    @Test
+    public void testCollectTableIsCompiled() {
+        assertDecisionTablesCompiled( "0004-simpletable-C.dmn", "https://github.com/kiegroup/kie-dmn", "0004-simpletable-C" );
+    }
+
+    @Test
+    public void testCollectMaxTablesAreCompiled() {
+        assertDecisionTablesCompiled( "0020-vacation-days.dmn", "https://www.drools.org/kie-dmn", "0020-vacation-days" );
+    }
+
+    private void assertDecisionTablesCompiled( String resource, String namespace, String modelName ) {
+        DMNRuntime runtime = DMNRuntimeUtil.createRuntime( resource, this.getClass() );
+        DMNModel dmnModel = runtime.getModel( namespace, modelName );
+
+        int tables = 0;
+        for (DecisionNode decision : dmnModel.getDecisions()) {
+            DecisionNodeImpl node = (DecisionNodeImpl) decision;
+            if (node.getDecision().getExpression() instanceof DecisionTable) {
+                assertThat( decision.getName(), node.getEvaluator(), instanceOf( AbstractModelEvaluator.class ) );
+                tables++;
+            }
+        }
+        assertTrue( tables > 0 );
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.codegen.feel11;
+
+import java.math.BigDecimal;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * The semantic mappings used by the compiled FEEL classes when the {@link org.kie.dmn.feel.parser.feel11.profiles.DoublePrecisionFEELProfile}
+ * is enabled: the arithmetic on non integral numbers is computed in double precision instead of MathContext.DECIMAL128,
+ * promoting to BigDecimal only when the double result overflows or is undefined.
+ */
+public class CompiledFEELDoubleSemanticMappings extends CompiledFEELSemanticMappings {
+
+    public static Object add(Object left, Object right) {
+        Object result = isLong(left) && isLong(right) ? null : doubleMath(left, right, (l, r) -> l + r);
+        return result != null ? result : CompiledFEELSemanticMappings.add(left, right);
+    }
+
+    public static Object sub(Object left, Object right) {
+        Object result = isLong(left) && isLong(right) ? null : doubleMath(left, right, (l, r) -> l - r);
+        return result != null ? result : CompiledFEELSemanticMappings.sub(left, right);
+    }
+
+    public static Object mult(Object left, Object right) {
+        Object result = isLong(left) && isLong(right) ? null : doubleMath(left, right, (l, r) -> l * r);
+        return result != null ? result : CompiledFEELSemanticMappings.mult(left, right);
+    }
+
+    public static Object div(Object left, Object right) {
+        Object result = longDiv(left, right);
+        if (result == null) {
+            result = doubleMath(left, right, (l, r) -> l / r);
+        }
+        return result != null ? result : CompiledFEELSemanticMappings.div(left, right);
+    }
+
+    public static Object div(Object left, BigDecimal right) {
+        return right.signum() == 0 ? null : div(left, (Object) right);
+    }
+
+    /**
+     * Returns null when the operation must be computed with the BigDecimal semantics instead.
+     * The integral values are computed exactly as longs by the callers, before trying the double precision.
+     */
+    private static BigDecimal doubleMath(Object left, Object right, DoubleBinaryOperator op) {
+        if (!hasDoubleValue(left) || !hasDoubleValue(right)) {
+            return null;
+        }
+        double result = op.applyAsDouble(((Number) left).doubleValue(), ((Number) right).doubleValue());
+        return Double.isNaN(result) || Double.isInfinite(result) ? null : BigDecimal.valueOf(result);
+    }
+
+    private static boolean hasDoubleValue(Object value) {
+        return value instanceof BigDecimal || value instanceof Double || value instanceof Float || isLong(value);
+    }
+}
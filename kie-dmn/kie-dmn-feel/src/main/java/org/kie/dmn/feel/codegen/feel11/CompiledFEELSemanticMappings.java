@@ -271,39 +271,72 @@ public class CompiledFEELSemanticMappings {
 
     /**
      * FEEL spec Table 45
-     * Delegates to {@link InfixOpNode} except evaluationcontext
+     * Integral operands are computed as longs, otherwise delegates to {@link InfixOpNode} except evaluationcontext
      */
     public static Object add(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            try {
+                return BigDecimal.valueOf(Math.addExact(((Number) left).longValue(), ((Number) right).longValue()));
+            } catch (ArithmeticException e) {
+                // overflow, promote to BigDecimal
+            }
+        }
         return InfixOpNode.add(left, right, null);
     }
 
     /**
      * FEEL spec Table 45
-     * Delegates to {@link InfixOpNode} except evaluationcontext
+     * Integral operands are computed as longs, otherwise delegates to {@link InfixOpNode} except evaluationcontext
      */
     public static Object sub(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            try {
+                return BigDecimal.valueOf(Math.subtractExact(((Number) left).longValue(), ((Number) right).longValue()));
+            } catch (ArithmeticException e) {
+                // overflow, promote to BigDecimal
+            }
+        }
         return InfixOpNode.sub(left, right, null);
     }
 
     /**
      * FEEL spec Table 45
-     * Delegates to {@link InfixOpNode} except evaluationcontext
+     * Integral operands are computed as longs, otherwise delegates to {@link InfixOpNode} except evaluationcontext
      */
     public static Object mult(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            try {
+                return BigDecimal.valueOf(Math.multiplyExact(((Number) left).longValue(), ((Number) right).longValue()));
+            } catch (ArithmeticException e) {
+                // overflow, promote to BigDecimal
+            }
+        }
         return InfixOpNode.mult(left, right, null);
     }
 
     /**
      * FEEL spec Table 45
-     * Delegates to {@link InfixOpNode} except evaluationcontext
+     * Integral operands with an integral quotient are computed as longs, otherwise delegates to {@link InfixOpNode} except evaluationcontext
      */
     public static Object div(Object left, Object right) {
-        return InfixOpNode.div(left, right, null);
+        BigDecimal result = longDiv(left, right);
+        return result != null ? result : InfixOpNode.div(left, right, null);
+    }
+
+    static BigDecimal longDiv(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            long l = ((Number) left).longValue();
+            long r = ((Number) right).longValue();
+            if (r != 0 && l % r == 0 && !(l == Long.MIN_VALUE && r == -1)) {
+                return BigDecimal.valueOf(l / r);
+            }
+        }
+        return null;
     }
 
     // to ground to null if right = 0
     public static Object div(Object left, BigDecimal right) {
-        return right.signum() == 0 ? null : InfixOpNode.div(left, right, null);
+        return right.signum() == 0 ? null : div(left, (Object) right);
     }
 
     /**
@@ -311,6 +344,9 @@ public class CompiledFEELSemanticMappings {
      * Delegates to {@link EvalHelper} except evaluationcontext
      */
     public static Boolean lte(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            return Long.compare(((Number) left).longValue(), ((Number) right).longValue()) <= 0;
+        }
         return EvalHelper.compare(left, right, null, (l, r) -> l.compareTo(r) <= 0);
     }
 
@@ -319,6 +355,9 @@ public class CompiledFEELSemanticMappings {
      * Delegates to {@link EvalHelper} except evaluationcontext
      */
     public static Boolean lt(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            return Long.compare(((Number) left).longValue(), ((Number) right).longValue()) < 0;
+        }
         return EvalHelper.compare(left, right, null, (l, r) -> l.compareTo(r) < 0);
     }
 
@@ -327,6 +366,9 @@ public class CompiledFEELSemanticMappings {
      * Delegates to {@link EvalHelper} except evaluationcontext
      */
     public static Boolean gte(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            return Long.compare(((Number) left).longValue(), ((Number) right).longValue()) >= 0;
+        }
         return EvalHelper.compare(left, right, null, (l, r) -> l.compareTo(r) >= 0);
     }
 
@@ -335,6 +377,9 @@ public class CompiledFEELSemanticMappings {
      * Delegates to {@link EvalHelper} except evaluationcontext
      */
     public static Boolean gt(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            return Long.compare(((Number) left).longValue(), ((Number) right).longValue()) > 0;
+        }
         return EvalHelper.compare(left, right, null, (l, r) -> l.compareTo(r) > 0);
     }
 
@@ -343,9 +388,25 @@ public class CompiledFEELSemanticMappings {
      * Delegates to {@link EvalHelper} except evaluationcontext
      */
     public static Boolean eq(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            return ((Number) left).longValue() == ((Number) right).longValue();
+        }
         return EvalHelper.isEqual(left, right, null);
     }
 
+    /**
+     * Returns true when the value is a FEEL number that can be handled as a long without losing precision,
+     * so the arithmetic and the comparisons on it don't need to allocate intermediate BigDecimals.
+     */
+    static boolean isLong(Object value) {
+        if (value instanceof BigDecimal) {
+            BigDecimal bd = (BigDecimal) value;
+            // at most 18 digits, so it fits in a long
+            return bd.scale() == 0 && bd.precision() < 19;
+        }
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
     public static Boolean between(EvaluationContext ctx,
                                   Object value, Object start, Object end) {
         if ( value == null ) { ctx.notifyEvt(() -> new ASTEventBase(FEELEvent.Severity.ERROR, Msg.createMessage(Msg.IS_NULL, "value"), null) ); return null; }
@@ -70,6 +70,20 @@ public class CompilerBytecodeLoader {
 
     }
 
+    private final Class<?> semanticMappings;
+
+    public CompilerBytecodeLoader() {
+        this(CompiledFEELSemanticMappings.class);
+    }
+
+    /**
+     * @param semanticMappings the class whose static methods implement the FEEL semantics in the generated code,
+     * e.g. {@link CompiledFEELDoubleSemanticMappings} for the double precision arithmetic
+     */
+    public CompilerBytecodeLoader(Class<? extends CompiledFEELSemanticMappings> semanticMappings) {
+        this.semanticMappings = semanticMappings;
+    }
+
     public CompiledFEELExpression makeFromJPExpression(Expression theExpression) {
         return makeFromJPExpression(null, theExpression, Collections.emptySet());
     }
@@ -125,6 +139,10 @@ public class CompilerBytecodeLoader {
     private <T> CompilationUnit getCompilationUnitForUnaryTests( Class<T> clazz, String templateResourcePath, String cuPackage, String cuClass, String feelExpression, Expression theExpression, Set<FieldDeclaration> fieldDeclarations ) {
         CompilationUnit cu = JavaParser.parse(CompilerBytecodeLoader.class.getResourceAsStream(templateResourcePath));
         cu.setPackageDeclaration(cuPackage);
+        if (semanticMappings != CompiledFEELSemanticMappings.class) {
+            cu.getImports().removeIf(i -> i.isStatic() && i.getNameAsString().equals(CompiledFEELSemanticMappings.class.getCanonicalName()));
+            cu.addImport(semanticMappings.getCanonicalName(), true, true);
+        }
         ClassOrInterfaceDeclaration classSource = cu.getClassByName( templateResourcePath.substring( 1, templateResourcePath.length()-5 ) ).get();
         classSource.setName( cuClass );
 
@@ -94,31 +94,35 @@ public class FilterExpressionNode
 
     private List evaluateExpressionsInContext(EvaluationContext ctx, List expressions) {
         List results = new ArrayList();
-        expressions.forEach(expression -> evaluateExpressionInContext( ctx, results, expression));
-        return results;
-    }
-
-    private void evaluateExpressionInContext(EvaluationContext ctx, List results, Object v) {
         try {
+            // only "item" and the root object change between the elements, so a single frame is reused for all of them
             ctx.enterFrame();
-            // handle it as a predicate
-            // Have the "item" variable set first, so to respect the DMN spec: The expression in square brackets can reference a list
-            // element using the name item, unless the list element is a context that contains the key "item".
-            ctx.setValue( "item", v );
-
-            // using Root object logic to avoid having to eagerly inspect all attributes.
-            ctx.setRootObject(v);
-
-            // a filter would always return a list with all the elements for which the filter is true.
-            // In case any element fails in there or the filter expression returns null, it will only exclude the element, but will continue to process the list.
-            // In case all elements fail, the result will be an empty list.
-            Object r = this.filter.evaluate(new SilentWrappingEvaluationContextImpl(ctx)); // evaluate filter, ignoring errors 
-            if( r instanceof Boolean && ((Boolean)r) == Boolean.TRUE ) {
-                results.add( v );
+            EvaluationContext silentCtx = new SilentWrappingEvaluationContextImpl(ctx);
+            for (Object v : expressions) {
+                evaluateExpressionInContext( ctx, silentCtx, results, v );
             }
         } finally {
             ctx.exitFrame();
         }
+        return results;
+    }
+
+    private void evaluateExpressionInContext(EvaluationContext ctx, EvaluationContext silentCtx, List results, Object v) {
+        // handle it as a predicate
+        // Have the "item" variable set first, so to respect the DMN spec: The expression in square brackets can reference a list
+        // element using the name item, unless the list element is a context that contains the key "item".
+        ctx.setValue( "item", v );
+
+        // using Root object logic to avoid having to eagerly inspect all attributes.
+        ctx.setRootObject(v);
+
+        // a filter would always return a list with all the elements for which the filter is true.
+        // In case any element fails in there or the filter expression returns null, it will only exclude the element, but will continue to process the list.
+        // In case all elements fail, the result will be an empty list.
+        Object r = this.filter.evaluate(silentCtx); // evaluate filter, ignoring errors
+        if( r instanceof Boolean && ((Boolean)r) == Boolean.TRUE ) {
+            results.add( v );
+        }
     }
 
     @Override
@@ -23,9 +23,11 @@ import java.util.function.BiPredicate;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.kie.dmn.api.feel.runtime.events.FEELEvent.Severity;
 import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.runtime.IntervalUnaryTest;
 import org.kie.dmn.feel.runtime.Range;
 import org.kie.dmn.feel.runtime.UnaryTest;
 import org.kie.dmn.feel.runtime.UnaryTestImpl;
+import org.kie.dmn.feel.runtime.impl.RangeImpl;
 import org.kie.dmn.feel.util.EvalHelper;
 import org.kie.dmn.feel.util.Msg;
 
@@ -102,19 +104,19 @@ public class UnaryTestNode
     public UnaryTest evaluate(EvaluationContext ctx) {
         switch ( operator ) {
             case LTE:
-                return new UnaryTestImpl( createCompareUnaryTest( (l, r) -> l.compareTo( r ) <= 0 ) , value.getText() );
+                return withLiteralInterval( ctx, createCompareUnaryTest( (l, r) -> l.compareTo( r ) <= 0 ) );
             case LT:
-                return new UnaryTestImpl( createCompareUnaryTest( (l, r) -> l.compareTo( r ) < 0 ) , value.getText() );
+                return withLiteralInterval( ctx, createCompareUnaryTest( (l, r) -> l.compareTo( r ) < 0 ) );
             case GT:
-                return new UnaryTestImpl( createCompareUnaryTest( (l, r) -> l.compareTo( r ) > 0 ) , value.getText() );
+                return withLiteralInterval( ctx, createCompareUnaryTest( (l, r) -> l.compareTo( r ) > 0 ) );
             case GTE:
-                return new UnaryTestImpl( createCompareUnaryTest( (l, r) -> l.compareTo( r ) >= 0 ) , value.getText() );
+                return withLiteralInterval( ctx, createCompareUnaryTest( (l, r) -> l.compareTo( r ) >= 0 ) );
             case EQ:
-                return new UnaryTestImpl( createIsEqualUnaryTest( ) , value.getText() );
+                return withLiteralInterval( ctx, createIsEqualUnaryTest( ) );
             case NE:
                 return new UnaryTestImpl( createIsNotEqualUnaryTest( ) , value.getText() );
             case IN:
-                return new UnaryTestImpl( createInUnaryTest() , value.getText() );
+                return withLiteralInterval( ctx, createInUnaryTest() );
             case NOT:
                 return new UnaryTestImpl( createNotUnaryTest() , value.getText() );
             case TEST:
@@ -124,6 +126,51 @@ public class UnaryTestNode
         return null;
     }
 
+    private UnaryTest withLiteralInterval( EvaluationContext ctx, UnaryTest test ) {
+        Range interval = literalInterval( ctx );
+        return interval != null ? new IntervalUnaryTest( test, value.getText(), interval ) : new UnaryTestImpl( test, value.getText() );
+    }
+
+    /**
+     * When this test only depends on literal values, returns the interval of the values it accepts
+     * (a null end point meaning unbounded), otherwise returns null.
+     */
+    private Range literalInterval( EvaluationContext ctx ) {
+        if ( operator == UnaryOperator.IN ) {
+            if ( value instanceof RangeNode && isLiteral( ((RangeNode) value).getStart() ) && isLiteral( ((RangeNode) value).getEnd() ) ) {
+                return ((RangeNode) value).evaluate( ctx );
+            }
+            return null;
+        }
+        if ( !isLiteral( value ) ) {
+            return null;
+        }
+        Object literal = value.evaluate( ctx );
+        if ( !(literal instanceof Comparable) ) {
+            return null;
+        }
+        Comparable endPoint = (Comparable) literal;
+        switch ( operator ) {
+            case EQ:
+                return new RangeImpl( Range.RangeBoundary.CLOSED, endPoint, endPoint, Range.RangeBoundary.CLOSED );
+            case LT:
+                return new RangeImpl( Range.RangeBoundary.OPEN, null, endPoint, Range.RangeBoundary.OPEN );
+            case LTE:
+                return new RangeImpl( Range.RangeBoundary.OPEN, null, endPoint, Range.RangeBoundary.CLOSED );
+            case GT:
+                return new RangeImpl( Range.RangeBoundary.OPEN, endPoint, null, Range.RangeBoundary.OPEN );
+            case GTE:
+                return new RangeImpl( Range.RangeBoundary.CLOSED, endPoint, null, Range.RangeBoundary.OPEN );
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isLiteral( BaseNode node ) {
+        return node instanceof NumberNode || node instanceof StringNode || node instanceof BooleanNode ||
+               ( node instanceof SignedUnaryNode && ((SignedUnaryNode) node).getExpression() instanceof NumberNode );
+    }
+
     private UnaryTest createCompareUnaryTest( BiPredicate<Comparable, Comparable> op ) {
         return (context, left) -> {
             Object right = value.evaluate( context );
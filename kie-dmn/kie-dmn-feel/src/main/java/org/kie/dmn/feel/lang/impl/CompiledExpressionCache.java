@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.FEELProfile;
+import org.kie.dmn.feel.lang.Type;
+import org.kie.dmn.feel.runtime.FEELFunction;
+
+/**
+ * A size bounded cache of the compiled FEEL expressions and unary tests, shared by all the FEEL instances.
+ * An entry is addressed by the expression text together with everything else affecting its compilation:
+ * the kind of compilation, the types and the names of the input variables, the available functions, the profiles
+ * and the class loader of the FEEL instance, so that kjars with different class loaders never share an entry.
+ * When the maximum size, set by the {@value #CACHE_SIZE_PROPERTY} system property, is reached the least
+ * recently used entry is evicted; a size of 0 disables the cache.
+ */
+public class CompiledExpressionCache {
+
+    public static final String CACHE_SIZE_PROPERTY = "org.kie.dmn.feel.cache.size";
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private static final CompiledExpressionCache INSTANCE = new CompiledExpressionCache( Integer.getInteger( CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE ) );
+
+    public static CompiledExpressionCache getInstance() {
+        return INSTANCE;
+    }
+
+    private final int maxSize;
+    private final Map<Key, Object> entries;
+
+    public CompiledExpressionCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<Key, Object>( 16, 0.75f, true ) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return size() > CompiledExpressionCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized Object get(Key key) {
+        return entries.get( key );
+    }
+
+    public synchronized void put(Key key, Object compiled) {
+        if ( maxSize > 0 ) {
+            entries.put( key, compiled );
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public static Key newKey(String kind, String expression, CompilerContext ctx, ClassLoader classLoader, List<FEELProfile> profiles) {
+        return newKey( kind, expression, ctx.getInputVariableTypes(), ctx.getInputVariables(), ctx.getFEELFunctions(), classLoader, profiles );
+    }
+
+    public static Key newKey(String kind, String expression, Map<String, Type> inputVariableTypes, Map<String, Object> inputVariables, Iterable<FEELFunction> functions, ClassLoader classLoader, List<FEELProfile> profiles) {
+        Set<String> functionNames = new HashSet<>();
+        functions.forEach( f -> functionNames.add( f.getName() ) );
+        List<Class<?>> profileClasses = new ArrayList<>();
+        profiles.forEach( p -> profileClasses.add( p.getClass() ) );
+        return new Key( kind, expression, new HashMap<>( inputVariableTypes ), namesOf( inputVariables ), functionNames, classLoader, profileClasses );
+    }
+
+    /**
+     * The parser only needs the names of the input variables, and of the entries of the ones that are contexts
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> namesOf(Map<String, Object> variables) {
+        Map<String, Object> names = new HashMap<>();
+        variables.forEach( (name, value) -> names.put( name, value instanceof Map ? namesOf( (Map<String, Object>) value ) : Boolean.TRUE ) );
+        return names;
+    }
+
+    public static final class Key {
+
+        private final String kind;
+        private final String expression;
+        private final Map<String, Type> inputVariableTypes;
+        private final Map<String, Object> inputVariableNames;
+        private final Set<String> functionNames;
+        // compared by identity, a class loader is only held until its entries are evicted
+        private final ClassLoader classLoader;
+        private final List<Class<?>> profileClasses;
+        private final int hashCode;
+
+        private Key(String kind, String expression, Map<String, Type> inputVariableTypes, Map<String, Object> inputVariableNames, Set<String> functionNames, ClassLoader classLoader, List<Class<?>> profileClasses) {
+            this.kind = kind;
+            this.expression = expression;
+            this.inputVariableTypes = inputVariableTypes;
+            this.inputVariableNames = inputVariableNames;
+            this.functionNames = functionNames;
+            this.classLoader = classLoader;
+            this.profileClasses = profileClasses;
+            this.hashCode = Objects.hash( kind, expression, inputVariableTypes, inputVariableNames, functionNames, System.identityHashCode( classLoader ), profileClasses );
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !(o instanceof Key) ) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hashCode == other.hashCode &&
+                   kind.equals( other.kind ) &&
+                   Objects.equals( expression, other.expression ) &&
+                   inputVariableTypes.equals( other.inputVariableTypes ) &&
+                   inputVariableNames.equals( other.inputVariableNames ) &&
+                   functionNames.equals( other.functionNames ) &&
+                   classLoader == other.classLoader &&
+                   profileClasses.equals( other.profileClasses );
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
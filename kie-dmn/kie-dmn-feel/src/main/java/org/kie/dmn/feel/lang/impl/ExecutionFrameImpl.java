@@ -16,18 +16,33 @@
 
 package org.kie.dmn.feel.lang.impl;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.kie.dmn.feel.util.EvalHelper;
 import org.kie.dmn.feel.util.EvalHelper.PropertyValueResult;
 
+/**
+ * A frame storing its variables in slots: a variable is found by scanning the few names of the frame,
+ * without hashing them nor allocating a map for each context entry, iteration or function invocation.
+ * An index of the slots is built only for the frames holding many variables, like the one with all the inputs of a model.
+ */
 public class ExecutionFrameImpl
         implements ExecutionFrame {
 
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int INDEX_THRESHOLD = 16;
+
+    private static final String[] NO_NAMES = new String[0];
+    private static final Object[] NO_VALUES = new Object[0];
+
     private ExecutionFrame parentFrame;
 
-    private Map<String, Object> variables = new HashMap<>();
+    private String[] names = NO_NAMES;
+    private Object[] values = NO_VALUES;
+    private int size;
+    private Map<String, Integer> index;
     private Object rootObject;
 
     public ExecutionFrameImpl(ExecutionFrame parentFrame) {
@@ -45,48 +60,97 @@ public class ExecutionFrameImpl
     @Override
     public Object getValue(String symbol) {
         symbol = EvalHelper.normalizeVariableName( symbol );
-        if (rootObject != null) {
-            PropertyValueResult dv = EvalHelper.getDefinedValue(rootObject, symbol);
-            if (dv.isDefined()) {
-                return dv.getValueResult().getOrElse(null);
+        ExecutionFrame frame = this;
+        // the name is normalized once, then the parent frames are walked without recursion
+        while ( frame instanceof ExecutionFrameImpl ) {
+            ExecutionFrameImpl current = (ExecutionFrameImpl) frame;
+            if (current.rootObject != null) {
+                PropertyValueResult dv = EvalHelper.getDefinedValue(current.rootObject, symbol);
+                if (dv.isDefined()) {
+                    return dv.getValueResult().getOrElse(null);
+                }
             }
+            int slot = current.slotOf( symbol );
+            if ( slot >= 0 ) {
+                return current.values[slot];
+            }
+            frame = current.parentFrame;
         }
-        if ( variables.containsKey( symbol ) ) {
-            return variables.get( symbol );
-        }
-        if ( parentFrame != null ) {
-            return parentFrame.getValue( symbol );
-        }
-        return null;
+        return frame != null ? frame.getValue( symbol ) : null;
     }
 
     @Override
     public boolean isDefined(String symbol) {
         symbol = EvalHelper.normalizeVariableName( symbol );
-        if (rootObject != null) {
-            if (EvalHelper.getDefinedValue(rootObject, symbol).isDefined()) {
+        ExecutionFrame frame = this;
+        while ( frame instanceof ExecutionFrameImpl ) {
+            ExecutionFrameImpl current = (ExecutionFrameImpl) frame;
+            if (current.rootObject != null) {
+                if (EvalHelper.getDefinedValue(current.rootObject, symbol).isDefined()) {
+                    return true;
+                } else {
+                    // do nothing! it might be shaded at this level for "item" or being in the parent frame.
+                }
+            }
+            if ( current.slotOf( symbol ) >= 0 ) {
                 return true;
-            } else {
-                // do nothing! it might be shaded at this level for "item" or being in the parent frame.
             }
+            frame = current.parentFrame;
         }
-        if ( variables.containsKey( symbol ) ) {
-            return true;
-        }
-        if ( parentFrame != null ) {
-            return parentFrame.isDefined( symbol );
-        }
-        return false;
+        return frame != null && frame.isDefined( symbol );
     }
 
     @Override
     public void setValue(String symbol, Object value) {
-        this.variables.put( EvalHelper.normalizeVariableName( symbol ), value );
+        symbol = EvalHelper.normalizeVariableName( symbol );
+        int slot = slotOf( symbol );
+        if ( slot < 0 ) {
+            slot = addSlot( symbol );
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Returns the slot of the given normalized name in this frame, or -1 if it isn't defined in this frame
+     */
+    private int slotOf(String symbol) {
+        if ( index != null ) {
+            Integer slot = index.get( symbol );
+            return slot != null ? slot : -1;
+        }
+        for ( int i = 0; i < size; i++ ) {
+            if ( names[i] == symbol || names[i].equals( symbol ) ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int addSlot(String symbol) {
+        if ( size == names.length ) {
+            int capacity = Math.max( INITIAL_CAPACITY, size * 2 );
+            names = Arrays.copyOf( names, capacity );
+            values = Arrays.copyOf( values, capacity );
+        }
+        names[size] = symbol;
+        if ( index != null ) {
+            index.put( symbol, size );
+        } else if ( size == INDEX_THRESHOLD ) {
+            index = new HashMap<>( INDEX_THRESHOLD * 4 );
+            for ( int i = 0; i <= size; i++ ) {
+                index.put( names[i], i );
+            }
+        }
+        return size++;
     }
 
     @Override
     public Map<String, Object> getAllValues() {
-        return this.variables;
+        Map<String, Object> variables = new HashMap<>();
+        for ( int i = 0; i < size; i++ ) {
+            variables.put( names[i], values[i] );
+        }
+        return variables;
     }
 
     @Override
@@ -35,7 +35,9 @@ import org.drools.javaparser.ast.expr.StringLiteralExpr;
 import org.kie.dmn.api.feel.runtime.events.FEELEvent;
 import org.kie.dmn.api.feel.runtime.events.FEELEventListener;
 import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.codegen.feel11.CompiledFEELDoubleSemanticMappings;
 import org.kie.dmn.feel.codegen.feel11.CompiledFEELExpression;
+import org.kie.dmn.feel.codegen.feel11.CompiledFEELSemanticMappings;
 import org.kie.dmn.feel.codegen.feel11.CompilerBytecodeLoader;
 import org.kie.dmn.feel.codegen.feel11.DirectCompilerResult;
 import org.kie.dmn.feel.codegen.feel11.DirectCompilerVisitor;
@@ -56,9 +58,13 @@ import org.kie.dmn.feel.parser.feel11.ASTBuilderVisitor;
 import org.kie.dmn.feel.parser.feel11.FEELParser;
 import org.kie.dmn.feel.parser.feel11.FEEL_1_1Parser;
 import org.kie.dmn.feel.parser.feel11.profiles.DoCompileFEELProfile;
+import org.kie.dmn.feel.parser.feel11.profiles.DoInterpretFEELProfile;
+import org.kie.dmn.feel.parser.feel11.profiles.DoublePrecisionFEELProfile;
 import org.kie.dmn.feel.runtime.FEELFunction;
 import org.kie.dmn.feel.runtime.UnaryTest;
 import org.kie.dmn.feel.util.ClassLoaderUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Language runtime entry point
@@ -66,8 +72,14 @@ import org.kie.dmn.feel.util.ClassLoaderUtil;
 public class FEELImpl
         implements FEEL {
 
+    private static final Logger logger = LoggerFactory.getLogger( FEELImpl.class );
+
     private static final Map<String,Object> EMPTY_INPUT = Collections.emptyMap();
 
+    private static final String BYTECODE_COMPILATION = "bytecode";
+    private static final String AST_COMPILATION = "ast";
+    private static final String UNARY_TESTS_COMPILATION = "unarytests";
+
     private Set<FEELEventListener> instanceEventListeners = new HashSet<>();
 
     private final ClassLoader classLoader;
@@ -76,6 +88,8 @@ public class FEELImpl
     private final Optional<ExecutionFrameImpl> customFrame;
     private final Collection<FEELFunction> customFunctions;
     private final boolean doCompile;
+    private final boolean doInterpret;
+    private final Class<? extends CompiledFEELSemanticMappings> semanticMappings;
 
     public FEELImpl() {
         this(ClassLoaderUtil.findDefaultClassLoader(), Collections.emptyList());
@@ -101,6 +115,8 @@ public class FEELImpl
             }
         }
         doCompile = profiles.stream().anyMatch(DoCompileFEELProfile.class::isInstance);
+        doInterpret = profiles.stream().anyMatch(DoInterpretFEELProfile.class::isInstance);
+        semanticMappings = profiles.stream().anyMatch(DoublePrecisionFEELProfile.class::isInstance) ? CompiledFEELDoubleSemanticMappings.class : CompiledFEELSemanticMappings.class;
         customFrame = Optional.of(frame);
         customFunctions = Collections.unmodifiableCollection(functions.values());
     }
@@ -120,33 +136,81 @@ public class FEELImpl
 
     @Override
     public CompiledExpression compile(String expression, CompilerContext ctx) {
-        if (doCompile || ctx.isDoCompile()) {
-            // Use JavaParser to translate FEEL to Java:
-            Set<FEELEventListener> listeners = new HashSet<>(ctx.getListeners());
-            // add listener to syntax errors, and save them
-            CompilerErrorListener errorListener = new CompilerErrorListener();
-            listeners.add(errorListener);
-            FEEL_1_1Parser parser = FEELParser.parse(getEventsManager(listeners), expression, ctx.getInputVariableTypes(), ctx.getInputVariables(), ctx.getFEELFunctions(), profiles);
-            ParseTree tree = parser.compilation_unit();
+        boolean toBytecode = !doInterpret && (doCompile || ctx.isDoCompile());
+        CompiledExpressionCache.Key key = CompiledExpressionCache.newKey(toBytecode ? BYTECODE_COMPILATION : AST_COMPILATION, expression, ctx, classLoader, profiles);
+        CompiledExpression cached = (CompiledExpression) CompiledExpressionCache.getInstance().get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Set<FEELEventListener> listeners = new HashSet<>(ctx.getListeners());
+        // add listener to syntax errors, and save them
+        CompilerErrorListener errorListener = new CompilerErrorListener();
+        listeners.add(errorListener);
+        FEEL_1_1Parser parser = FEELParser.parse(getEventsManager(listeners), expression, ctx.getInputVariableTypes(), ctx.getInputVariables(), ctx.getFEELFunctions(), profiles);
+        ParseTree tree = parser.compilation_unit();
+        CompiledExpression ce = null;
+        if (toBytecode) {
             if (errorListener.evt != null) {
                 return compiledError(expression, errorListener.evt.getMessage());
             }
-            try {
-                DirectCompilerVisitor v = new DirectCompilerVisitor(ctx.getInputVariableTypes());
-                DirectCompilerResult directResult = v.visit(tree);
-                Expression expr = directResult.getExpression();
-                return new CompilerBytecodeLoader().makeFromJPExpression(expression, expr, directResult.getFieldDeclarations());
-            } catch (FEELCompilationError e) {
-                return compiledError(expression, e.getMessage());
-            }
-        } else { // "legacy" interpreted AST compilation:
-            FEEL_1_1Parser parser = FEELParser.parse(getEventsManager(ctx.getListeners()), expression, ctx.getInputVariableTypes(), ctx.getInputVariables(), ctx.getFEELFunctions(), profiles);
-            ParseTree tree = parser.compilation_unit();
+            // Use JavaParser to translate FEEL to Java:
+            ce = compileToBytecode(expression, ctx, tree);
+        }
+        if (ce == null) { // "legacy" interpreted AST compilation, also for what the direct compilation doesn't support:
             ASTBuilderVisitor v = new ASTBuilderVisitor(ctx.getInputVariableTypes());
             BaseNode expr = v.visit(tree);
-            CompiledExpression ce = new CompiledExpressionImpl(expr);
-            return ce;
+            ce = new CompiledExpressionImpl(expr);
+        }
+        if (!errorListener.notified) {
+            // the compilation events are not replayed, so only a clean compilation can be reused
+            CompiledExpressionCache.getInstance().put(key, ce);
+        }
+        return ce;
+    }
+
+    /**
+     * Returns null when the expression requires something the direct compilation doesn't support, so it gets interpreted instead
+     */
+    private CompiledExpression compileToBytecode(String expression, CompilerContext ctx, ParseTree tree) {
+        if (containsExternalFunction(tree)) {
+            // the generated bytecode can't see the classes of the class loader evaluating the expression
+            return null;
         }
+        if (isFunctionDefinition(tree)) {
+            // the DMN compiler resolves a function definition from its interpreted node
+            return null;
+        }
+        try {
+            DirectCompilerVisitor v = new DirectCompilerVisitor(ctx.getInputVariableTypes());
+            DirectCompilerResult directResult = v.visit(tree);
+            Expression expr = directResult.getExpression();
+            return new CompilerBytecodeLoader(semanticMappings).makeFromJPExpression(expression, expr, directResult.getFieldDeclarations());
+        } catch (FEELCompilationError e) {
+            return compiledError(expression, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.debug("Unable to compile FEEL expression '{}' to bytecode, it will be interpreted", expression, e);
+            return null;
+        }
+    }
+
+    private static boolean isFunctionDefinition(ParseTree tree) {
+        while (tree instanceof FEEL_1_1Parser.Compilation_unitContext || tree instanceof FEEL_1_1Parser.ExpressionContext || tree instanceof FEEL_1_1Parser.TextualExpressionContext) {
+            tree = tree.getChild(0);
+        }
+        return tree instanceof FEEL_1_1Parser.FunctionDefinitionContext;
+    }
+
+    private static boolean containsExternalFunction(ParseTree tree) {
+        if (tree instanceof FEEL_1_1Parser.FunctionDefinitionContext && ((FEEL_1_1Parser.FunctionDefinitionContext) tree).external != null) {
+            return true;
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (containsExternalFunction(tree.getChild(i))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -186,6 +250,7 @@ public class FEELImpl
         if ( inputVariables != null ) {
             inputVariables.entrySet().stream().forEach( e -> compilerCtx.addInputVariable( e.getKey(), e.getValue() ) );
         }
+        compilerCtx.setDoCompile( !doInterpret );
         CompiledExpression expr = compile( expression, compilerCtx );
         return evaluate( expr, ctx );
     }
@@ -196,6 +261,8 @@ public class FEELImpl
         if ( inputVariables != null ) {
             inputVariables.entrySet().stream().forEach( e -> ctx.addInputVariable( e.getKey(), e.getValue() ) );
         }
+        // the compiled expression is only evaluated here, so by default it is compiled to bytecode
+        ctx.setDoCompile( !doInterpret );
         CompiledExpression expr = compile( expression, ctx );
         if ( inputVariables == null ) {
             return evaluate( expr, EMPTY_INPUT );
@@ -258,10 +325,16 @@ public class FEELImpl
         // or ranges, they need to be converted into an equality test unary expression.
         // This way, we have to compile and check the low level AST nodes to properly
         // deal with this case
-        CompilerContext ctx = newCompilerContext();
+        CompilerErrorListener errorListener = new CompilerErrorListener();
+        CompilerContext ctx = newCompilerContext( Collections.singleton( errorListener ) );
         for( Map.Entry<String, Type> e : variableTypes.entrySet() ) {
             ctx.addInputVariableType( e.getKey(), e.getValue() );
         }
+        CompiledExpressionCache.Key key = CompiledExpressionCache.newKey( UNARY_TESTS_COMPILATION, expression, ctx, classLoader, profiles );
+        List<UnaryTest> cached = (List<UnaryTest>) CompiledExpressionCache.getInstance().get( key );
+        if ( cached != null ) {
+            return new ArrayList<>( cached );
+        }
         CompiledExpressionImpl compiledExpression = (CompiledExpressionImpl) compileExpressionList( expression, ctx );
         if( compiledExpression != null ) {
             ListNode listNode = (ListNode) compiledExpression.getExpression();
@@ -284,7 +357,11 @@ public class FEELImpl
             compiledExpression.setExpression( listNode );
 
             // now we can evaluate the expression to build the list of unary tests
-            List<UnaryTest> uts = (List<UnaryTest>) evaluate( compiledExpression, FEELImpl.EMPTY_INPUT );
+            EvaluationContextImpl evaluationCtx = newEvaluationContext( Collections.singleton( errorListener ), FEELImpl.EMPTY_INPUT );
+            List<UnaryTest> uts = (List<UnaryTest>) compiledExpression.evaluate( evaluationCtx );
+            if ( uts != null && !errorListener.notified ) {
+                CompiledExpressionCache.getInstance().put( key, new ArrayList<>( uts ) );
+            }
             return uts;
         }
         return Collections.emptyList();
@@ -328,8 +405,10 @@ public class FEELImpl
     // thread-unsafe, but this is single-threaded so it's ok
     private static class CompilerErrorListener implements FEELEventListener {
         FEELEvent evt;
+        boolean notified;
         @Override
         public void onEvent(FEELEvent feelEvent) {
+            notified = true;
             if (feelEvent.getSeverity() == FEELEvent.Severity.ERROR) {
                 evt = feelEvent;
             }
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime;
+
+/**
+ * A unary test accepting exactly the values of a constant interval, like "= 5", "< 10" or "[1..5]".
+ * A null end point stands for an unbounded side of the interval.
+ * Decision tables use the interval to index their rules.
+ */
+public class IntervalUnaryTest extends UnaryTestImpl {
+    private final Range interval;
+
+    public IntervalUnaryTest(UnaryTest delegate, String text, Range interval) {
+        super( delegate, text );
+        this.interval = interval;
+    }
+
+    public Range getInterval() {
+        return interval;
+    }
+}
@@ -17,6 +17,7 @@
 package org.kie.dmn.feel.runtime.decisiontables;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,6 +30,7 @@ import java.util.stream.IntStream;
 import org.kie.dmn.api.feel.runtime.events.FEELEvent;
 import org.kie.dmn.api.feel.runtime.events.FEELEvent.Severity;
 import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.codegen.feel11.CompiledFEELExpression;
 import org.kie.dmn.feel.lang.CompiledExpression;
 import org.kie.dmn.feel.lang.EvaluationContext;
 import org.kie.dmn.feel.lang.impl.CompiledExpressionImpl;
@@ -48,6 +50,11 @@ import static java.util.stream.Collectors.toMap;
 public class DecisionTableImpl implements DecisionTable {
     private static final Logger logger = LoggerFactory.getLogger( DecisionTableImpl.class );
 
+    /**
+     * Tables with fewer rules than this are evaluated testing all the rules, without building an index
+     */
+    static final int INDEX_THRESHOLD = 16;
+
     private String               name;
     private List<String>         parameterNames;
     private List<CompiledExpression> compiledParameterNames;
@@ -56,6 +63,7 @@ public class DecisionTableImpl implements DecisionTable {
     private List<DTDecisionRule> decisionRules;
     private HitPolicy            hitPolicy;
     private boolean              hasDefaultValues;
+    private DecisionTableIndex   index;
 
     private FEEL feel;
 
@@ -74,6 +82,9 @@ public class DecisionTableImpl implements DecisionTable {
         this.hitPolicy = hitPolicy;
         this.hasDefaultValues = outputs.stream().allMatch( o -> o.getDefaultValue() != null );
         this.feel = feel;
+        if ( decisionRules.size() >= INDEX_THRESHOLD ) {
+            this.index = DecisionTableIndex.build( inputs.size(), decisionRules );
+        }
     }
 
     /**
@@ -234,17 +245,37 @@ public class DecisionTableImpl implements DecisionTable {
     }
 
     /**
-     * Finds all rules that match a given set of parameters
+     * Finds all rules that match a given set of parameters.
+     * When the table is indexed only the candidate rules returned by the index are tested, and with
+     * the FIRST hit policy the search stops at the first matching rule, as the others can't contribute to the result.
      *
      * @param ctx
      * @param params
      * @return
      */
     private List<DTDecisionRule> findMatches(EvaluationContext ctx, Object[] params) {
+        Object[] testedValues = resolveTestedValues( ctx );
+        boolean firstMatchOnly = hitPolicy == HitPolicy.FIRST;
         List<DTDecisionRule> matchingDecisionRules = new ArrayList<>();
-        for ( DTDecisionRule decisionRule : decisionRules ) {
-            if ( matches( ctx, params, decisionRule ) ) {
-                matchingDecisionRules.add( decisionRule );
+        if ( index != null ) {
+            BitSet candidates = index.getCandidates( params );
+            for ( int i = candidates.nextSetBit( 0 ); i >= 0; i = candidates.nextSetBit( i + 1 ) ) {
+                DTDecisionRule decisionRule = decisionRules.get( i );
+                if ( matches( ctx, params, testedValues, decisionRule ) ) {
+                    matchingDecisionRules.add( decisionRule );
+                    if ( firstMatchOnly ) {
+                        break;
+                    }
+                }
+            }
+        } else {
+            for ( DTDecisionRule decisionRule : decisionRules ) {
+                if ( matches( ctx, params, testedValues, decisionRule ) ) {
+                    matchingDecisionRules.add( decisionRule );
+                    if ( firstMatchOnly ) {
+                        break;
+                    }
+                }
             }
         }
         ctx.notifyEvt( () -> {
@@ -259,18 +290,34 @@ public class DecisionTableImpl implements DecisionTable {
         return matchingDecisionRules;
     }
 
+    /**
+     * Evaluates, once per evaluation of the table, the values bound to "?" when testing the input entries of each column
+     */
+    private Object[] resolveTestedValues(EvaluationContext ctx) {
+        Object[] testedValues = new Object[ inputs.size() ];
+        for( int i = 0; i < inputs.size(); i++ ) {
+            CompiledExpression compiledInput = inputs.get( i ).getCompiledInput();
+            if ( compiledInput instanceof CompiledExpressionImpl ) {
+                testedValues[i] = ((CompiledExpressionImpl) compiledInput).evaluate( ctx );
+            } else if ( compiledInput instanceof CompiledFEELExpression ) {
+                testedValues[i] = ((CompiledFEELExpression) compiledInput).apply( ctx );
+            }
+        }
+        return testedValues;
+    }
+
     /**
      * Checks if the parameters match a single rule
      * @param ctx
      * @param params
+     * @param testedValues
      * @param rule
      * @return
      */
-    private boolean matches(EvaluationContext ctx, Object[] params, DTDecisionRule rule) {
+    private boolean matches(EvaluationContext ctx, Object[] params, Object[] testedValues, DTDecisionRule rule) {
         for( int i = 0; i < params.length; i++ ) {
-            CompiledExpression compiledInput = inputs.get(i).getCompiledInput();
-            if ( compiledInput instanceof CompiledExpressionImpl ) {
-                ctx.setValue("?", ((CompiledExpressionImpl) compiledInput).evaluate(ctx));
+            if ( inputs.get( i ).getCompiledInput() != null ) {
+                ctx.setValue( "?", testedValues[i] );
             }
             if( ! satisfies( ctx, params[i], rule.getInputEntry().get( i ) ) ) {
                 return false;
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.dmn.feel.runtime.IntervalUnaryTest;
+import org.kie.dmn.feel.runtime.Range;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+/**
+ * An index of the rules of a decision table, built once when the table is created.
+ * For each input column the rows testing a literal value are indexed in a hash map, the rows testing
+ * a numeric interval in an interval tree, while the remaining rows (wildcards and any other test)
+ * are candidates for every value. The candidate rows of the single columns are intersected as bitsets,
+ * so only the rows surviving the intersection need to be actually tested, still in rule order.
+ */
+class DecisionTableIndex {
+
+    private final int rulesCount;
+    private final ColumnIndex[] columns;
+
+    private DecisionTableIndex(int rulesCount, ColumnIndex[] columns) {
+        this.rulesCount = rulesCount;
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the index of the given rules, or null if none of the input columns can be indexed
+     */
+    static DecisionTableIndex build(int inputsCount, List<DTDecisionRule> rules) {
+        ColumnIndex[] columns = new ColumnIndex[inputsCount];
+        boolean indexed = false;
+        for ( int i = 0; i < inputsCount; i++ ) {
+            columns[i] = ColumnIndex.build( i, rules );
+            indexed |= columns[i] != null;
+        }
+        return indexed ? new DecisionTableIndex( rules.size(), columns ) : null;
+    }
+
+    /**
+     * Returns the rows that can possibly match the given input values, a superset of the matching ones
+     */
+    BitSet getCandidates(Object[] params) {
+        BitSet candidates = null;
+        for ( int i = 0; i < columns.length; i++ ) {
+            BitSet columnCandidates = columns[i] != null ? columns[i].getCandidates( params[i] ) : null;
+            if ( columnCandidates == null ) {
+                // every row is a candidate for this column
+                continue;
+            }
+            if ( candidates == null ) {
+                candidates = columnCandidates;
+            } else {
+                candidates.and( columnCandidates );
+            }
+            if ( candidates.isEmpty() ) {
+                break;
+            }
+        }
+        if ( candidates == null ) {
+            candidates = new BitSet( rulesCount );
+            candidates.set( 0, rulesCount );
+        }
+        return candidates;
+    }
+
+    /**
+     * Normalizes a value so that values equal for FEEL are also equal for a hash map,
+     * returns null if the value is not of a type that can be indexed
+     */
+    static Object toKey(Object value) {
+        if ( value instanceof BigDecimal ) {
+            return ((BigDecimal) value).stripTrailingZeros();
+        }
+        if ( value instanceof String || value instanceof Boolean ) {
+            return value;
+        }
+        return null;
+    }
+
+    private static class ColumnIndex {
+        private final BitSet anyValue;
+        private final Map<Object, BitSet> values;
+        private final IntervalTree intervals;
+
+        private ColumnIndex(BitSet anyValue, Map<Object, BitSet> values, IntervalTree intervals) {
+            this.anyValue = anyValue;
+            this.values = values;
+            this.intervals = intervals;
+        }
+
+        static ColumnIndex build(int column, List<DTDecisionRule> rules) {
+            BitSet anyValue = new BitSet( rules.size() );
+            Map<Object, BitSet> values = new HashMap<>();
+            List<Interval> intervals = new ArrayList<>();
+            for ( int row = 0; row < rules.size(); row++ ) {
+                List<UnaryTest> entries = rules.get( row ).getInputEntry();
+                UnaryTest entry = column < entries.size() ? entries.get( column ) : null;
+                List<Object> rowValues = new ArrayList<>();
+                List<Interval> rowIntervals = new ArrayList<>();
+                if ( entry == null || !collect( entry, row, rowValues, rowIntervals ) ) {
+                    anyValue.set( row );
+                    continue;
+                }
+                for ( Object value : rowValues ) {
+                    values.computeIfAbsent( value, v -> new BitSet( rules.size() ) ).set( row );
+                }
+                intervals.addAll( rowIntervals );
+            }
+            if ( values.isEmpty() && intervals.isEmpty() ) {
+                return null;
+            }
+            return new ColumnIndex( anyValue, values, IntervalTree.build( intervals ) );
+        }
+
+        /**
+         * Collects the values and the intervals accepted by the given entry, returns false if the
+         * entry contains a test that cannot be indexed, so that the row is a candidate for any value
+         */
+        private static boolean collect(UnaryTest test, int row, List<Object> values, List<Interval> intervals) {
+            if ( test instanceof DTInputEntry ) {
+                List<UnaryTest> tests = ((DTInputEntry) test).getTests();
+                if ( tests.isEmpty() ) {
+                    return false;
+                }
+                for ( UnaryTest t : tests ) {
+                    if ( !collect( t, row, values, intervals ) ) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if ( !(test instanceof IntervalUnaryTest) ) {
+                // wildcards and any other test could accept any value
+                return false;
+            }
+            Range range = ((IntervalUnaryTest) test).getInterval();
+            Comparable low = range.getLowEndPoint();
+            Comparable high = range.getHighEndPoint();
+            if ( low != null && low.equals( high ) &&
+                 range.getLowBoundary() == Range.RangeBoundary.CLOSED && range.getHighBoundary() == Range.RangeBoundary.CLOSED ) {
+                Object key = toKey( low );
+                if ( key == null ) {
+                    return false;
+                }
+                values.add( key );
+                return true;
+            }
+            if ( ( low == null || low instanceof BigDecimal ) && ( high == null || high instanceof BigDecimal ) ) {
+                intervals.add( new Interval( row,
+                                             (BigDecimal) low, range.getLowBoundary() == Range.RangeBoundary.CLOSED,
+                                             (BigDecimal) high, range.getHighBoundary() == Range.RangeBoundary.CLOSED ) );
+                return true;
+            }
+            return false;
+        }
+
+        BitSet getCandidates(Object param) {
+            Object key = toKey( param );
+            if ( key == null ) {
+                // this value cannot be looked up, so no row can be excluded
+                return null;
+            }
+            BitSet candidates = (BitSet) anyValue.clone();
+            BitSet matching = values.get( key );
+            if ( matching != null ) {
+                candidates.or( matching );
+            }
+            if ( intervals != null && param instanceof BigDecimal ) {
+                intervals.collect( (BigDecimal) param, candidates );
+            }
+            return candidates;
+        }
+    }
+
+    private static class Interval {
+        private final int row;
+        private final BigDecimal low;
+        private final boolean lowClosed;
+        private final BigDecimal high;
+        private final boolean highClosed;
+
+        private Interval(int row, BigDecimal low, boolean lowClosed, BigDecimal high, boolean highClosed) {
+            this.row = row;
+            this.low = low;
+            this.lowClosed = lowClosed;
+            this.high = high;
+            this.highClosed = highClosed;
+        }
+
+        boolean includes(BigDecimal value) {
+            if ( low != null ) {
+                int c = low.compareTo( value );
+                if ( c > 0 || ( c == 0 && !lowClosed ) ) {
+                    return false;
+                }
+            }
+            if ( high != null ) {
+                int c = high.compareTo( value );
+                if ( c < 0 || ( c == 0 && !highClosed ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A centered interval tree: each node keeps the intervals containing its center, sorted both by
+     * lower and by higher end point, while the intervals entirely on its left or right go to its children.
+     */
+    private static class IntervalTree {
+        private static final Comparator<Interval> BY_LOW = (i1, i2) ->
+                i1.low == null ? ( i2.low == null ? 0 : -1 ) : ( i2.low == null ? 1 : i1.low.compareTo( i2.low ) );
+        private static final Comparator<Interval> BY_HIGH_DESC = (i1, i2) ->
+                i1.high == null ? ( i2.high == null ? 0 : -1 ) : ( i2.high == null ? 1 : i2.high.compareTo( i1.high ) );
+
+        private final BigDecimal center;
+        private final Interval[] byLow;
+        private final Interval[] byHigh;
+        private final IntervalTree left;
+        private final IntervalTree right;
+
+        private IntervalTree(BigDecimal center, Interval[] byLow, Interval[] byHigh, IntervalTree left, IntervalTree right) {
+            this.center = center;
+            this.byLow = byLow;
+            this.byHigh = byHigh;
+            this.left = left;
+            this.right = right;
+        }
+
+        static IntervalTree build(List<Interval> intervals) {
+            if ( intervals.isEmpty() ) {
+                return null;
+            }
+            List<BigDecimal> endPoints = new ArrayList<>();
+            for ( Interval interval : intervals ) {
+                if ( interval.low != null ) {
+                    endPoints.add( interval.low );
+                }
+                if ( interval.high != null ) {
+                    endPoints.add( interval.high );
+                }
+            }
+            if ( endPoints.isEmpty() ) {
+                // only unbounded intervals, they all contain any value
+                Interval[] all = intervals.toArray( new Interval[intervals.size()] );
+                return new IntervalTree( null, all, all, null, null );
+            }
+            endPoints.sort( Comparator.naturalOrder() );
+            BigDecimal center = endPoints.get( endPoints.size() / 2 );
+
+            List<Interval> onLeft = new ArrayList<>();
+            List<Interval> onRight = new ArrayList<>();
+            List<Interval> overlapping = new ArrayList<>();
+            for ( Interval interval : intervals ) {
+                if ( interval.high != null && interval.high.compareTo( center ) < 0 ) {
+                    onLeft.add( interval );
+                } else if ( interval.low != null && interval.low.compareTo( center ) > 0 ) {
+                    onRight.add( interval );
+                } else {
+                    overlapping.add( interval );
+                }
+            }
+            Interval[] byLow = overlapping.toArray( new Interval[overlapping.size()] );
+            Interval[] byHigh = byLow.clone();
+            Arrays.sort( byLow, BY_LOW );
+            Arrays.sort( byHigh, BY_HIGH_DESC );
+            return new IntervalTree( center, byLow, byHigh, build( onLeft ), build( onRight ) );
+        }
+
+        void collect(BigDecimal value, BitSet result) {
+            int c = center == null ? 0 : value.compareTo( center );
+            if ( c < 0 ) {
+                for ( Interval interval : byLow ) {
+                    if ( interval.low != null && interval.low.compareTo( value ) > 0 ) {
+                        break;
+                    }
+                    if ( interval.includes( value ) ) {
+                        result.set( interval.row );
+                    }
+                }
+                if ( left != null ) {
+                    left.collect( value, result );
+                }
+            } else if ( c > 0 ) {
+                for ( Interval interval : byHigh ) {
+                    if ( interval.high != null && interval.high.compareTo( value ) < 0 ) {
+                        break;
+                    }
+                    if ( interval.includes( value ) ) {
+                        result.set( interval.row );
+                    }
+                }
+                if ( right != null ) {
+                    right.collect( value, result );
+                }
+            } else {
+                for ( Interval interval : byLow ) {
+                    if ( interval.includes( value ) ) {
+                        result.set( interval.row );
+                    }
+                }
+            }
+        }
+    }
+}
@@ -17,6 +17,10 @@
 package org.kie.dmn.feel.runtime.functions;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
@@ -25,6 +29,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -47,8 +53,13 @@ import org.slf4j.LoggerFactory;
 public abstract class BaseFEELFunction
         implements FEELFunction {
 
+    private static final int MAX_RESOLVED_SHAPES = 64;
+
     private final Logger logger = LoggerFactory.getLogger( getClass() );
 
+    // the invoke method selected for each shape of parameters, bounded as the shapes depend on the data
+    private final Map<ParameterShape, ResolvedMethod> resolvedMethods = new ConcurrentHashMap<>();
+
     private String name;
     private Symbol symbol;
 
@@ -87,7 +98,7 @@ public abstract class BaseFEELFunction
                 CandidateMethod cm = getCandidateMethod( ctx, params, isNamedParams, available );
 
                 if ( cm != null ) {
-                    Object result = cm.apply.invoke( this, cm.actualParams );
+                    Object result = cm.invoke( this );
 
                     if ( result instanceof Either ) {
                         @SuppressWarnings("unchecked")
@@ -99,7 +110,7 @@ public abstract class BaseFEELFunction
                                                            InvalidParametersEvent invalidParametersEvent = (InvalidParametersEvent) left;
                                                            invalidParametersEvent.setNodeName( getName() );
                                                            invalidParametersEvent.setActualParameters(
-                                                                   Stream.of( cm.apply.getParameters() ).map( p -> p.getAnnotation( ParameterName.class ).value() ).collect( Collectors.toList() ),
+                                                                   Stream.of( cm.apply.method.getParameters() ).map( p -> p.getAnnotation( ParameterName.class ).value() ).collect( Collectors.toList() ),
                                                                    Arrays.asList( cm.actualParams )
                                                            );
                                                        }
@@ -185,85 +196,100 @@ public abstract class BaseFEELFunction
     }
 
     private CandidateMethod getCandidateMethod(EvaluationContext ctx, Object[] params, boolean isNamedParams, List<String> available) {
+        // the candidate only depends on the shape of the parameters, so the declared methods are scanned once per shape
+        ParameterShape shape = new ParameterShape( params, isNamedParams );
+        ResolvedMethod rm = resolvedMethods.get( shape );
+        if ( rm != null ) {
+            CandidateMethod cm = matchMethod( rm.method, ctx, params, isNamedParams, available );
+            if ( cm != null ) {
+                cm.setApply( rm );
+                return cm;
+            }
+        }
+
         CandidateMethod candidate = null;
-        // first, look for exact matches
         for ( Method m : getClass().getDeclaredMethods() ) {
             if ( !Modifier.isPublic(m.getModifiers()) || !m.getName().equals( "invoke" ) ) {
                 continue;
             }
+            CandidateMethod cm = matchMethod( m, ctx, params, isNamedParams, available );
+            if ( cm != null ) {
+                cm.setApply( new ResolvedMethod( m ) );
+                if ( candidate == null || cm.getScore() > candidate.getScore() ) {
+                    candidate = cm;
+                }
+            }
+        }
+        if ( candidate != null && resolvedMethods.size() < MAX_RESOLVED_SHAPES ) {
+            resolvedMethods.putIfAbsent( shape, candidate.apply );
+        }
+        return candidate;
+    }
 
-            Object[] actualParams = null;
-            boolean injectCtx = Arrays.stream( m.getParameterTypes() ).anyMatch( p -> EvaluationContext.class.isAssignableFrom( p ) );
-            if( injectCtx ) {
-                actualParams = new Object[ params.length + 1 ];
-                int j = 0;
-                for (int i = 0; i < m.getParameterCount(); i++) {
-                    if( EvaluationContext.class.isAssignableFrom( m.getParameterTypes()[i] ) ) {
-                        if( isNamedParams ) {
-                            actualParams[i] = new NamedParameter( "ctx", ctx );
-                        } else {
-                            actualParams[i] = ctx;
-                        }
-                    } else if (j < params.length) {
-                        actualParams[i] = params[j];
-                        j++;
+    private CandidateMethod matchMethod(Method m, EvaluationContext ctx, Object[] params, boolean isNamedParams, List<String> available) {
+        Object[] actualParams = null;
+        boolean injectCtx = Arrays.stream( m.getParameterTypes() ).anyMatch( p -> EvaluationContext.class.isAssignableFrom( p ) );
+        if( injectCtx ) {
+            actualParams = new Object[ params.length + 1 ];
+            int j = 0;
+            for (int i = 0; i < m.getParameterCount(); i++) {
+                if( EvaluationContext.class.isAssignableFrom( m.getParameterTypes()[i] ) ) {
+                    if( isNamedParams ) {
+                        actualParams[i] = new NamedParameter( "ctx", ctx );
+                    } else {
+                        actualParams[i] = ctx;
                     }
+                } else if (j < params.length) {
+                    actualParams[i] = params[j];
+                    j++;
                 }
-            } else {
-                actualParams = params;
             }
-            if( isNamedParams ) {
-                actualParams = calculateActualParams( ctx, m, actualParams, available );
-                if( actualParams == null ) {
-                    // incompatible method
-                    continue;
-                }
+        } else {
+            actualParams = params;
+        }
+        if( isNamedParams ) {
+            actualParams = calculateActualParams( ctx, m, actualParams, available );
+            if( actualParams == null ) {
+                // incompatible method
+                return null;
             }
-            CandidateMethod cm = new CandidateMethod( actualParams );
+        }
+        CandidateMethod cm = new CandidateMethod( actualParams );
 
-            Class<?>[] parameterTypes = m.getParameterTypes();
-            if( !isNamedParams ) {
-                // if named parameters, then it has been adjusted already in the calculateActualParams method,
-                // otherwise adjust here
-                adjustForVariableParameters( cm, parameterTypes );
-            }
+        Class<?>[] parameterTypes = m.getParameterTypes();
+        if( !isNamedParams ) {
+            // if named parameters, then it has been adjusted already in the calculateActualParams method,
+            // otherwise adjust here
+            adjustForVariableParameters( cm, parameterTypes );
+        }
 
-            if ( parameterTypes.length != cm.getActualParams().length ) {
-                continue;
-            }
+        if ( parameterTypes.length != cm.getActualParams().length ) {
+            return null;
+        }
 
-            boolean found = true;
-            for ( int i = 0; i < parameterTypes.length; i++ ) {
-                Class<?> currentIdxActualParameterType = cm.getActualClasses()[i];
-                if ( currentIdxActualParameterType != null && !parameterTypes[i].isAssignableFrom( currentIdxActualParameterType ) ) {
-                    // singleton list spec defines that "a=[a]", i.e., singleton collections should be treated as the single element
-                    // and vice-versa
-                    if ( Collection.class.isAssignableFrom( currentIdxActualParameterType ) ) {
-                        Collection<?> valueCollection = (Collection<?>) actualParams[i];                    
-                        if ( valueCollection.size() == 1 ) {
-                            Object singletonValue = valueCollection.iterator().next();
-                            // re-perform the assignable-from check, this time using the element itself the singleton value from the original parameter list
-                            if ( parameterTypes[i].isAssignableFrom( singletonValue.getClass() ) ) {
-                                Object[] newParams = new Object[cm.getActualParams().length];
-                                System.arraycopy( cm.getActualParams(), 0, newParams, 0, cm.getActualParams().length ); // can't rely on adjustForVariableParameters() have actually copied
-                                newParams[i] = singletonValue;
-                                cm.setActualParams(newParams);
-                                continue;
-                            }
+        for ( int i = 0; i < parameterTypes.length; i++ ) {
+            Class<?> currentIdxActualParameterType = cm.getActualClasses()[i];
+            if ( currentIdxActualParameterType != null && !parameterTypes[i].isAssignableFrom( currentIdxActualParameterType ) ) {
+                // singleton list spec defines that "a=[a]", i.e., singleton collections should be treated as the single element
+                // and vice-versa
+                if ( Collection.class.isAssignableFrom( currentIdxActualParameterType ) ) {
+                    Collection<?> valueCollection = (Collection<?>) actualParams[i];
+                    if ( valueCollection.size() == 1 ) {
+                        Object singletonValue = valueCollection.iterator().next();
+                        // re-perform the assignable-from check, this time using the element itself the singleton value from the original parameter list
+                        if ( parameterTypes[i].isAssignableFrom( singletonValue.getClass() ) ) {
+                            Object[] newParams = new Object[cm.getActualParams().length];
+                            System.arraycopy( cm.getActualParams(), 0, newParams, 0, cm.getActualParams().length ); // can't rely on adjustForVariableParameters() have actually copied
+                            newParams[i] = singletonValue;
+                            cm.setActualParams(newParams);
+                            continue;
                         }
                     }
-                    found = false;
-                    break;
-                }
-            }
-            if ( found ) {
-                cm.setApply( m );
-                if ( candidate == null || cm.getScore() > candidate.getScore() ) {
-                    candidate = cm;
                 }
+                return null;
             }
         }
-        return candidate;
+        return cm;
     }
 
     @Override
@@ -348,8 +374,79 @@ public abstract class BaseFEELFunction
         return false;
     }
 
+    /**
+     * The classes of the parameters, including the class of the element of the singleton collections,
+     * and their names when invoked with named parameters: all that the selection of the invoke method depends on
+     */
+    private static class ParameterShape {
+        private final Object[] shape;
+        private final int hashCode;
+
+        private ParameterShape(Object[] params, boolean isNamedParams) {
+            shape = new Object[params.length];
+            for ( int i = 0; i < params.length; i++ ) {
+                Object p = isNamedParams ? ((NamedParameter) params[i]).getValue() : params[i];
+                Object elementClass = p instanceof Collection && ((Collection<?>) p).size() == 1 ? classOf( ((Collection<?>) p).iterator().next() ) : null;
+                Object type = elementClass != null ? Arrays.asList( classOf( p ), elementClass ) : classOf( p );
+                shape[i] = isNamedParams ? Arrays.asList( ((NamedParameter) params[i]).getName(), type ) : type;
+            }
+            hashCode = Arrays.hashCode( shape );
+        }
+
+        private static Class<?> classOf(Object o) {
+            return o != null ? o.getClass() : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || ( o instanceof ParameterShape && Arrays.equals( shape, ((ParameterShape) o).shape ) );
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * An invoke method with the MethodHandle calling it with the array of the actual parameters
+     */
+    private static class ResolvedMethod {
+        private final Method method;
+        private final MethodHandle handle;
+
+        private ResolvedMethod(Method method) {
+            this.method = method;
+            this.handle = toSpreadingHandle( method );
+        }
+
+        private static MethodHandle toSpreadingHandle(Method method) {
+            try {
+                return MethodHandles.publicLookup().unreflect( method )
+                        .asFixedArity()
+                        .asType( MethodType.genericMethodType( method.getParameterCount() + 1 ) )
+                        .asSpreader( Object[].class, method.getParameterCount() );
+            } catch (IllegalAccessException e) {
+                // e.g. a function class that isn't public, it will be invoked reflectively
+                return null;
+            }
+        }
+
+        private Object invoke(Object target, Object[] actualParams) throws Exception {
+            if ( handle == null ) {
+                return method.invoke( target, actualParams );
+            }
+            try {
+                return (Object) handle.invokeExact( target, actualParams );
+            } catch (Throwable t) {
+                // wrapped like Method.invoke does, so that the failure is reported as a FEEL event
+                throw new InvocationTargetException( t );
+            }
+        }
+    }
+
     private static class CandidateMethod {
-        private Method   apply         = null;
+        private ResolvedMethod apply   = null;
         private Object[] actualParams  = null;
         private Class[]  actualClasses = null;
         private int score;
@@ -367,15 +464,19 @@ public abstract class BaseFEELFunction
             }
         }
 
-        public Method getApply() {
+        public ResolvedMethod getApply() {
             return apply;
         }
 
-        public void setApply(Method apply) {
+        public void setApply(ResolvedMethod apply) {
             this.apply = apply;
             calculateScore();
         }
 
+        public Object invoke(Object target) throws Exception {
+            return apply.invoke( target, actualParams );
+        }
+
         public Object[] getActualParams() {
             return actualParams;
         }
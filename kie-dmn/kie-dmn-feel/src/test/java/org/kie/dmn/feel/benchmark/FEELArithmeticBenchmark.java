@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.parser.feel11.profiles.DoublePrecisionFEELProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Evaluates the arithmetic typical of scoring and pricing decisions, comparing the AST interpreter
+ * with the compiled expressions using the decimal and the double precision policies.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FEELArithmeticBenchmark {
+
+    public enum Policy {
+        INTERPRETED, DECIMAL, DOUBLE
+    }
+
+    private static final String SCORE = "age * 3 + income / 1000 - debts * 2 + (if years > 5 then 10 else 0)";
+    private static final String PAYMENT = "principal * rate / 12 / (1 - 1 / (1 + rate / 12) ** term) + fee";
+
+    @Param({"INTERPRETED", "DECIMAL", "DOUBLE"})
+    private Policy policy;
+
+    private FEEL feel;
+    private CompiledExpression score;
+    private CompiledExpression payment;
+    private Map<String, Object> inputs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        feel = policy == Policy.DOUBLE ? FEEL.newInstance(Arrays.asList(new DoublePrecisionFEELProfile())) : FEEL.newInstance();
+
+        inputs = new HashMap<>();
+        inputs.put("age", BigDecimal.valueOf(42));
+        inputs.put("income", BigDecimal.valueOf(55000));
+        inputs.put("debts", BigDecimal.valueOf(3));
+        inputs.put("years", BigDecimal.valueOf(7));
+        inputs.put("principal", new BigDecimal("250000.00"));
+        inputs.put("rate", new BigDecimal("0.0375"));
+        inputs.put("term", BigDecimal.valueOf(360));
+        inputs.put("fee", new BigDecimal("12.50"));
+
+        score = compile(SCORE);
+        payment = compile(PAYMENT);
+    }
+
+    private CompiledExpression compile(String expression) {
+        CompilerContext ctx = feel.newCompilerContext();
+        inputs.keySet().forEach(name -> ctx.addInputVariableType(name, BuiltInType.NUMBER));
+        ctx.setDoCompile(policy != Policy.INTERPRETED);
+        return feel.compile(expression, ctx);
+    }
+
+    @Benchmark
+    public Object evaluateScore() {
+        return feel.evaluate(score, inputs);
+    }
+
+    @Benchmark
+    public Object evaluatePayment() {
+        return feel.evaluate(payment, inputs);
+    }
+}
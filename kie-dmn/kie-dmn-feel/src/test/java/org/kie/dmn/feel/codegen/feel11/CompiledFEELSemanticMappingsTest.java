@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.codegen.feel11;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.parser.feel11.profiles.DoublePrecisionFEELProfile;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CompiledFEELSemanticMappingsTest {
+
+    @Test
+    public void testIntegralArithmetic() {
+        assertThat(CompiledFEELSemanticMappings.add(BigDecimal.valueOf(2), 3L), is(BigDecimal.valueOf(5)));
+        assertThat(CompiledFEELSemanticMappings.sub(BigDecimal.valueOf(2), 3), is(BigDecimal.valueOf(-1)));
+        assertThat(CompiledFEELSemanticMappings.mult(BigDecimal.valueOf(4), BigDecimal.valueOf(-3)), is(BigDecimal.valueOf(-12)));
+        assertThat(CompiledFEELSemanticMappings.div(BigDecimal.valueOf(10), BigDecimal.valueOf(2)), is(BigDecimal.valueOf(5)));
+        assertThat(CompiledFEELSemanticMappings.div(BigDecimal.valueOf(10), BigDecimal.valueOf(4)), is(new BigDecimal("2.5")));
+        assertThat(CompiledFEELSemanticMappings.div(BigDecimal.valueOf(10), BigDecimal.ZERO), nullValue());
+        assertThat(CompiledFEELSemanticMappings.add(new BigDecimal("1.5"), BigDecimal.ONE), is(new BigDecimal("2.5")));
+        assertThat(CompiledFEELSemanticMappings.add(BigDecimal.ONE, null), nullValue());
+    }
+
+    @Test
+    public void testIntegralOverflowIsPromoted() {
+        BigDecimal max = BigDecimal.valueOf(Long.MAX_VALUE);
+        assertThat(CompiledFEELSemanticMappings.add(Long.MAX_VALUE, 1L), is(max.add(BigDecimal.ONE)));
+        assertThat(CompiledFEELSemanticMappings.sub(Long.MIN_VALUE, 1L), is(BigDecimal.valueOf(Long.MIN_VALUE).subtract(BigDecimal.ONE)));
+        assertThat(CompiledFEELSemanticMappings.mult(Long.MAX_VALUE, 2L), is(max.multiply(BigDecimal.valueOf(2))));
+        assertThat(CompiledFEELSemanticMappings.div(Long.MIN_VALUE, -1L), is(BigDecimal.valueOf(Long.MIN_VALUE).negate()));
+    }
+
+    @Test
+    public void testIntegralComparisons() {
+        assertThat(CompiledFEELSemanticMappings.lt(3, BigDecimal.valueOf(4)), is(true));
+        assertThat(CompiledFEELSemanticMappings.lte(BigDecimal.valueOf(4), 4L), is(true));
+        assertThat(CompiledFEELSemanticMappings.gt(BigDecimal.valueOf(4), BigDecimal.valueOf(4)), is(false));
+        assertThat(CompiledFEELSemanticMappings.gte(BigDecimal.valueOf(5), BigDecimal.valueOf(4)), is(true));
+        assertThat(CompiledFEELSemanticMappings.eq(5L, BigDecimal.valueOf(5)), is(true));
+        assertThat(CompiledFEELSemanticMappings.eq(new BigDecimal("5.0"), BigDecimal.valueOf(5)), is(true));
+        assertThat(CompiledFEELSemanticMappings.lt(null, BigDecimal.valueOf(5)), nullValue());
+    }
+
+    @Test
+    public void testDoublePrecisionArithmetic() {
+        assertThat(CompiledFEELDoubleSemanticMappings.div(BigDecimal.ONE, BigDecimal.valueOf(3)), is(BigDecimal.valueOf(1.0 / 3)));
+        assertThat(CompiledFEELDoubleSemanticMappings.add(new BigDecimal("0.1"), new BigDecimal("0.2")), is(BigDecimal.valueOf(0.1 + 0.2)));
+        assertThat(CompiledFEELDoubleSemanticMappings.mult(1.5d, BigDecimal.valueOf(2)), is(BigDecimal.valueOf(3.0)));
+        // integral values stay exact
+        assertThat(CompiledFEELDoubleSemanticMappings.add(Long.MAX_VALUE, 1L), is(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE)));
+        assertThat(CompiledFEELDoubleSemanticMappings.div(BigDecimal.valueOf(10), BigDecimal.valueOf(2)), is(BigDecimal.valueOf(5)));
+        // undefined and overflowing results are computed with BigDecimals
+        assertThat(CompiledFEELDoubleSemanticMappings.div(new BigDecimal("1.5"), BigDecimal.ZERO), nullValue());
+        BigDecimal huge = new BigDecimal("1E+400");
+        assertThat(CompiledFEELDoubleSemanticMappings.mult(huge, new BigDecimal("1.5")), is(huge.multiply(new BigDecimal("1.5"), MathContext.DECIMAL128)));
+    }
+
+    @Test
+    public void testDoublePrecisionProfile() {
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put("a", BigDecimal.ONE);
+        inputs.put("b", BigDecimal.valueOf(3));
+
+        FEEL decimal = FEEL.newInstance();
+        assertThat(decimal.evaluate("a / b", inputs), is(BigDecimal.ONE.divide(BigDecimal.valueOf(3), MathContext.DECIMAL128)));
+
+        FEEL doublePrecision = FEEL.newInstance(Arrays.asList(new DoublePrecisionFEELProfile()));
+        assertThat(doublePrecision.evaluate("a / b", inputs), is(BigDecimal.valueOf(1.0 / 3)));
+        assertThat(doublePrecision.evaluate("a * b + 1", inputs), is(BigDecimal.valueOf(4)));
+    }
+}
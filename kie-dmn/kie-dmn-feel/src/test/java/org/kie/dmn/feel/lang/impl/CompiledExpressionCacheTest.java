@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.kie.dmn.api.feel.runtime.events.FEELEvent;
+import org.kie.dmn.api.feel.runtime.events.FEELEventListener;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.lang.CompilerContext;
+import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.parser.feel11.profiles.DoCompileFEELProfile;
+import org.kie.dmn.feel.parser.feel11.profiles.DoInterpretFEELProfile;
+import org.kie.dmn.feel.runtime.UnaryTest;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class CompiledExpressionCacheTest {
+
+    @Test
+    public void testSharedAmongFEELInstances() {
+        FEEL feel1 = FEEL.newInstance();
+        FEEL feel2 = FEEL.newInstance();
+
+        CompiledExpression compiled = feel1.compile( "cached a + 1", numberContext( feel1, "cached a" ) );
+        assertSame( compiled, feel2.compile( "cached a + 1", numberContext( feel2, "cached a" ) ) );
+        assertEquals( new BigDecimal( 3 ), feel2.evaluate( compiled, Collections.singletonMap( "cached a", new BigDecimal( 2 ) ) ) );
+
+        // different input types or a different kind of compilation are compiled again
+        CompilerContext stringCtx = feel1.newCompilerContext().addInputVariableType( "cached a", BuiltInType.STRING );
+        assertNotSame( compiled, feel1.compile( "cached a + 1", stringCtx ) );
+        CompilerContext bytecodeCtx = numberContext( feel1, "cached a" );
+        bytecodeCtx.setDoCompile( true );
+        assertNotSame( compiled, feel1.compile( "cached a + 1", bytecodeCtx ) );
+    }
+
+    @Test
+    public void testNotSharedAmongClassLoaders() {
+        FEEL feel1 = FEEL.newInstance( new URLClassLoader( new URL[0] ) );
+        FEEL feel2 = FEEL.newInstance( new URLClassLoader( new URL[0] ) );
+
+        CompiledExpression compiled = feel1.compile( "cached e + 1", numberContext( feel1, "cached e" ) );
+        assertSame( compiled, feel1.compile( "cached e + 1", numberContext( feel1, "cached e" ) ) );
+        assertNotSame( compiled, feel2.compile( "cached e + 1", numberContext( feel2, "cached e" ) ) );
+    }
+
+    @Test
+    public void testCompilationWithEventsIsNotCached() {
+        FEEL feel = FEEL.newInstance();
+        CompiledExpression compiled = feel.compile( "cached b + / 5", feel.newCompilerContext() );
+
+        FEELEventListener listener = mock( FEELEventListener.class );
+        feel.addListener( listener );
+        assertNotSame( compiled, feel.compile( "cached b + / 5", feel.newCompilerContext() ) );
+        verify( listener, atLeastOnce() ).onEvent( any( FEELEvent.class ) );
+    }
+
+    @Test
+    public void testStringEvaluations() {
+        FEEL compiled = FEEL.newInstance();
+        FEEL interpreted = FEEL.newInstance( Arrays.asList( new DoInterpretFEELProfile() ) );
+        FEEL explicitlyCompiled = FEEL.newInstance( Arrays.asList( new DoCompileFEELProfile() ) );
+        for ( FEEL feel : Arrays.asList( compiled, interpreted, explicitlyCompiled ) ) {
+            assertEquals( new BigDecimal( 10 ), feel.evaluate( "cached c * 2", Collections.singletonMap( "cached c", new BigDecimal( 5 ) ) ) );
+            assertEquals( new BigDecimal( 12 ), feel.evaluate( "cached c * 2", Collections.singletonMap( "cached c", new BigDecimal( 6 ) ) ) );
+            // external functions are always interpreted
+            assertEquals( BigDecimal.valueOf( 20 ), feel.evaluate( "{ maximum : function( v1, v2 ) external { java : { class : \"java.lang.Math\", method signature: \"max(long,long)\" } }, the max : maximum( 10, 20 ) }.the max" ) );
+        }
+    }
+
+    @Test
+    public void testUnaryTests() {
+        FEEL feel = FEEL.newInstance();
+        List<UnaryTest> tests = feel.evaluateUnaryTests( "> 10, \"cached d\"" );
+        List<UnaryTest> cached = feel.evaluateUnaryTests( "> 10, \"cached d\"" );
+        assertNotSame( tests, cached );
+        assertEquals( tests, cached );
+        EvaluationContextImpl ctx = ((FEELImpl) feel).newEvaluationContext( Collections.emptySet(), Collections.emptyMap() );
+        assertTrue( cached.get( 0 ).apply( ctx, new BigDecimal( 11 ) ) );
+        assertTrue( cached.get( 1 ).apply( ctx, "cached d" ) );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        CompiledExpressionCache cache = new CompiledExpressionCache( 2 );
+        CompilerContext ctx = FEEL.newInstance().newCompilerContext();
+        CompiledExpressionCache.Key a = CompiledExpressionCache.newKey( "ast", "a", ctx, null, Collections.emptyList() );
+        CompiledExpressionCache.Key b = CompiledExpressionCache.newKey( "ast", "b", ctx, null, Collections.emptyList() );
+        CompiledExpressionCache.Key c = CompiledExpressionCache.newKey( "ast", "c", ctx, null, Collections.emptyList() );
+        cache.put( a, "A" );
+        cache.put( b, "B" );
+        assertEquals( "A", cache.get( a ) );
+        cache.put( c, "C" );
+        assertEquals( 2, cache.size() );
+        assertEquals( "A", cache.get( a ) );
+        assertNull( cache.get( b ) );
+        assertEquals( "C", cache.get( CompiledExpressionCache.newKey( "ast", "c", FEEL.newInstance().newCompilerContext(), null, Collections.emptyList() ) ) );
+
+        CompiledExpressionCache disabled = new CompiledExpressionCache( 0 );
+        disabled.put( a, "A" );
+        assertNull( disabled.get( a ) );
+    }
+
+    private static CompilerContext numberContext( FEEL feel, String variable ) {
+        return feel.newCompilerContext().addInputVariableType( variable, BuiltInType.NUMBER );
+    }
+}
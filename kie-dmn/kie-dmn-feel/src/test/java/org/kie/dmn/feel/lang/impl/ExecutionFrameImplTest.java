@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.lang.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.dmn.feel.runtime.FEELFunction;
+
+import static org.junit.Assert.*;
+
+public class ExecutionFrameImplTest {
+
+    @Test
+    public void testSlots() {
+        ExecutionFrameImpl frame = new ExecutionFrameImpl( null );
+        assertFalse( frame.isDefined( "a" ) );
+
+        frame.setValue( "a", 1 );
+        frame.setValue( "a  name ", 2 );
+        frame.setValue( "b", null );
+        assertEquals( 1, frame.getValue( "a" ) );
+        assertEquals( 2, frame.getValue( "a name" ) );
+        assertEquals( 2, frame.getValue( " a\tname" ) );
+        assertTrue( frame.isDefined( "b" ) );
+        assertNull( frame.getValue( "b" ) );
+
+        frame.setValue( " a name", 4 );
+        assertEquals( 4, frame.getValue( "a name" ) );
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put( "a", 1 );
+        expected.put( "a name", 4 );
+        expected.put( "b", null );
+        assertEquals( expected, frame.getAllValues() );
+    }
+
+    @Test
+    public void testManyVariables() {
+        ExecutionFrameImpl frame = new ExecutionFrameImpl( null );
+        for ( int i = 0; i < 100; i++ ) {
+            frame.setValue( "v" + i, i );
+        }
+        for ( int i = 0; i < 100; i++ ) {
+            assertEquals( i, frame.getValue( "v" + i ) );
+        }
+        frame.setValue( "v50", -1 );
+        assertEquals( -1, frame.getValue( "v50" ) );
+        assertEquals( 100, frame.getAllValues().size() );
+        assertFalse( frame.isDefined( "v100" ) );
+    }
+
+    @Test
+    public void testParentFrames() {
+        ExecutionFrameImpl global = new ExecutionFrameImpl( RootExecutionFrame.INSTANCE );
+        global.setValue( "a", "global" );
+        global.setValue( "b", "global" );
+        ExecutionFrameImpl local = new ExecutionFrameImpl( global );
+        local.setValue( "a", "local" );
+
+        assertEquals( "local", local.getValue( "a" ) );
+        assertEquals( "global", local.getValue( "b" ) );
+        assertEquals( "global", global.getValue( "a" ) );
+        assertTrue( local.isDefined( "b" ) );
+        assertFalse( local.isDefined( "c" ) );
+        assertTrue( local.getValue( "string length" ) instanceof FEELFunction );
+        assertTrue( local.isDefined( "string length" ) );
+    }
+
+    @Test
+    public void testRootObject() {
+        Map<String, Object> item = new HashMap<>();
+        item.put( "a", "item" );
+        ExecutionFrameImpl global = new ExecutionFrameImpl( null );
+        global.setValue( "a", "global" );
+        global.setValue( "b", "global" );
+        ExecutionFrameImpl local = new ExecutionFrameImpl( global );
+        local.setRootObject( item );
+
+        assertEquals( "item", local.getValue( "a" ) );
+        assertEquals( "global", local.getValue( "b" ) );
+    }
+}
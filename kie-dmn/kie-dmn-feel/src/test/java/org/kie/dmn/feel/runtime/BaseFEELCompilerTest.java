@@ -29,6 +29,7 @@ import org.kie.dmn.feel.lang.CompiledExpression;
 import org.kie.dmn.feel.lang.CompilerContext;
 import org.kie.dmn.feel.lang.Type;
 import org.kie.dmn.feel.parser.feel11.profiles.DoCompileFEELProfile;
+import org.kie.dmn.feel.parser.feel11.profiles.DoInterpretFEELProfile;
 import org.kie.dmn.feel.runtime.BaseFEELTest.FEEL_TARGET;
 
 import static org.hamcrest.Matchers.instanceOf;
@@ -58,7 +59,7 @@ public abstract class BaseFEELCompilerTest {
 
     @Test
     public void testExpression() {
-        feel = (testFEELTarget == FEEL_TARGET.JAVA_TRANSLATED) ? FEEL.newInstance(Arrays.asList(new DoCompileFEELProfile())) : FEEL.newInstance();
+        feel = (testFEELTarget == FEEL_TARGET.JAVA_TRANSLATED) ? FEEL.newInstance(Arrays.asList(new DoCompileFEELProfile())) : FEEL.newInstance(Arrays.asList(new DoInterpretFEELProfile()));
         assertResult( expression, inputTypes, inputValues, result );
     }
 
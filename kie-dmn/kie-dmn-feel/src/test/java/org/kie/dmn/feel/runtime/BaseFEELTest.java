@@ -27,6 +27,7 @@ import org.kie.dmn.api.feel.runtime.events.FEELEvent;
 import org.kie.dmn.api.feel.runtime.events.FEELEventListener;
 import org.kie.dmn.feel.FEEL;
 import org.kie.dmn.feel.parser.feel11.profiles.DoCompileFEELProfile;
+import org.kie.dmn.feel.parser.feel11.profiles.DoInterpretFEELProfile;
 import org.mockito.ArgumentCaptor;
 
 import static org.hamcrest.Matchers.instanceOf;
@@ -63,7 +64,7 @@ public abstract class BaseFEELTest {
 
     @Test
     public void testExpression() {
-        feel = (testFEELTarget == FEEL_TARGET.JAVA_TRANSLATED) ? FEEL.newInstance(Arrays.asList(new DoCompileFEELProfile())) : FEEL.newInstance();
+        feel = (testFEELTarget == FEEL_TARGET.JAVA_TRANSLATED) ? FEEL.newInstance(Arrays.asList(new DoCompileFEELProfile())) : FEEL.newInstance(Arrays.asList(new DoInterpretFEELProfile()));
         FEELEventListener listener = mock( FEELEventListener.class );
         feel.addListener( listener );
         feel.addListener( evt -> {
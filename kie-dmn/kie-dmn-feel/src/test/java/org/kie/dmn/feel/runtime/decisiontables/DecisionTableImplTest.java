@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.FEELImpl;
+import org.kie.dmn.feel.runtime.IntervalUnaryTest;
+
+import static org.junit.Assert.*;
+
+public class DecisionTableImplTest {
+
+    private final FEELImpl feel = (FEELImpl) FEEL.newInstance();
+
+    @Test
+    public void testLiteralUnaryTestsAreIndexable() {
+        assertTrue( feel.evaluateUnaryTests( "\"A\"" ).get( 0 ) instanceof IntervalUnaryTest );
+        assertTrue( feel.evaluateUnaryTests( "-5" ).get( 0 ) instanceof IntervalUnaryTest );
+        assertTrue( feel.evaluateUnaryTests( ">= 10" ).get( 0 ) instanceof IntervalUnaryTest );
+        assertTrue( feel.evaluateUnaryTests( "[1..10[" ).get( 0 ) instanceof IntervalUnaryTest );
+        assertFalse( feel.evaluateUnaryTests( "not(\"A\")" ).get( 0 ) instanceof IntervalUnaryTest );
+        assertFalse( feel.evaluateUnaryTests( "-" ).get( 0 ) instanceof IntervalUnaryTest );
+    }
+
+    @Test
+    public void testIndexedTableMatchesAllRules() {
+        List<DTDecisionRule> rules = createRules();
+        DecisionTableImpl dt = createTable( rules, HitPolicy.COLLECT );
+
+        for ( int age = -5; age <= 520; age += 3 ) {
+            for ( String category : Arrays.asList( "A", "B", "C" ) ) {
+                EvaluationContext ctx = newContext( new BigDecimal( age ), category );
+                List<Object> expected = new ArrayList<>();
+                for ( DTDecisionRule rule : rules ) {
+                    if ( rule.getInputEntry().get( 0 ).apply( ctx, new BigDecimal( age ) ) &&
+                         rule.getInputEntry().get( 1 ).apply( ctx, category ) ) {
+                        expected.add( "r" + rule.getIndex() );
+                    }
+                }
+                Object result = dt.evaluate( ctx, new Object[0] ).getOrElse( null );
+                assertEquals( "age " + age + ", category " + category, expected, result );
+            }
+        }
+    }
+
+    @Test
+    public void testFirstHitPolicy() {
+        DecisionTableImpl dt = createTable( createRules(), HitPolicy.FIRST );
+        assertEquals( "r10", dt.evaluate( newContext( new BigDecimal( "105.0" ), "A" ), new Object[0] ).getOrElse( null ) );
+        assertEquals( "r51", dt.evaluate( newContext( new BigDecimal( 105 ), "B" ), new Object[0] ).getOrElse( null ) );
+        assertEquals( "r50", dt.evaluate( newContext( new BigDecimal( -1 ), "A" ), new Object[0] ).getOrElse( null ) );
+    }
+
+    @Test
+    public void testUniqueHitPolicy() {
+        DecisionTableImpl dt = createTable( createRules(), HitPolicy.UNIQUE );
+        assertEquals( "r3", dt.evaluate( newContext( new BigDecimal( 35 ), "B" ), new Object[0] ).getOrElse( null ) );
+        // rules 10, 50 and 51 all match
+        assertNull( dt.evaluate( newContext( new BigDecimal( 105 ), "A" ), new Object[0] ).getOrElse( null ) );
+    }
+
+    @Test
+    public void testNotIndexableInputValue() {
+        DecisionTableImpl dt = createTable( createRules(), HitPolicy.COLLECT );
+        // a list is not a key of the index, so every rule is tested
+        Object result = dt.evaluate( newContext( new BigDecimal( 5 ), Collections.singletonList( "A" ) ), new Object[0] ).getOrElse( null );
+        assertEquals( Arrays.asList( "r0", "r50", "r51" ), result );
+    }
+
+    /**
+     * Rule i (0..49) matches ages in [i*10..i*10+10[ and category A for even i, B for odd i;
+     * rule 50 matches any age with category A and rule 51 matches any category for ages below 10 or not less than 100
+     */
+    private List<DTDecisionRule> createRules() {
+        List<DTDecisionRule> rules = new ArrayList<>();
+        for ( int i = 0; i < 50; i++ ) {
+            rules.add( createRule( i, "[" + ( i * 10 ) + ".." + ( i * 10 + 10 ) + "[", i % 2 == 0 ? "\"A\"" : "\"B\"" ) );
+        }
+        rules.add( createRule( 50, "-", "\"A\"" ) );
+        rules.add( createRule( 51, "< 10, >= 100", "-" ) );
+        return rules;
+    }
+
+    private DTDecisionRule createRule( int index, String ageTest, String categoryTest ) {
+        DTDecisionRule rule = new DTDecisionRule( index );
+        rule.getInputEntry().add( new DTInputEntry( feel.evaluateUnaryTests( ageTest ) ) );
+        rule.getInputEntry().add( new DTInputEntry( feel.evaluateUnaryTests( categoryTest ) ) );
+        rule.getOutputEntry().add( feel.compile( "\"r" + index + "\"", feel.newCompilerContext() ) );
+        return rule;
+    }
+
+    private DecisionTableImpl createTable( List<DTDecisionRule> rules, HitPolicy hitPolicy ) {
+        List<DTInputClause> inputs = Arrays.asList( new DTInputClause( "age", null, null, null ),
+                                                    new DTInputClause( "category", null, null, null ) );
+        List<DTOutputClause> outputs = Collections.singletonList( new DTOutputClause( "result", null ) );
+        return new DecisionTableImpl( "test", Collections.emptyList(), inputs, outputs, rules, hitPolicy, feel );
+    }
+
+    private EvaluationContext newContext( Object age, Object category ) {
+        Map<String, Object> values = new HashMap<>();
+        values.put( "age", age );
+        values.put( "category", category );
+        return feel.newEvaluationContext( Collections.emptySet(), values );
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.dmn.feel.runtime.functions;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.NamedParameter;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BaseFEELFunctionTest {
+
+    private EvaluationContext ctx;
+
+    @Before
+    public void setUp() {
+        ctx = mock(EvaluationContext.class);
+    }
+
+    @Test
+    public void testInvokeWithDifferentShapes() {
+        SubstringFunction substring = new SubstringFunction();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("obar", substring.invokeReflectively(ctx, new Object[]{"foobar", BigDecimal.valueOf(3)}));
+            assertEquals("ob", substring.invokeReflectively(ctx, new Object[]{"foobar", BigDecimal.valueOf(3), BigDecimal.valueOf(2)}));
+            assertEquals("ba", substring.invokeReflectively(ctx, new Object[]{"foobar", BigDecimal.valueOf(4), BigDecimal.valueOf(2)}));
+        }
+    }
+
+    @Test
+    public void testInvokeWithNamedParameters() {
+        SubstringFunction substring = new SubstringFunction();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("obar", substring.invokeReflectively(ctx, new Object[]{new NamedParameter("string", "foobar"), new NamedParameter("start position", BigDecimal.valueOf(3))}));
+            assertEquals("ob", substring.invokeReflectively(ctx, new Object[]{new NamedParameter("start position", BigDecimal.valueOf(3)), new NamedParameter("string", "foobar"), new NamedParameter("length", BigDecimal.valueOf(2))}));
+        }
+    }
+
+    @Test
+    public void testInvokeWithVariableParameters() {
+        SumFunction sum = new SumFunction();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(BigDecimal.valueOf(6), sum.invokeReflectively(ctx, new Object[]{Arrays.asList(BigDecimal.ONE, BigDecimal.valueOf(2), BigDecimal.valueOf(3))}));
+            assertEquals(BigDecimal.valueOf(6), sum.invokeReflectively(ctx, new Object[]{BigDecimal.ONE, BigDecimal.valueOf(2), BigDecimal.valueOf(3)}));
+            assertEquals(BigDecimal.valueOf(10), sum.invokeReflectively(ctx, new Object[]{BigDecimal.ONE, BigDecimal.valueOf(2), BigDecimal.valueOf(3), BigDecimal.valueOf(4)}));
+        }
+    }
+
+    @Test
+    public void testInvokeWithSingletonList() {
+        StringLengthFunction stringLength = new StringLengthFunction();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(BigDecimal.valueOf(3), stringLength.invokeReflectively(ctx, new Object[]{Collections.singletonList("abc")}));
+            assertEquals(BigDecimal.valueOf(4), stringLength.invokeReflectively(ctx, new Object[]{Collections.singletonList("abcd")}));
+            assertNull(stringLength.invokeReflectively(ctx, new Object[]{Arrays.asList("a", "b")}));
+            assertNull(stringLength.invokeReflectively(ctx, new Object[]{Collections.singletonList(BigDecimal.ONE)}));
+        }
+    }
+
+    @Test
+    public void testErrorIsReportedAsEvent() {
+        FailingFunction failing = new FailingFunction();
+        for (int i = 0; i < 2; i++) {
+            assertNull(failing.invokeReflectively(ctx, new Object[]{"x"}));
+        }
+        verify(ctx, times(2)).notifyEvt(any());
+    }
+
+    public static class FailingFunction extends BaseFEELFunction {
+
+        public FailingFunction() {
+            super("failing");
+        }
+
+        public Object invoke(@ParameterName("value") Object value) {
+            throw new AssertionError("failing on " + value);
+        }
+    }
+}
@@ -21,6 +21,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.kie.dmn.api.core.DMNContext;
 import org.kie.dmn.api.core.DMNResult;
@@ -32,12 +36,15 @@ import org.kie.dmn.core.api.EvaluatorResult.ResultType;
 import org.kie.dmn.core.ast.DMNBaseNode;
 import org.kie.dmn.core.ast.DecisionNodeImpl;
 import org.kie.dmn.core.ast.EvaluatorResultImpl;
+import org.kie.dmn.core.compiler.DMNCompilerConfigurationImpl;
 import org.kie.dmn.core.compiler.DMNCompilerContext;
 import org.kie.dmn.core.compiler.DMNCompilerImpl;
 import org.kie.dmn.core.compiler.DecisionCompiler;
 import org.kie.dmn.core.impl.DMNContextImpl;
 import org.kie.dmn.core.impl.DMNModelImpl;
 import org.kie.dmn.core.impl.DMNResultImpl;
+import org.kie.dmn.core.impl.DMNRuntimeEventManagerImpl;
+import org.kie.dmn.core.impl.DMNRuntimeEventRecorder;
 import org.kie.dmn.model.v1_1.DMNElement.ExtensionElements;
 
 import com.thoughtworks.xstream.annotations.XStreamAlias;
@@ -107,7 +114,7 @@ public class MultiInstanceDecisionLogic {
             MultiInstanceDecisionLogic midl = getMIDL(node).get();
             
             // set the evaluator accordingly to Signavio logic.
-            di.setEvaluator(new MultiInstanceDecisionNodeEvaluator(midl, model, di));
+            di.setEvaluator(new MultiInstanceDecisionNodeEvaluator(midl, model, di, isParallel(compiler)));
             
             // Remove the top level decision and its dependencies, from the DMN Model (Decision|BKM|InputData) indexes
             // Remember that as the dependencies will be removed from indexes, are no longer available at evalutation from the DMNExpressionEvaluator
@@ -116,6 +123,14 @@ public class MultiInstanceDecisionLogic {
             recurseNodeToRemoveItAndDepsFromModelIndex(topLevelDecision, model);
         }
 
+        private static boolean isParallel(DMNCompilerImpl compiler) {
+            String value = ((DMNCompilerConfigurationImpl) compiler.getDmnCompilerConfig()).getProperties().get(MultiInstanceParallelOption.PROPERTY_NAME);
+            if (value == null) {
+                value = System.getProperty(MultiInstanceParallelOption.PROPERTY_NAME);
+            }
+            return new MultiInstanceParallelOption(value).isParallel();
+        }
+
         public static void recurseNodeToRemoveItAndDepsFromModelIndex(DMNNode topLevelDecision, DMNModelImpl model) {
             model.removeDMNNodeFromIndexes(topLevelDecision);
             
@@ -129,17 +144,29 @@ public class MultiInstanceDecisionLogic {
      * Implements the Multi instance Decision node of Signavio as a DMNExpressionEvaluator
      */
     public static class MultiInstanceDecisionNodeEvaluator implements DMNExpressionEvaluator {
+
+        /**
+         * The smallest number of items evaluated by a single task, when evaluating in parallel
+         */
+        private static final int MIN_CHUNK_SIZE = 16;
+        private static final int CHUNKS_PER_THREAD = 4;
         
         private MultiInstanceDecisionLogic mi;
         private DMNModelImpl model;
         private DecisionNodeImpl di;
         private String contextIteratorName;
         private DecisionNodeImpl topLevelDecision;
+        private boolean parallel;
         
         public MultiInstanceDecisionNodeEvaluator(MultiInstanceDecisionLogic mi, DMNModelImpl model, DecisionNodeImpl di) {
+            this(mi, model, di, MultiInstanceParallelOption.DEFAULT_VALUE);
+        }
+
+        public MultiInstanceDecisionNodeEvaluator(MultiInstanceDecisionLogic mi, DMNModelImpl model, DecisionNodeImpl di, boolean parallel) {
             this.mi = mi;
             this.model = model;
             this.di = di;
+            this.parallel = parallel;
             contextIteratorName = model.getInputById( mi.iteratorShapeId ).getName();
             topLevelDecision = (DecisionNodeImpl) model.getDecisionById(mi.topLevelDecisionId);
         }
@@ -161,16 +188,10 @@ public class MultiInstanceDecisionLogic {
                 } else {
                     cycleOn = Arrays.asList(cycleOnRaw);
                 }
-                for ( Object cycledValue : cycleOn ) {
-                    DMNContext nonCycledContext = result.getContext();
-                    DMNContextImpl cyclingContext = (DMNContextImpl) nonCycledContext.clone();
-                    result.setContext( cyclingContext );
-                    
-                    cyclingContext.set(contextIteratorName, cycledValue);
-                    Object evaluationResult = topLevelDecision.getEvaluator().evaluate(eventManager, result).getResult();
-                    invokationResults.add(evaluationResult);
-                    
-                    result.setContext( nonCycledContext );
+                if ( parallel && cycleOn.size() > MIN_CHUNK_SIZE ) {
+                    invokationResults.addAll( evaluateInChunks( eventManager, result, new ArrayList<>( cycleOn ) ) );
+                } else {
+                    invokationResults.addAll( evaluateSequentially( eventManager, result, cycleOn ) );
                 }
             } finally {
                 result.setContext( previousContext );
@@ -178,6 +199,66 @@ public class MultiInstanceDecisionLogic {
             
             return new EvaluatorResultImpl(invokationResults, ResultType.SUCCESS);
         }
+
+        private List<Object> evaluateSequentially(DMNRuntimeEventManager eventManager, DMNResultImpl result, Collection<?> cycleOn) {
+            List<Object> invokationResults = new ArrayList<>( cycleOn.size() );
+            for ( Object cycledValue : cycleOn ) {
+                DMNContext nonCycledContext = result.getContext();
+                DMNContextImpl cyclingContext = (DMNContextImpl) nonCycledContext.clone();
+                result.setContext( cyclingContext );
+                
+                cyclingContext.set(contextIteratorName, cycledValue);
+                Object evaluationResult = topLevelDecision.getEvaluator().evaluate(eventManager, result).getResult();
+                invokationResults.add(evaluationResult);
+                
+                result.setContext( nonCycledContext );
+            }
+            return invokationResults;
+        }
+
+        /**
+         * Evaluates chunks of contiguous items on the ForkJoinPool, each chunk against its own copy of the result, so that
+         * the shared result is not contended. The results, the messages of the copies and the events recorded while
+         * evaluating them are collected on the calling thread in the order of the items.
+         */
+        private List<Object> evaluateInChunks(DMNRuntimeEventManager eventManager, DMNResultImpl result, List<?> cycleOn) {
+            int chunks = CHUNKS_PER_THREAD * ForkJoinPool.commonPool().getParallelism();
+            int chunkSize = Math.max( MIN_CHUNK_SIZE, (cycleOn.size() + chunks - 1) / chunks );
+
+            List<Callable<List<Object>>> tasks = new ArrayList<>();
+            List<DMNResultImpl> copies = new ArrayList<>();
+            List<DMNRuntimeEventRecorder> recorders = new ArrayList<>();
+            for ( int from = 0; from < cycleOn.size(); from += chunkSize ) {
+                List<?> chunk = cycleOn.subList( from, Math.min( from + chunkSize, cycleOn.size() ) );
+                DMNResultImpl copy = new DMNResultImpl( result.getModel() );
+                copy.setContext( result.getContext().clone() );
+                result.getDecisionResults().forEach( copy::addDecisionResult );
+                DMNRuntimeEventManagerImpl chunkEventManager = new DMNRuntimeEventManagerImpl( eventManager.getRuntime() );
+                DMNRuntimeEventRecorder recorder = eventManager.hasListeners() ? new DMNRuntimeEventRecorder() : null;
+                chunkEventManager.addListener( recorder );
+                tasks.add( () -> evaluateSequentially( chunkEventManager, copy, chunk ) );
+                copies.add( copy );
+                recorders.add( recorder );
+            }
+
+            List<Object> invokationResults = new ArrayList<>( cycleOn.size() );
+            try {
+                List<Future<List<Object>>> futures = ForkJoinPool.commonPool().invokeAll( tasks );
+                for ( int i = 0; i < futures.size(); i++ ) {
+                    invokationResults.addAll( futures.get( i ).get() );
+                    if ( recorders.get( i ) != null ) {
+                        recorders.get( i ).replay( eventManager );
+                    }
+                    result.addAll( copies.get( i ).getMessages() );
+                }
+            } catch ( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException( e );
+            } catch ( ExecutionException e ) {
+                throw new RuntimeException( e.getCause() );
+            }
+            return invokationResults;
+        }
         
     }
 
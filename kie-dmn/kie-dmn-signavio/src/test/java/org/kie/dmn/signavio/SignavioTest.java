@@ -24,6 +24,8 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 import org.kie.api.KieServices;
@@ -75,6 +77,34 @@ public class SignavioTest {
         assertThat( (List<?>) evaluateAll.getContext().get( "Greeting for each Person in Persons" ), contains( "Hello p1", "Hello p2" ) );
     }
 
+    @Test
+    public void testMultiInstanceInParallel() {
+        final KieServices ks = KieServices.Factory.get();
+        final KieFileSystem kfs = ks.newKieFileSystem();
+        
+        KieModuleModel kmm = ks.newKieModuleModel();
+        kmm.setConfigurationProperty("org.kie.dmn.profiles.signavio", "org.kie.dmn.signavio.KieDMNSignavioProfile");
+        kmm.setConfigurationProperty(MultiInstanceParallelOption.PROPERTY_NAME, "true");
+        kfs.writeKModuleXML(kmm.toXML());
+        kfs.write(ks.getResources().newClassPathResource("Test_Signavio_multiple.dmn", this.getClass()));
+        
+        KieBuilder kieBuilder = ks.newKieBuilder( kfs ).buildAll();
+        assertTrue( kieBuilder.getResults().getMessages(Level.WARNING).size() == 0 );
+
+        final KieContainer kieContainer = ks.newKieContainer(ks.getRepository().getDefaultReleaseId());
+        DMNRuntime runtime = kieContainer.newKieSession().getKieRuntime(DMNRuntime.class);
+        
+        List<String> persons = IntStream.range(0, 100).mapToObj(i -> "p" + i).collect(Collectors.toList());
+        DMNContext context = runtime.newContext();
+        context.set("persons", persons);
+        
+        DMNResult evaluateAll = runtime.evaluateAll(runtime.getModels().get(0), context);
+        
+        assertFalse( evaluateAll.getMessages().toString(), evaluateAll.hasErrors() );
+        assertEquals( persons.stream().map(p -> "Hello " + p).collect(Collectors.toList()),
+                      evaluateAll.getContext().get( "Greeting for each Person in Persons" ) );
+    }
+
     @Test
     public void testUsingSignavioFunctions() {
         final KieServices ks = KieServices.Factory.get();
@@ -171,4 +171,46 @@ public interface DMNValidator {
      * @return a fluent interface builder to validate several models with.
      */
     ValidatorBuilder validateUsing(Validation... options);
+
+    public static interface IncrementalValidator {
+
+        /**
+         * Validate a new version of the model and return the results,
+         * like <code>validate( dmnModel, VALIDATE_MODEL )</code> would.
+         * The source of a message about an element which didn't change since a previous version
+         * is the element instance of that previous version, updated with the current locations.
+         *
+         * @param dmnModel the model to validate
+         *
+         * @return returns a list of messages from the validation, or an empty
+         *         list otherwise.
+         */
+        List<DMNMessage> validate(Definitions dmnModel);
+
+        /**
+         * Validate a new version of the model, which DMN-Imports the given models,
+         * and return the results. Changing the imported models validates the model again as a whole.
+         *
+         * @param dmnModel the model to validate
+         * @param importedModels the models imported by dmnModel
+         *
+         * @return returns a list of messages from the validation, or an empty
+         *         list otherwise.
+         */
+        List<DMNMessage> validate(Definitions dmnModel, List<Definitions> importedModels);
+
+        /**
+         * Release all resources associated with this IncrementalValidator.
+         */
+        void dispose();
+    }
+
+    /**
+     * Creates a validator for the successive versions of a single model, e.g. as saved by an editor.
+     * Only the elements which changed since the previously validated version are inserted again
+     * in the validation rules. Only <code>Validation.VALIDATE_MODEL</code> is applied.
+     *
+     * @return an IncrementalValidator to be disposed when the model is not edited anymore.
+     */
+    IncrementalValidator newIncrementalValidator();
 }
@@ -99,22 +99,7 @@ public class DMNValidatorImpl implements DMNValidator {
     private final DMNCompilerConfiguration dmnCompilerConfig;
 
     public DMNValidatorImpl(List<DMNProfile> dmnProfiles) {
-        final KieServices ks = KieServices.Factory.get();
-        final KieContainer kieContainer = KieHelper.getKieContainer(
-                ks.newReleaseId( "org.kie", "kie-dmn-validation", Drools.getFullVersion() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-auth-req.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-bkm.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-business-context.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-context.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-decision.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-dmnelementref.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-dtable.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-info-req.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-inputdata.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-know-req.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-know-source.drl", getClass() ),
-                ks.getResources().newClassPathResource("dmn-validation-rules-typeref.drl", getClass() ));
+        final KieContainer kieContainer = ValidationRules.KIE_CONTAINER;
         if( kieContainer != null ) {
             this.kieContainer = Optional.of( kieContainer );
         } else {
@@ -129,8 +114,58 @@ public class DMNValidatorImpl implements DMNValidator {
         this.dmnCompilerConfig = DMNAssemblerService.compilerConfigWithKModulePrefs(kieContainer.getClassLoader(), localChainedProperties, this.dmnProfiles);
     }
     
+    /**
+     * The validation rules are the same for every validator, so their KieContainer
+     * is built once, when the first validator is created, and shared.
+     */
+    private static class ValidationRules {
+
+        private static final KieContainer KIE_CONTAINER = newValidationKieContainer();
+
+        private static KieContainer newValidationKieContainer() {
+            final KieServices ks = KieServices.Factory.get();
+            return KieHelper.getKieContainer(
+                    ks.newReleaseId( "org.kie", "kie-dmn-validation", Drools.getFullVersion() ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-auth-req.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-bkm.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-business-context.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-context.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-decision.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-dmnelementref.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-dtable.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-info-req.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-inputdata.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-know-req.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-know-source.drl", DMNValidatorImpl.class ),
+                    ks.getResources().newClassPathResource("dmn-validation-rules-typeref.drl", DMNValidatorImpl.class ));
+        }
+    }
+
     public void dispose() {
-        kieContainer.ifPresent( KieContainer::dispose );
+        // the KieContainer of the validation rules is shared with the other validators
+    }
+
+    @Override
+    public IncrementalValidator newIncrementalValidator() {
+        if (!kieContainer.isPresent()) {
+            return new IncrementalValidator() {
+                @Override
+                public List<DMNMessage> validate(Definitions dmnModel) {
+                    return failedInitMsg;
+                }
+
+                @Override
+                public List<DMNMessage> validate(Definitions dmnModel, List<Definitions> importedModels) {
+                    return failedInitMsg;
+                }
+
+                @Override
+                public void dispose() {
+                }
+            };
+        }
+        return new IncrementalValidatorImpl(kieContainer.get(), DMNMarshallerFactory.newMarshallerWithExtensions(dmnCompilerConfig.getRegisteredExtensions()));
     }
 
     public static class ValidatorBuilderImpl implements ValidatorBuilder {
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.validation;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.core.definitions.rule.impl.RuleImpl;
+import org.drools.core.rule.EntryPointId;
+import org.drools.core.rule.GroupElement;
+import org.drools.core.rule.Pattern;
+import org.drools.core.rule.RuleConditionElement;
+import org.kie.api.definition.rule.Rule;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.BeforeMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.dmn.api.core.DMNMessage;
+import org.kie.dmn.api.marshalling.v1_1.DMNMarshaller;
+import org.kie.dmn.core.api.DMNMessageManager;
+import org.kie.dmn.core.util.DefaultDMNMessagesManager;
+import org.kie.dmn.model.v1_1.DMNModelInstrumentedBase;
+import org.kie.dmn.model.v1_1.Definitions;
+import org.kie.dmn.validation.DMNValidator.IncrementalValidator;
+
+/**
+ * Keeps the elements of the last validated version of a model in a stateful session.
+ * <p>
+ * The children of the Definitions are compared by their marshalled XML: the unchanged ones are
+ * kept in the session as they are, only the changed ones are deleted and inserted again.
+ * The validation rules report their messages imperatively, so each message is recorded with
+ * the facts of the match which reported it; it is dropped when one of those facts is deleted.
+ * A match of a rule with a negation, a <code>from</code> or an accumulate can become invalid
+ * without any of its facts changing, so its facts are updated, which fires it again if it
+ * still holds.
+ * <p>
+ * An unchanged element stays in the session as the instance of the version which introduced it,
+ * with the locations of the latest version copied over: the messages about it keep referring to
+ * that instance rather than to the one of the model just validated.
+ * The fingerprints are computed with a single marshaller, which configures its XStream only once.
+ */
+class IncrementalValidatorImpl implements IncrementalValidator {
+
+    private static final String DMN_IMPORTS = "DMNImports";
+
+    private final KieContainer kieContainer;
+    private final DMNMarshaller marshaller;
+
+    private KieSession kieSession;
+    private MessageReporter reporter;
+    private Definitions definitions;
+    private String definitionsFingerprint;
+    private List<Definitions> importedModels;
+
+    private final List<ValidatedElement> elements = new ArrayList<>();
+    private final Set<FactHandle> handles = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Finding> findings = new LinkedList<>();
+    private final Map<Rule, Boolean> monotonicRules = new HashMap<>();
+
+    IncrementalValidatorImpl(KieContainer kieContainer, DMNMarshaller marshaller) {
+        this.kieContainer = kieContainer;
+        this.marshaller = marshaller;
+    }
+
+    @Override
+    public List<DMNMessage> validate(Definitions dmnModel) {
+        return validate(dmnModel, Collections.emptyList());
+    }
+
+    @Override
+    public List<DMNMessage> validate(Definitions dmnModel, List<Definitions> importedModels) {
+        String fingerprint = fingerprintOf(dmnModel);
+        if (kieSession == null || !fingerprint.equals(definitionsFingerprint) || !sameModels(importedModels, this.importedModels)) {
+            restart(dmnModel, fingerprint, importedModels);
+        } else {
+            update(dmnModel);
+        }
+        kieSession.fireAllRules();
+
+        DMNMessageManager results = new DefaultDMNMessagesManager();
+        for (Finding finding : findings) {
+            results.addAll(finding.messages);
+        }
+        return results.getMessages();
+    }
+
+    @Override
+    public void dispose() {
+        if (kieSession != null) {
+            kieSession.dispose();
+            kieSession = null;
+        }
+        elements.clear();
+        handles.clear();
+        findings.clear();
+    }
+
+    private void restart(Definitions dmnModel, String fingerprint, List<Definitions> importedModels) {
+        dispose();
+
+        kieSession = kieContainer.newKieSession();
+        reporter = new MessageReporter();
+        kieSession.setGlobal("reporter", reporter);
+        kieSession.addEventListener(new FindingsRecorder());
+
+        definitions = dmnModel;
+        definitionsFingerprint = fingerprint;
+        this.importedModels = new ArrayList<>(importedModels);
+
+        handles.add(kieSession.insert(dmnModel));
+        for (DMNModelInstrumentedBase child : dmnModel.getChildren()) {
+            elements.add(insert(child, fingerprintOf(child)));
+        }
+        for (Definitions imported : importedModels) {
+            kieSession.getEntryPoint(DMN_IMPORTS).insert(imported);
+        }
+    }
+
+    private void update(Definitions dmnModel) {
+        Map<String, List<ValidatedElement>> unmatched = new LinkedHashMap<>();
+        for (ValidatedElement element : elements) {
+            unmatched.computeIfAbsent(element.fingerprint, f -> new LinkedList<>()).add(element);
+        }
+
+        List<ValidatedElement> kept = new ArrayList<>();
+        List<Map.Entry<DMNModelInstrumentedBase, String>> added = new ArrayList<>();
+        for (DMNModelInstrumentedBase child : dmnModel.getChildren()) {
+            String fingerprint = fingerprintOf(child);
+            List<ValidatedElement> candidates = unmatched.get(fingerprint);
+            if (candidates != null && !candidates.isEmpty()) {
+                ValidatedElement element = candidates.remove(0);
+                copyLocations(child, element.element);
+                kept.add(element);
+            } else {
+                added.add(new AbstractMap.SimpleEntry<>(child, fingerprint));
+            }
+        }
+
+        Set<FactHandle> deleted = Collections.newSetFromMap(new IdentityHashMap<>());
+        unmatched.values().forEach(l -> l.forEach(e -> deleted.addAll(e.handles)));
+
+        Set<FactHandle> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (!deleted.isEmpty() || !added.isEmpty()) {
+            for (Finding finding : findings) {
+                if (!finding.monotonic) {
+                    finding.handles.stream().filter(h -> !deleted.contains(h)).forEach(touched::add);
+                }
+            }
+        }
+
+        for (Iterator<Finding> i = findings.iterator(); i.hasNext(); ) {
+            Finding finding = i.next();
+            if (finding.handles.stream().anyMatch(h -> deleted.contains(h) || touched.contains(h))) {
+                i.remove();
+            }
+        }
+
+        deleted.forEach(kieSession::delete);
+        handles.removeAll(deleted);
+        elements.clear();
+        elements.addAll(kept);
+        for (Map.Entry<DMNModelInstrumentedBase, String> child : added) {
+            // attach the new element to the Definitions the kept ones are relating to
+            child.getKey().setParent(definitions);
+            elements.add(insert(child.getKey(), child.getValue()));
+        }
+        for (FactHandle handle : touched) {
+            kieSession.update(handle, kieSession.getObject(handle));
+        }
+    }
+
+    private ValidatedElement insert(DMNModelInstrumentedBase element, String fingerprint) {
+        List<FactHandle> inserted = allChildren(element).map(kieSession::insert).collect(Collectors.toList());
+        handles.addAll(inserted);
+        return new ValidatedElement(element, fingerprint, inserted);
+    }
+
+    private String fingerprintOf(Definitions dmnModel) {
+        return Stream.of(dmnModel.getId(),
+                         dmnModel.getName(),
+                         dmnModel.getNamespace(),
+                         dmnModel.getExpressionLanguage(),
+                         dmnModel.getTypeLanguage(),
+                         dmnModel.getExporter(),
+                         dmnModel.getExporterVersion(),
+                         dmnModel.getNsContext(),
+                         dmnModel.getAdditionalAttributes())
+                     .map(String::valueOf)
+                     .collect(Collectors.joining("|"));
+    }
+
+    private String fingerprintOf(DMNModelInstrumentedBase child) {
+        String xml = marshaller.marshal(child);
+        // an element which can not be marshalled is always considered changed
+        return xml != null ? child.getClass().getName() + ":" + xml : child.getClass().getName() + "@" + System.identityHashCode(child);
+    }
+
+    private boolean isMonotonicRule(Rule rule) {
+        return monotonicRules.computeIfAbsent(rule, r -> isMonotonic(((RuleImpl) r).getLhs()));
+    }
+
+    private static boolean isMonotonic(RuleConditionElement element) {
+        if (element instanceof GroupElement) {
+            GroupElement group = (GroupElement) element;
+            return group.isAnd() && group.getChildren().stream().allMatch(IncrementalValidatorImpl::isMonotonic);
+        }
+        return element instanceof Pattern && (((Pattern) element).getSource() == null || ((Pattern) element).getSource() instanceof EntryPointId);
+    }
+
+    private static boolean sameModels(List<Definitions> models, List<Definitions> others) {
+        if (models.size() != others.size()) {
+            return false;
+        }
+        for (int i = 0; i < models.size(); i++) {
+            if (models.get(i) != others.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void copyLocations(DMNModelInstrumentedBase from, DMNModelInstrumentedBase to) {
+        if (from.getLocation() != null) {
+            to.setLocation(from.getLocation());
+        }
+        List<DMNModelInstrumentedBase> fromChildren = from.getChildren();
+        List<DMNModelInstrumentedBase> toChildren = to.getChildren();
+        for (int i = 0; i < Math.min(fromChildren.size(), toChildren.size()); i++) {
+            copyLocations(fromChildren.get(i), toChildren.get(i));
+        }
+    }
+
+    private static Stream<DMNModelInstrumentedBase> allChildren(DMNModelInstrumentedBase root) {
+        return Stream.concat(Stream.of(root),
+                             root.getChildren().stream().flatMap(IncrementalValidatorImpl::allChildren));
+    }
+
+    private static class ValidatedElement {
+
+        private final DMNModelInstrumentedBase element;
+        private final String fingerprint;
+        private final List<FactHandle> handles;
+
+        private ValidatedElement(DMNModelInstrumentedBase element, String fingerprint, List<FactHandle> handles) {
+            this.element = element;
+            this.fingerprint = fingerprint;
+            this.handles = handles;
+        }
+    }
+
+    private static class Finding {
+
+        private final List<FactHandle> handles;
+        private final List<DMNMessage> messages;
+        private final boolean monotonic;
+
+        private Finding(List<FactHandle> handles, List<DMNMessage> messages, boolean monotonic) {
+            this.handles = handles;
+            this.messages = messages;
+            this.monotonic = monotonic;
+        }
+    }
+
+    /**
+     * Gives each match a reporter of its own, to know which messages it reported.
+     */
+    private class FindingsRecorder extends DefaultAgendaEventListener {
+
+        @Override
+        public void beforeMatchFired(BeforeMatchFiredEvent event) {
+            reporter.messages = new DefaultDMNMessagesManager();
+        }
+
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            List<DMNMessage> messages = reporter.getMessages().getMessages();
+            if (!messages.isEmpty()) {
+                // only the model elements, not the imported models nor the initial fact
+                List<FactHandle> matched = event.getMatch().getFactHandles().stream()
+                                                .filter(handles::contains)
+                                                .collect(Collectors.toList());
+                findings.add(new Finding(matched, new ArrayList<>(messages), isMonotonicRule(event.getMatch().getRule())));
+            }
+        }
+    }
+}
@@ -35,6 +35,7 @@ import org.kie.dmn.core.DMNInputRuntimeTest;
 import org.kie.dmn.core.DMNRuntimeTest;
 import org.kie.dmn.core.util.DMNRuntimeUtil;
 import org.kie.dmn.model.v1_1.Definitions;
+import org.kie.dmn.model.v1_1.InputData;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -152,6 +153,36 @@ public class ValidatorTest extends AbstractValidatorTest {
         assertThat( ValidatorUtil.formatMessages( validate ), validate.size(), is( 2 ) );
         assertTrue( validate.stream().anyMatch( p -> p.getMessageType().equals( DMNMessageType.DUPLICATE_NAME ) ) );
     }
+
+    @Test
+    public void testIncrementalValidation() {
+        DMNValidator.IncrementalValidator incremental = validator.newIncrementalValidator();
+        try {
+            List<DMNMessage> validate = incremental.validate( unmarshalDRGELEM_NOT_UNIQUE( false ) );
+            assertThat( ValidatorUtil.formatMessages( validate ), validate.size(), is( validator.validate( unmarshalDRGELEM_NOT_UNIQUE( false ) ).size() ) );
+            assertTrue( validate.stream().anyMatch( p -> p.getMessageType().equals( DMNMessageType.DUPLICATE_NAME ) ) );
+
+            validate = incremental.validate( unmarshalDRGELEM_NOT_UNIQUE( true ) );
+            assertThat( ValidatorUtil.formatMessages( validate ), validate.size(), is( validator.validate( unmarshalDRGELEM_NOT_UNIQUE( true ) ).size() ) );
+            assertTrue( validate.stream().noneMatch( p -> p.getMessageType().equals( DMNMessageType.DUPLICATE_NAME ) ) );
+
+            validate = incremental.validate( unmarshalDRGELEM_NOT_UNIQUE( false ) );
+            assertThat( ValidatorUtil.formatMessages( validate ), validate.size(), is( validator.validate( unmarshalDRGELEM_NOT_UNIQUE( false ) ).size() ) );
+            assertTrue( validate.stream().anyMatch( p -> p.getMessageType().equals( DMNMessageType.DUPLICATE_NAME ) ) );
+        } finally {
+            incremental.dispose();
+        }
+    }
+
+    private Definitions unmarshalDRGELEM_NOT_UNIQUE(boolean renamed) {
+        Definitions definitions = DMNMarshallerFactory.newDefaultMarshaller().unmarshal( getReader( "DRGELEM_NOT_UNIQUE.dmn" ) );
+        if ( renamed ) {
+            InputData fullName2 = (InputData) definitions.getDrgElement().stream().filter( e -> e.getId().equals( "i_FullName2" ) ).findFirst().get();
+            fullName2.setName( "Full Name 2" );
+            fullName2.getVariable().setName( "Full Name 2" );
+        }
+        return definitions;
+    }
     
     @Test
     public void testFORMAL_PARAM_DUPLICATED() {
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.dmg.pmml.pmml_4_2.descr.PMML;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.io.Resource;
+import org.kie.api.io.ResourceType;
+import org.kie.api.pmml.PMML4Result;
+import org.kie.api.pmml.PMMLRequestData;
+import org.kie.api.runtime.rule.RuleUnitExecutor;
+import org.kie.internal.utils.KieHelper;
+import org.kie.pmml.pmml_4_2.PMML4ExecutionHelper.PMML4ExecutionHelperFactory;
+import org.kie.pmml.pmml_4_2.evaluators.PMML4Evaluator;
+import org.kie.pmml.pmml_4_2.evaluators.PMML4EvaluatorCompiler;
+
+/**
+ * Scores many requests against one PMML model.
+ * Models compiled to a native {@link PMML4Evaluator} share the (immutable) evaluator between all threads
+ * and are fed whole chunks of requests at once. Models executed by the rule engine borrow a
+ * {@link PMML4ExecutionHelper} from a pool owned by the scorer, bound to the same KieBase, so that the
+ * KieBase is built once and no executor is used by two threads at the same time. The pool grows up to
+ * the number of threads scoring concurrently; {@link #close()} disposes the executors of its helpers.
+ * Columnar inputs are split in chunks that are scored in parallel, and the results are written
+ * into arrays provided by the caller.
+ */
+public class PMML4BatchScorer implements AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
+    private final String modelName;
+    private final PMML4Evaluator evaluator;
+    private final Supplier<PMML4ExecutionHelper> helperSupplier;
+    private final Queue<PMML4ExecutionHelper> idleHelpers = new ConcurrentLinkedQueue<>();
+    private final Queue<PMML4ExecutionHelper> createdHelpers = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    private PMML4BatchScorer(String modelName, PMML4Evaluator evaluator, Supplier<PMML4ExecutionHelper> helperSupplier) {
+        this.modelName = modelName;
+        this.evaluator = evaluator;
+        this.helperSupplier = helperSupplier;
+    }
+
+    public static PMML4BatchScorer forEvaluator(PMML4Evaluator evaluator) {
+        return new PMML4BatchScorer(evaluator.getModelName(), evaluator, null);
+    }
+
+    /**
+     * Returns a scorer executing the model with the rule engine, with one execution helper per concurrent scoring
+     * @param packageNames additional packages where the rule units of the model may be declared
+     */
+    public static PMML4BatchScorer forKieBase(String modelName, KieBase kbase, String... packageNames) {
+        return new PMML4BatchScorer(modelName, null, () -> {
+            PMML4ExecutionHelper helper = PMML4ExecutionHelperFactory.getExecutionHelper(modelName, kbase);
+            for (String packageName : packageNames) {
+                helper.addPossiblePackageName(packageName);
+            }
+            return helper;
+        });
+    }
+
+    /**
+     * Returns a scorer evaluating the model natively when possible, or building a KieBase
+     * from the document and executing the model with the rule engine otherwise
+     */
+    public static PMML4BatchScorer forModel(String modelName, PMML pmml, KieBaseConfiguration kieBaseConf, String... packageNames) {
+        PMML4Evaluator nativeEvaluator = new PMML4EvaluatorCompiler().compile(pmml, modelName);
+        if (nativeEvaluator != null) {
+            return forEvaluator(nativeEvaluator);
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PMML4Compiler.dumpModel(pmml, baos);
+        KieBase kbase = new KieHelper().addContent(new String(baos.toByteArray(), StandardCharsets.UTF_8), ResourceType.PMML)
+                                       .build(kieBaseConf);
+        return forKieBase(modelName, kbase, packageNames);
+    }
+
+    public static PMML4BatchScorer forResource(String modelName, Resource resource, KieBaseConfiguration kieBaseConf, String... packageNames) {
+        PMML4ExecutionHelper helper = PMML4ExecutionHelperFactory.getNativeExecutionHelper(modelName, resource, kieBaseConf);
+        return helper.getNativeEvaluator() != null ? forEvaluator(helper.getNativeEvaluator())
+                                                   : forKieBase(modelName, helper.getKbase(), packageNames);
+    }
+
+    public String getModelName() {
+        return modelName;
+    }
+
+    public boolean isNative() {
+        return evaluator != null;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public PMML4Result score(PMMLRequestData request) {
+        if (evaluator != null) {
+            return evaluator.evaluate(request);
+        }
+        PMML4ExecutionHelper helper = acquireHelper();
+        try {
+            return helper.submitRequest(request);
+        } finally {
+            idleHelpers.add(helper);
+        }
+    }
+
+    /**
+     * Scores a stream of requests, preserving their order. Parallel streams are scored
+     * in parallel, each request borrowing an execution helper for its own scoring
+     */
+    public Stream<PMML4Result> score(Stream<PMMLRequestData> requests) {
+        return requests.map(this::score);
+    }
+
+    /**
+     * Scores the rows of columnar inputs
+     * @param inputNames the names of the input fields
+     * @param columns    the values of each input field, in the same order as the names; null values are missing
+     */
+    public PMML4Result[] score(String[] inputNames, Object[][] columns) {
+        PMML4Result[] results = new PMML4Result[rowCount(inputNames, columns)];
+        score(inputNames, columns, results);
+        return results;
+    }
+
+    /**
+     * Scores the rows of columnar inputs, storing the result of row i in results[i]
+     */
+    public void score(String[] inputNames, Object[][] columns, PMML4Result[] results) {
+        scoreChunks(inputNames, columns, results.length, (result, row) -> results[row] = result);
+    }
+
+    /**
+     * Scores the rows of columnar inputs, storing in values[i] only the given field
+     * of the given result variable of row i, e.g. ("CalculatedScore", "value")
+     */
+    public void score(String[] inputNames, Object[][] columns, String resultName, String resultField, Object[] values) {
+        scoreChunks(inputNames, columns, values.length,
+                    (result, row) -> values[row] = result.getResultValue(resultName, resultField));
+    }
+
+    private void scoreChunks(String[] inputNames, Object[][] columns, int rows, ObjIntConsumer<PMML4Result> sink) {
+        if (rowCount(inputNames, columns) != rows) {
+            throw new IllegalArgumentException("Result array size " + rows + " does not match the number of rows");
+        }
+        int size = chunkSize;
+        int chunks = (rows + size - 1) / size;
+        IntStream.range(0, chunks)
+                .parallel()
+                .forEach(chunk -> scoreChunk(inputNames, columns, chunk * size, Math.min(rows, (chunk + 1) * size), sink));
+    }
+
+    private void scoreChunk(String[] inputNames, Object[][] columns, int from, int to, ObjIntConsumer<PMML4Result> sink) {
+        List<PMMLRequestData> requests = new ArrayList<>(to - from);
+        for (int row = from; row < to; row++) {
+            requests.add(toRequest(inputNames, columns, row));
+        }
+        if (evaluator != null) {
+            List<PMML4Result> results = evaluator.evaluate(requests);
+            for (int i = 0; i < results.size(); i++) {
+                sink.accept(results.get(i), from + i);
+            }
+        } else {
+            PMML4ExecutionHelper helper = acquireHelper();
+            try {
+                for (int i = 0; i < requests.size(); i++) {
+                    sink.accept(helper.submitRequest(requests.get(i)), from + i);
+                }
+            } finally {
+                idleHelpers.add(helper);
+            }
+        }
+    }
+
+    private PMML4ExecutionHelper acquireHelper() {
+        if (closed) {
+            throw new IllegalStateException("The batch scorer of model " + modelName + " has been closed");
+        }
+        PMML4ExecutionHelper helper = idleHelpers.poll();
+        if (helper == null) {
+            helper = helperSupplier.get();
+            createdHelpers.add(helper);
+        }
+        return helper;
+    }
+
+    /**
+     * Disposes the rule unit executors of the execution helpers created by this scorer.
+     * The scorer must not be used for scoring after being closed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        idleHelpers.clear();
+        PMML4ExecutionHelper helper;
+        while ((helper = createdHelpers.poll()) != null) {
+            RuleUnitExecutor executor = helper.getExecutor();
+            if (executor != null) {
+                executor.dispose();
+            }
+        }
+    }
+
+    private PMMLRequestData toRequest(String[] inputNames, Object[][] columns, int row) {
+        PMMLRequestDataBuilder builder = new PMMLRequestDataBuilder(String.valueOf(row), modelName);
+        for (int i = 0; i < inputNames.length; i++) {
+            Object value = columns[i][row];
+            if (value != null) {
+                addParameter(builder, inputNames[i], value);
+            }
+        }
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void addParameter(PMMLRequestDataBuilder builder, String name, T value) {
+        builder.addParameter(name, value, (Class<T>) value.getClass());
+    }
+
+    private static int rowCount(String[] inputNames, Object[][] columns) {
+        if (inputNames.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + inputNames.length + " columns, got " + columns.length);
+        }
+        int rows = columns.length > 0 ? columns[0].length : 0;
+        for (Object[] column : columns) {
+            if (column.length != rows) {
+                throw new IllegalArgumentException("All the columns must have the same number of rows");
+            }
+        }
+        return rows;
+    }
+}
@@ -15,11 +15,15 @@
  */
 package org.kie.pmml.pmml_4_2;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.dmg.pmml.pmml_4_2.descr.PMML;
+import org.drools.core.datasources.InternalDataSource;
 import org.drools.core.definitions.InternalKnowledgePackage;
 import org.drools.core.definitions.rule.impl.RuleImpl;
 import org.drools.core.impl.InternalKnowledgeBase;
@@ -32,10 +36,15 @@ import org.kie.api.io.ResourceType;
 import org.kie.api.pmml.PMML4Data;
 import org.kie.api.pmml.PMML4Result;
 import org.kie.api.pmml.PMMLRequestData;
+import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.rule.DataSource;
+import org.kie.api.runtime.rule.FactHandle;
 import org.kie.api.runtime.rule.RuleUnit;
 import org.kie.api.runtime.rule.RuleUnitExecutor;
+import org.kie.internal.io.ResourceFactory;
 import org.kie.internal.utils.KieHelper;
+import org.kie.pmml.pmml_4_2.evaluators.PMML4Evaluator;
+import org.kie.pmml.pmml_4_2.evaluators.PMML4EvaluatorCompiler;
 import org.kie.pmml.pmml_4_2.model.AbstractPMMLData;
 import org.kie.pmml.pmml_4_2.model.PMML4UnitImpl;
 import org.kie.pmml.pmml_4_2.model.mining.SegmentExecution;
@@ -55,6 +64,7 @@ public class PMML4ExecutionHelper {
     private PMML4Result baseResultHolder;
     private boolean includeMiningDataSources;
     private boolean used;
+    private PMML4Evaluator nativeEvaluator;
 
     public static class PMML4ExecutionHelperFactory {
 
@@ -107,6 +117,50 @@ public class PMML4ExecutionHelper {
                                                               boolean includeMiningDataSources) {
             return new PMML4ExecutionHelper(modelName, resource, kieBaseConf, includeMiningDataSources);
         }
+
+        /**
+         * Returns a helper that evaluates the model with a native Java evaluator when the model
+         * supports it (tree, regression, scorecard, neural network and SVM models without transformations or extensions),
+         * and falls back on the rule based execution otherwise
+         */
+        public static PMML4ExecutionHelper getNativeExecutionHelper(String modelName,
+                                                                    String classPath,
+                                                                    KieBaseConfiguration kieBaseConf) {
+            PMML4Evaluator evaluator = compileNativeEvaluator(modelName, ResourceFactory.newClassPathResource(classPath));
+            return evaluator != null ? new PMML4ExecutionHelper(modelName, evaluator)
+                                     : new PMML4ExecutionHelper(modelName, classPath, kieBaseConf, false);
+        }
+
+        public static PMML4ExecutionHelper getNativeExecutionHelper(String modelName,
+                                                                    byte[] content,
+                                                                    KieBaseConfiguration kieBaseConf) {
+            PMML4Evaluator evaluator = compileNativeEvaluator(modelName, ResourceFactory.newByteArrayResource(content));
+            return evaluator != null ? new PMML4ExecutionHelper(modelName, evaluator)
+                                     : new PMML4ExecutionHelper(modelName, content, kieBaseConf, false);
+        }
+
+        public static PMML4ExecutionHelper getNativeExecutionHelper(String modelName,
+                                                                    Resource resource,
+                                                                    KieBaseConfiguration kieBaseConf) {
+            PMML4Evaluator evaluator = compileNativeEvaluator(modelName, resource);
+            return evaluator != null ? new PMML4ExecutionHelper(modelName, evaluator)
+                                     : new PMML4ExecutionHelper(modelName, resource, kieBaseConf, false);
+        }
+
+        private static PMML4Evaluator compileNativeEvaluator(String modelName, Resource resource) {
+            try (InputStream stream = resource.getInputStream()) {
+                PMML pmml = new PMML4Compiler().loadModel(PMML4Compiler.PMML, stream);
+                return pmml != null ? new PMML4EvaluatorCompiler().compile(pmml, modelName) : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private PMML4ExecutionHelper(String modelName, PMML4Evaluator nativeEvaluator) {
+        this.nativeEvaluator = nativeEvaluator;
+        this.modelName = modelName;
+        this.possiblePackageNames = new ArrayList<>();
     }
 
     private PMML4ExecutionHelper(String modelName, KieBase kbase, boolean includeMiningDataSources) {
@@ -137,6 +191,9 @@ public class PMML4ExecutionHelper {
     }
 
     protected void initRuleUnitExecutor() throws IllegalStateException {
+        if (nativeEvaluator != null) {
+            return;
+        }
         if (kbase == null) {
             throw new IllegalStateException("Unable to create executor: KieBase is null or invalid");
         }
@@ -160,6 +217,14 @@ public class PMML4ExecutionHelper {
         ruleUnitClass = getStartingRuleUnit(startingRuleName);
     }
 
+    /**
+     * Returns the native evaluator used in place of the rule unit executor, or null
+     * if the model is executed by the rule engine
+     */
+    public PMML4Evaluator getNativeEvaluator() {
+        return nativeEvaluator;
+    }
+
     public RuleUnitExecutor getExecutor() {
         return executor;
     }
@@ -254,15 +319,19 @@ public class PMML4ExecutionHelper {
         if (request == null) {
             throw new InvalidParameterException("PMML model cannot be applied to a null request");
         }
+        if (nativeEvaluator != null) {
+            baseResultHolder = nativeEvaluator.evaluate(request);
+            return baseResultHolder;
+        }
         if (ruleUnitClass == null) {
             throw new IllegalStateException("PMML model cannot be applied. Missing ruleUnitClass.");
         }
         /*
-         * If the executor was previously used then we need to re-initialize it
+         * If the executor was previously used then the facts of the previous request have to be removed
          */
         if (used) {
             used = false;
-            initRuleUnitExecutor();
+            resetDataSources();
         }
         requestData.insert(request);
         baseResultHolder = new PMML4Result(request.getCorrelationId());
@@ -272,6 +341,35 @@ public class PMML4ExecutionHelper {
         return baseResultHolder;
     }
 
+    /**
+     * Deletes the facts of the previous request from the data sources and the session,
+     * so the same executor (and its node memories) can be reused for the next request
+     */
+    private void resetDataSources() {
+        clearDataSource(requestData);
+        clearDataSource(resultData);
+        clearDataSource(pmmlData);
+        if (includeMiningDataSources) {
+            clearDataSource(childModelSegments);
+            clearDataSource(miningModelPojo);
+        }
+        KieSession session = executor.getKieSession();
+        for (FactHandle fh : new ArrayList<>(session.getFactHandles())) {
+            session.delete(fh);
+        }
+    }
+
+    private static <T> void clearDataSource(DataSource<T> dataSource) {
+        List<T> objects = new ArrayList<>();
+        dataSource.forEach(objects::add);
+        for (T object : objects) {
+            FactHandle fh = ((InternalDataSource<T>) dataSource).getFactHandleForObject(object);
+            if (fh != null) {
+                dataSource.delete(fh);
+            }
+        }
+    }
+
     protected Class<? extends RuleUnit> getStartingRuleUnit(String startingRule) throws IllegalStateException {
         if (kbase == null) {
             throw new IllegalStateException("Cannot determine starting rule unit. KieBase is null");
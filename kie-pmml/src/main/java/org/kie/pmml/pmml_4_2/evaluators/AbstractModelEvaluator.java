@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dmg.pmml.pmml_4_2.descr.DATATYPE;
+import org.dmg.pmml.pmml_4_2.descr.RESULTFEATURE;
+import org.kie.api.pmml.PMML4Result;
+import org.kie.api.pmml.PMMLRequestData;
+
+/**
+ * Base class of the native evaluators: it resolves the request inputs into slots,
+ * lets the concrete model compute its prediction and wraps target and output values
+ * into result variables named like the ones of the rule based execution.
+ */
+abstract class AbstractModelEvaluator<P> implements PMML4Evaluator {
+
+    static final class OutputSpec {
+
+        final String key;
+        final RESULTFEATURE feature;
+        final String value;
+        final int rank;
+        final DATATYPE dataType;
+
+        OutputSpec(String key, RESULTFEATURE feature, String value, int rank, DATATYPE dataType) {
+            this.key = key;
+            this.feature = feature != null ? feature : RESULTFEATURE.PREDICTED_VALUE;
+            this.value = value;
+            this.rank = rank;
+            this.dataType = dataType;
+        }
+    }
+
+    static final String INVALID_RESULT_CODE = "INVALID";
+
+    private final String modelName;
+    private final InputSchema inputs;
+    private final String targetKey;
+    private final DATATYPE targetType;
+    private final List<OutputSpec> outputs;
+
+    AbstractModelEvaluator(String modelName, InputSchema inputs, String targetKey, DATATYPE targetType, List<OutputSpec> outputs) {
+        this.modelName = modelName;
+        this.inputs = inputs;
+        this.targetKey = targetKey;
+        this.targetType = targetType;
+        this.outputs = outputs;
+    }
+
+    @Override
+    public String getModelName() {
+        return modelName;
+    }
+
+    @Override
+    public PMML4Result evaluate(PMMLRequestData request) {
+        Object[] row = inputs.resolve(request);
+        return row != null ? toResult(request.getCorrelationId(), predict(row)) : invalidResult(request.getCorrelationId());
+    }
+
+    @Override
+    public List<PMML4Result> evaluate(List<PMMLRequestData> requests) {
+        Object[][] rows = new Object[requests.size()][];
+        List<Object[]> validRows = new ArrayList<>(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = inputs.resolve(requests.get(i));
+            if (rows[i] != null) {
+                validRows.add(rows[i]);
+            }
+        }
+        List<P> predictions = predictAll(validRows.toArray(new Object[validRows.size()][]));
+        List<PMML4Result> results = new ArrayList<>(rows.length);
+        int next = 0;
+        for (int i = 0; i < rows.length; i++) {
+            String correlationId = requests.get(i).getCorrelationId();
+            results.add(rows[i] != null ? toResult(correlationId, predictions.get(next++)) : invalidResult(correlationId));
+        }
+        return results;
+    }
+
+    private PMML4Result invalidResult(String correlationId) {
+        PMML4Result result = new PMML4Result(correlationId);
+        result.setResultCode(INVALID_RESULT_CODE);
+        return result;
+    }
+
+    private PMML4Result toResult(String correlationId, P prediction) {
+        PMML4Result result = new PMML4Result(correlationId);
+        addTargets(prediction, result);
+        for (OutputSpec output : outputs) {
+            Object value = InputSchema.toDeclaredType(computeOutput(prediction, output), output.dataType);
+            addResult(result, output.key, value, null);
+        }
+        result.setResultCode("OK");
+        return result;
+    }
+
+    /**
+     * Computes the prediction for the given input slots. The prediction is a per request value,
+     * so that the evaluator itself stays immutable
+     */
+    protected abstract P predict(Object[] row);
+
+    /**
+     * Computes the predictions of a batch of rows, in order. Models whose evaluation
+     * can be laid out as array operations over the whole batch override this method
+     */
+    protected List<P> predictAll(Object[][] rows) {
+        List<P> predictions = new ArrayList<>(rows.length);
+        for (Object[] row : rows) {
+            predictions.add(predict(row));
+        }
+        return predictions;
+    }
+
+    protected abstract void addTargets(P prediction, PMML4Result result);
+
+    protected abstract Object computeOutput(P prediction, OutputSpec output);
+
+    protected void addTarget(PMML4Result result, Object value, Double weight) {
+        if (targetKey != null) {
+            addResult(result, targetKey, InputSchema.toDeclaredType(value, targetType), weight);
+        }
+    }
+
+    protected void addResult(PMML4Result result, String key, Object value, Double weight) {
+        result.addResultVariable(key, new OutputValue(modelName, key, value, weight));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.dmg.pmml.pmml_4_2.descr.DATATYPE;
+import org.dmg.pmml.pmml_4_2.descr.INVALIDVALUETREATMENTMETHOD;
+import org.dmg.pmml.pmml_4_2.descr.OUTLIERTREATMENTMETHOD;
+import org.kie.api.pmml.ParameterInfo;
+import org.kie.api.pmml.PMMLRequestData;
+
+/**
+ * Flattens the parameters of a request into an array indexed by field slot,
+ * coercing every value to the data type declared in the data dictionary
+ * and applying the mining schema outlier, missing and invalid value treatments.
+ * Numeric values are always held as Doubles, so that compiled predicates only
+ * ever compare Doubles, Strings and Booleans.
+ */
+final class InputSchema {
+
+    /**
+     * Marks a field whose value is invalid under the returnInvalid treatment
+     */
+    static final Object INVALID = new Object();
+
+    static final class FieldDef {
+
+        private final String name;
+        private final DATATYPE dataType;
+        private final Set<Object> validValues;
+        private final Object missingValueReplacement;
+        private final INVALIDVALUETREATMENTMETHOD invalidValueTreatment;
+        private final OUTLIERTREATMENTMETHOD outlierTreatment;
+        private final Double lowValue;
+        private final Double highValue;
+
+        FieldDef(String name, DATATYPE dataType, Set<Object> validValues, Object missingValueReplacement,
+                 INVALIDVALUETREATMENTMETHOD invalidValueTreatment,
+                 OUTLIERTREATMENTMETHOD outlierTreatment, Double lowValue, Double highValue) {
+            this.name = name;
+            this.dataType = dataType;
+            this.validValues = validValues;
+            this.missingValueReplacement = missingValueReplacement;
+            this.invalidValueTreatment = invalidValueTreatment != null ? invalidValueTreatment : INVALIDVALUETREATMENTMETHOD.RETURN_INVALID;
+            this.outlierTreatment = outlierTreatment != null ? outlierTreatment : OUTLIERTREATMENTMETHOD.AS_IS;
+            this.lowValue = lowValue;
+            this.highValue = highValue;
+        }
+
+        /**
+         * Returns the value to be used for the given raw input, or INVALID when the
+         * value is not valid and the field asks to return an invalid result.
+         * Only invalid values treated asMissing are replaced with the missing value replacement
+         */
+        Object resolve(Object raw) {
+            Object value = coerce(raw, dataType);
+            boolean invalid = raw != null && (value == null || (validValues != null && !validValues.contains(value)));
+            if (invalid) {
+                switch (invalidValueTreatment) {
+                    case AS_MISSING:
+                        value = null;
+                        break;
+                    case RETURN_INVALID:
+                        return INVALID;
+                    default:
+                        break;
+                }
+            }
+            if (value instanceof Double && outlierTreatment != OUTLIERTREATMENTMETHOD.AS_IS) {
+                value = treatOutlier((Double) value);
+            }
+            return value != null ? value : missingValueReplacement;
+        }
+
+        private Double treatOutlier(Double value) {
+            boolean low = lowValue != null && value < lowValue;
+            boolean high = highValue != null && value > highValue;
+            if (!low && !high) {
+                return value;
+            }
+            if (outlierTreatment == OUTLIERTREATMENTMETHOD.AS_MISSING_VALUES) {
+                return null;
+            }
+            return low ? lowValue : highValue;
+        }
+    }
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final FieldDef[] fields;
+
+    InputSchema(FieldDef[] fields) {
+        this.fields = fields;
+        for (int i = 0; i < fields.length; i++) {
+            slots.put(fields[i].name, i);
+        }
+    }
+
+    /**
+     * Returns the slot of an active field, or -1 if the field is not an input of the model
+     */
+    int slotOf(String name) {
+        Integer slot = slots.get(name);
+        return slot != null ? slot : -1;
+    }
+
+    DATATYPE dataTypeOf(int slot) {
+        return fields[slot].dataType;
+    }
+
+    /**
+     * Returns the input slots of the request, or null if any of its values is invalid
+     * and its field asks to return an invalid result
+     */
+    Object[] resolve(PMMLRequestData request) {
+        Map<String, ParameterInfo> params = request.getMappedRequestParams();
+        Object[] row = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            ParameterInfo param = params.get(fields[i].name);
+            row[i] = fields[i].resolve(param != null ? param.getValue() : null);
+            if (row[i] == INVALID) {
+                return null;
+            }
+        }
+        return row;
+    }
+
+    static boolean isSupported(DATATYPE dataType) {
+        switch (dataType) {
+            case DOUBLE:
+            case FLOAT:
+            case INTEGER:
+            case STRING:
+            case BOOLEAN:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    static Object coerce(Object raw, DATATYPE dataType) {
+        if (raw == null) {
+            return null;
+        }
+        switch (dataType) {
+            case DOUBLE:
+            case FLOAT:
+            case INTEGER:
+                if (raw instanceof Number) {
+                    return ((Number) raw).doubleValue();
+                }
+                try {
+                    return Double.valueOf(raw.toString().trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            case BOOLEAN:
+                return raw instanceof Boolean ? raw : Boolean.valueOf(raw.toString().trim());
+            default:
+                return raw.toString();
+        }
+    }
+
+    /**
+     * Converts a coerced value back to the Java type used for the declared data type,
+     * as the rule based compiler does when it populates target and output fields
+     */
+    static Object toDeclaredType(Object value, DATATYPE dataType) {
+        if (value == null || dataType == null) {
+            return value;
+        }
+        switch (dataType) {
+            case INTEGER:
+                return value instanceof Number ? (Object) ((Number) value).intValue() : value;
+            case FLOAT:
+                return value instanceof Number ? (Object) ((Number) value).floatValue() : value;
+            case DOUBLE:
+                return value instanceof Number ? (Object) ((Number) value).doubleValue() : value;
+            default:
+                return value;
+        }
+    }
+}
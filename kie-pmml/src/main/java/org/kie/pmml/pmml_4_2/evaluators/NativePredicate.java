@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.util.Set;
+
+/**
+ * A PMML predicate compiled against the input slots of a model.
+ * Predicates follow the three-valued logic of the PMML specification:
+ * the result is null when it cannot be decided because an input is missing.
+ */
+@FunctionalInterface
+interface NativePredicate {
+
+    NativePredicate TRUE = row -> Boolean.TRUE;
+
+    NativePredicate FALSE = row -> Boolean.FALSE;
+
+    Boolean test(Object[] row);
+
+    static NativePredicate isMissing(int slot) {
+        return row -> row[slot] == null;
+    }
+
+    static NativePredicate isNotMissing(int slot) {
+        return row -> row[slot] != null;
+    }
+
+    static NativePredicate equal(int slot, Object constant) {
+        return row -> {
+            Object value = row[slot];
+            return value == null ? null : value.equals(constant);
+        };
+    }
+
+    static NativePredicate notEqual(int slot, Object constant) {
+        return row -> {
+            Object value = row[slot];
+            return value == null ? null : !value.equals(constant);
+        };
+    }
+
+    /**
+     * A comparison against a constant, holding when the sign of value.compareTo(constant)
+     * is accepted by the given mask: 1 for less than, 2 for equal, 4 for greater than
+     */
+    @SuppressWarnings("unchecked")
+    static NativePredicate compare(int slot, Comparable constant, int mask) {
+        return row -> {
+            Object value = row[slot];
+            if (value == null) {
+                return null;
+            }
+            int cmp = ((Comparable) value).compareTo(constant);
+            int bit = cmp < 0 ? 1 : (cmp == 0 ? 2 : 4);
+            return (mask & bit) != 0;
+        };
+    }
+
+    static NativePredicate in(int slot, Set<Object> values, boolean negated) {
+        return row -> {
+            Object value = row[slot];
+            return value == null ? null : values.contains(value) != negated;
+        };
+    }
+
+    static NativePredicate and(NativePredicate[] predicates) {
+        return row -> {
+            boolean unknown = false;
+            for (NativePredicate predicate : predicates) {
+                Boolean result = predicate.test(row);
+                if (result == null) {
+                    unknown = true;
+                } else if (!result) {
+                    return Boolean.FALSE;
+                }
+            }
+            return unknown ? null : Boolean.TRUE;
+        };
+    }
+
+    static NativePredicate or(NativePredicate[] predicates) {
+        return row -> {
+            boolean unknown = false;
+            for (NativePredicate predicate : predicates) {
+                Boolean result = predicate.test(row);
+                if (result == null) {
+                    unknown = true;
+                } else if (result) {
+                    return Boolean.TRUE;
+                }
+            }
+            return unknown ? null : Boolean.FALSE;
+        };
+    }
+
+    static NativePredicate xor(NativePredicate[] predicates) {
+        return row -> {
+            boolean parity = false;
+            for (NativePredicate predicate : predicates) {
+                Boolean result = predicate.test(row);
+                if (result == null) {
+                    return null;
+                }
+                parity ^= result;
+            }
+            return parity;
+        };
+    }
+
+    static NativePredicate surrogate(NativePredicate[] predicates) {
+        return row -> {
+            for (NativePredicate predicate : predicates) {
+                Boolean result = predicate.test(row);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return null;
+        };
+    }
+}
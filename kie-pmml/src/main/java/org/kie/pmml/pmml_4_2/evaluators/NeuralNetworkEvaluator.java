@@ -0,0 +1,289 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dmg.pmml.pmml_4_2.descr.ACTIVATIONFUNCTION;
+import org.dmg.pmml.pmml_4_2.descr.DATATYPE;
+import org.dmg.pmml.pmml_4_2.descr.NNNORMALIZATIONMETHOD;
+import org.dmg.pmml.pmml_4_2.descr.OUTLIERTREATMENTMETHOD;
+import org.dmg.pmml.pmml_4_2.descr.RESULTFEATURE;
+import org.kie.api.pmml.PMML4Result;
+
+/**
+ * Evaluates a NeuralNetwork as a sequence of dense matrix-vector products. All neurons are laid out
+ * in a single activation vector (inputs first, then each layer in document order), and each layer
+ * holds a weight matrix over the contiguous range of neurons its connections read from.
+ * Batches are evaluated one layer at a time over all the rows, so that a weight matrix is only
+ * walked once per layer rather than once per row.
+ */
+class NeuralNetworkEvaluator extends AbstractModelEvaluator<NeuralNetworkEvaluator.Prediction> {
+
+    /**
+     * The normalization of one input field into the value of an input neuron:
+     * a piecewise linear NormContinuous, an indicator NormDiscrete or a plain FieldRef
+     */
+    static final class InputNeuron {
+
+        final int slot;
+        final double[] origs;
+        final double[] norms;
+        final OUTLIERTREATMENTMETHOD outliers;
+        final Object category;
+        final double mapMissingTo;
+
+        InputNeuron(int slot, double[] origs, double[] norms, OUTLIERTREATMENTMETHOD outliers, Object category, Double mapMissingTo) {
+            this.slot = slot;
+            this.origs = origs;
+            this.norms = norms;
+            this.outliers = outliers != null ? outliers : OUTLIERTREATMENTMETHOD.AS_IS;
+            this.category = category;
+            this.mapMissingTo = mapMissingTo != null ? mapMissingTo : Double.NaN;
+        }
+
+        double apply(Object value) {
+            if (value == null) {
+                return mapMissingTo;
+            }
+            if (origs != null) {
+                return interpolate((Double) value, origs, norms, outliers);
+            }
+            if (category != null) {
+                return category.equals(value) ? 1.0 : 0.0;
+            }
+            return (Double) value;
+        }
+    }
+
+    static final class Layer {
+
+        final int sourceOffset;
+        final int targetOffset;
+        final double[][] weights;
+        final double[] biases;
+        final ACTIVATIONFUNCTION activation;
+        final double threshold;
+        final NNNORMALIZATIONMETHOD normalization;
+
+        Layer(int sourceOffset, int targetOffset, double[][] weights, double[] biases,
+              ACTIVATIONFUNCTION activation, double threshold, NNNORMALIZATIONMETHOD normalization) {
+            this.sourceOffset = sourceOffset;
+            this.targetOffset = targetOffset;
+            this.weights = weights;
+            this.biases = biases;
+            this.activation = activation;
+            this.threshold = threshold;
+            this.normalization = normalization != null ? normalization : NNNORMALIZATIONMETHOD.NONE;
+        }
+
+        void forward(double[][] activations, boolean[] missing) {
+            for (int n = 0; n < weights.length; n++) {
+                double[] row = weights[n];
+                for (int r = 0; r < activations.length; r++) {
+                    if (missing[r]) {
+                        continue;
+                    }
+                    double[] values = activations[r];
+                    double x = biases[n];
+                    for (int k = 0; k < row.length; k++) {
+                        x += row[k] * values[sourceOffset + k];
+                    }
+                    values[targetOffset + n] = activate(x);
+                }
+            }
+            if (normalization != NNNORMALIZATIONMETHOD.NONE) {
+                for (int r = 0; r < activations.length; r++) {
+                    if (!missing[r]) {
+                        normalize(activations[r]);
+                    }
+                }
+            }
+        }
+
+        private double activate(double x) {
+            switch (activation) {
+                case THRESHOLD:
+                    return x > threshold ? 1.0 : 0.0;
+                case LOGISTIC:
+                    return 1.0 / (1.0 + Math.exp(-x));
+                case TANH:
+                    return Math.tanh(x);
+                case EXPONENTIAL:
+                    return Math.exp(x);
+                case RECIPROCAL:
+                    return 1.0 / x;
+                case SQUARE:
+                    return x * x;
+                case GAUSS:
+                    return Math.exp(-x * x);
+                case SINE:
+                    return Math.sin(x);
+                case COSINE:
+                    return Math.cos(x);
+                case ELLIOTT:
+                    return x / (1.0 + Math.abs(x));
+                case ARCTAN:
+                    return 2.0 * Math.atan(x) / Math.PI;
+                default:
+                    return x;
+            }
+        }
+
+        private void normalize(double[] values) {
+            double sum = 0.0;
+            for (int n = 0; n < weights.length; n++) {
+                if (normalization == NNNORMALIZATIONMETHOD.SOFTMAX) {
+                    values[targetOffset + n] = Math.exp(values[targetOffset + n]);
+                }
+                sum += values[targetOffset + n];
+            }
+            for (int n = 0; n < weights.length; n++) {
+                values[targetOffset + n] /= sum;
+            }
+        }
+    }
+
+    static final class Prediction {
+
+        final Object value;
+        final double[] probabilities;
+        final int winner;
+
+        Prediction(Object value, double[] probabilities, int winner) {
+            this.value = value;
+            this.probabilities = probabilities;
+            this.winner = winner;
+        }
+    }
+
+    private static final Prediction MISSING = new Prediction(null, null, -1);
+
+    private final InputNeuron[] inputNeurons;
+    private final Layer[] layers;
+    private final int size;
+    private final int[] outputNeurons;
+    private final Object[] categories;
+    private final double[] outputNorms;
+    private final double[] outputOrigs;
+
+    /**
+     * @param outputNeurons the positions of the output neurons in the activation vector
+     * @param categories    the category of each output neuron for classification networks, or null for regression
+     * @param outputNorms   the knots of the normalization to invert on the regression output, or null for a FieldRef
+     */
+    NeuralNetworkEvaluator(String modelName, InputSchema inputs, String targetKey, DATATYPE targetType, List<OutputSpec> outputs,
+                           InputNeuron[] inputNeurons, Layer[] layers, int size,
+                           int[] outputNeurons, Object[] categories, double[] outputNorms, double[] outputOrigs) {
+        super(modelName, inputs, targetKey, targetType, outputs);
+        this.inputNeurons = inputNeurons;
+        this.layers = layers;
+        this.size = size;
+        this.outputNeurons = outputNeurons;
+        this.categories = categories;
+        this.outputNorms = outputNorms;
+        this.outputOrigs = outputOrigs;
+    }
+
+    @Override
+    protected Prediction predict(Object[] row) {
+        return predictAll(new Object[][]{row}).get(0);
+    }
+
+    @Override
+    protected List<Prediction> predictAll(Object[][] rows) {
+        double[][] activations = new double[rows.length][size];
+        boolean[] missing = new boolean[rows.length];
+        for (int r = 0; r < rows.length; r++) {
+            for (int i = 0; i < inputNeurons.length; i++) {
+                double x = inputNeurons[i].apply(rows[r][inputNeurons[i].slot]);
+                missing[r] |= Double.isNaN(x);
+                activations[r][i] = x;
+            }
+        }
+        for (Layer layer : layers) {
+            layer.forward(activations, missing);
+        }
+        List<Prediction> predictions = new ArrayList<>(rows.length);
+        for (int r = 0; r < rows.length; r++) {
+            predictions.add(missing[r] ? MISSING : toPrediction(activations[r]));
+        }
+        return predictions;
+    }
+
+    private Prediction toPrediction(double[] values) {
+        if (categories == null) {
+            double x = values[outputNeurons[0]];
+            return new Prediction(outputNorms != null ? interpolate(x, outputNorms, outputOrigs, OUTLIERTREATMENTMETHOD.AS_IS) : x, null, 0);
+        }
+        double[] probabilities = new double[outputNeurons.length];
+        int winner = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            probabilities[i] = values[outputNeurons[i]];
+            if (probabilities[i] > probabilities[winner]) {
+                winner = i;
+            }
+        }
+        return new Prediction(categories[winner], probabilities, winner);
+    }
+
+    @Override
+    protected void addTargets(Prediction prediction, PMML4Result result) {
+        addTarget(result, prediction.value, prediction.probabilities != null ? prediction.probabilities[prediction.winner] : null);
+    }
+
+    @Override
+    protected Object computeOutput(Prediction prediction, OutputSpec output) {
+        if (output.feature != RESULTFEATURE.PROBABILITY) {
+            return prediction.value;
+        }
+        if (prediction.probabilities == null) {
+            return null;
+        }
+        if (output.value == null) {
+            return prediction.probabilities[prediction.winner];
+        }
+        for (int i = 0; i < categories.length; i++) {
+            if (output.value.equals(String.valueOf(categories[i]))) {
+                return prediction.probabilities[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Piecewise linear interpolation between the knots (from[i], to[i]), sorted by ascending from.
+     * Values out of the range are extrapolated from the closest segment, clamped to the extreme knot
+     * or mapped to NaN, according to the outlier treatment
+     */
+    static double interpolate(double x, double[] from, double[] to, OUTLIERTREATMENTMETHOD outliers) {
+        int last = from.length - 1;
+        if (x < from[0] || x > from[last]) {
+            if (outliers == OUTLIERTREATMENTMETHOD.AS_MISSING_VALUES) {
+                return Double.NaN;
+            } else if (outliers == OUTLIERTREATMENTMETHOD.AS_EXTREME_VALUES) {
+                return x < from[0] ? to[0] : to[last];
+            }
+        }
+        int i = 0;
+        while (i < last - 1 && x > from[i + 1]) {
+            i++;
+        }
+        return to[i] + (x - from[i]) * (to[i + 1] - to[i]) / (from[i + 1] - from[i]);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import org.kie.pmml.pmml_4_2.PMML4Field;
+
+/**
+ * The result variable produced by a native evaluator for a target or output field.
+ * It exposes the same "value" and "weight" properties as the beans generated by the rule based compiler,
+ * so the result can be read through {@link org.kie.api.pmml.PMML4Result#getResultValue(String, String)}.
+ */
+public class OutputValue implements PMML4Field {
+
+    private final String context;
+    private final String name;
+    private final Object value;
+    private final Double weight;
+
+    public OutputValue(String context, String name, Object value, Double weight) {
+        this.context = context;
+        this.name = name;
+        this.value = value;
+        this.weight = weight;
+    }
+
+    @Override
+    public String getContext() {
+        return context;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public Double getWeight() {
+        return weight;
+    }
+
+    @Override
+    public boolean isValid() {
+        return true;
+    }
+
+    @Override
+    public boolean isMissing() {
+        return value == null;
+    }
+
+    @Override
+    public String toString() {
+        return "OutputValue [context=" + context + ", name=" + name + ", value=" + value + ", weight=" + weight + "]";
+    }
+}
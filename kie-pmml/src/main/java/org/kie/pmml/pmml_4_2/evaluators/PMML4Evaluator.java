@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kie.api.pmml.PMML4Result;
+import org.kie.api.pmml.PMMLRequestData;
+
+/**
+ * A PMML model compiled to plain Java, applied to a request without going through
+ * a rule unit executor. Implementations are immutable and can be shared between threads.
+ */
+public interface PMML4Evaluator {
+
+    String getModelName();
+
+    PMML4Result evaluate(PMMLRequestData request);
+
+    /**
+     * Evaluates a batch of requests, returning the results in the same order.
+     * Evaluators that can share work between the rows of a batch override this method
+     */
+    default List<PMML4Result> evaluate(List<PMMLRequestData> requests) {
+        List<PMML4Result> results = new ArrayList<>(requests.size());
+        for (PMMLRequestData request : requests) {
+            results.add(evaluate(request));
+        }
+        return results;
+    }
+}
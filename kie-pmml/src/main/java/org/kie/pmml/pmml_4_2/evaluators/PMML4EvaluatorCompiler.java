@@ -0,0 +1,861 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.dmg.pmml.pmml_4_2.descr.ACTIVATIONFUNCTION;
+import org.dmg.pmml.pmml_4_2.descr.Attribute;
+import org.dmg.pmml.pmml_4_2.descr.CategoricalPredictor;
+import org.dmg.pmml.pmml_4_2.descr.Characteristic;
+import org.dmg.pmml.pmml_4_2.descr.Characteristics;
+import org.dmg.pmml.pmml_4_2.descr.Coefficient;
+import org.dmg.pmml.pmml_4_2.descr.CompoundPredicate;
+import org.dmg.pmml.pmml_4_2.descr.DATATYPE;
+import org.dmg.pmml.pmml_4_2.descr.DataField;
+import org.dmg.pmml.pmml_4_2.descr.DerivedField;
+import org.dmg.pmml.pmml_4_2.descr.Extension;
+import org.dmg.pmml.pmml_4_2.descr.False;
+import org.dmg.pmml.pmml_4_2.descr.FIELDUSAGETYPE;
+import org.dmg.pmml.pmml_4_2.descr.FieldRef;
+import org.dmg.pmml.pmml_4_2.descr.LinearKernelType;
+import org.dmg.pmml.pmml_4_2.descr.LinearNorm;
+import org.dmg.pmml.pmml_4_2.descr.LocalTransformations;
+import org.dmg.pmml.pmml_4_2.descr.MININGFUNCTION;
+import org.dmg.pmml.pmml_4_2.descr.MiningField;
+import org.dmg.pmml.pmml_4_2.descr.MiningSchema;
+import org.dmg.pmml.pmml_4_2.descr.MISSINGVALUESTRATEGY;
+import org.dmg.pmml.pmml_4_2.descr.NeuralInput;
+import org.dmg.pmml.pmml_4_2.descr.NeuralInputs;
+import org.dmg.pmml.pmml_4_2.descr.NeuralLayer;
+import org.dmg.pmml.pmml_4_2.descr.NeuralNetwork;
+import org.dmg.pmml.pmml_4_2.descr.NeuralOutput;
+import org.dmg.pmml.pmml_4_2.descr.NeuralOutputs;
+import org.dmg.pmml.pmml_4_2.descr.Neuron;
+import org.dmg.pmml.pmml_4_2.descr.Node;
+import org.dmg.pmml.pmml_4_2.descr.NormContinuous;
+import org.dmg.pmml.pmml_4_2.descr.NormDiscrete;
+import org.dmg.pmml.pmml_4_2.descr.NumericPredictor;
+import org.dmg.pmml.pmml_4_2.descr.Output;
+import org.dmg.pmml.pmml_4_2.descr.OutputField;
+import org.dmg.pmml.pmml_4_2.descr.PMML;
+import org.dmg.pmml.pmml_4_2.descr.PolynomialKernelType;
+import org.dmg.pmml.pmml_4_2.descr.PredictorTerm;
+import org.dmg.pmml.pmml_4_2.descr.RadialBasisKernelType;
+import org.dmg.pmml.pmml_4_2.descr.REGRESSIONNORMALIZATIONMETHOD;
+import org.dmg.pmml.pmml_4_2.descr.RESULTFEATURE;
+import org.dmg.pmml.pmml_4_2.descr.RegressionModel;
+import org.dmg.pmml.pmml_4_2.descr.RegressionTable;
+import org.dmg.pmml.pmml_4_2.descr.Scorecard;
+import org.dmg.pmml.pmml_4_2.descr.SigmoidKernelType;
+import org.dmg.pmml.pmml_4_2.descr.SimplePredicate;
+import org.dmg.pmml.pmml_4_2.descr.SimpleSetPredicate;
+import org.dmg.pmml.pmml_4_2.descr.SupportVector;
+import org.dmg.pmml.pmml_4_2.descr.SupportVectorMachine;
+import org.dmg.pmml.pmml_4_2.descr.SupportVectorMachineModel;
+import org.dmg.pmml.pmml_4_2.descr.SVMCLASSIFICATIONMETHOD;
+import org.dmg.pmml.pmml_4_2.descr.SVMREPRESENTATION;
+import org.dmg.pmml.pmml_4_2.descr.Synapse;
+import org.dmg.pmml.pmml_4_2.descr.Targets;
+import org.dmg.pmml.pmml_4_2.descr.TreeModel;
+import org.dmg.pmml.pmml_4_2.descr.True;
+import org.dmg.pmml.pmml_4_2.descr.Value;
+import org.dmg.pmml.pmml_4_2.descr.VectorDictionary;
+import org.dmg.pmml.pmml_4_2.descr.VectorInstance;
+import org.kie.pmml.pmml_4_2.PMML4Helper;
+import org.kie.pmml.pmml_4_2.evaluators.AbstractModelEvaluator.OutputSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles the PMML models that can be evaluated without the rule engine into {@link PMML4Evaluator}s.
+ * Only TreeModel, RegressionModel, Scorecard, NeuralNetwork and classification SupportVectorMachineModel
+ * are supported, and only when they use none of the features
+ * implemented exclusively by the rule based compiler (transformations, targets, external adapters,
+ * aggregated scoring strategies, ...). In any other case compile returns null, and callers are expected
+ * to fall back on the rule based execution.
+ */
+public class PMML4EvaluatorCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PMML4EvaluatorCompiler.class);
+
+    private static final Pattern ARRAY_TOKEN = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"|(\\S+)");
+
+    private static class UnsupportedModelException extends RuntimeException {
+
+        UnsupportedModelException(String message) {
+            super(message);
+        }
+    }
+
+    private final PMML4Helper helper = new PMML4Helper();
+
+    /**
+     * Compiles the model with the given name, or the only model of the document if the name is null
+     * @return the native evaluator, or null if the model cannot be evaluated natively
+     */
+    public PMML4Evaluator compile(PMML pmml, String modelName) {
+        try {
+            if (pmml.getTransformationDictionary() != null) {
+                throw new UnsupportedModelException("transformation dictionaries are not supported");
+            }
+            Object model = findModel(pmml, modelName);
+            Map<String, DataField> dictionary = new HashMap<>();
+            for (DataField field : pmml.getDataDictionary().getDataFields()) {
+                dictionary.put(field.getName(), field);
+            }
+            if (model instanceof TreeModel) {
+                return compileTree((TreeModel) model, dictionary);
+            } else if (model instanceof RegressionModel) {
+                return compileRegression((RegressionModel) model, dictionary);
+            } else if (model instanceof Scorecard) {
+                return compileScorecard((Scorecard) model, dictionary);
+            } else if (model instanceof NeuralNetwork) {
+                return compileNeuralNetwork((NeuralNetwork) model, dictionary);
+            } else if (model instanceof SupportVectorMachineModel) {
+                return compileSvm((SupportVectorMachineModel) model, dictionary);
+            }
+            throw new UnsupportedModelException("model type " + (model != null ? model.getClass().getSimpleName() : null) + " is not supported");
+        } catch (UnsupportedModelException e) {
+            logger.debug("Model {} will be executed by the rule engine: {}", modelName, e.getMessage());
+            return null;
+        }
+    }
+
+    private Object findModel(PMML pmml, String modelName) {
+        List<Serializable> models = pmml.getAssociationModelsAndBaselineModelsAndClusteringModels();
+        if (modelName == null) {
+            if (models.size() != 1) {
+                throw new UnsupportedModelException("a model name is required for documents with " + models.size() + " models");
+            }
+            return models.get(0);
+        }
+        for (Serializable model : models) {
+            if (model instanceof TreeModel && modelName.equals(((TreeModel) model).getModelName())
+                    || model instanceof RegressionModel && modelName.equals(((RegressionModel) model).getModelName())
+                    || model instanceof Scorecard && modelName.equals(((Scorecard) model).getModelName())
+                    || model instanceof NeuralNetwork && modelName.equals(((NeuralNetwork) model).getModelName())
+                    || model instanceof SupportVectorMachineModel && modelName.equals(((SupportVectorMachineModel) model).getModelName())) {
+                return model;
+            }
+        }
+        throw new UnsupportedModelException("no supported model named " + modelName);
+    }
+
+    private PMML4Evaluator compileTree(TreeModel model, Map<String, DataField> dictionary) {
+        MiningSchema schema = null;
+        Output output = null;
+        Node root = null;
+        for (Serializable ser : model.getExtensionsAndNodesAndMiningSchemas()) {
+            if (ser instanceof MiningSchema) {
+                schema = (MiningSchema) ser;
+            } else if (ser instanceof Output) {
+                output = (Output) ser;
+            } else if (ser instanceof Node) {
+                root = (Node) ser;
+            } else {
+                checkModelElement(ser);
+            }
+        }
+        MISSINGVALUESTRATEGY missingValueStrategy = model.getMissingValueStrategy();
+        if (missingValueStrategy == MISSINGVALUESTRATEGY.WEIGHTED_CONFIDENCE || missingValueStrategy == MISSINGVALUESTRATEGY.AGGREGATE_NODES) {
+            throw new UnsupportedModelException("missing value strategy " + missingValueStrategy.value() + " is not supported");
+        }
+        InputSchema inputs = compileInputs(schema, dictionary);
+        String target = findTarget(schema, null);
+        DATATYPE targetType = target != null ? dictionary.get(target).getDataType() : DATATYPE.STRING;
+        List<OutputSpec> outputs = compileOutputs(output, dictionary, targetType, RESULTFEATURE.PREDICTED_VALUE);
+
+        Map<String, TreeModelEvaluator.Node> nodesById = new HashMap<>();
+        Map<TreeModelEvaluator.Node, String> defaultChildren = new HashMap<>();
+        TreeModelEvaluator.Node compiledRoot = compileNode(root, inputs, targetType, nodesById, defaultChildren);
+        for (Map.Entry<TreeModelEvaluator.Node, String> entry : defaultChildren.entrySet()) {
+            TreeModelEvaluator.Node defaultChild = nodesById.get(entry.getValue());
+            if (defaultChild == null) {
+                throw new UnsupportedModelException("unknown default child " + entry.getValue());
+            }
+            entry.getKey().defaultChild = defaultChild;
+        }
+        return new TreeModelEvaluator(model.getModelName(), inputs, keyOf(target), targetType, outputs,
+                                      compiledRoot, missingValueStrategy, model.getNoTrueChildStrategy());
+    }
+
+    private TreeModelEvaluator.Node compileNode(Node node, InputSchema inputs, DATATYPE targetType,
+                                                Map<String, TreeModelEvaluator.Node> nodesById,
+                                                Map<TreeModelEvaluator.Node, String> defaultChildren) {
+        if (node == null) {
+            throw new UnsupportedModelException("tree without root node");
+        }
+        NativePredicate predicate = null;
+        for (Serializable ser : node.getExtensionsAndSimplePredicatesAndCompoundPredicates()) {
+            if (!(ser instanceof Extension)) {
+                if (predicate != null) {
+                    throw new UnsupportedModelException("node " + node.getId() + " has embedded content");
+                }
+                predicate = compilePredicate(ser, inputs);
+            }
+        }
+        if (predicate == null) {
+            throw new UnsupportedModelException("node " + node.getId() + " has no predicate");
+        }
+        List<Node> nodes = node.getNodes();
+        TreeModelEvaluator.Node[] children = new TreeModelEvaluator.Node[nodes.size()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = compileNode(nodes.get(i), inputs, targetType, nodesById, defaultChildren);
+        }
+        Object score = node.getScore() != null ? InputSchema.coerce(node.getScore(), targetType) : null;
+        TreeModelEvaluator.Node compiled = new TreeModelEvaluator.Node(node.getId(), predicate, score, children);
+        if (node.getId() != null) {
+            nodesById.put(node.getId(), compiled);
+        }
+        if (node.getDefaultChild() != null) {
+            defaultChildren.put(compiled, node.getDefaultChild());
+        }
+        return compiled;
+    }
+
+    private PMML4Evaluator compileRegression(RegressionModel model, Map<String, DataField> dictionary) {
+        MiningSchema schema = null;
+        Output output = null;
+        List<RegressionTable> tables = new ArrayList<>();
+        for (Serializable ser : model.getExtensionsAndRegressionTablesAndMiningSchemas()) {
+            if (ser instanceof MiningSchema) {
+                schema = (MiningSchema) ser;
+            } else if (ser instanceof Output) {
+                output = (Output) ser;
+            } else if (ser instanceof RegressionTable) {
+                tables.add((RegressionTable) ser);
+            } else {
+                checkModelElement(ser);
+            }
+        }
+        boolean classification = model.getFunctionName() == MININGFUNCTION.CLASSIFICATION;
+        REGRESSIONNORMALIZATIONMETHOD normalization = model.getNormalizationMethod();
+        if (!classification && normalization != null && normalization != REGRESSIONNORMALIZATIONMETHOD.NONE
+                && normalization != REGRESSIONNORMALIZATIONMETHOD.EXP && normalization != REGRESSIONNORMALIZATIONMETHOD.SOFTMAX
+                && normalization != REGRESSIONNORMALIZATIONMETHOD.LOGIT) {
+            throw new UnsupportedModelException("normalization " + normalization.value() + " is not supported by regression models");
+        }
+        if (tables.isEmpty() || (!classification && tables.size() > 1)) {
+            throw new UnsupportedModelException("unexpected number of regression tables: " + tables.size());
+        }
+        InputSchema inputs = compileInputs(schema, dictionary);
+        String target = findTarget(schema, model.getTargetFieldName());
+        DATATYPE targetType = target != null ? dictionary.get(target).getDataType() : null;
+        List<OutputSpec> outputs = compileOutputs(output, dictionary, targetType,
+                                                  RESULTFEATURE.PREDICTED_VALUE, classification ? RESULTFEATURE.PROBABILITY : null);
+
+        RegressionModelEvaluator.Table[] compiled = new RegressionModelEvaluator.Table[tables.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compileRegressionTable(tables.get(i), inputs);
+        }
+        return new RegressionModelEvaluator(model.getModelName(), inputs, keyOf(target), targetType, outputs,
+                                            compiled, classification, normalization);
+    }
+
+    private RegressionModelEvaluator.Table compileRegressionTable(RegressionTable table, InputSchema inputs) {
+        List<NumericPredictor> numerics = table.getNumericPredictors();
+        int[] numericSlots = new int[numerics.size()];
+        double[] numericCoefficients = new double[numerics.size()];
+        int[] numericExponents = new int[numerics.size()];
+        for (int i = 0; i < numericSlots.length; i++) {
+            NumericPredictor predictor = numerics.get(i);
+            numericSlots[i] = slotOf(inputs, predictor.getName(), true);
+            numericCoefficients[i] = predictor.getCoefficient();
+            Number exponent = predictor.getExponent();
+            numericExponents[i] = exponent != null ? exponent.intValue() : 1;
+        }
+        List<CategoricalPredictor> categoricals = table.getCategoricalPredictors();
+        int[] categoricalSlots = new int[categoricals.size()];
+        Object[] categoricalValues = new Object[categoricals.size()];
+        double[] categoricalCoefficients = new double[categoricals.size()];
+        for (int i = 0; i < categoricalSlots.length; i++) {
+            CategoricalPredictor predictor = categoricals.get(i);
+            categoricalSlots[i] = slotOf(inputs, predictor.getName(), false);
+            categoricalValues[i] = InputSchema.coerce(predictor.getValue(), inputs.dataTypeOf(categoricalSlots[i]));
+            categoricalCoefficients[i] = predictor.getCoefficient();
+        }
+        List<PredictorTerm> terms = table.getPredictorTerms();
+        int[][] termSlots = new int[terms.size()][];
+        double[] termCoefficients = new double[terms.size()];
+        for (int i = 0; i < termSlots.length; i++) {
+            PredictorTerm term = terms.get(i);
+            List<FieldRef> refs = term.getFieldReves();
+            termSlots[i] = new int[refs.size()];
+            for (int j = 0; j < refs.size(); j++) {
+                termSlots[i][j] = slotOf(inputs, refs.get(j).getField(), true);
+            }
+            termCoefficients[i] = term.getCoefficient();
+        }
+        return new RegressionModelEvaluator.Table(table.getTargetCategory(), table.getIntercept(),
+                                                  numericSlots, numericCoefficients, numericExponents,
+                                                  categoricalSlots, categoricalValues, categoricalCoefficients,
+                                                  termSlots, termCoefficients);
+    }
+
+    private PMML4Evaluator compileScorecard(Scorecard model, Map<String, DataField> dictionary) {
+        MiningSchema schema = null;
+        Output output = null;
+        Characteristics characteristics = null;
+        for (Serializable ser : model.getExtensionsAndCharacteristicsAndMiningSchemas()) {
+            if (ser instanceof MiningSchema) {
+                schema = (MiningSchema) ser;
+            } else if (ser instanceof Output) {
+                output = (Output) ser;
+            } else if (ser instanceof Characteristics) {
+                characteristics = (Characteristics) ser;
+            } else {
+                checkModelElement(ser);
+            }
+        }
+        InputSchema inputs = compileInputs(schema, dictionary);
+        String target = findTarget(schema, null);
+        DATATYPE targetType = target != null ? dictionary.get(target).getDataType() : DATATYPE.DOUBLE;
+        List<OutputSpec> outputs = compileOutputs(output, dictionary, targetType,
+                                                  RESULTFEATURE.PREDICTED_VALUE, RESULTFEATURE.REASON_CODE);
+
+        Boolean useReasonCodes = model.isUseReasonCodes();
+        boolean reasonCodes = useReasonCodes == null || useReasonCodes;
+        String algorithm = model.getReasonCodeAlgorithm();
+        boolean pointsBelow = algorithm == null || "pointsBelow".equals(algorithm);
+        Double modelBaseline = model.getBaselineScore();
+
+        List<Characteristic> source = characteristics != null ? characteristics.getCharacteristics() : new ArrayList<>();
+        ScorecardEvaluator.Characteristic[] compiled = new ScorecardEvaluator.Characteristic[source.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            Characteristic characteristic = source.get(i);
+            Double baseline = characteristic.getBaselineScore() != null ? characteristic.getBaselineScore() : modelBaseline;
+            if (reasonCodes && baseline == null) {
+                throw new UnsupportedModelException("characteristic " + characteristic.getName() + " has no baseline score");
+            }
+            List<Attribute> attributes = characteristic.getAttributes();
+            NativePredicate[] predicates = new NativePredicate[attributes.size()];
+            double[] partialScores = new double[attributes.size()];
+            String[] codes = new String[attributes.size()];
+            for (int j = 0; j < predicates.length; j++) {
+                Attribute attribute = attributes.get(j);
+                if (attribute.getComplexPartialScore() != null || attribute.getPartialScore() == null) {
+                    throw new UnsupportedModelException("complex partial scores are not supported");
+                }
+                for (Extension extension : attribute.getExtensions()) {
+                    if ("weight".equals(extension.getName())) {
+                        throw new UnsupportedModelException("weighted attributes are not supported");
+                    }
+                }
+                predicates[j] = compilePredicate(attributePredicate(attribute), inputs);
+                partialScores[j] = attribute.getPartialScore();
+                String code = attribute.getReasonCode();
+                codes[j] = code != null && !code.isEmpty() ? code : characteristic.getReasonCode();
+            }
+            compiled[i] = new ScorecardEvaluator.Characteristic(baseline != null ? baseline : 0.0, predicates, partialScores, codes);
+        }
+        return new ScorecardEvaluator(model.getModelName(), inputs, keyOf(target), targetType, outputs,
+                                      helper.compactUpperCase(model.getModelName()), model.getInitialScore(),
+                                      reasonCodes, pointsBelow, compiled);
+    }
+
+    private PMML4Evaluator compileNeuralNetwork(NeuralNetwork model, Map<String, DataField> dictionary) {
+        MiningSchema schema = null;
+        Output output = null;
+        NeuralInputs neuralInputs = null;
+        NeuralOutputs neuralOutputs = null;
+        List<NeuralLayer> layers = new ArrayList<>();
+        for (Serializable ser : model.getExtensionsAndNeuralLayersAndNeuralInputs()) {
+            if (ser instanceof MiningSchema) {
+                schema = (MiningSchema) ser;
+            } else if (ser instanceof Output) {
+                output = (Output) ser;
+            } else if (ser instanceof NeuralInputs) {
+                neuralInputs = (NeuralInputs) ser;
+            } else if (ser instanceof NeuralLayer) {
+                layers.add((NeuralLayer) ser);
+            } else if (ser instanceof NeuralOutputs) {
+                neuralOutputs = (NeuralOutputs) ser;
+            } else {
+                checkModelElement(ser);
+            }
+        }
+        if (neuralInputs == null || neuralOutputs == null || layers.isEmpty()) {
+            throw new UnsupportedModelException("incomplete neural network");
+        }
+        boolean classification = model.getFunctionName() == MININGFUNCTION.CLASSIFICATION;
+        InputSchema inputs = compileInputs(schema, dictionary);
+        String target = findTarget(schema, null);
+        if (target == null) {
+            throw new UnsupportedModelException("neural network without target field");
+        }
+        DATATYPE targetType = dictionary.get(target).getDataType();
+        List<OutputSpec> outputs = compileOutputs(output, dictionary, targetType,
+                                                  RESULTFEATURE.PREDICTED_VALUE, classification ? RESULTFEATURE.PROBABILITY : null);
+
+        Map<String, Integer> positions = new HashMap<>();
+        List<NeuralInput> sourceInputs = neuralInputs.getNeuralInputs();
+        NeuralNetworkEvaluator.InputNeuron[] inputNeurons = new NeuralNetworkEvaluator.InputNeuron[sourceInputs.size()];
+        for (int i = 0; i < inputNeurons.length; i++) {
+            positions.put(sourceInputs.get(i).getId(), i);
+            inputNeurons[i] = compileInputNeuron(sourceInputs.get(i).getDerivedField(), inputs);
+        }
+        int size = inputNeurons.length;
+        NeuralNetworkEvaluator.Layer[] compiledLayers = new NeuralNetworkEvaluator.Layer[layers.size()];
+        for (int l = 0; l < compiledLayers.length; l++) {
+            compiledLayers[l] = compileLayer(model, layers.get(l), positions, size);
+            size += layers.get(l).getNeurons().size();
+        }
+
+        List<NeuralOutput> sourceOutputs = neuralOutputs.getNeuralOutputs();
+        if (sourceOutputs.isEmpty() || (!classification && sourceOutputs.size() > 1)) {
+            throw new UnsupportedModelException("unexpected number of neural outputs: " + sourceOutputs.size());
+        }
+        int[] outputNeurons = new int[sourceOutputs.size()];
+        Object[] categories = classification ? new Object[outputNeurons.length] : null;
+        double[][] outputKnots = null;
+        for (int i = 0; i < outputNeurons.length; i++) {
+            NeuralOutput neuralOutput = sourceOutputs.get(i);
+            outputNeurons[i] = positionOf(positions, neuralOutput.getOutputNeuron());
+            DerivedField derived = neuralOutput.getDerivedField();
+            if (classification) {
+                NormDiscrete norm = derived.getNormDiscrete();
+                if (norm == null || !target.equals(norm.getField())) {
+                    throw new UnsupportedModelException("classification outputs must be NormDiscrete on the target field");
+                }
+                categories[i] = InputSchema.coerce(norm.getValue(), targetType);
+            } else if (derived.getNormContinuous() != null && target.equals(derived.getNormContinuous().getField())) {
+                outputKnots = knots(derived.getNormContinuous().getLinearNorms(), true);
+            } else if (derived.getFieldRef() == null || !target.equals(derived.getFieldRef().getField())) {
+                throw new UnsupportedModelException("regression outputs must be NormContinuous or FieldRef on the target field");
+            }
+        }
+        return new NeuralNetworkEvaluator(model.getModelName(), inputs, keyOf(target), targetType, outputs,
+                                          inputNeurons, compiledLayers, size, outputNeurons, categories,
+                                          outputKnots != null ? outputKnots[0] : null, outputKnots != null ? outputKnots[1] : null);
+    }
+
+    private NeuralNetworkEvaluator.InputNeuron compileInputNeuron(DerivedField derived, InputSchema inputs) {
+        if (derived.getNormContinuous() != null) {
+            NormContinuous norm = derived.getNormContinuous();
+            double[][] knots = knots(norm.getLinearNorms(), false);
+            return new NeuralNetworkEvaluator.InputNeuron(slotOf(inputs, norm.getField(), true), knots[0], knots[1],
+                                                          norm.getOutliers(), null, toDouble(norm.getMapMissingTo()));
+        } else if (derived.getNormDiscrete() != null) {
+            NormDiscrete norm = derived.getNormDiscrete();
+            int slot = slotOf(inputs, norm.getField(), false);
+            Object category = InputSchema.coerce(norm.getValue(), inputs.dataTypeOf(slot));
+            return new NeuralNetworkEvaluator.InputNeuron(slot, null, null, null, category != null ? category : norm.getValue(),
+                                                          toDouble(norm.getMapMissingTo()));
+        } else if (derived.getFieldRef() != null) {
+            FieldRef ref = derived.getFieldRef();
+            return new NeuralNetworkEvaluator.InputNeuron(slotOf(inputs, ref.getField(), true), null, null, null, null,
+                                                          (Double) InputSchema.coerce(ref.getMapMissingTo(), DATATYPE.DOUBLE));
+        }
+        throw new UnsupportedModelException("neural inputs must be NormContinuous, NormDiscrete or FieldRef");
+    }
+
+    /**
+     * Compiles a layer into a dense weight matrix over the range of neurons its connections read from,
+     * which must all precede the layer in the activation vector
+     */
+    private NeuralNetworkEvaluator.Layer compileLayer(NeuralNetwork model, NeuralLayer layer, Map<String, Integer> positions, int offset) {
+        ACTIVATIONFUNCTION activation = layer.getActivationFunction() != null ? layer.getActivationFunction() : model.getActivationFunction();
+        if (activation == ACTIVATIONFUNCTION.RADIAL_BASIS) {
+            throw new UnsupportedModelException("radial basis activation is not supported");
+        }
+        Number threshold = layer.getThreshold() != null ? layer.getThreshold() : model.getThreshold();
+        List<Neuron> neurons = layer.getNeurons();
+        int min = Integer.MAX_VALUE;
+        int max = -1;
+        for (Neuron neuron : neurons) {
+            for (Synapse synapse : neuron.getCons()) {
+                int position = positionOf(positions, synapse.getFrom());
+                min = Math.min(min, position);
+                max = Math.max(max, position);
+            }
+        }
+        if (max < 0) {
+            throw new UnsupportedModelException("neural layer without connections");
+        }
+        double[][] weights = new double[neurons.size()][max - min + 1];
+        double[] biases = new double[neurons.size()];
+        for (int n = 0; n < weights.length; n++) {
+            Neuron neuron = neurons.get(n);
+            for (Synapse synapse : neuron.getCons()) {
+                weights[n][positionOf(positions, synapse.getFrom()) - min] += synapse.getWeight();
+            }
+            Number bias = neuron.getBias();
+            biases[n] = bias != null ? bias.doubleValue() : 0.0;
+        }
+        for (int n = 0; n < weights.length; n++) {
+            positions.put(neurons.get(n).getId(), offset + n);
+        }
+        return new NeuralNetworkEvaluator.Layer(min, offset, weights, biases, activation,
+                                                threshold != null ? threshold.doubleValue() : 0.0,
+                                                layer.getNormalizationMethod() != null ? layer.getNormalizationMethod() : model.getNormalizationMethod());
+    }
+
+    private int positionOf(Map<String, Integer> positions, String neuronId) {
+        Integer position = positions.get(neuronId);
+        if (position == null) {
+            throw new UnsupportedModelException("unknown or forward reference to neuron " + neuronId);
+        }
+        return position;
+    }
+
+    /**
+     * Returns the knots of a piecewise linear normalization as { from, to }, sorted by ascending from.
+     * When inverted, the normalized values are mapped back to the original ones
+     */
+    private double[][] knots(List<LinearNorm> norms, boolean inverted) {
+        if (norms.size() < 2) {
+            throw new UnsupportedModelException("linear normalizations need at least two knots");
+        }
+        List<LinearNorm> sorted = new ArrayList<>(norms);
+        sorted.sort((a, b) -> inverted ? Double.compare(a.getNorm(), b.getNorm()) : Double.compare(a.getOrig(), b.getOrig()));
+        double[][] knots = new double[2][sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            knots[0][i] = inverted ? sorted.get(i).getNorm() : sorted.get(i).getOrig();
+            knots[1][i] = inverted ? sorted.get(i).getOrig() : sorted.get(i).getNorm();
+        }
+        return knots;
+    }
+
+    private PMML4Evaluator compileSvm(SupportVectorMachineModel model, Map<String, DataField> dictionary) {
+        MiningSchema schema = null;
+        Output output = null;
+        VectorDictionary vectors = null;
+        Serializable kernelType = null;
+        List<SupportVectorMachine> machines = new ArrayList<>();
+        for (Serializable ser : model.getExtensionsAndSupportVectorMachinesAndVectorDictionaries()) {
+            if (ser instanceof MiningSchema) {
+                schema = (MiningSchema) ser;
+            } else if (ser instanceof Output) {
+                output = (Output) ser;
+            } else if (ser instanceof VectorDictionary) {
+                vectors = (VectorDictionary) ser;
+            } else if (ser instanceof SupportVectorMachine) {
+                machines.add((SupportVectorMachine) ser);
+            } else if (ser instanceof LinearKernelType || ser instanceof PolynomialKernelType
+                    || ser instanceof RadialBasisKernelType || ser instanceof SigmoidKernelType) {
+                kernelType = ser;
+            } else {
+                checkModelElement(ser);
+            }
+        }
+        if (model.getFunctionName() != MININGFUNCTION.CLASSIFICATION) {
+            throw new UnsupportedModelException("only classification support vector machines are supported");
+        }
+        if (model.getSvmRepresentation() == SVMREPRESENTATION.COEFFICIENTS) {
+            throw new UnsupportedModelException("the Coefficients representation is not supported");
+        }
+        if (vectors == null || kernelType == null || machines.isEmpty()) {
+            throw new UnsupportedModelException("incomplete support vector machine model");
+        }
+        InputSchema inputs = compileInputs(schema, dictionary);
+        String target = findTarget(schema, null);
+        if (target == null) {
+            throw new UnsupportedModelException("support vector machine without target field");
+        }
+        DATATYPE targetType = dictionary.get(target).getDataType();
+        List<OutputSpec> outputs = compileOutputs(output, dictionary, targetType, RESULTFEATURE.PREDICTED_VALUE, RESULTFEATURE.PROBABILITY);
+
+        List<FieldRef> fields = vectors.getVectorFields().getFieldReves();
+        int[] slots = new int[fields.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = slotOf(inputs, fields.get(i).getField(), true);
+        }
+        Map<String, Integer> vectorIndexes = new HashMap<>();
+        List<double[]> supportVectors = new ArrayList<>();
+        for (VectorInstance instance : vectors.getVectorInstances()) {
+            vectorIndexes.put(instance.getId(), supportVectors.size());
+            supportVectors.add(toDense(instance, slots.length));
+        }
+
+        SvmEvaluator.Machine[] compiled = new SvmEvaluator.Machine[machines.size()];
+        for (int m = 0; m < compiled.length; m++) {
+            SupportVectorMachine machine = machines.get(m);
+            if (machine.getSupportVectors() == null) {
+                throw new UnsupportedModelException("machines without support vectors are not supported");
+            }
+            List<SupportVector> svs = machine.getSupportVectors().getSupportVectors();
+            List<Coefficient> coefficients = machine.getCoefficients().getCoefficients();
+            if (svs.size() != coefficients.size()) {
+                throw new UnsupportedModelException("support vectors and coefficients do not match");
+            }
+            int[] indexes = new int[svs.size()];
+            double[] values = new double[svs.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                Integer index = vectorIndexes.get(svs.get(i).getVectorId());
+                if (index == null) {
+                    throw new UnsupportedModelException("unknown support vector " + svs.get(i).getVectorId());
+                }
+                indexes[i] = index;
+                values[i] = coefficients.get(i).getValue();
+            }
+            Number bias = machine.getCoefficients().getAbsoluteValue();
+            compiled[m] = new SvmEvaluator.Machine(indexes, values, bias != null ? bias.doubleValue() : 0.0,
+                                                   InputSchema.coerce(machine.getTargetCategory(), targetType),
+                                                   InputSchema.coerce(machine.getAlternateTargetCategory(), targetType));
+        }
+
+        SvmEvaluator.Kernel kernel = SvmEvaluator.Kernel.LINEAR;
+        Number gamma = 0.0;
+        Number coef0 = 0.0;
+        Number degree = 0.0;
+        if (kernelType instanceof RadialBasisKernelType) {
+            kernel = SvmEvaluator.Kernel.RADIAL_BASIS;
+            gamma = ((RadialBasisKernelType) kernelType).getGamma();
+        } else if (kernelType instanceof PolynomialKernelType) {
+            kernel = SvmEvaluator.Kernel.POLYNOMIAL;
+            gamma = ((PolynomialKernelType) kernelType).getGamma();
+            coef0 = ((PolynomialKernelType) kernelType).getCoef0();
+            degree = ((PolynomialKernelType) kernelType).getDegree();
+        } else if (kernelType instanceof SigmoidKernelType) {
+            kernel = SvmEvaluator.Kernel.SIGMOID;
+            gamma = ((SigmoidKernelType) kernelType).getGamma();
+            coef0 = ((SigmoidKernelType) kernelType).getCoef0();
+        }
+        Number threshold = model.getThreshold();
+        return new SvmEvaluator(model.getModelName(), inputs, keyOf(target), targetType, outputs,
+                                slots, supportVectors.toArray(new double[supportVectors.size()][]),
+                                kernel, gamma.doubleValue(), coef0.doubleValue(), degree.doubleValue(), compiled,
+                                model.getClassificationMethod() != SVMCLASSIFICATIONMETHOD.ONE_AGAINST_ONE,
+                                threshold != null ? threshold.doubleValue() : 0.0);
+    }
+
+    private double[] toDense(VectorInstance instance, int size) {
+        double[] vector = new double[size];
+        if (instance.getREALSparseArray() != null) {
+            List<Integer> indices = instance.getREALSparseArray().getIndices();
+            List<Double> entries = instance.getREALSparseArray().getREALEntries();
+            for (int i = 0; i < indices.size(); i++) {
+                vector[indices.get(i) - 1] = entries.get(i);
+            }
+        } else if (instance.getArray() != null) {
+            Matcher matcher = ARRAY_TOKEN.matcher(instance.getArray().getContent());
+            for (int i = 0; i < size && matcher.find(); i++) {
+                vector[i] = Double.parseDouble(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            }
+        } else {
+            throw new UnsupportedModelException("vector instance " + instance.getId() + " has no coordinates");
+        }
+        return vector;
+    }
+
+    private Object attributePredicate(Attribute attribute) {
+        if (attribute.getSimplePredicate() != null) {
+            return attribute.getSimplePredicate();
+        } else if (attribute.getCompoundPredicate() != null) {
+            return attribute.getCompoundPredicate();
+        } else if (attribute.getSimpleSetPredicate() != null) {
+            return attribute.getSimpleSetPredicate();
+        } else if (attribute.getTrue() != null) {
+            return attribute.getTrue();
+        }
+        return attribute.getFalse();
+    }
+
+    /**
+     * Rejects the model level elements whose semantics are only implemented by the rule based compiler
+     */
+    private void checkModelElement(Serializable ser) {
+        if (ser instanceof LocalTransformations) {
+            throw new UnsupportedModelException("local transformations are not supported");
+        } else if (ser instanceof Targets) {
+            throw new UnsupportedModelException("targets are not supported");
+        } else if (ser instanceof Extension && "scoringStrategy".equals(((Extension) ser).getName())) {
+            throw new UnsupportedModelException("scoring strategies are not supported");
+        }
+    }
+
+    private InputSchema compileInputs(MiningSchema schema, Map<String, DataField> dictionary) {
+        if (schema == null) {
+            throw new UnsupportedModelException("missing mining schema");
+        }
+        if (!schema.getExtensions().isEmpty()) {
+            throw new UnsupportedModelException("mining schema extensions (external beans, adapters) are not supported");
+        }
+        List<InputSchema.FieldDef> fields = new ArrayList<>();
+        for (MiningField field : schema.getMiningFields()) {
+            if (!field.getExtensions().isEmpty()) {
+                throw new UnsupportedModelException("mining field extensions are not supported");
+            }
+            if (field.getUsageType() != null && field.getUsageType() != FIELDUSAGETYPE.ACTIVE) {
+                continue;
+            }
+            DataField dataField = dictionary.get(field.getName());
+            if (dataField == null || dataField.getDataType() == null || !InputSchema.isSupported(dataField.getDataType())) {
+                throw new UnsupportedModelException("field " + field.getName() + " has an unsupported data type");
+            }
+            if (!dataField.getIntervals().isEmpty()) {
+                throw new UnsupportedModelException("interval validation is not supported");
+            }
+            DATATYPE dataType = dataField.getDataType();
+            Set<Object> validValues = null;
+            for (Value value : dataField.getValues()) {
+                if (value.getProperty() != null && !"valid".equals(value.getProperty())) {
+                    throw new UnsupportedModelException("invalid and missing value declarations are not supported");
+                }
+                if (validValues == null) {
+                    validValues = new HashSet<>();
+                }
+                validValues.add(InputSchema.coerce(value.getValue(), dataType));
+            }
+            fields.add(new InputSchema.FieldDef(field.getName(), dataType, validValues,
+                                                InputSchema.coerce(field.getMissingValueReplacement(), dataType),
+                                                field.getInvalidValueTreatment(),
+                                                field.getOutliers(), toDouble(field.getLowValue()), toDouble(field.getHighValue())));
+        }
+        return new InputSchema(fields.toArray(new InputSchema.FieldDef[fields.size()]));
+    }
+
+    private String findTarget(MiningSchema schema, String declared) {
+        if (declared != null) {
+            return declared;
+        }
+        for (MiningField field : schema.getMiningFields()) {
+            if (field.getUsageType() == FIELDUSAGETYPE.PREDICTED || field.getUsageType() == FIELDUSAGETYPE.TARGET) {
+                return field.getName();
+            }
+        }
+        return null;
+    }
+
+    private List<OutputSpec> compileOutputs(Output output, Map<String, DataField> dictionary, DATATYPE targetType,
+                                            RESULTFEATURE... supported) {
+        List<OutputSpec> outputs = new ArrayList<>();
+        if (output == null) {
+            return outputs;
+        }
+        for (OutputField field : output.getOutputFields()) {
+            RESULTFEATURE feature = field.getFeature() != null ? field.getFeature() : RESULTFEATURE.PREDICTED_VALUE;
+            boolean accepted = false;
+            for (RESULTFEATURE candidate : supported) {
+                accepted |= candidate == feature;
+            }
+            if (!accepted || !field.getExtensions().isEmpty()) {
+                throw new UnsupportedModelException("output feature " + feature.value() + " is not supported");
+            }
+            DATATYPE dataType = field.getDataType();
+            if (dataType == null) {
+                dataType = feature == RESULTFEATURE.PROBABILITY ? DATATYPE.DOUBLE
+                        : feature == RESULTFEATURE.REASON_CODE ? DATATYPE.STRING : targetType;
+            }
+            Number rank = field.getRank();
+            outputs.add(new OutputSpec(keyOf(field.getName()), feature, field.getValue(),
+                                       rank != null ? rank.intValue() : 1, dataType));
+        }
+        return outputs;
+    }
+
+    private NativePredicate compilePredicate(Object predicate, InputSchema inputs) {
+        if (predicate instanceof True) {
+            return NativePredicate.TRUE;
+        } else if (predicate instanceof False) {
+            return NativePredicate.FALSE;
+        } else if (predicate instanceof SimplePredicate) {
+            return compileSimplePredicate((SimplePredicate) predicate, inputs);
+        } else if (predicate instanceof SimpleSetPredicate) {
+            SimpleSetPredicate set = (SimpleSetPredicate) predicate;
+            int slot = slotOf(inputs, set.getField(), false);
+            Set<Object> values = new HashSet<>();
+            Matcher matcher = ARRAY_TOKEN.matcher(set.getArray().getContent());
+            while (matcher.find()) {
+                String token = matcher.group(1) != null ? matcher.group(1).replace("\\\"", "\"") : matcher.group(2);
+                values.add(InputSchema.coerce(token, inputs.dataTypeOf(slot)));
+            }
+            return NativePredicate.in(slot, values, "isNotIn".equals(set.getBooleanOperator()));
+        } else if (predicate instanceof CompoundPredicate) {
+            CompoundPredicate compound = (CompoundPredicate) predicate;
+            List<NativePredicate> children = new ArrayList<>();
+            for (Serializable child : compound.getSimplePredicatesAndCompoundPredicatesAndSimpleSetPredicates()) {
+                if (!(child instanceof Extension)) {
+                    children.add(compilePredicate(child, inputs));
+                }
+            }
+            NativePredicate[] array = children.toArray(new NativePredicate[children.size()]);
+            switch (compound.getBooleanOperator()) {
+                case "and":
+                    return NativePredicate.and(array);
+                case "or":
+                    return NativePredicate.or(array);
+                case "xor":
+                    return NativePredicate.xor(array);
+                case "surrogate":
+                    return NativePredicate.surrogate(array);
+                default:
+                    throw new UnsupportedModelException("unknown boolean operator " + compound.getBooleanOperator());
+            }
+        }
+        throw new UnsupportedModelException("unsupported predicate " + (predicate != null ? predicate.getClass().getSimpleName() : null));
+    }
+
+    private NativePredicate compileSimplePredicate(SimplePredicate predicate, InputSchema inputs) {
+        int slot = slotOf(inputs, predicate.getField(), false);
+        String operator = predicate.getOperator();
+        if ("isMissing".equals(operator)) {
+            return NativePredicate.isMissing(slot);
+        } else if ("isNotMissing".equals(operator)) {
+            return NativePredicate.isNotMissing(slot);
+        }
+        Object constant = InputSchema.coerce(predicate.getValue(), inputs.dataTypeOf(slot));
+        if (constant == null) {
+            throw new UnsupportedModelException("predicate on " + predicate.getField() + " has no valid value");
+        }
+        switch (operator) {
+            case "equal":
+                return NativePredicate.equal(slot, constant);
+            case "notEqual":
+                return NativePredicate.notEqual(slot, constant);
+            case "lessThan":
+                return NativePredicate.compare(slot, (Comparable) constant, 1);
+            case "lessOrEqual":
+                return NativePredicate.compare(slot, (Comparable) constant, 1 | 2);
+            case "greaterThan":
+                return NativePredicate.compare(slot, (Comparable) constant, 4);
+            case "greaterOrEqual":
+                return NativePredicate.compare(slot, (Comparable) constant, 2 | 4);
+            default:
+                throw new UnsupportedModelException("unknown operator " + operator);
+        }
+    }
+
+    private int slotOf(InputSchema inputs, String field, boolean numeric) {
+        int slot = inputs.slotOf(field);
+        if (slot < 0) {
+            throw new UnsupportedModelException("field " + field + " is not an active field of the model");
+        }
+        DATATYPE dataType = inputs.dataTypeOf(slot);
+        if (numeric && dataType != DATATYPE.DOUBLE && dataType != DATATYPE.FLOAT && dataType != DATATYPE.INTEGER) {
+            throw new UnsupportedModelException("field " + field + " is not numeric");
+        }
+        return slot;
+    }
+
+    private static Double toDouble(Number number) {
+        return number != null ? number.doubleValue() : null;
+    }
+
+    private String keyOf(String fieldName) {
+        return fieldName != null ? helper.compactUpperCase(fieldName) : null;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.util.List;
+
+import org.dmg.pmml.pmml_4_2.descr.DATATYPE;
+import org.dmg.pmml.pmml_4_2.descr.REGRESSIONNORMALIZATIONMETHOD;
+import org.dmg.pmml.pmml_4_2.descr.RESULTFEATURE;
+import org.kie.api.pmml.PMML4Result;
+
+/**
+ * Evaluates a RegressionModel whose tables have been flattened into parallel arrays of
+ * input slots and coefficients, so that computing a table is a single loop over primitives.
+ */
+class RegressionModelEvaluator extends AbstractModelEvaluator<RegressionModelEvaluator.Prediction> {
+
+    static final class Table {
+
+        final Object category;
+        final double intercept;
+        final int[] numericSlots;
+        final double[] numericCoefficients;
+        final int[] numericExponents;
+        final int[] categoricalSlots;
+        final Object[] categoricalValues;
+        final double[] categoricalCoefficients;
+        final int[][] termSlots;
+        final double[] termCoefficients;
+
+        Table(Object category, double intercept,
+              int[] numericSlots, double[] numericCoefficients, int[] numericExponents,
+              int[] categoricalSlots, Object[] categoricalValues, double[] categoricalCoefficients,
+              int[][] termSlots, double[] termCoefficients) {
+            this.category = category;
+            this.intercept = intercept;
+            this.numericSlots = numericSlots;
+            this.numericCoefficients = numericCoefficients;
+            this.numericExponents = numericExponents;
+            this.categoricalSlots = categoricalSlots;
+            this.categoricalValues = categoricalValues;
+            this.categoricalCoefficients = categoricalCoefficients;
+            this.termSlots = termSlots;
+            this.termCoefficients = termCoefficients;
+        }
+
+        /**
+         * Returns the linear combination of the inputs, or NaN if one of them is missing
+         */
+        double compute(Object[] row) {
+            double sum = intercept;
+            for (int i = 0; i < numericSlots.length; i++) {
+                Object value = row[numericSlots[i]];
+                if (value == null) {
+                    return Double.NaN;
+                }
+                double x = (Double) value;
+                sum += numericCoefficients[i] * (numericExponents[i] == 1 ? x : Math.pow(x, numericExponents[i]));
+            }
+            for (int i = 0; i < categoricalSlots.length; i++) {
+                Object value = row[categoricalSlots[i]];
+                if (value == null) {
+                    return Double.NaN;
+                }
+                if (value.equals(categoricalValues[i])) {
+                    sum += categoricalCoefficients[i];
+                }
+            }
+            for (int i = 0; i < termSlots.length; i++) {
+                double product = termCoefficients[i];
+                for (int slot : termSlots[i]) {
+                    Object value = row[slot];
+                    if (value == null) {
+                        return Double.NaN;
+                    }
+                    product *= (Double) value;
+                }
+                sum += product;
+            }
+            return sum;
+        }
+    }
+
+    static final class Prediction {
+
+        final Object value;
+        final double[] probabilities;
+        final int winner;
+
+        Prediction(Object value, double[] probabilities, int winner) {
+            this.value = value;
+            this.probabilities = probabilities;
+            this.winner = winner;
+        }
+    }
+
+    private static final Prediction MISSING = new Prediction(null, null, -1);
+
+    private final Table[] tables;
+    private final boolean classification;
+    private final REGRESSIONNORMALIZATIONMETHOD normalization;
+
+    RegressionModelEvaluator(String modelName, InputSchema inputs, String targetKey, DATATYPE targetType, List<OutputSpec> outputs,
+                             Table[] tables, boolean classification, REGRESSIONNORMALIZATIONMETHOD normalization) {
+        super(modelName, inputs, targetKey, targetType, outputs);
+        this.tables = tables;
+        this.classification = classification;
+        this.normalization = normalization != null ? normalization : REGRESSIONNORMALIZATIONMETHOD.NONE;
+    }
+
+    @Override
+    protected Prediction predict(Object[] row) {
+        if (!classification) {
+            double x = tables[0].compute(row);
+            return Double.isNaN(x) ? MISSING : new Prediction(normalizeRegression(x), null, 0);
+        }
+        double[] probabilities = new double[tables.length];
+        double sum = 0.0;
+        for (int i = 0; i < tables.length; i++) {
+            double x = tables[i].compute(row);
+            if (Double.isNaN(x)) {
+                return MISSING;
+            }
+            probabilities[i] = normalizeClassification(x);
+            sum += probabilities[i];
+        }
+        int winner = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            if (normalization == REGRESSIONNORMALIZATIONMETHOD.SOFTMAX) {
+                probabilities[i] /= sum;
+            }
+            if (probabilities[i] > probabilities[winner]) {
+                winner = i;
+            }
+        }
+        return new Prediction(tables[winner].category, probabilities, winner);
+    }
+
+    @Override
+    protected void addTargets(Prediction prediction, PMML4Result result) {
+        addTarget(result, prediction.value, prediction.probabilities != null ? prediction.probabilities[prediction.winner] : null);
+    }
+
+    @Override
+    protected Object computeOutput(Prediction prediction, OutputSpec output) {
+        if (output.feature != RESULTFEATURE.PROBABILITY) {
+            return prediction.value;
+        }
+        if (prediction.probabilities == null) {
+            return null;
+        }
+        if (output.value == null) {
+            return prediction.probabilities[prediction.winner];
+        }
+        for (int i = 0; i < tables.length; i++) {
+            if (output.value.equals(String.valueOf(tables[i].category))) {
+                return prediction.probabilities[i];
+            }
+        }
+        return null;
+    }
+
+    private double normalizeRegression(double x) {
+        switch (normalization) {
+            case EXP:
+                return Math.exp(x);
+            case SOFTMAX:
+            case LOGIT:
+                return 1.0 / (1.0 + Math.exp(-x));
+            default:
+                return x;
+        }
+    }
+
+    private double normalizeClassification(double x) {
+        switch (normalization) {
+            case EXP:
+            case SOFTMAX:
+                return Math.exp(x);
+            case LOGIT:
+                return 1.0 / (1.0 + Math.exp(-x));
+            case PROBIT:
+                return probitPhi(x);
+            case CLOGLOG:
+                return 1.0 - Math.exp(-Math.exp(x));
+            case LOGLOG:
+                return Math.exp(-Math.exp(-x));
+            case CAUCHIT:
+                return 0.5 + Math.atan(x) / Math.PI;
+            default:
+                return x;
+        }
+    }
+
+    static double probitPhi(double z) {
+        if (z < -8.0) {
+            return 0.0;
+        }
+        if (z > 8.0) {
+            return 1.0;
+        }
+        double sum = 0.0;
+        double term = z;
+        for (int i = 3; sum + term != sum; i += 2) {
+            sum = sum + term;
+            term = term * z * z / i;
+        }
+        return 0.5 + sum * Math.exp(-z * z / 2.0) / Math.sqrt(2 * Math.PI);
+    }
+}
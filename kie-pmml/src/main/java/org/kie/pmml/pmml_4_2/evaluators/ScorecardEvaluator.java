@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dmg.pmml.pmml_4_2.descr.DATATYPE;
+import org.dmg.pmml.pmml_4_2.descr.RESULTFEATURE;
+import org.kie.api.pmml.PMML4Result;
+import org.kie.pmml.pmml_4_2.model.ScoreCard;
+
+/**
+ * Evaluates a Scorecard: the first matching attribute of each characteristic contributes its partial score,
+ * and when reason codes are enabled the distance from the characteristic baseline is accumulated per reason code
+ * and ranked in descending order, as the rule based scorecard does.
+ */
+class ScorecardEvaluator extends AbstractModelEvaluator<ScoreCard> {
+
+    static final String SCORECARD_RESULT = "ScoreCard";
+
+    static final class Characteristic {
+
+        final double baselineScore;
+        final NativePredicate[] predicates;
+        final double[] partialScores;
+        final String[] reasonCodes;
+
+        Characteristic(double baselineScore, NativePredicate[] predicates, double[] partialScores, String[] reasonCodes) {
+            this.baselineScore = baselineScore;
+            this.predicates = predicates;
+            this.partialScores = partialScores;
+            this.reasonCodes = reasonCodes;
+        }
+    }
+
+    private final String context;
+    private final double initialScore;
+    private final boolean useReasonCodes;
+    private final boolean pointsBelow;
+    private final Characteristic[] characteristics;
+
+    ScorecardEvaluator(String modelName, InputSchema inputs, String targetKey, DATATYPE targetType, List<OutputSpec> outputs,
+                       String context, double initialScore, boolean useReasonCodes, boolean pointsBelow,
+                       Characteristic[] characteristics) {
+        super(modelName, inputs, targetKey, targetType, outputs);
+        this.context = context;
+        this.initialScore = initialScore;
+        this.useReasonCodes = useReasonCodes;
+        this.pointsBelow = pointsBelow;
+        this.characteristics = characteristics;
+    }
+
+    @Override
+    protected ScoreCard predict(Object[] row) {
+        double score = initialScore;
+        Map<String, Double> codeScores = new LinkedHashMap<>();
+        for (Characteristic characteristic : characteristics) {
+            for (int i = 0; i < characteristic.predicates.length; i++) {
+                if (Boolean.TRUE.equals(characteristic.predicates[i].test(row))) {
+                    double partial = characteristic.partialScores[i];
+                    score += partial;
+                    String code = characteristic.reasonCodes[i];
+                    if (useReasonCodes && code != null) {
+                        double distance = pointsBelow ? characteristic.baselineScore - partial : partial - characteristic.baselineScore;
+                        codeScores.merge(code, distance, Double::sum);
+                    }
+                    break;
+                }
+            }
+        }
+        return new ScoreCard(context, score, null, useReasonCodes, pointsBelow, rank(codeScores));
+    }
+
+    @Override
+    protected void addTargets(ScoreCard prediction, PMML4Result result) {
+        result.addResultVariable(SCORECARD_RESULT, prediction);
+        addTarget(result, prediction.getScore(), null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Object computeOutput(ScoreCard prediction, OutputSpec output) {
+        if (output.feature != RESULTFEATURE.REASON_CODE) {
+            return prediction.getScore();
+        }
+        Map<String, Double> ranking = (Map<String, Double>) prediction.getRanking();
+        String code = null;
+        Iterator<Map.Entry<String, Double>> iter = ranking.entrySet().iterator();
+        for (int ix = 0; iter.hasNext() && ix < output.rank; ix++) {
+            Map.Entry<String, Double> entry = iter.next();
+            if (entry.getValue() >= 0) {
+                code = entry.getKey();
+            }
+        }
+        return code;
+    }
+
+    private static LinkedHashMap<String, Double> rank(Map<String, Double> codeScores) {
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(codeScores.entrySet());
+        entries.sort((a, b) -> Double.compare(b.getValue(), a.getValue()));
+        LinkedHashMap<String, Double> ranking = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> entry : entries) {
+            ranking.put(entry.getKey(), entry.getValue());
+        }
+        return ranking;
+    }
+}
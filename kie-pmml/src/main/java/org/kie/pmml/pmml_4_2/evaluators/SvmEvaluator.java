@@ -0,0 +1,218 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dmg.pmml.pmml_4_2.descr.DATATYPE;
+import org.dmg.pmml.pmml_4_2.descr.RESULTFEATURE;
+import org.kie.api.pmml.PMML4Result;
+
+/**
+ * Evaluates a classification SupportVectorMachineModel. The support vectors of the vector dictionary
+ * are held in a dense matrix, and the kernel between each support vector and the input is computed once
+ * and shared by all the machines referring to it. Each machine is then a dot product between its
+ * coefficients and the kernel values, and the category is decided by the same voting as the rule based
+ * compiler: a single machine or one-against-one machines vote for their target or alternate category
+ * and the most voted category wins, while one-against-all machines only vote when above the threshold
+ * and the vote with the lowest decision value wins.
+ */
+class SvmEvaluator extends AbstractModelEvaluator<SvmEvaluator.Prediction> {
+
+    enum Kernel {
+        LINEAR, POLYNOMIAL, RADIAL_BASIS, SIGMOID
+    }
+
+    static final class Machine {
+
+        final int[] vectors;
+        final double[] coefficients;
+        final double bias;
+        final Object targetCategory;
+        final Object alternateCategory;
+
+        Machine(int[] vectors, double[] coefficients, double bias, Object targetCategory, Object alternateCategory) {
+            this.vectors = vectors;
+            this.coefficients = coefficients;
+            this.bias = bias;
+            this.targetCategory = targetCategory;
+            this.alternateCategory = alternateCategory;
+        }
+
+        double decide(double[] kernels) {
+            double sum = bias;
+            for (int i = 0; i < vectors.length; i++) {
+                sum += coefficients[i] * kernels[vectors[i]];
+            }
+            return sum;
+        }
+    }
+
+    static final class Prediction {
+
+        final Object value;
+        final double weight;
+
+        Prediction(Object value, double weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final Prediction MISSING = new Prediction(null, Double.NaN);
+
+    private final int[] slots;
+    private final double[][] supportVectors;
+    private final Kernel kernel;
+    private final double gamma;
+    private final double coef0;
+    private final double degree;
+    private final Machine[] machines;
+    private final boolean oneAgainstAll;
+    private final double threshold;
+
+    /**
+     * @param slots          the input slot of each coordinate of the vectors, in vector field order
+     * @param supportVectors the dense coordinates of the vectors referred to by the machines
+     */
+    SvmEvaluator(String modelName, InputSchema inputs, String targetKey, DATATYPE targetType, List<OutputSpec> outputs,
+                 int[] slots, double[][] supportVectors, Kernel kernel, double gamma, double coef0, double degree,
+                 Machine[] machines, boolean oneAgainstAll, double threshold) {
+        super(modelName, inputs, targetKey, targetType, outputs);
+        this.slots = slots;
+        this.supportVectors = supportVectors;
+        this.kernel = kernel;
+        this.gamma = gamma;
+        this.coef0 = coef0;
+        this.degree = degree;
+        this.machines = machines;
+        this.oneAgainstAll = oneAgainstAll;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected Prediction predict(Object[] row) {
+        return predictAll(new Object[][]{row}).get(0);
+    }
+
+    @Override
+    protected List<Prediction> predictAll(Object[][] rows) {
+        double[][] inputs = new double[rows.length][];
+        for (int r = 0; r < rows.length; r++) {
+            inputs[r] = toVector(rows[r]);
+        }
+        double[][] kernels = new double[rows.length][supportVectors.length];
+        for (int v = 0; v < supportVectors.length; v++) {
+            double[] sv = supportVectors[v];
+            for (int r = 0; r < rows.length; r++) {
+                if (inputs[r] != null) {
+                    kernels[r][v] = kernel(sv, inputs[r]);
+                }
+            }
+        }
+        List<Prediction> predictions = new ArrayList<>(rows.length);
+        for (int r = 0; r < rows.length; r++) {
+            predictions.add(inputs[r] != null ? vote(kernels[r]) : MISSING);
+        }
+        return predictions;
+    }
+
+    private double[] toVector(Object[] row) {
+        double[] x = new double[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            Object value = row[slots[i]];
+            if (value == null) {
+                return null;
+            }
+            x[i] = (Double) value;
+        }
+        return x;
+    }
+
+    private double kernel(double[] sv, double[] x) {
+        double sum = 0.0;
+        if (kernel == Kernel.RADIAL_BASIS) {
+            for (int j = 0; j < sv.length; j++) {
+                double d = sv[j] - x[j];
+                sum += d * d;
+            }
+            return Math.exp(-gamma * sum);
+        }
+        for (int j = 0; j < sv.length; j++) {
+            sum += sv[j] * x[j];
+        }
+        switch (kernel) {
+            case POLYNOMIAL:
+                return Math.pow(gamma * sum + coef0, degree);
+            case SIGMOID:
+                return Math.tanh(gamma * sum + coef0);
+            default:
+                return sum;
+        }
+    }
+
+    private Prediction vote(double[] kernels) {
+        if (machines.length == 1) {
+            double f = machines[0].decide(kernels);
+            return new Prediction(f >= threshold ? machines[0].targetCategory : machines[0].alternateCategory, f);
+        }
+        if (oneAgainstAll) {
+            Prediction best = MISSING;
+            for (Machine machine : machines) {
+                double f = machine.decide(kernels);
+                if (f > threshold && (best == MISSING || f < best.weight)) {
+                    best = new Prediction(machine.targetCategory, f);
+                }
+            }
+            return best;
+        }
+        Map<Object, int[]> votes = new LinkedHashMap<>();
+        Map<Object, Double> weights = new LinkedHashMap<>();
+        for (Machine machine : machines) {
+            double f = machine.decide(kernels);
+            Object category = f >= threshold || machine.alternateCategory == null ? machine.targetCategory : machine.alternateCategory;
+            votes.computeIfAbsent(category, k -> new int[1])[0]++;
+            weights.merge(category, f, Math::max);
+        }
+        Object winner = null;
+        for (Map.Entry<Object, int[]> entry : votes.entrySet()) {
+            if (winner == null || entry.getValue()[0] > votes.get(winner)[0]) {
+                winner = entry.getKey();
+            }
+        }
+        return new Prediction(winner, weights.get(winner));
+    }
+
+    @Override
+    protected void addTargets(Prediction prediction, PMML4Result result) {
+        addTarget(result, prediction.value, prediction.value != null ? prediction.weight : null);
+    }
+
+    @Override
+    protected Object computeOutput(Prediction prediction, OutputSpec output) {
+        if (output.feature != RESULTFEATURE.PROBABILITY) {
+            return prediction.value;
+        }
+        if (prediction.value == null || output.value != null && !output.value.equals(String.valueOf(prediction.value))) {
+            return null;
+        }
+        return prediction.weight;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.util.List;
+
+import org.dmg.pmml.pmml_4_2.descr.DATATYPE;
+import org.dmg.pmml.pmml_4_2.descr.MISSINGVALUESTRATEGY;
+import org.dmg.pmml.pmml_4_2.descr.NOTRUECHILDSTRATEGY;
+import org.kie.api.pmml.PMML4Result;
+
+/**
+ * Walks a TreeModel compiled into linked nodes, following the first child whose predicate holds.
+ * Unknown predicates are handled by the missing value strategy of the model,
+ * nodes without a true child by its no true child strategy.
+ */
+class TreeModelEvaluator extends AbstractModelEvaluator<Object> {
+
+    static final class Node {
+
+        final String id;
+        final NativePredicate predicate;
+        final Object score;
+        final Node[] children;
+        Node defaultChild;
+
+        Node(String id, NativePredicate predicate, Object score, Node[] children) {
+            this.id = id;
+            this.predicate = predicate;
+            this.score = score;
+            this.children = children;
+        }
+    }
+
+    private final Node root;
+    private final MISSINGVALUESTRATEGY missingValueStrategy;
+    private final NOTRUECHILDSTRATEGY noTrueChildStrategy;
+
+    TreeModelEvaluator(String modelName, InputSchema inputs, String targetKey, DATATYPE targetType, List<OutputSpec> outputs,
+                       Node root, MISSINGVALUESTRATEGY missingValueStrategy, NOTRUECHILDSTRATEGY noTrueChildStrategy) {
+        super(modelName, inputs, targetKey, targetType, outputs);
+        this.root = root;
+        this.missingValueStrategy = missingValueStrategy != null ? missingValueStrategy : MISSINGVALUESTRATEGY.NONE;
+        this.noTrueChildStrategy = noTrueChildStrategy != null ? noTrueChildStrategy : NOTRUECHILDSTRATEGY.RETURN_NULL_PREDICTION;
+    }
+
+    @Override
+    protected Object predict(Object[] row) {
+        if (!Boolean.TRUE.equals(root.predicate.test(row))) {
+            return null;
+        }
+        Node current = root;
+        while (current.children.length > 0) {
+            Node next = null;
+            for (Node child : current.children) {
+                Boolean match = child.predicate.test(row);
+                if (match == null) {
+                    if (missingValueStrategy == MISSINGVALUESTRATEGY.LAST_PREDICTION) {
+                        return current.score;
+                    } else if (missingValueStrategy == MISSINGVALUESTRATEGY.NULL_PREDICTION) {
+                        return null;
+                    } else if (missingValueStrategy == MISSINGVALUESTRATEGY.DEFAULT_CHILD) {
+                        if (current.defaultChild == null) {
+                            return current.score;
+                        }
+                        next = current.defaultChild;
+                        break;
+                    }
+                } else if (match) {
+                    next = child;
+                    break;
+                }
+            }
+            if (next == null) {
+                return noTrueChildStrategy == NOTRUECHILDSTRATEGY.RETURN_LAST_PREDICTION ? current.score : null;
+            }
+            current = next;
+        }
+        return current.score;
+    }
+
+    @Override
+    protected void addTargets(Object prediction, PMML4Result result) {
+        addTarget(result, prediction, null);
+    }
+
+    @Override
+    protected Object computeOutput(Object prediction, OutputSpec output) {
+        return prediction;
+    }
+}
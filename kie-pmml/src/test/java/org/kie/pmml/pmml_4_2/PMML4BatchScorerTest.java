@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.kie.api.pmml.PMML4Result;
+import org.kie.internal.io.ResourceFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PMML4BatchScorerTest {
+
+    private static final String PMML_FOLDER = "org/kie/pmml/pmml_4_2/";
+
+    @Test
+    public void testNativeColumnarScoring() {
+        PMML4BatchScorer scorer = PMML4BatchScorer.forResource("SimpleScorecard",
+                                                               ResourceFactory.newClassPathResource(PMML_FOLDER + "test_scorecard_simple.pmml"),
+                                                               null);
+        assertTrue(scorer.isNative());
+        scorer.setChunkSize(2);
+
+        Object[][] columns = {
+                {10.0, 51.0, 10.0, 51.0, 10.0},
+                {15.0, 12.0, 15.0, 12.0, 15.0}
+        };
+        Object[] scores = new Object[5];
+        scorer.score(new String[]{"param1", "param2"}, columns, "OverallScore", "value", scores);
+        for (int i = 0; i < scores.length; i++) {
+            assertEquals(i % 2 == 0 ? 40.8 : 120.8, (Double) scores[i], 1e-6);
+        }
+    }
+
+    @Test
+    public void testRuleBasedColumnarScoring() {
+        PMML4BatchScorer scorer = PMML4BatchScorer.forResource("TreeTest",
+                                                               ResourceFactory.newClassPathResource(PMML_FOLDER + "test_tree_weightedconfidence_missing_value_strategy.pmml"),
+                                                               null);
+        assertFalse(scorer.isNative());
+        scorer.setChunkSize(2);
+
+        PMML4Result[] results = scorer.score(new String[]{"fld1"}, new Object[][]{{30.0, 30.0, 30.0}});
+        assertEquals(3, results.length);
+        for (int i = 0; i < results.length; i++) {
+            assertEquals(String.valueOf(i), results[i].getCorrelationId());
+            assertEquals("tgtY", results[i].getResultValue("Fld3", "value", String.class).orElse(null));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosedScorer() {
+        PMML4BatchScorer scorer = PMML4BatchScorer.forResource("TreeTest",
+                                                               ResourceFactory.newClassPathResource(PMML_FOLDER + "test_tree_weightedconfidence_missing_value_strategy.pmml"),
+                                                               null);
+        assertEquals(1, scorer.score(new String[]{"fld1"}, new Object[][]{{30.0}}).length);
+        scorer.close();
+        scorer.score(new String[]{"fld1"}, new Object[][]{{30.0}});
+    }
+
+    @Test
+    public void testStreamScoring() {
+        PMML4BatchScorer scorer = PMML4BatchScorer.forResource("SimpleScorecard",
+                                                               ResourceFactory.newClassPathResource(PMML_FOLDER + "test_scorecard_simple.pmml"),
+                                                               null);
+        List<PMML4Result> results = scorer.score(IntStream.range(0, 20)
+                                                         .parallel()
+                                                         .mapToObj(i -> new PMMLRequestDataBuilder(String.valueOf(i), "SimpleScorecard")
+                                                                 .addParameter("param1", i % 2 == 0 ? 10.0 : 51.0, Double.class)
+                                                                 .addParameter("param2", i % 2 == 0 ? 15.0 : 12.0, Double.class)
+                                                                 .build()))
+                .collect(Collectors.toList());
+        assertEquals(20, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(String.valueOf(i), results.get(i).getCorrelationId());
+            assertEquals(i % 2 == 0 ? 40.8 : 120.8, results.get(i).getResultValue("OverallScore", "value", Double.class).orElse(null), 1e-6);
+        }
+    }
+}
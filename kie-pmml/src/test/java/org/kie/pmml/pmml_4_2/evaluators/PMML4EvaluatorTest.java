@@ -0,0 +1,312 @@
+/*
+ * Copyright 2018 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.pmml.pmml_4_2.evaluators;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.dmg.pmml.pmml_4_2.descr.DATATYPE;
+import org.dmg.pmml.pmml_4_2.descr.INVALIDVALUETREATMENTMETHOD;
+import org.junit.Test;
+import org.kie.api.pmml.PMML4Result;
+import org.kie.api.pmml.PMMLRequestData;
+import org.kie.internal.io.ResourceFactory;
+import org.kie.pmml.pmml_4_2.PMML4ExecutionHelper;
+import org.kie.pmml.pmml_4_2.PMML4ExecutionHelper.PMML4ExecutionHelperFactory;
+import org.kie.pmml.pmml_4_2.PMMLRequestDataBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PMML4EvaluatorTest {
+
+    private static final String PMML_FOLDER = "org/kie/pmml/pmml_4_2/";
+
+    @Test
+    public void testScorecard() {
+        PMML4ExecutionHelper helper = getHelper("Sample Score", "test_scorecard.pmml");
+        assertNotNull(helper.getNativeEvaluator());
+
+        PMMLRequestData request = new PMMLRequestDataBuilder("123", "Sample Score")
+                .addParameter("age", 33.0, Double.class)
+                .addParameter("occupation", "SKYDIVER", String.class)
+                .addParameter("residenceState", "KN", String.class)
+                .addParameter("validLicense", true, Boolean.class)
+                .build();
+        PMML4Result resultHolder = helper.submitRequest(request);
+
+        assertEquals("OK", resultHolder.getResultCode());
+        assertEquals(3, resultHolder.getResultVariables().size());
+        assertEquals(41.345, resultHolder.getResultValue("ScoreCard", "score", Double.class).orElse(null), 1e-6);
+        assertEquals(41.345, resultHolder.getResultValue("CalculatedScore", "value", Double.class).orElse(null), 1e-6);
+
+        LinkedHashMap ranking = (LinkedHashMap) resultHolder.getResultValue("ScoreCard", "ranking");
+        Iterator iter = ranking.keySet().iterator();
+        assertEquals("LX00", iter.next());
+        assertEquals("RES", iter.next());
+        assertEquals("CX2", iter.next());
+        assertEquals(-1.0, ranking.get("LX00"));
+        assertEquals(-10.0, ranking.get("RES"));
+        assertEquals(-30.0, ranking.get("CX2"));
+    }
+
+    @Test
+    public void testSimpleScorecard() {
+        PMML4ExecutionHelper helper = getHelper("SimpleScorecard", "test_scorecard_simple.pmml");
+        assertNotNull(helper.getNativeEvaluator());
+
+        PMML4Result resultHolder = helper.submitRequest(new PMMLRequestDataBuilder("123", "SimpleScorecard")
+                                                                .addParameter("param1", 10.0, Double.class)
+                                                                .addParameter("param2", 15.0, Double.class)
+                                                                .build());
+        assertEquals(40.8, resultHolder.getResultValue("OverallScore", "value", Double.class).orElse(null), 1e-6);
+        LinkedHashMap ranking = (LinkedHashMap) resultHolder.getResultValue("ScoreCard", "ranking");
+        assertEquals(5.0, ranking.get("reasonCh1"));
+        assertEquals(-6.0, ranking.get("reasonCh2"));
+
+        resultHolder = helper.submitRequest(new PMMLRequestDataBuilder("124", "SimpleScorecard")
+                                                    .addParameter("param1", 51.0, Double.class)
+                                                    .addParameter("param2", 12.0, Double.class)
+                                                    .build());
+        assertEquals(120.8, resultHolder.getResultValue("ScoreCard", "score", Double.class).orElse(null), 1e-6);
+    }
+
+    @Test
+    public void testRegression() {
+        PMML4ExecutionHelper helper = getHelper("LinReg", "test_regression.pmml");
+        assertNotNull(helper.getNativeEvaluator());
+
+        PMML4Result resultHolder = helper.submitRequest(new PMMLRequestDataBuilder("123", "LinReg")
+                                                                .addParameter("fld1", 0.9, Double.class)
+                                                                .addParameter("fld2", 0.3, Double.class)
+                                                                .addParameter("fld3", "x", String.class)
+                                                                .build());
+        double chkVal = 0.5 + 5 * 0.9 * 0.9 + 2 * 0.3 - 3.0 + 0.4 * 0.9 * 0.3;
+        chkVal = 1.0 / (1.0 + Math.exp(-chkVal));
+        assertEquals(chkVal, resultHolder.getResultValue("Fld4", "value", Double.class).orElse(null), 1e-6);
+    }
+
+    @Test
+    public void testRegressionClassification() {
+        PMML4ExecutionHelper helper = getHelper("LinReg", "test_regression_clax.pmml");
+        assertNotNull(helper.getNativeEvaluator());
+
+        PMML4Result resultHolder = helper.submitRequest(new PMMLRequestDataBuilder("123", "LinReg")
+                                                                .addParameter("fld1", 1.0, Double.class)
+                                                                .addParameter("fld2", 1.0, Double.class)
+                                                                .addParameter("fld3", "x", String.class)
+                                                                .build());
+        assertEquals("catC", resultHolder.getResultValue("RegOut", "value", String.class).orElse(null));
+        assertEquals(0.709228, resultHolder.getResultValue("RegProb", "value", Double.class).orElse(null), 1e-6);
+        assertEquals(0.010635, resultHolder.getResultValue("RegProbA", "value", Double.class).orElse(null), 1e-6);
+    }
+
+    @Test
+    public void testTreeNoTrueChildStrategies() {
+        PMML4ExecutionHelper helper = getHelper("TreeTest", "test_tree_return_null_notruechild_strategy.pmml");
+        assertNotNull(helper.getNativeEvaluator());
+        assertEquals("tgtY", treeValue(helper, "Fld2", 30.0));
+        assertNull(treeValue(helper, "Fld2", 50.0));
+
+        helper = getHelper("TreeTest", "test_tree_return_last_notruechild_strategy.pmml");
+        assertNotNull(helper.getNativeEvaluator());
+        assertEquals("tgtY", treeValue(helper, "Fld2", 30.0));
+        assertEquals("tgtX", treeValue(helper, "Fld2", 50.0));
+    }
+
+    @Test
+    public void testTreeMissingValueStrategies() {
+        PMML4ExecutionHelper helper = getHelper("TreeTest", "test_tree_last_missing_value_strategy.pmml");
+        assertNotNull(helper.getNativeEvaluator());
+        assertEquals("tgtY", treeValue(helper, "Fld3", 30.0));
+        assertEquals("tgtA", treeValue(helper, "Fld3", 100.0));
+
+        helper = getHelper("TreeTest", "test_tree_return_null_missing_value_strategy.pmml");
+        assertNotNull(helper.getNativeEvaluator());
+        assertEquals("tgtY", treeValue(helper, "Fld3", 30.0));
+        assertNull(treeValue(helper, "Fld3", 100.0));
+
+        helper = getHelper("TreeTest", "test_tree_default_child_missing_value_strategy.pmml");
+        assertNotNull(helper.getNativeEvaluator());
+        assertEquals("tgtY", treeValue(helper, "Fld3", 30.0));
+        assertEquals("tgtZ", treeValue(helper, "Fld3", 100.0));
+    }
+
+    @Test
+    public void testNeuralNetworkClassification() {
+        PMML4ExecutionHelper helper = getHelper("HEART_MLP", "test_ann_mixed_inputs2.xml");
+        assertNotNull(helper.getNativeEvaluator());
+
+        PMML4Result resultHolder = helper.submitRequest(new PMMLRequestDataBuilder("123", "HEART_MLP")
+                                                                .addParameter("feat1", 83.0, Double.class)
+                                                                .addParameter("feat2", 1.0, Double.class)
+                                                                .addParameter("feat3", 5.0, Double.class)
+                                                                .addParameter("feat4", "asympt", String.class)
+                                                                .addParameter("feat5", "yes", String.class)
+                                                                .addParameter("feat6", "t", String.class)
+                                                                .addParameter("feat7", 1.0, Double.class)
+                                                                .addParameter("feat8", "normal", String.class)
+                                                                .addParameter("feat9", "male", String.class)
+                                                                .addParameter("feat10", "flat", String.class)
+                                                                .addParameter("feat11", "normal", String.class)
+                                                                .addParameter("feat12", 3.3, Double.class)
+                                                                .addParameter("feat13", 2.5, Double.class)
+                                                                .build());
+        assertEquals(">50_1", resultHolder.getResultValue("OutN", "value", String.class).orElse(null));
+        assertEquals(0.943336, resultHolder.getResultValue("OutP", "value", Double.class).orElse(null), 1e-6);
+    }
+
+    @Test
+    public void testNeuralNetworkRegression() {
+        PMML4ExecutionHelper helper = getHelper("Neural Insurance", "test_ann_regression.xml");
+        assertNotNull(helper.getNativeEvaluator());
+
+        PMML4Result resultHolder = helper.submitRequest(new PMMLRequestDataBuilder("123", "Neural Insurance")
+                                                                .addParameter("gender", "male", String.class)
+                                                                .addParameter("no of claims", "3", String.class)
+                                                                .addParameter("domicile", "urban", String.class)
+                                                                .addParameter("age of car", 8.0, Double.class)
+                                                                .build());
+        assertEquals(828.0, Math.floor(resultHolder.getResultValue("OutAmOfClaims", "value", Double.class).orElse(0.0)), 0.0);
+    }
+
+    @Test
+    public void testSvm() {
+        PMML4ExecutionHelper helper = getHelper("SVM XOR Model", "test_svm.xml");
+        assertNotNull(helper.getNativeEvaluator());
+        assertEquals("yes", svmValue(helper, 0.0, 0.0).getResultValue("Z", "value", String.class).orElse(null));
+        assertEquals("no", svmValue(helper, 0.23, 0.75).getResultValue("Z", "value", String.class).orElse(null));
+        assertEquals("yes", svmValue(helper, 0.85, 0.75).getResultValue("Z", "value", String.class).orElse(null));
+        assertEquals("no", svmValue(helper, 0.85, -0.12).getResultValue("Z", "value", String.class).orElse(null));
+        assertEquals("no", svmValue(helper, 7.85, -0.12).getResultValue("Z", "value", String.class).orElse(null));
+    }
+
+    @Test
+    public void testSvmVoting() {
+        PMML4ExecutionHelper helper = getHelper("SVM XOR Model", "test_svm_1vN.xml");
+        assertNotNull(helper.getNativeEvaluator());
+        PMML4Result resultHolder = svmValue(helper, 0.0, 0.0);
+        assertEquals("no", resultHolder.getResultValue("OutZ", "value", String.class).orElse(null));
+        assertEquals(0.7357588, resultHolder.getResultValue("ProbZNo", "value", Double.class).orElse(null), 1e-6);
+
+        helper = getHelper("SVM XOR Model", "test_svm_1v1.xml");
+        assertNotNull(helper.getNativeEvaluator());
+        resultHolder = svmValue(helper, 0.63, 0.0);
+        assertEquals("yes", resultHolder.getResultValue("OutZ", "value", String.class).orElse(null));
+        assertEquals(0.872057, resultHolder.getResultValue("ProbZYes", "value", Double.class).orElse(null), 1e-6);
+    }
+
+    @Test
+    public void testBatchEvaluation() {
+        PMML4Evaluator evaluator = getHelper("SVM XOR Model", "test_svm.xml").getNativeEvaluator();
+        List<PMMLRequestData> requests = Arrays.asList(svmRequest("1", 0.0, 0.0),
+                                                       svmRequest("2", 0.23, 0.75),
+                                                       svmRequest("3", 0.85, 0.75));
+        List<PMML4Result> results = evaluator.evaluate(requests);
+        assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            PMML4Result single = evaluator.evaluate(requests.get(i));
+            assertEquals(requests.get(i).getCorrelationId(), results.get(i).getCorrelationId());
+            assertEquals(single.getResultValue("Z", "value"), results.get(i).getResultValue("Z", "value"));
+        }
+    }
+
+    @Test
+    public void testInvalidValueTreatments() {
+        assertEquals("x", stringField(INVALIDVALUETREATMENTMETHOD.AS_MISSING).resolve("w"));
+        assertSame(InputSchema.INVALID, stringField(INVALIDVALUETREATMENTMETHOD.RETURN_INVALID).resolve("w"));
+        assertSame(InputSchema.INVALID, stringField(null).resolve("w"));
+        assertEquals("w", stringField(INVALIDVALUETREATMENTMETHOD.AS_IS).resolve("w"));
+
+        // missing values are replaced whatever the invalid value treatment
+        assertEquals("x", stringField(INVALIDVALUETREATMENTMETHOD.RETURN_INVALID).resolve(null));
+        assertEquals("y", stringField(INVALIDVALUETREATMENTMETHOD.RETURN_INVALID).resolve("y"));
+    }
+
+    @Test
+    public void testInvalidValueReturnsInvalidResult() {
+        PMML4Evaluator evaluator = getHelper("LinReg", "test_regression.pmml").getNativeEvaluator();
+        assertNotNull(evaluator);
+
+        PMMLRequestData valid = new PMMLRequestDataBuilder("1", "LinReg")
+                .addParameter("fld1", 0.9, Double.class)
+                .addParameter("fld2", 0.3, Double.class)
+                .addParameter("fld3", "x", String.class)
+                .build();
+        PMMLRequestData invalid = new PMMLRequestDataBuilder("2", "LinReg")
+                .addParameter("fld1", 0.9, Double.class)
+                .addParameter("fld2", 0.3, Double.class)
+                .addParameter("fld3", "w", String.class)
+                .build();
+
+        PMML4Result result = evaluator.evaluate(invalid);
+        assertEquals(AbstractModelEvaluator.INVALID_RESULT_CODE, result.getResultCode());
+        assertTrue(result.getResultVariables().isEmpty());
+
+        List<PMML4Result> results = evaluator.evaluate(Arrays.asList(invalid, valid, invalid));
+        assertEquals(AbstractModelEvaluator.INVALID_RESULT_CODE, results.get(0).getResultCode());
+        assertEquals("OK", results.get(1).getResultCode());
+        assertEquals(evaluator.evaluate(valid).getResultValue("Fld4", "value"), results.get(1).getResultValue("Fld4", "value"));
+        assertEquals("2", results.get(2).getCorrelationId());
+        assertEquals(AbstractModelEvaluator.INVALID_RESULT_CODE, results.get(2).getResultCode());
+    }
+
+    @Test
+    public void testUnsupportedModelFallsBackOnRules() {
+        PMML4ExecutionHelper helper = getHelper("TreeTest", "test_tree_weightedconfidence_missing_value_strategy.pmml");
+        assertNull(helper.getNativeEvaluator());
+        assertNotNull(helper.getKbase());
+        assertThat(treeValue(helper, "Fld3", 30.0)).isEqualTo("tgtY");
+    }
+
+    private PMML4ExecutionHelper getHelper(String modelName, String fileName) {
+        return PMML4ExecutionHelperFactory.getNativeExecutionHelper(modelName,
+                                                                    ResourceFactory.newClassPathResource(PMML_FOLDER + fileName),
+                                                                    null);
+    }
+
+    private InputSchema.FieldDef stringField(INVALIDVALUETREATMENTMETHOD invalidValueTreatment) {
+        return new InputSchema.FieldDef("fld", DATATYPE.STRING, new HashSet<>(Arrays.asList("x", "y")), "x",
+                                        invalidValueTreatment, null, null, null);
+    }
+
+    private PMMLRequestData svmRequest(String correlationId, double x, double y) {
+        return new PMMLRequestDataBuilder(correlationId, "SVM XOR Model")
+                .addParameter("x", x, Double.class)
+                .addParameter("y", y, Double.class)
+                .build();
+    }
+
+    private PMML4Result svmValue(PMML4ExecutionHelper helper, double x, double y) {
+        return helper.submitRequest(svmRequest("123", x, y));
+    }
+
+    private String treeValue(PMML4ExecutionHelper helper, String target, double fld1) {
+        PMMLRequestData request = new PMMLRequestDataBuilder("123", "TreeTest")
+                .addParameter("fld1", fld1, Double.class)
+                .build();
+        PMML4Result resultHolder = helper.submitRequest(request);
+        return resultHolder.getResultValue(target, "value", String.class).orElse(null);
+    }
+}
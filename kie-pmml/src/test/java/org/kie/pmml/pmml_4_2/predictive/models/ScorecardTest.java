@@ -18,6 +18,7 @@ package org.kie.pmml.pmml_4_2.predictive.models;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
@@ -269,6 +270,33 @@ public class ScorecardTest extends DroolsAbstractPMMLTest {
         Assertions.assertThat(score).isEqualTo(30.8);
     }
 
+    @Test
+    public void testExecutorReusedAcrossRequests() {
+        PMML4ExecutionHelper helper = PMML4ExecutionHelperFactory.getExecutionHelper("ScorecardCompoundPredicate",
+                ResourceFactory.newClassPathResource(SOURCE_COMPOUND_PREDICATE_SCORECARD),
+                null);
+        RuleUnitExecutor executor = helper.getExecutor();
+
+        PMMLRequestData requestData = new PMMLRequestDataBuilder("123", helper.getModelName())
+                .addParameter("param1", 41.0, Double.class)
+                .addParameter("param2", 21.0, Double.class)
+                .build();
+        PMML4Result resultHolder = helper.submitRequest(requestData);
+        Assertions.assertThat(resultHolder.getResultValue("ScoreCard", "score", Double.class).get()).isEqualTo(120.8);
+
+        requestData = new PMMLRequestDataBuilder("124", helper.getModelName())
+                .addParameter("param1", 40.0, Double.class)
+                .addParameter("param2", 55.0, Double.class)
+                .build();
+        resultHolder = helper.submitRequest(requestData);
+        Assertions.assertThat(resultHolder.getResultValue("ScoreCard", "score", Double.class).get()).isEqualTo(210.8);
+
+        // the second request runs on the same executor, whose data sources only hold the last request
+        assertSame(executor, helper.getExecutor());
+        Assertions.assertThat(helper.getRequestData()).containsExactly(requestData);
+        Assertions.assertThat(helper.getResultData()).containsExactly(resultHolder);
+    }
+
     @Test
     public void testScorecardWithSimpleSetPredicate() {
         PMML4ExecutionHelper helper = PMML4ExecutionHelperFactory.getExecutionHelper("SimpleSetScorecard",